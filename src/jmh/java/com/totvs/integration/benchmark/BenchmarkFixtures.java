@@ -0,0 +1,143 @@
+package com.totvs.integration.benchmark;
+
+import com.totvs.integration.entity.ConnectorConfig;
+import com.totvs.integration.entity.DataTransformation;
+import com.totvs.integration.entity.Integration;
+import com.totvs.integration.entity.ScheduleConfig;
+import com.totvs.integration.entity.Tenant;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dados de exemplo compartilhados pelos benchmarks, com formato próximo ao das
+ * integrações reais (conector de origem/destino, mapeamento de campos, agenda).
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    public static ConnectorConfig restConnector() {
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put("baseUrl", "https://api.exemplo.com.br");
+        configuration.put("endpoint", "/v1/clientes");
+        configuration.put("method", "GET");
+        configuration.put("authType", "BEARER");
+        configuration.put("token", "token-de-exemplo");
+        configuration.put("headers", Map.of("Accept", "application/json", "X-Origem", "hub"));
+        configuration.put("timeout", 30);
+
+        ConnectorConfig connector = new ConnectorConfig();
+        connector.setName("ERP Clientes");
+        connector.setType("REST_API");
+        connector.setConfiguration(configuration);
+        connector.setTenantId("tenant-bench");
+        return connector;
+    }
+
+    public static ConnectorConfig databaseConnector() {
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put("host", "db.exemplo.local");
+        configuration.put("port", 5432);
+        configuration.put("database", "protheus");
+        configuration.put("username", "integracao");
+        configuration.put("password", "segredo");
+        configuration.put("ssl", true);
+
+        ConnectorConfig connector = new ConnectorConfig();
+        connector.setName("Protheus");
+        connector.setType("DATABASE_POSTGRESQL");
+        connector.setConfiguration(configuration);
+        connector.setTenantId("tenant-bench");
+        return connector;
+    }
+
+    public static DataTransformation transformation(int fields) {
+        Map<String, String> mappings = new LinkedHashMap<>();
+        Map<String, String> conversions = new LinkedHashMap<>();
+        for (int i = 0; i < fields; i++) {
+            if (i % 2 == 0) {
+                mappings.put("campo_" + i, "field_" + i);
+            }
+            if (i % 5 == 0) {
+                conversions.put("campo_" + i, "STRING");
+            }
+        }
+
+        return DataTransformation.builder()
+                .fieldMappings(mappings)
+                .typeConversions(conversions)
+                .defaultValues(Map.of("origem", "protheus", "campo_extra", 0))
+                .conditionalRules(List.of(DataTransformation.ConditionalRule.builder()
+                        .condition("status == 'INATIVO'")
+                        .action("SKIP")
+                        .actionParameters(Map.of("log", true))
+                        .build()))
+                .build();
+    }
+
+    public static ScheduleConfig schedule() {
+        return ScheduleConfig.builder()
+                .enabled(true)
+                .scheduleType(ScheduleConfig.ScheduleType.DAILY)
+                .dailyTime(LocalTime.of(2, 30))
+                .weekDays(List.of(1, 2, 3, 4, 5))
+                .startDate(LocalDateTime.of(2026, 1, 1, 0, 0))
+                .retryOnFailure(true)
+                .maxRetries(3)
+                .retryDelayMinutes(5)
+                .build();
+    }
+
+    public static Integration integration() {
+        return Integration.builder()
+                .id("0d5c1f0e-8a4c-4c8e-9d2f-1b7e0a3c5f11")
+                .tenantId("tenant-bench")
+                .name("Clientes ERP -> Protheus")
+                .description("Sincronização diária de clientes")
+                .sourceConnector(restConnector())
+                .targetConnector(databaseConnector())
+                .transformation(transformation(20))
+                .schedule(schedule())
+                .configuration(Map.of("batchSize", 500, "retry", true))
+                .tags(List.of("erp", "clientes", "diario"))
+                .status(Integration.IntegrationStatus.ACTIVE)
+                .lastExecution(LocalDateTime.of(2026, 10, 1, 2, 30))
+                .executionCount(120)
+                .successCount(118)
+                .errorCount(2)
+                .createdAt(LocalDateTime.of(2026, 1, 1, 0, 0))
+                .updatedAt(LocalDateTime.of(2026, 10, 1, 2, 31))
+                .build();
+    }
+
+    public static Tenant tenant(String tenantId) {
+        Tenant tenant = new Tenant();
+        tenant.setId(tenantId);
+        tenant.setTenantId(tenantId);
+        tenant.setDomain(tenantId + ".exemplo.com.br");
+        tenant.setName("Tenant " + tenantId);
+        tenant.setApiKey("key-" + tenantId);
+        tenant.setStatus(Tenant.Status.ACTIVE);
+        tenant.setMaxRequestsPerMinute(Integer.MAX_VALUE);
+        return tenant;
+    }
+
+    public static List<Map<String, Object>> records(int count, int width) {
+        List<Map<String, Object>> records = new ArrayList<>(count);
+        for (int r = 0; r < count; r++) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            for (int f = 0; f < width; f++) {
+                record.put("campo_" + f, f % 3 == 0 ? (Object) (r * 31L + f) : "valor-" + r + "-" + f);
+            }
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,55 @@
+package com.totvs.integration.connector;
+
+import com.totvs.integration.benchmark.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de obter um handler e de validar a configuração, feitos em toda
+ * criação/atualização de integração e em toda execução.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConnectorFactoryBenchmark {
+
+    @Param({"REST_API", "DATABASE_POSTGRESQL", "FILE_CSV"})
+    public String type;
+
+    private ConnectorFactory factory;
+    private Map<String, Object> config;
+
+    @Setup
+    public void setUp() {
+        factory = new ConnectorFactory();
+        config = "DATABASE_POSTGRESQL".equals(type)
+                ? BenchmarkFixtures.databaseConnector().getConfiguration()
+                : BenchmarkFixtures.restConnector().getConfiguration();
+    }
+
+    @Benchmark
+    public ConnectorHandler getConnector() {
+        return factory.getConnector(type);
+    }
+
+    @Benchmark
+    public List<String> validateConfig() {
+        return factory.validateConfigWithErrors(type, config);
+    }
+}
@@ -0,0 +1,78 @@
+package com.totvs.integration.entity;
+
+import com.totvs.integration.benchmark.BenchmarkFixtures;
+import io.hypersistence.utils.hibernate.type.util.ObjectMapperWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * (De)serialização das colunas JSON de {@link Integration} pelo mesmo
+ * {@link ObjectMapperWrapper} que o {@code JsonType} do Hibernate usa ao ler e gravar.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonColumnBenchmark {
+
+    private final ObjectMapperWrapper mapper = ObjectMapperWrapper.INSTANCE;
+
+    private ConnectorConfig connector;
+    private DataTransformation transformation;
+    private ScheduleConfig schedule;
+    private String connectorJson;
+    private String transformationJson;
+    private String scheduleJson;
+
+    @Setup
+    public void setUp() {
+        connector = BenchmarkFixtures.restConnector();
+        transformation = BenchmarkFixtures.transformation(20);
+        schedule = BenchmarkFixtures.schedule();
+        connectorJson = mapper.toString(connector);
+        transformationJson = mapper.toString(transformation);
+        scheduleJson = mapper.toString(schedule);
+    }
+
+    @Benchmark
+    public String writeConnectorConfig() {
+        return mapper.toString(connector);
+    }
+
+    @Benchmark
+    public ConnectorConfig readConnectorConfig() {
+        return mapper.fromString(connectorJson, ConnectorConfig.class);
+    }
+
+    @Benchmark
+    public String writeDataTransformation() {
+        return mapper.toString(transformation);
+    }
+
+    @Benchmark
+    public DataTransformation readDataTransformation() {
+        return mapper.fromString(transformationJson, DataTransformation.class);
+    }
+
+    @Benchmark
+    public String writeScheduleConfig() {
+        return mapper.toString(schedule);
+    }
+
+    @Benchmark
+    public ScheduleConfig readScheduleConfig() {
+        return mapper.fromString(scheduleJson, ScheduleConfig.class);
+    }
+}
@@ -0,0 +1,102 @@
+package com.totvs.integration.security;
+
+import com.totvs.integration.benchmark.BenchmarkFixtures;
+import com.totvs.integration.cache.StampedeProtectedCache;
+import com.totvs.integration.entity.Tenant;
+import com.totvs.integration.metrics.IntegrationMetrics;
+import com.totvs.integration.repository.TenantRepository;
+import com.totvs.integration.support.InMemoryRedisTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caminho por requisição do {@link TenantInterceptor}: resolução do tenant (direto no
+ * repositório e via cache protegido) e verificação de rate limit contra um Redis em memória.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class TenantResolutionBenchmark {
+
+    private static final int TENANTS = 100;
+
+    private final String[] tenantIds = new String[TENANTS];
+    private final AtomicInteger next = new AtomicInteger();
+
+    private TenantResolver resolver;
+    private StampedeProtectedCache tenantCache;
+    private InMemoryRedisTemplate redis;
+    private RateLimitService rateLimitService;
+
+    @Setup
+    public void setUp() {
+        Map<String, Tenant> tenants = new HashMap<>();
+        for (int i = 0; i < TENANTS; i++) {
+            tenantIds[i] = "tenant-" + i;
+            tenants.put(tenantIds[i], BenchmarkFixtures.tenant(tenantIds[i]));
+        }
+
+        resolver = new TenantResolver(tenantRepository(tenants));
+        tenantCache = new StampedeProtectedCache(new ConcurrentMapCache("tenants"), TimeUnit.MINUTES.toMillis(8), 1.0,
+                Runnable::run, System::currentTimeMillis);
+        redis = new InMemoryRedisTemplate();
+        rateLimitService = new RateLimitService(redis, new IntegrationMetrics(new SimpleMeterRegistry(), 50, 32));
+    }
+
+    @Setup(Level.Iteration)
+    public void resetRateLimitCounters() {
+        redis.clear();
+    }
+
+    @Benchmark
+    public Optional<TenantContext> resolveTenantUncached() {
+        return resolver.resolveTenantById(nextTenant());
+    }
+
+    @Benchmark
+    public Optional<TenantContext> resolveTenantCached() {
+        String tenantId = nextTenant();
+        return tenantCache.get(tenantId, () -> resolver.resolveTenantById(tenantId));
+    }
+
+    @Benchmark
+    public boolean rateLimitCheck() {
+        return rateLimitService.isAllowed(nextTenant(), Integer.MAX_VALUE);
+    }
+
+    private String nextTenant() {
+        return tenantIds[(next.getAndIncrement() & Integer.MAX_VALUE) % TENANTS];
+    }
+
+    private static TenantRepository tenantRepository(Map<String, Tenant> tenants) {
+        return (TenantRepository) Proxy.newProxyInstance(TenantRepository.class.getClassLoader(),
+                new Class<?>[] {TenantRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findByTenantId" -> Optional.ofNullable(tenants.get((String) args[0]));
+                    case "findByDomain", "findByApiKey" -> Optional.empty();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
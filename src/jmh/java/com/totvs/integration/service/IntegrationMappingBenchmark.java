@@ -0,0 +1,43 @@
+package com.totvs.integration.service;
+
+import com.totvs.integration.benchmark.BenchmarkFixtures;
+import com.totvs.integration.dto.response.IntegrationResponse;
+import com.totvs.integration.entity.Integration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeamento entidade -&gt; DTO feito para cada item das listagens de integrações.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntegrationMappingBenchmark {
+
+    private IntegrationService service;
+    private Integration integration;
+
+    @Setup
+    public void setUp() {
+        service = new IntegrationService();
+        integration = BenchmarkFixtures.integration();
+    }
+
+    @Benchmark
+    public IntegrationResponse toIntegrationResponse() {
+        return service.toIntegrationResponse(integration);
+    }
+}
@@ -0,0 +1,54 @@
+package com.totvs.integration.service;
+
+import com.totvs.integration.benchmark.BenchmarkFixtures;
+import com.totvs.integration.entity.DataTransformation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão da etapa de transformação do pipeline, em registros por segundo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecordTransformerBenchmark {
+
+    private static final int BATCH = 1000;
+
+    @Param({"10", "50"})
+    public int width;
+
+    private RecordTransformer transformer;
+    private DataTransformation transformation;
+    private List<Map<String, Object>> records;
+
+    @Setup
+    public void setUp() {
+        transformer = new RecordTransformer();
+        transformation = BenchmarkFixtures.transformation(width);
+        records = BenchmarkFixtures.records(BATCH, width);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<Map<String, Object>> transformBatch() {
+        return transformer.transform(transformation, records);
+    }
+}
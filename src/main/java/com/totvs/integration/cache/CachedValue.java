@@ -0,0 +1,14 @@
+package com.totvs.integration.cache;
+
+import java.io.Serializable;
+
+/**
+ * Envelope gravado no cache com o instante de gravação e o custo de
+ * recomputação, usados para decidir o refresh antecipado.
+ */
+public record CachedValue(Object value, long storedAtMillis, long computeMillis) implements Serializable {
+
+    public long ageMillis(long nowMillis) {
+        return nowMillis - storedAtMillis;
+    }
+}
@@ -0,0 +1,67 @@
+package com.totvs.integration.cache;
+
+import com.totvs.integration.security.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * Gera a chave das páginas de integrações em cache:
+ * tenant + geração + filtros + página. Filtros equivalentes (tags em outra
+ * ordem, status em outra caixa) caem na mesma chave.
+ */
+@Component(IntegrationPageKeyGenerator.BEAN_NAME)
+@RequiredArgsConstructor
+public class IntegrationPageKeyGenerator implements KeyGenerator {
+
+    public static final String BEAN_NAME = "integrationPageKeyGenerator";
+    public static final String CACHE_NAME = "integration-pages";
+
+    private final TenantCacheGenerations generations;
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        String tenantId = TenantContext.getCurrentTenantId();
+
+        StringBuilder key = new StringBuilder()
+                .append(tenantId)
+                .append(':').append(generations.current(CACHE_NAME, tenantId))
+                .append(':').append(method.getName());
+
+        for (Object param : params) {
+            key.append(':').append(normalize(param));
+        }
+
+        return key.toString();
+    }
+
+    public void invalidateTenant(String tenantId) {
+        generations.bumpAfterCommit(CACHE_NAME, tenantId);
+    }
+
+    private String normalize(Object param) {
+        if (param == null) {
+            return "";
+        }
+        if (param instanceof Pageable pageable) {
+            if (pageable.isUnpaged()) {
+                return "unpaged";
+            }
+            return pageable.getPageNumber() + "x" + pageable.getPageSize() + "/" + pageable.getSort();
+        }
+        if (param instanceof Collection<?> values) {
+            TreeSet<String> sorted = new TreeSet<>();
+            values.forEach(v -> sorted.add(String.valueOf(v)));
+            return String.join(",", sorted);
+        }
+        if (param instanceof String value) {
+            return value.trim().toLowerCase();
+        }
+        return param.toString();
+    }
+}
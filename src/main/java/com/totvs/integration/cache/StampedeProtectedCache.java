@@ -0,0 +1,263 @@
+package com.totvs.integration.cache;
+
+import com.totvs.integration.profiling.CacheAccessEvent;
+import com.totvs.integration.security.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Decorador de {@link Cache} que evita stampede quando uma entrada expira:
+ * <ul>
+ *   <li>single-flight: apenas um loader por chave, os demais aguardam o mesmo future;</li>
+ *   <li>refresh antecipado probabilístico (XFetch) antes de a entrada ficar velha;</li>
+ *   <li>stale-while-revalidate: depois de {@code freshForMillis} o valor antigo continua
+ *   sendo servido enquanto um único refresh roda em background, até o TTL do cache.</li>
+ * </ul>
+ * Só o caminho {@code @Cacheable(sync = true)} usa o loader; os demais métodos apenas
+ * embrulham/desembrulham o {@link CachedValue}.
+ */
+@Slf4j
+public class StampedeProtectedCache implements Cache {
+
+    private final Cache delegate;
+    private final long freshForMillis;
+    private final double beta;
+    private final Executor refreshExecutor;
+    private final LongSupplier clock;
+
+    private final ConcurrentMap<Object, Flight> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public StampedeProtectedCache(Cache delegate, long freshForMillis, double beta,
+                                  Executor refreshExecutor, LongSupplier clock) {
+        this.delegate = delegate;
+        this.freshForMillis = freshForMillis;
+        this.beta = beta;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        Object stored = wrapper.get();
+        return stored instanceof CachedValue cached ? new SimpleValueWrapper(cached.value()) : wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CacheAccessEvent event = CacheAccessEvent.start(delegate.getName());
+        CachedValue cached = readEnvelope(key);
+
+        if (cached == null) {
+            misses.increment();
+            try {
+                return (T) await(key, valueLoader, loadSingleFlight(key, valueLoader));
+            } finally {
+                event.finish(CacheAccessEvent.MISS);
+            }
+        }
+        hits.increment();
+
+        long age = cached.ageMillis(clock.getAsLong());
+        if (age >= freshForMillis || shouldRefreshEarly(cached, age)) {
+            refreshInBackground(key, valueLoader);
+            event.finish(CacheAccessEvent.STALE);
+        } else {
+            event.finish(CacheAccessEvent.HIT);
+        }
+
+        return (T) cached.value();
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            delegate.put(key, null);
+            return;
+        }
+        delegate.put(key, new CachedValue(value, clock.getAsLong(), 0L));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value != null ? new CachedValue(value, clock.getAsLong(), 0L) : null);
+        if (existing != null && existing.get() instanceof CachedValue cached) {
+            return new SimpleValueWrapper(cached.value());
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        Flight flight = inFlight.remove(key);
+        if (flight != null) {
+            flight.invalidated = true;
+        }
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        Flight flight = inFlight.remove(key);
+        if (flight != null) {
+            flight.invalidated = true;
+        }
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        inFlight.values().forEach(flight -> flight.invalidated = true);
+        inFlight.clear();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        inFlight.values().forEach(flight -> flight.invalidated = true);
+        inFlight.clear();
+        return delegate.invalidate();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private CachedValue readEnvelope(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            return null;
+        }
+        Object stored = wrapper.get();
+        return stored instanceof CachedValue cached ? cached : new CachedValue(stored, clock.getAsLong(), 0L);
+    }
+
+    private boolean shouldRefreshEarly(CachedValue cached, long age) {
+        if (beta <= 0 || cached.computeMillis() <= 0) {
+            return false;
+        }
+        double gap = -cached.computeMillis() * beta * Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+        return age + gap >= freshForMillis;
+    }
+
+    private Flight loadSingleFlight(Object key, Callable<?> valueLoader) {
+        Flight mine = new Flight();
+        Flight existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return existing;
+        }
+        runLoader(key, valueLoader, mine);
+        return mine;
+    }
+
+    private void refreshInBackground(Object key, Callable<?> valueLoader) {
+        Flight mine = new Flight();
+        if (inFlight.putIfAbsent(key, mine) != null) {
+            return;
+        }
+
+        TenantContext tenant = TenantContext.getCurrentTenant();
+        try {
+            refreshExecutor.execute(() -> {
+                TenantContext previous = TenantContext.getCurrentTenant();
+                TenantContext.setCurrentTenant(tenant);
+                try {
+                    runLoader(key, valueLoader, mine);
+                } catch (RuntimeException e) {
+                    log.warn("Background refresh of cache '{}' key '{}' failed: {}", getName(), key, e.getMessage());
+                } finally {
+                    if (previous != null) {
+                        TenantContext.setCurrentTenant(previous);
+                    } else {
+                        TenantContext.clear();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Refresh queue full for cache '{}', refreshing key '{}' on caller thread", getName(), key);
+            try {
+                runLoader(key, valueLoader, mine);
+            } catch (ValueRetrievalException ex) {
+                log.warn("Refresh of cache '{}' key '{}' failed: {}", getName(), key, ex.getMessage());
+            }
+        }
+    }
+
+    private void runLoader(Object key, Callable<?> valueLoader, Flight flight) {
+        long start = clock.getAsLong();
+        try {
+            Object value = valueLoader.call();
+            long now = clock.getAsLong();
+            if (value != null && !flight.invalidated) {
+                delegate.put(key, new CachedValue(value, now, now - start));
+            }
+            flight.future.complete(value);
+        } catch (Throwable t) {
+            flight.future.completeExceptionally(t);
+            throw new ValueRetrievalException(key, valueLoader, t);
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private Object await(Object key, Callable<?> valueLoader, Flight flight) {
+        try {
+            return flight.future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new ValueRetrievalException(key, valueLoader, cause);
+        }
+    }
+
+    private static final class Flight {
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private volatile boolean invalidated;
+    }
+}
@@ -0,0 +1,68 @@
+package com.totvs.integration.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Envolve os caches configurados com {@link StampedeProtectedCache};
+ * os demais são devolvidos sem alteração.
+ */
+public class StampedeProtectedCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final Set<String> protectedCaches;
+    private final long freshForMillis;
+    private final double beta;
+    private final Executor refreshExecutor;
+    private final LongSupplier clock;
+    private final Consumer<StampedeProtectedCache> onCreate;
+
+    private final ConcurrentMap<String, Cache> decorated = new ConcurrentHashMap<>();
+
+    public StampedeProtectedCacheManager(CacheManager delegate, Set<String> protectedCaches, long freshForMillis,
+                                         double beta, Executor refreshExecutor, LongSupplier clock) {
+        this(delegate, protectedCaches, freshForMillis, beta, refreshExecutor, clock, cache -> { });
+    }
+
+    public StampedeProtectedCacheManager(CacheManager delegate, Set<String> protectedCaches, long freshForMillis,
+                                         double beta, Executor refreshExecutor, LongSupplier clock,
+                                         Consumer<StampedeProtectedCache> onCreate) {
+        this.delegate = delegate;
+        this.protectedCaches = protectedCaches;
+        this.freshForMillis = freshForMillis;
+        this.beta = beta;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.onCreate = onCreate;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = delegate.getCache(name);
+        if (cache == null || !protectedCaches.contains(name)) {
+            return cache;
+        }
+        return decorated.computeIfAbsent(name, n -> {
+            StampedeProtectedCache protectedCache = new StampedeProtectedCache(cache, freshForMillis, beta, refreshExecutor, clock);
+            onCreate.accept(protectedCache);
+            return protectedCache;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,113 @@
+package com.totvs.integration.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contador de geração por tenant usado para versionar chaves de cache.
+ * Incrementar a geração invalida todas as páginas em cache do tenant em O(1),
+ * sem varrer ou remover chaves; as entradas antigas expiram pelo TTL.
+ * <p>
+ * A geração é um token: {@code g<n>} com a sequência do Redis ou, com o Redis fora,
+ * {@code g<n>.l<m>}, onde {@code n} é a maior geração já vista neste nó e {@code m} conta os
+ * incrementos locais. O token local nunca coincide com um do Redis nem volta para uma geração
+ * anterior; os incrementos feitos sem Redis ficam pendentes e são aplicados na primeira leitura
+ * depois que ele volta, então as páginas da geração anterior à queda não são reaproveitadas.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TenantCacheGenerations {
+
+    private static final String KEY_PREFIX = "cache_generation:";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final ConcurrentMap<String, AtomicLong> seenGenerations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> localGenerations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> pendingBumps = new ConcurrentHashMap<>();
+
+    public String current(String scope, String tenantId) {
+        String key = key(scope, tenantId);
+        AtomicLong seen = counter(seenGenerations, key);
+        try {
+            Object value = redisTemplate.opsForValue().get(key);
+            long generation = value != null ? Long.parseLong(value.toString()) : 0L;
+            generation = applyPending(key, generation);
+            if (generation < seen.get()) {
+                // chave perdida no Redis (flush, failover): volta a subir a partir da maior vista
+                generation = increment(key, seen.get() - generation + 1);
+            }
+            return "g" + seen.accumulateAndGet(generation, Math::max);
+        } catch (Exception e) {
+            log.warn("Error reading cache generation {}: {}", key, e.getMessage());
+            return "g" + seen.get() + ".l" + counter(localGenerations, key).get();
+        }
+    }
+
+    public void bump(String scope, String tenantId) {
+        String key = key(scope, tenantId);
+        counter(localGenerations, key).incrementAndGet();
+        try {
+            Long generation = redisTemplate.opsForValue().increment(key);
+            if (generation != null) {
+                counter(seenGenerations, key).accumulateAndGet(generation, Math::max);
+            }
+        } catch (Exception e) {
+            counter(pendingBumps, key).incrementAndGet();
+            log.warn("Error bumping cache generation {}: {}", key, e.getMessage());
+        }
+    }
+
+    public void bumpAfterCommit(String scope, String tenantId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(scope, tenantId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump(scope, tenantId);
+            }
+        });
+    }
+
+    /**
+     * Leva ao Redis os incrementos feitos enquanto ele estava fora.
+     */
+    private long applyPending(String key, long generation) {
+        AtomicLong pending = pendingBumps.get(key);
+        long bumps = pending != null ? pending.getAndSet(0) : 0;
+        if (bumps == 0) {
+            return generation;
+        }
+        try {
+            return increment(key, bumps);
+        } catch (RuntimeException e) {
+            pending.addAndGet(bumps);
+            throw e;
+        }
+    }
+
+    private long increment(String key, long delta) {
+        Long generation = redisTemplate.opsForValue().increment(key, delta);
+        return generation != null ? generation : 0L;
+    }
+
+    private static AtomicLong counter(ConcurrentMap<String, AtomicLong> counters, String key) {
+        return counters.computeIfAbsent(key, k -> new AtomicLong());
+    }
+
+    private String key(String scope, String tenantId) {
+        return KEY_PREFIX + scope + ":" + tenantId;
+    }
+}
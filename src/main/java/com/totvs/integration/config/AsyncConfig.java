@@ -0,0 +1,55 @@
+package com.totvs.integration.config;
+
+import com.totvs.integration.security.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Pool das execuções de integração ({@code @Async(EXECUTION_EXECUTOR)}): {@code pool-size}
+ * execuções simultâneas e até {@code queue-capacity} aguardando. Com a fila cheia a submissão
+ * falha com {@code TaskRejectedException} em vez de rodar na thread de quem chamou, que pode
+ * ser a requisição HTTP. O tenant da thread que submete segue para a execução.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    public static final String EXECUTION_EXECUTOR = "integrationExecutionExecutor";
+
+    @Bean(name = EXECUTION_EXECUTOR)
+    public ThreadPoolTaskExecutor integrationExecutionExecutor(
+            @Value("${app.executions.async.pool-size:8}") int poolSize,
+            @Value("${app.executions.async.queue-capacity:100}") int queueCapacity,
+            @Value("${app.executions.async.shutdown-timeout-seconds:30}") int shutdownTimeoutSeconds) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("integration-exec-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setTaskDecorator(propagateTenant());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(shutdownTimeoutSeconds);
+        return executor;
+    }
+
+    private static TaskDecorator propagateTenant() {
+        return runnable -> {
+            TenantContext tenant = TenantContext.getCurrentTenant();
+            return () -> {
+                TenantContext.setCurrentTenant(tenant);
+                try {
+                    runnable.run();
+                } finally {
+                    TenantContext.clear();
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.totvs.integration.config;
+
+import com.totvs.integration.cache.StampedeProtectedCache;
+import com.totvs.integration.cache.StampedeProtectedCacheManager;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+@ConditionalOnProperty(name = "app.cache.stampede.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
+
+    @Bean
+    public static BeanPostProcessor stampedeProtectedCacheManagerPostProcessor(Environment environment,
+                                                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof CacheManager cacheManager)
+                        || bean instanceof NoOpCacheManager
+                        || bean instanceof StampedeProtectedCacheManager) {
+                    return bean;
+                }
+
+                Duration ttl = environment.getProperty("spring.cache.redis.time-to-live", Duration.class, Duration.ofMinutes(10));
+                double freshRatio = environment.getProperty("app.cache.stampede.fresh-ratio", Double.class, 0.8);
+                double beta = environment.getProperty("app.cache.stampede.beta", Double.class, 1.0);
+                int refreshThreads = environment.getProperty("app.cache.stampede.refresh-threads", Integer.class, 2);
+                String[] caches = environment.getProperty("app.cache.stampede.caches", String[].class, new String[] {"integrations", "tenants"});
+
+                long freshForMillis = (long) (ttl.toMillis() * freshRatio);
+                logger.info("Proteção contra cache stampede ativa para {} (fresh por {} ms de {} ms)",
+                        String.join(",", caches), freshForMillis, ttl.toMillis());
+
+                return new StampedeProtectedCacheManager(cacheManager, new HashSet<>(Arrays.asList(caches)), freshForMillis, beta,
+                        refreshExecutor(refreshThreads), System::currentTimeMillis,
+                        cache -> meterRegistry.ifAvailable(registry -> bindMetrics(registry, cache)));
+            }
+        };
+    }
+
+    private static void bindMetrics(MeterRegistry registry, StampedeProtectedCache cache) {
+        FunctionCounter.builder("integration.cache.gets", cache, StampedeProtectedCache::hitCount)
+                .description("Leituras do cache atendidas sem carregar o valor")
+                .tags("cache", cache.getName(), "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("integration.cache.gets", cache, StampedeProtectedCache::missCount)
+                .description("Leituras do cache que precisaram carregar o valor")
+                .tags("cache", cache.getName(), "result", "miss")
+                .register(registry);
+    }
+
+    private static ThreadPoolExecutor refreshExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(256), runnable -> {
+            Thread thread = new Thread(runnable, "cache-refresh-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
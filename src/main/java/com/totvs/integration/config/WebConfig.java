@@ -1,6 +1,7 @@
 
 package com.totvs.integration.config;
 
+import com.totvs.integration.profiling.RequestEventInterceptor;
 import com.totvs.integration.security.TenantInterceptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,6 +19,9 @@ public class WebConfig implements WebMvcConfigurer {
     @Autowired(required = false) 
     private TenantInterceptor tenantInterceptor;
 
+    @Autowired
+    private RequestEventInterceptor requestEventInterceptor;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
@@ -29,12 +33,19 @@ public class WebConfig implements WebMvcConfigurer {
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        // registrado antes do TenantInterceptor: o evento cobre a requisição inteira
+        registry.addInterceptor(requestEventInterceptor)
+                .addPathPatterns("/api/**", "/v1/**")
+                .excludePathPatterns("/api/actuator/**", "/api/swagger-ui/**", "/api/v3/api-docs/**");
+
         if (tenantInterceptor != null) {
             logger.info("Registrando TenantInterceptor - multi-tenancy habilitado");
             registry.addInterceptor(tenantInterceptor)
-                    .addPathPatterns("/api/**")
+                    .addPathPatterns("/api/**", "/v1/**")
                     
                     .excludePathPatterns(
+                        "/v1/hooks/**",         // autenticados pelo token do webhook; o WebhookService mede
+
                         "/actuator/**",         
                         "/api/actuator/**",     
                         "/api/swagger-ui/**",                      
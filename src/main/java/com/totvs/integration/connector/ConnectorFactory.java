@@ -5,7 +5,10 @@ import com.totvs.integration.connector.EmailConnector;
 import com.totvs.integration.connector.FileConnector;
 import com.totvs.integration.connector.RestConnector;
 import org.slf4j.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
@@ -15,45 +18,88 @@ public class ConnectorFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(ConnectorFactory.class);
 
+    private static final Set<String> SYNTHETIC_TYPES = Set.of("GENERATOR", "NULL", "COUNTING");
+
+    @Value("${app.connectors.synthetic.enabled:true}")
+    private boolean syntheticEnabled = true;
+
+    private final CountingConnector countingConnector = new CountingConnector();
+
+    @Autowired(required = false)
+    private ObjectMapper objectMapper;
+
    
     
      
     public ConnectorHandler getConnector(String type) {
         try {
-            switch (type.toUpperCase()) {
-                case "DATABASE_POSTGRESQL":
-                case "DATABASE_MYSQL":
-                case "DATABASE_ORACLE":
-                case "DATABASE_SQLSERVER":
-                    return new DatabaseConnector();
-                    
-                case "REST_API":
-                    return new RestConnector();
-                    
-                case "EMAIL_SMTP":
-                    return new EmailConnector();
-                    
-                case "FILE_CSV":
-                case "FILE_JSON":
-                case "FILE_XML":
-                    return new FileConnector();
-                    
-                case "MONGODB":
-                    return new DatabaseConnector(); // Fallback
-                    
-                case "WEBHOOK":
-                    return new RestConnector(); // Webhook usa REST
-                    
-                default:
-                    logger.warn("Tipo de conector não suportado: {}", type);
-                    return null;
+            if (SYNTHETIC_TYPES.contains(type.toUpperCase()) && !syntheticEnabled) {
+                logger.warn("Conectores sintéticos desabilitados (app.connectors.synthetic.enabled): {}", type);
+                return null;
             }
+            
+            ConnectorHandler handler = newHandler(type.toUpperCase());
+            return handler != null ? new InstrumentedConnectorHandler(handler, type.toUpperCase()) : null;
         } catch (Exception e) {
             logger.error("Erro ao criar conector do tipo {}: {}", type, e.getMessage());
             return null;
         }
     }
 
+    private ConnectorHandler newHandler(String type) {
+        switch (type) {
+            case "DATABASE_POSTGRESQL":
+            case "DATABASE_MYSQL":
+            case "DATABASE_ORACLE":
+            case "DATABASE_SQLSERVER":
+                return new DatabaseConnector();
+                
+            case "REST_API":
+                return new RestConnector(objectMapper());
+                
+            case "EMAIL_SMTP":
+                return new EmailConnector();
+                
+            case "FILE_CSV":
+            case "FILE_JSON":
+            case "FILE_XML":
+                return new FileConnector(type);
+                
+            case "MONGODB":
+                return new DatabaseConnector(); // Fallback
+                
+            case "WEBHOOK":
+                return new RestConnector(objectMapper()); // Webhook usa REST
+                
+            case "GENERATOR":
+                return new GeneratorConnector();
+                
+            case "NULL":
+                return new NullConnector();
+                
+            case "COUNTING":
+                return countingConnector;
+                
+            default:
+                logger.warn("Tipo de conector não suportado: {}", type);
+                return null;
+        }
+    }
+
+    /**
+     * O {@link ObjectMapper} do contexto; fora dele (testes) um com os módulos do classpath.
+     */
+    private ObjectMapper objectMapper() {
+        if (objectMapper == null) {
+            objectMapper = new ObjectMapper().findAndRegisterModules();
+        }
+        return objectMapper;
+    }
+
+    public CountingConnector getCountingConnector() {
+        return countingConnector;
+    }
+
     
     
     
@@ -68,6 +114,10 @@ public class ConnectorFactory {
         List<String> errors = new ArrayList<>();
         
         try {
+            if (type != null && SYNTHETIC_TYPES.contains(type.toUpperCase())) {
+                return errors;
+            }
+            
             if (config == null || config.isEmpty()) {
                 errors.add("Configuração não pode ser vazia");
                 return errors;
@@ -1,6 +1,7 @@
 package com.totvs.integration.connector;
 
 import com.totvs.integration.entity.ConnectorConfig;
+import com.totvs.integration.format.RecordReader;
 import java.util.List;
 import java.util.Map;
 
@@ -37,6 +38,16 @@ public interface ConnectorHandler {
     }
     
     
+    
+    /**
+     * Leitura registro a registro, para origens grandes demais para {@link #readData}; {@code null}
+     * quando o conector não lê em stream.
+     */
+    default RecordReader openReader(Map<String, Object> config, Map<String, Object> parameters) {
+        return null;
+    }
+    
+    
 
     default int writeData(Map<String, Object> config, List<Map<String, Object>> data, Map<String, Object> parameters) {
         throw new UnsupportedOperationException("Operação writeData não implementada para este conector");
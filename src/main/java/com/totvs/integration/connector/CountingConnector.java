@@ -0,0 +1,52 @@
+package com.totvs.integration.connector;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Destino sintético ({@code COUNTING}) que descarta os registros mas soma quantos
+ * registros e lotes recebeu por {@code counter} (padrão {@code "default"}), para que
+ * testes de carga confiram que nada se perdeu no caminho.
+ */
+public class CountingConnector extends NullConnector {
+
+    public static final String DEFAULT_COUNTER = "default";
+
+    private final ConcurrentMap<String, Counts> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public int writeData(Map<String, Object> config, List<Map<String, Object>> data, Map<String, Object> parameters) {
+        int written = super.writeData(config, data, parameters);
+        Counts counts = counters.computeIfAbsent(counterName(config), name -> new Counts());
+        counts.records.add(written);
+        counts.batches.increment();
+        return written;
+    }
+
+    public long getRecords(String counter) {
+        Counts counts = counters.get(counter);
+        return counts != null ? counts.records.sum() : 0L;
+    }
+
+    public long getBatches(String counter) {
+        Counts counts = counters.get(counter);
+        return counts != null ? counts.batches.sum() : 0L;
+    }
+
+    public void reset(String counter) {
+        counters.remove(counter);
+    }
+
+    private static String counterName(Map<String, Object> config) {
+        Object counter = config != null ? config.get("counter") : null;
+        return counter != null ? counter.toString() : DEFAULT_COUNTER;
+    }
+
+    private static final class Counts {
+        private final LongAdder records = new LongAdder();
+        private final LongAdder batches = new LongAdder();
+    }
+}
@@ -1,13 +1,24 @@
 package com.totvs.integration.connector;
 
+import com.totvs.integration.connector.cdc.PostgresCdcReader;
 import com.totvs.integration.entity.ConnectorConfig;
+import com.totvs.integration.exception.ConnectorException;
+import com.totvs.integration.metering.DataVolumeCounter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Component
@@ -33,7 +44,183 @@ public class DatabaseConnector implements ConnectorHandler {
         }
     }
 
-    
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+
+    /**
+     * Lê o resultado de {@code query} (ou de {@code table}). Com {@link Watermark} nos
+     * parâmetros, a consulta vira {@code SELECT * FROM (query) WHERE field > ? ORDER BY field},
+     * trazendo só o que mudou desde a última sincronização. Com {@code cdc} habilitado, lê o
+     * slot de replicação lógica ({@link PostgresCdcReader}) em vez de consultar as tabelas.
+     * <p>
+     * Sem marca d'água a consulta não tem ordem garantida e a leitura não registra
+     * {@link SourceSnapshot}: uma execução interrompida depois de gravar algum lote não é
+     * retomada, porque pular registros de uma releitura em outra ordem perderia ou duplicaria linhas.
+     */
+    @Override
+    public List<Map<String, Object>> readData(Map<String, Object> config, Map<String, Object> parameters) {
+        if (PostgresCdcReader.isEnabled(config)) {
+            return new PostgresCdcReader(this).read(config, parameters);
+        }
+        String baseQuery = baseQuery(config);
+        Watermark watermark = Watermark.from(parameters);
+        String sql = baseQuery;
+        if (watermark != null) {
+            if (!IDENTIFIER.matcher(watermark.field()).matches()) {
+                throw new ConnectorException("Campo de marca d'água inválido: " + watermark.field());
+            }
+            sql = "SELECT * FROM (" + baseQuery + ") src"
+                    + (watermark.value() != null ? " WHERE " + watermark.field() + " > ?" : "")
+                    + " ORDER BY " + watermark.field();
+        }
+
+        log.info("Lendo registros do banco{}: {}", watermark != null ? " a partir de " + watermark.value() : "", sql);
+
+        try (Connection conn = connect(config);
+             PreparedStatement statement = conn.prepareStatement(sql)) {
+            statement.setFetchSize(config.get("fetchSize") instanceof Number size ? size.intValue() : DEFAULT_FETCH_SIZE);
+            if (watermark != null && watermark.value() != null) {
+                statement.setObject(1, watermark.sqlValue());
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                int columns = metaData.getColumnCount();
+                List<Map<String, Object>> records = new ArrayList<>();
+                while (resultSet.next()) {
+                    Map<String, Object> record = new LinkedHashMap<>(Math.max(16, columns * 2));
+                    for (int i = 1; i <= columns; i++) {
+                        record.put(metaData.getColumnLabel(i), resultSet.getObject(i));
+                    }
+                    records.add(record);
+                }
+                return records;
+            }
+        } catch (SQLException e) {
+            throw new ConnectorException("Erro ao ler dados do banco: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Grava os registros em {@code table} num lote JDBC, numa transação. Com {@code upsertKeys}
+     * (colunas da chave única do destino) a gravação vira upsert: {@code ON CONFLICT DO UPDATE}
+     * no PostgreSQL e {@code ON DUPLICATE KEY UPDATE} no MySQL, de modo que regravar o mesmo
+     * registro após uma retentativa não duplica linhas. As colunas são as do primeiro registro,
+     * exceto metadados com prefixo {@code _} (ex.: {@code _op} do CDC).
+     */
+    @Override
+    public int writeData(Map<String, Object> config, List<Map<String, Object>> data, Map<String, Object> parameters) {
+        if (data == null || data.isEmpty()) {
+            return 0;
+        }
+        Object table = config.get("table");
+        if (!(table instanceof String name) || !IDENTIFIER.matcher(name).matches()) {
+            throw new ConnectorException("Informe uma 'table' válida para gravação no banco");
+        }
+        List<String> columns = data.get(0).keySet().stream().filter(column -> !column.startsWith("_")).toList();
+        List<String> upsertKeys = upsertKeys(config);
+        for (String column : columns) {
+            if (!IDENTIFIER.matcher(column).matches()) {
+                throw new ConnectorException("Nome de coluna inválido para gravação: " + column);
+            }
+        }
+        if (!columns.containsAll(upsertKeys)) {
+            throw new ConnectorException("Colunas de upsert ausentes nos registros: " + upsertKeys);
+        }
+        String sql = insertSql(name, columns, upsertKeys, (String) config.get("type"));
+        DataVolumeCounter volume = DataVolumeCounter.from(parameters);
+
+        log.info("Gravando {} registros em {}{}", data.size(), name, upsertKeys.isEmpty() ? "" : " (upsert por " + upsertKeys + ")");
+
+        try (Connection conn = connect(config)) {
+            conn.setAutoCommit(false);
+            long bytes = 0;
+            try (PreparedStatement statement = conn.prepareStatement(sql)) {
+                for (Map<String, Object> record : data) {
+                    for (int i = 0; i < columns.size(); i++) {
+                        Object value = record.get(columns.get(i));
+                        statement.setObject(i + 1, value);
+                        bytes += value != null ? value.toString().length() : 0;
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            volume.addBytesWritten(bytes);
+            return data.size();
+        } catch (SQLException e) {
+            throw new ConnectorException("Erro ao gravar dados no banco: " + e.getMessage(), e);
+        }
+    }
+
+    private static List<String> upsertKeys(Map<String, Object> config) {
+        Object keys = config.get("upsertKeys");
+        List<String> upsertKeys = new ArrayList<>();
+        if (keys instanceof List<?> list) {
+            list.forEach(key -> upsertKeys.add(String.valueOf(key).trim()));
+        } else if (keys instanceof String text && !text.isBlank()) {
+            for (String key : text.split(",")) {
+                upsertKeys.add(key.trim());
+            }
+        }
+        return upsertKeys;
+    }
+
+    static String insertSql(String table, List<String> columns, List<String> upsertKeys, String type) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                .append(" (").append(String.join(", ", columns)).append(") VALUES (")
+                .append(String.join(", ", Collections.nCopies(columns.size(), "?"))).append(")");
+        if (upsertKeys.isEmpty()) {
+            return sql.toString();
+        }
+        List<String> updated = columns.stream().filter(column -> !upsertKeys.contains(column)).toList();
+        if ("DATABASE_MYSQL".equalsIgnoreCase(type)) {
+            List<String> assignments = (updated.isEmpty() ? upsertKeys : updated).stream()
+                    .map(column -> column + " = VALUES(" + column + ")").toList();
+            return sql.append(" ON DUPLICATE KEY UPDATE ").append(String.join(", ", assignments)).toString();
+        }
+        if (type != null && !"DATABASE_POSTGRESQL".equalsIgnoreCase(type)) {
+            throw new ConnectorException("Upsert não suportado para " + type);
+        }
+        sql.append(" ON CONFLICT (").append(String.join(", ", upsertKeys)).append(")");
+        if (updated.isEmpty()) {
+            return sql.append(" DO NOTHING").toString();
+        }
+        return sql.append(" DO UPDATE SET ")
+                .append(String.join(", ", updated.stream().map(column -> column + " = EXCLUDED." + column).toList()))
+                .toString();
+    }
+
+    private static String baseQuery(Map<String, Object> config) {
+        Object query = config.get("query");
+        if (query instanceof String text && !text.isBlank()) {
+            return text.strip().replaceAll(";+$", "");
+        }
+        Object table = config.get("table");
+        if (table instanceof String name && IDENTIFIER.matcher(name).matches()) {
+            return "SELECT * FROM " + name;
+        }
+        throw new ConnectorException("Informe 'query' ou 'table' para leitura do banco");
+    }
+
+    /**
+     * {@code jdbcUrl} tem precedência sobre host/porta/banco.
+     */
+    public Connection connect(Map<String, Object> config) throws SQLException {
+        Object jdbcUrl = config.get("jdbcUrl");
+        if (jdbcUrl instanceof String url && !url.isBlank()) {
+            return DriverManager.getConnection(url, (String) config.get("username"), (String) config.get("password"));
+        }
+        String type = (String) config.get("type");
+        if ("DATABASE_MYSQL".equalsIgnoreCase(type)) {
+            return connectMySQL(config);
+        }
+        return connectPostgreSQL(config);
+    }
 
     public Connection connectPostgreSQL(Map<String, Object> config) throws SQLException {
         String host = (String) config.get("host");
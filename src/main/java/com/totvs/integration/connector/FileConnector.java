@@ -1,19 +1,355 @@
 // src/main/java/com/totvs/integration/connector/FileConnector.java
 package com.totvs.integration.connector;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.totvs.integration.connector.file.RotatingFileWriter;
+import com.totvs.integration.connector.remote.RemoteEndpoint;
+import com.totvs.integration.connector.remote.RemoteFileReader;
+import com.totvs.integration.connector.remote.RemoteFileSystem;
+import com.totvs.integration.exception.ConnectorException;
+import com.totvs.integration.format.CsvRecordReader;
+import com.totvs.integration.format.JsonRecordReader;
+import com.totvs.integration.format.MappedCsvReader;
+import com.totvs.integration.format.RecordReader;
+import com.totvs.integration.format.XmlRecordReader;
+import com.totvs.integration.metering.DataVolumeCounter;
+import com.totvs.integration.metering.ExecutionResourceUsage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Arquivos locais ({@code FILE_CSV}, {@code FILE_JSON}, {@code FILE_XML}). Configuração como em
+ * {@code FileConnectorDto}: {@code filePath}, {@code fileType} (senão o tipo do conector ou a
+ * extensão), {@code encoding} (UTF-8), {@code delimiter} ({@code ,}; aceita {@code \t}) e
+ * {@code hasHeader} (true). JSON aceita {@code recordsPath} (ex.: {@code data.items}) e XML
+ * {@code recordPath} (ex.: {@code nfeProc/NFe}); os três formatos são lidos em stream por {@link #openReader}.
+ * <p>
+ * Como destino ({@code FILE_CSV} ou {@code FILE_JSON}, gravado como NDJSON em UTF-8) aceita
+ * também {@code compression} ({@code gzip}/{@code zstd}), {@code compressionLevel},
+ * {@code rotateBytes}, {@code rotateSeconds} e {@code bufferBytes}; ver {@link RotatingFileWriter}.
+ * <p>
+ * Com {@code ftpHost} a origem é remota ({@link RemoteEndpoint}): {@code remotePath} (arquivo ou
+ * diretório, senão {@code filePath}), {@code filePattern} (glob, ex.: {@code *.xml}),
+ * {@code parallelDownloads} (4) e {@code maxResumes} (3) retomadas por arquivo; os arquivos são
+ * lidos em stream por {@link RemoteFileReader}.
+ */
 @Slf4j
 @Component
 public class FileConnector implements ConnectorHandler {
-    
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+
+    private final String type;
+
+    public FileConnector() {
+        this(null);
+    }
+
+    public FileConnector(String type) {
+        this.type = type;
+    }
+
     @Override
     public boolean testConnection(Map<String, Object> config) {
         log.info("Testando conexão de arquivo");
-        
+
+        if (RemoteEndpoint.isRemote(config)) {
+            RemoteEndpoint endpoint = RemoteEndpoint.from(config);
+            try (RemoteFileSystem session = endpoint.connect()) {
+                String remotePath = text(config, "remotePath") != null ? text(config, "remotePath") : text(config, "filePath");
+                session.list(remotePath != null ? remotePath : ".", text(config, "filePattern"));
+                return true;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Falha ao conectar em {}: {}", endpoint, e.getMessage());
+                return false;
+            }
+        }
+        Object filePath = config.get("filePath");
+        if (filePath instanceof String text && !text.isBlank()) {
+            return Files.isReadable(Path.of(text));
+        }
         return true;
     }
-}
\ No newline at end of file
+
+    /**
+     * CSV é lido pelo {@link MappedCsvReader}: arquivo mapeado em memória e interpretado em
+     * paralelo em blocos de {@code chunkBytes} (1 MB); codificações multibyte como UTF-16 caem
+     * no leitor sequencial.
+     */
+    @Override
+    public List<Map<String, Object>> readData(Map<String, Object> config, Map<String, Object> parameters) {
+        if (RemoteEndpoint.isRemote(config)) {
+            try {
+                return readAll(openRemote(config, parameters));
+            } catch (IOException e) {
+                throw new ConnectorException("Erro ao ler arquivos remotos: " + e.getMessage(), e);
+            }
+        }
+        Path path = path(config);
+        String fileType = fileType(config, path);
+        DataVolumeCounter volume = DataVolumeCounter.from(parameters);
+        long started = System.nanoTime();
+        try {
+            SourceSnapshot.register(parameters, snapshot(path));
+            List<Map<String, Object>> records = switch (fileType) {
+                case "CSV" -> readAll(openCsv(path, config, ExecutionResourceUsage.from(parameters)));
+                case "JSON", "XML" -> readAll(path, config, fileType);
+                default -> throw new ConnectorException("Leitura de arquivos " + fileType + " não suportada");
+            };
+            long bytes = Files.size(path);
+            volume.addBytesRead(bytes);
+            long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+            log.info("Arquivo {} lido: {} registros, {} bytes em {}ms ({} MB/s)",
+                    path, records.size(), bytes, elapsedMs, bytes * 1000 / elapsedMs / (1024 * 1024));
+            return records;
+        } catch (IOException e) {
+            throw new ConnectorException("Erro ao ler arquivo " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Registro a registro, com memória limitada; o executor consome em lotes e grava cada lote
+     * antes de ler o próximo. JSON e XML guardam só o registro corrente e o buffer de leitura;
+     * CSV guarda a janela de segmentos do {@link MappedCsvReader}, que é interpretada à frente
+     * do consumidor. Como o CSV é mapeado e não passa por stream, o volume do arquivo é
+     * contabilizado na abertura.
+     */
+    @Override
+    public RecordReader openReader(Map<String, Object> config, Map<String, Object> parameters) {
+        if (RemoteEndpoint.isRemote(config)) {
+            return openRemote(config, parameters);
+        }
+        Path path = path(config);
+        String fileType = fileType(config, path);
+        if (!"JSON".equals(fileType) && !"XML".equals(fileType) && !"CSV".equals(fileType)) {
+            return null;
+        }
+        log.info("Lendo arquivo {} {} em stream ({} bytes)", fileType, path, path.toFile().length());
+        try {
+            SourceSnapshot.register(parameters, snapshot(path));
+            if ("CSV".equals(fileType)) {
+                DataVolumeCounter.from(parameters).addBytesRead(Files.size(path));
+                return openCsv(path, config, ExecutionResourceUsage.from(parameters));
+            }
+            return open(path, config, fileType, DataVolumeCounter.from(parameters));
+        } catch (IOException e) {
+            throw new ConnectorException("Erro ao abrir arquivo " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Os lotes de uma execução vão para o mesmo {@link RotatingFileWriter}, guardado em
+     * {@code parameters} como {@link TargetSession} e concluído pela execução; fora de uma
+     * execução (parâmetros imutáveis) cada chamada grava e publica um arquivo. Na retomada o
+     * escritor continua o arquivo do último checkpoint ({@link TargetSession#RESUME_PARAMETER}).
+     */
+    @Override
+    public int writeData(Map<String, Object> config, List<Map<String, Object>> data, Map<String, Object> parameters) {
+        Object filePath = config.get("filePath");
+        if (!(filePath instanceof String text) || text.isBlank()) {
+            throw new ConnectorException("Informe 'filePath' para gravação de arquivo");
+        }
+        try {
+            if (TargetSession.from(parameters) instanceof RotatingFileWriter writer) {
+                return writer.write(data);
+            }
+            RotatingFileWriter writer = newWriter(Path.of(text), config, parameters);
+            if (parameters != null && parameters.get(TargetSession.RESUME_PARAMETER) instanceof String checkpoint) {
+                writer.resume(checkpoint);
+            }
+            try {
+                parameters.put(TargetSession.PARAMETER, writer);
+            } catch (UnsupportedOperationException | NullPointerException e) {
+                try (writer) {
+                    return writer.write(data);
+                }
+            }
+            return writer.write(data);
+        } catch (IOException e) {
+            throw new ConnectorException("Erro ao gravar arquivo " + text + ": " + e.getMessage(), e);
+        }
+    }
+
+    private RotatingFileWriter newWriter(Path path, Map<String, Object> config, Map<String, Object> parameters) {
+        String fileType = fileType(config, path);
+        RotatingFileWriter.Format format = switch (fileType) {
+            case "CSV" -> RotatingFileWriter.Format.CSV;
+            case "JSON", "NDJSON", "JSONL" -> RotatingFileWriter.Format.NDJSON;
+            default -> throw new ConnectorException("Gravação de arquivos " + fileType + " não suportada");
+        };
+        RotatingFileWriter.Options options = new RotatingFileWriter.Options(
+                charset(config),
+                delimiter(config),
+                !Boolean.FALSE.equals(config.get("hasHeader")),
+                RotatingFileWriter.Compression.of(text(config, "compression")),
+                (int) number(config, "compressionLevel"),
+                number(config, "rotateBytes"),
+                number(config, "rotateSeconds") * 1000,
+                (int) number(config, "bufferBytes"));
+        return new RotatingFileWriter(path, format, options, OBJECT_MAPPER, DataVolumeCounter.from(parameters));
+    }
+
+    private RecordReader open(Path path, Map<String, Object> config, String fileType, DataVolumeCounter volume) throws IOException {
+        RemoteFileReader.Parser parser = parser(config, fileType);
+        InputStream file = Files.newInputStream(path);
+        InputStream in = new BufferedInputStream(volume != null ? volume.wrap(file) : file, READ_BUFFER_BYTES);
+        try {
+            return parser.open(in);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Arquivos remotos baixados em paralelo direto para o parser, sem cópia em disco local.
+     */
+    private RecordReader openRemote(Map<String, Object> config, Map<String, Object> parameters) {
+        RemoteEndpoint endpoint = RemoteEndpoint.from(config);
+        String remotePath = text(config, "remotePath") != null ? text(config, "remotePath") : text(config, "filePath");
+        if (remotePath == null) {
+            throw new ConnectorException("Informe 'remotePath' para leitura de arquivos remotos");
+        }
+        String pattern = text(config, "filePattern");
+        RemoteFileReader.Parser parser = parser(config, fileType(config, Path.of(pattern != null ? pattern : remotePath)));
+        long parallelDownloads = number(config, "parallelDownloads");
+        long maxResumes = config.containsKey("maxResumes") ? number(config, "maxResumes") : 3;
+        try {
+            RemoteFileReader reader = RemoteFileReader.open(endpoint, remotePath, pattern, parallelDownloads > 0 ? (int) parallelDownloads : 4,
+                    (int) maxResumes, parser, DataVolumeCounter.from(parameters), ExecutionResourceUsage.from(parameters));
+            SourceSnapshot.register(parameters, reader.getSnapshot());
+            return reader;
+        } catch (IOException e) {
+            throw new ConnectorException("Erro ao acessar " + endpoint + remotePath + ": " + e.getMessage(), e);
+        }
+    }
+
+    private RemoteFileReader.Parser parser(Map<String, Object> config, String fileType) {
+        return switch (fileType) {
+            case "CSV" -> {
+                Charset charset = charset(config);
+                char delimiter = delimiter(config);
+                if (Boolean.FALSE.equals(config.get("hasHeader"))) {
+                    throw new ConnectorException("Arquivo CSV sem cabeçalho não suportado em stream");
+                }
+                yield in -> new CsvRecordReader(new BufferedReader(new InputStreamReader(in, charset), READ_BUFFER_BYTES), delimiter);
+            }
+            case "JSON" -> in -> new JsonRecordReader(in, OBJECT_MAPPER, text(config, "recordsPath"));
+            case "XML" -> in -> new XmlRecordReader(in, text(config, "recordPath"));
+            default -> throw new ConnectorException("Leitura de arquivos " + fileType + " não suportada");
+        };
+    }
+
+    private List<Map<String, Object>> readAll(Path path, Map<String, Object> config, String fileType) throws IOException {
+        return readAll(open(path, config, fileType, null));
+    }
+
+    private static List<Map<String, Object>> readAll(RecordReader opened) throws IOException {
+        List<Map<String, Object>> records = new ArrayList<>();
+        try (RecordReader reader = opened) {
+            Map<String, Object> record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * CSV pelo {@link MappedCsvReader} quando a codificação permite; senão pelo leitor
+     * sequencial, que exige cabeçalho.
+     */
+    private RecordReader openCsv(Path path, Map<String, Object> config, ExecutionResourceUsage resources) throws IOException {
+        Charset charset = charset(config);
+        char delimiter = delimiter(config);
+        boolean hasHeader = !Boolean.FALSE.equals(config.get("hasHeader"));
+        if (MappedCsvReader.supports(charset) && delimiter <= 0x7F) {
+            int chunkBytes = config.get("chunkBytes") instanceof Number number ? number.intValue() : MappedCsvReader.DEFAULT_CHUNK_BYTES;
+            return new MappedCsvReader(path, charset, delimiter, hasHeader, chunkBytes, null, resources).open();
+        }
+        if (!hasHeader) {
+            throw new ConnectorException("Arquivo CSV sem cabeçalho não suportado na codificação " + charset);
+        }
+        return new CsvRecordReader(new BufferedReader(new InputStreamReader(Files.newInputStream(path), charset), READ_BUFFER_BYTES), delimiter);
+    }
+
+    /**
+     * Caminho, tamanho e data de modificação: um arquivo com os mesmos três é relido na mesma
+     * ordem, o que permite retomar a execução pelo número de registros já gravados.
+     */
+    private static String snapshot(Path path) throws IOException {
+        return path.toAbsolutePath() + ":" + Files.size(path) + ":" + Files.getLastModifiedTime(path).toMillis();
+    }
+
+    private static Path path(Map<String, Object> config) {
+        Object filePath = config.get("filePath");
+        if (!(filePath instanceof String text) || text.isBlank()) {
+            throw new ConnectorException("Informe 'filePath' para leitura de arquivo");
+        }
+        Path path = Path.of(text);
+        if (!Files.isRegularFile(path)) {
+            throw new ConnectorException("Arquivo não encontrado: " + text);
+        }
+        return path;
+    }
+
+    private String fileType(Map<String, Object> config, Path path) {
+        Object fileType = config.get("fileType");
+        if (fileType instanceof String text && !text.isBlank()) {
+            return text.toUpperCase(Locale.ROOT);
+        }
+        if (type != null && type.startsWith("FILE_")) {
+            return type.substring("FILE_".length());
+        }
+        String name = path.getFileName().toString().replaceFirst("\\.(gz|zst)$", "");
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 ? name.substring(dot + 1).toUpperCase(Locale.ROOT) : "CSV";
+    }
+
+    private static String text(Map<String, Object> config, String key) {
+        Object value = config.get(key);
+        return value instanceof String text && !text.isBlank() ? text : null;
+    }
+
+    private static long number(Map<String, Object> config, String key) {
+        Object value = config.get(key);
+        try {
+            return value instanceof Number number ? number.longValue()
+                    : value instanceof String text && !text.isBlank() ? Long.parseLong(text.trim()) : 0;
+        } catch (NumberFormatException e) {
+            throw new ConnectorException("Valor inválido para '" + key + "': " + value);
+        }
+    }
+
+    private static Charset charset(Map<String, Object> config) {
+        Object encoding = config.get("encoding");
+        try {
+            return encoding instanceof String name && !name.isBlank() ? Charset.forName(name) : StandardCharsets.UTF_8;
+        } catch (IllegalArgumentException e) {
+            throw new ConnectorException("Codificação inválida: " + encoding);
+        }
+    }
+
+    private static char delimiter(Map<String, Object> config) {
+        Object delimiter = config.get("delimiter");
+        if (!(delimiter instanceof String text) || text.isEmpty()) {
+            return ',';
+        }
+        return "\\t".equals(text) || "tab".equalsIgnoreCase(text) ? '\t' : text.charAt(0);
+    }
+}
@@ -0,0 +1,68 @@
+package com.totvs.integration.connector;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Origem sintética ({@code GENERATOR}) para medir a vazão do pipeline sem sistema externo.
+ * <p>
+ * Configuração: {@code recordCount} (1000), {@code width} campos por registro (10),
+ * {@code valueLength} caracteres por campo texto (16), {@code skew} fração de registros
+ * "pesados" (0.0) com {@code skewFactor} vezes mais campos (10), {@code seed} e
+ * {@code latencyMs}/{@code latencyJitterMs} por leitura.
+ */
+@Slf4j
+public class GeneratorConnector implements ConnectorHandler {
+
+    private static final char[] ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+
+    @Override
+    public boolean testConnection(Map<String, Object> config) {
+        return true;
+    }
+
+    @Override
+    public boolean validateConfig(Map<String, Object> config) {
+        return SyntheticConnectors.intValue(config, "recordCount", 1000) >= 0
+                && SyntheticConnectors.intValue(config, "width", 10) > 0;
+    }
+
+    @Override
+    public List<Map<String, Object>> readData(Map<String, Object> config, Map<String, Object> parameters) {
+        int recordCount = SyntheticConnectors.intValue(config, "recordCount", 1000);
+        int width = SyntheticConnectors.intValue(config, "width", 10);
+        int valueLength = SyntheticConnectors.intValue(config, "valueLength", 16);
+        double skew = SyntheticConnectors.doubleValue(config, "skew", 0.0);
+        int skewFactor = SyntheticConnectors.intValue(config, "skewFactor", 10);
+        SplittableRandom random = new SplittableRandom(SyntheticConnectors.longValue(config, "seed", System.nanoTime()));
+
+        SyntheticConnectors.injectLatency(config);
+
+        List<Map<String, Object>> records = new ArrayList<>(recordCount);
+        for (int r = 0; r < recordCount; r++) {
+            int fields = skew > 0 && random.nextDouble() < skew ? width * skewFactor : width;
+            Map<String, Object> record = new LinkedHashMap<>(Math.max(16, fields * 2));
+            record.put("id", (long) r);
+            for (int f = 1; f < fields; f++) {
+                record.put("field_" + f, f % 3 == 0 ? (Object) random.nextLong() : randomText(random, valueLength));
+            }
+            records.add(record);
+        }
+
+        log.debug("Gerados {} registros sintéticos ({} campos, skew {})", recordCount, width, skew);
+        return records;
+    }
+
+    private static String randomText(SplittableRandom random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+        }
+        return new String(chars);
+    }
+}
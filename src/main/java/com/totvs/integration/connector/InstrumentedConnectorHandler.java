@@ -0,0 +1,130 @@
+package com.totvs.integration.connector;
+
+import com.totvs.integration.format.RecordReader;
+import com.totvs.integration.metering.DataVolumeCounter;
+import com.totvs.integration.profiling.ConnectorCallEvent;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decorador aplicado pelo {@link ConnectorFactory} a todo conector: cada chamada
+ * emite um {@link ConnectorCallEvent} (tipo, operação, linhas e bytes). Sem gravação
+ * JFR ativa o evento não é gravado.
+ */
+final class InstrumentedConnectorHandler implements ConnectorHandler {
+
+    private final ConnectorHandler delegate;
+    private final String type;
+
+    InstrumentedConnectorHandler(ConnectorHandler delegate, String type) {
+        this.delegate = delegate;
+        this.type = type;
+    }
+
+    @Override
+    public boolean testConnection(Map<String, Object> config) {
+        ConnectorCallEvent event = ConnectorCallEvent.start(type, "testConnection");
+        boolean success = false;
+        try {
+            success = delegate.testConnection(config);
+            return success;
+        } finally {
+            event.finish(0, 0, success);
+        }
+    }
+
+    @Override
+    public Object execute(Map<String, Object> config, Map<String, Object> parameters) {
+        ConnectorCallEvent event = ConnectorCallEvent.start(type, "execute");
+        boolean success = false;
+        try {
+            Object result = delegate.execute(config, parameters);
+            success = true;
+            return result;
+        } finally {
+            event.finish(0, 0, success);
+        }
+    }
+
+    @Override
+    public boolean validateConfig(Map<String, Object> config) {
+        return delegate.validateConfig(config);
+    }
+
+    @Override
+    public List<Map<String, Object>> readData(Map<String, Object> config, Map<String, Object> parameters) {
+        ConnectorCallEvent event = ConnectorCallEvent.start(type, "read");
+        DataVolumeCounter volume = DataVolumeCounter.from(parameters);
+        long bytesBefore = volume.getBytesRead();
+        List<Map<String, Object>> records = null;
+        try {
+            records = delegate.readData(config, parameters);
+            return records;
+        } finally {
+            event.finish(records != null ? records.size() : 0, volume.getBytesRead() - bytesBefore, records != null);
+        }
+    }
+
+    /**
+     * Em stream o evento cobre a vida do leitor: termina no {@code close} com os registros lidos.
+     */
+    @Override
+    public RecordReader openReader(Map<String, Object> config, Map<String, Object> parameters) {
+        ConnectorCallEvent event = ConnectorCallEvent.start(type, "read");
+        DataVolumeCounter volume = DataVolumeCounter.from(parameters);
+        long bytesBefore = volume.getBytesRead();
+        RecordReader opened;
+        try {
+            opened = delegate.openReader(config, parameters);
+        } catch (RuntimeException e) {
+            event.finish(0, 0, false);
+            throw e;
+        }
+        if (opened == null) {
+            return null;
+        }
+        return new RecordReader() {
+            private long records;
+            private boolean failed;
+
+            @Override
+            public Map<String, Object> next() throws IOException {
+                try {
+                    Map<String, Object> record = opened.next();
+                    if (record != null) {
+                        records++;
+                    }
+                    return record;
+                } catch (IOException | RuntimeException e) {
+                    failed = true;
+                    throw e;
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    opened.close();
+                } finally {
+                    event.finish(records, volume.getBytesRead() - bytesBefore, !failed);
+                }
+            }
+        };
+    }
+
+    @Override
+    public int writeData(Map<String, Object> config, List<Map<String, Object>> data, Map<String, Object> parameters) {
+        ConnectorCallEvent event = ConnectorCallEvent.start(type, "write");
+        DataVolumeCounter volume = DataVolumeCounter.from(parameters);
+        long bytesBefore = volume.getBytesWritten();
+        int written = -1;
+        try {
+            written = delegate.writeData(config, data, parameters);
+            return written;
+        } finally {
+            event.finish(Math.max(0, written), volume.getBytesWritten() - bytesBefore, written >= 0);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.totvs.integration.connector;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Destino sintético ({@code NULL}) que descarta os registros, opcionalmente
+ * simulando {@code latencyMs}/{@code latencyJitterMs} por gravação.
+ */
+public class NullConnector implements ConnectorHandler {
+
+    @Override
+    public boolean testConnection(Map<String, Object> config) {
+        return true;
+    }
+
+    @Override
+    public boolean validateConfig(Map<String, Object> config) {
+        return true;
+    }
+
+    @Override
+    public int writeData(Map<String, Object> config, List<Map<String, Object>> data, Map<String, Object> parameters) {
+        SyntheticConnectors.injectLatency(config);
+        return data != null ? data.size() : 0;
+    }
+}
@@ -1,22 +1,41 @@
 package com.totvs.integration.connector;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.totvs.integration.entity.ConnectorConfig;
+import com.totvs.integration.idempotency.IdempotencyService;
+import com.totvs.integration.metering.DataVolumeCounter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
 @Component
 public class RestConnector implements ConnectorHandler {
 
+    private static final TypeReference<Map<String, Object>> RECORD_TYPE = new TypeReference<>() {};
+
     private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
 
-    public RestConnector() {
+    /**
+     * @param objectMapper o do contexto Spring, com os módulos configurados (datas java.time etc.)
+     */
+    @Autowired
+    public RestConnector(ObjectMapper objectMapper) {
         this.restTemplate = new RestTemplate();
+        this.objectMapper = objectMapper;
     }
 
     
@@ -60,6 +79,90 @@ public class RestConnector implements ConnectorHandler {
     
     
     
+    @Override
+    public List<Map<String, Object>> readData(Map<String, Object> config, Map<String, Object> parameters) {
+        String fullUrl = config.get("baseUrl") + (config.get("endpoint") != null ? (String) config.get("endpoint") : "");
+        String recordsPath = (String) config.get("recordsPath");
+        DataVolumeCounter volume = DataVolumeCounter.from(parameters);
+        Watermark watermark = Watermark.from(parameters);
+        boolean incremental = watermark != null && watermark.value() != null;
+        String url = incremental
+                ? UriComponentsBuilder.fromUriString(fullUrl).queryParam(watermark.queryParam(), "{watermark}").build().toUriString()
+                : fullUrl;
+        
+        log.info("Lendo registros via GET: {}{}", fullUrl, incremental ? " (" + watermark.queryParam() + "=" + watermark.value() + ")" : "");
+        
+        HttpHeaders headers = buildHeaders(config);
+        return restTemplate.execute(url, HttpMethod.GET,
+                request -> request.getHeaders().addAll(headers),
+                response -> {
+                    try (InputStream body = volume.wrap(response.getBody())) {
+                        return toRecords(objectMapper.readTree(body), recordsPath);
+                    }
+                },
+                incremental ? Map.of("watermark", watermark.value()) : Map.of());
+    }
+
+    
+    
+    
+    @Override
+    public int writeData(Map<String, Object> config, List<Map<String, Object>> data, Map<String, Object> parameters) {
+        if (data == null || data.isEmpty()) {
+            return 0;
+        }
+        
+        String fullUrl = config.get("baseUrl") + (config.get("endpoint") != null ? (String) config.get("endpoint") : "");
+        DataVolumeCounter volume = DataVolumeCounter.from(parameters);
+        
+        log.info("Enviando {} registros via POST: {}", data.size(), fullUrl);
+        
+        HttpHeaders headers = buildHeaders(config);
+        Object idempotencyKey = parameters != null ? parameters.get(IdempotencyService.KEY_PARAMETER) : null;
+        if (idempotencyKey != null) {
+            headers.set("Idempotency-Key", idempotencyKey.toString());
+        }
+        restTemplate.execute(fullUrl, HttpMethod.POST,
+                request -> {
+                    request.getHeaders().addAll(headers);
+                    OutputStream body = volume.wrap(request.getBody());
+                    objectMapper.writeValue(body, data);
+                    body.flush();
+                },
+                response -> {
+                    if (!response.getStatusCode().is2xxSuccessful()) {
+                        throw new RuntimeException("Erro na requisição POST: " + response.getStatusCode());
+                    }
+                    return null;
+                });
+        return data.size();
+    }
+
+    
+    
+    
+    private List<Map<String, Object>> toRecords(JsonNode root, String recordsPath) {
+        JsonNode node = root;
+        if (recordsPath != null && !recordsPath.isBlank()) {
+            for (String field : recordsPath.split("\\.")) {
+                node = node.path(field);
+            }
+        }
+        
+        List<Map<String, Object>> records = new ArrayList<>();
+        if (node.isArray()) {
+            for (JsonNode item : node) {
+                records.add(objectMapper.convertValue(item, RECORD_TYPE));
+            }
+        } else if (node.isObject()) {
+            records.add(objectMapper.convertValue(node, RECORD_TYPE));
+        }
+        return records;
+    }
+
+    
+    
+    
     private HttpHeaders buildHeaders(Map<String, Object> config) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
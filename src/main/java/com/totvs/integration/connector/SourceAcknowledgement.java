@@ -0,0 +1,33 @@
+package com.totvs.integration.connector;
+
+import java.util.Map;
+
+/**
+ * Confirmação de leitura pendente de uma origem que só avança depois que o destino gravou
+ * (ex.: slot de replicação lógica). O conector de origem coloca a confirmação em
+ * {@code parameters} sob {@link #PARAMETER} ao ler; a execução chama {@link #acknowledge()}
+ * quando todos os registros foram gravados e sempre chama {@link #close()} no fim. Sem
+ * confirmação, a origem entrega os mesmos registros na próxima leitura.
+ */
+public interface SourceAcknowledgement extends AutoCloseable {
+
+    String PARAMETER = "__sourceAck";
+
+    static SourceAcknowledgement from(Map<String, Object> parameters) {
+        Object acknowledgement = parameters != null ? parameters.get(PARAMETER) : null;
+        return acknowledgement instanceof SourceAcknowledgement value ? value : null;
+    }
+
+    /**
+     * Posição da origem que será confirmada (para o log da execução).
+     */
+    Object position();
+
+    void acknowledge();
+
+    /**
+     * Libera os recursos da leitura; não confirma nada.
+     */
+    @Override
+    void close();
+}
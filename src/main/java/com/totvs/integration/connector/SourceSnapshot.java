@@ -0,0 +1,38 @@
+package com.totvs.integration.connector;
+
+import java.util.Map;
+
+/**
+ * Identidade do conteúdo lido por uma origem de ordem determinística: enquanto a identidade
+ * não muda, reler a origem devolve os mesmos registros na mesma ordem (ex.: arquivos com o
+ * mesmo tamanho e data de modificação, slot de replicação a partir do mesmo LSN). O conector
+ * de origem registra o snapshot em {@code parameters} sob {@link #PARAMETER} ao ler.
+ * <p>
+ * Só com snapshot uma execução interrompida pode ser retomada pulando os registros já
+ * gravados, e só se a identidade for a mesma do checkpoint. Consultas sem ordem garantida não
+ * registram snapshot: sem marca d'água ({@link Watermark}), elas não são retomadas.
+ */
+public record SourceSnapshot(String identity) {
+
+    public static final String PARAMETER = "__sourceSnapshot";
+
+    public static SourceSnapshot from(Map<String, Object> parameters) {
+        Object snapshot = parameters != null ? parameters.get(PARAMETER) : null;
+        return snapshot instanceof SourceSnapshot value ? value : null;
+    }
+
+    /**
+     * Registra o snapshot da leitura; fora de uma execução (parâmetros imutáveis) não há
+     * checkpoint e nada é registrado.
+     */
+    public static void register(Map<String, Object> parameters, String identity) {
+        if (parameters == null || identity == null) {
+            return;
+        }
+        try {
+            parameters.put(PARAMETER, new SourceSnapshot(identity));
+        } catch (UnsupportedOperationException e) {
+            // leitura avulsa (teste de conexão, prévia): não há o que retomar
+        }
+    }
+}
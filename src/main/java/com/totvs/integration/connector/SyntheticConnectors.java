@@ -0,0 +1,60 @@
+package com.totvs.integration.connector;
+
+import com.totvs.integration.exception.ConnectorException;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leitura dos parâmetros comuns aos conectores sintéticos ({@code GENERATOR},
+ * {@code NULL}, {@code COUNTING}) usados em testes de carga.
+ */
+final class SyntheticConnectors {
+
+    private SyntheticConnectors() {
+    }
+
+    static int intValue(Map<String, Object> config, String key, int defaultValue) {
+        Object value = config != null ? config.get(key) : null;
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        return value != null ? Integer.parseInt(value.toString().trim()) : defaultValue;
+    }
+
+    static long longValue(Map<String, Object> config, String key, long defaultValue) {
+        Object value = config != null ? config.get(key) : null;
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        return value != null ? Long.parseLong(value.toString().trim()) : defaultValue;
+    }
+
+    static double doubleValue(Map<String, Object> config, String key, double defaultValue) {
+        Object value = config != null ? config.get(key) : null;
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        return value != null ? Double.parseDouble(value.toString().trim()) : defaultValue;
+    }
+
+    /**
+     * Simula a latência de um sistema externo: {@code latencyMs} fixo mais
+     * até {@code latencyJitterMs} aleatório.
+     */
+    static void injectLatency(Map<String, Object> config) {
+        long latencyMs = longValue(config, "latencyMs", 0);
+        long jitterMs = longValue(config, "latencyJitterMs", 0);
+        long delayMs = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        if (delayMs <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectorException("Latência simulada interrompida", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.totvs.integration.connector;
+
+import java.util.Map;
+
+/**
+ * Estado que o conector de destino mantém entre os lotes de uma execução (ex.: arquivo aberto
+ * com rotação). O conector coloca a sessão em {@code parameters} sob {@link #PARAMETER} no
+ * primeiro {@code writeData}; a execução sempre chama {@link #close()} no fim, com sucesso ou
+ * falha, e o conector conclui o que já foi gravado.
+ */
+public interface TargetSession extends AutoCloseable {
+
+    String PARAMETER = "__targetSession";
+
+    /**
+     * Na retomada de uma execução, o último {@link #checkpoint()} gravado, para o conector
+     * continuar a sessão de onde o checkpoint parou.
+     */
+    String RESUME_PARAMETER = "__targetResume";
+
+    static TargetSession from(Map<String, Object> parameters) {
+        Object session = parameters != null ? parameters.get(PARAMETER) : null;
+        return session instanceof TargetSession value ? value : null;
+    }
+
+    /**
+     * Estado do que já foi gravado, salvo junto com o checkpoint de cada lote; {@code null} se
+     * o destino não precisa dele para retomar (o padrão).
+     */
+    default String checkpoint() {
+        return null;
+    }
+
+    @Override
+    void close();
+}
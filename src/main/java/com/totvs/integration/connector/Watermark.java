@@ -0,0 +1,126 @@
+package com.totvs.integration.connector;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Marca d'água da leitura incremental: {@code field} é a coluna/campo crescente (updated_at,
+ * id sequencial) e {@code value} o maior valor já sincronizado ({@code null} na primeira carga).
+ * Chega aos conectores de origem em {@code parameters} sob {@link #PARAMETER}; o conector
+ * lê apenas registros com {@code field > value}. Para REST, {@code queryParam} é o parâmetro
+ * da URL que recebe o valor (ex.: {@code since}).
+ * <p>
+ * Valores são persistidos em JSON: números como número, datas como texto ISO-8601.
+ */
+public record Watermark(String field, Object value, String queryParam) {
+
+    public static final String PARAMETER = "__watermark";
+
+    public static Watermark from(Map<String, Object> parameters) {
+        Object watermark = parameters != null ? parameters.get(PARAMETER) : null;
+        return watermark instanceof Watermark value ? value : null;
+    }
+
+    /**
+     * Maior valor de {@code field} entre o valor atual e os registros lidos.
+     */
+    public Object advance(List<Map<String, Object>> records) {
+        Object highest = value;
+        for (Map<String, Object> record : records) {
+            Object candidate = normalize(fieldValue(record));
+            if (candidate != null && (highest == null || compare(candidate, highest) > 0)) {
+                highest = candidate;
+            }
+        }
+        return highest;
+    }
+
+    /**
+     * Marcas que podem ser confirmadas à medida que os registros são gravados na ordem lida:
+     * {@code result[k]} é o maior valor de {@code field} tal que todo registro com valor até ele
+     * está entre os {@code k} primeiros. Empates e registros fora de ordem seguram a marca até
+     * o último deles ser gravado, então ler de novo a partir de {@code result[k]} nunca pula um
+     * registro ainda não gravado. {@code result[0]} é o valor atual e {@code result[size]} é
+     * {@link #advance}.
+     */
+    public Object[] committable(List<Map<String, Object>> records) {
+        int size = records.size();
+        Object[] values = new Object[size];
+        Object[] lowestAfter = new Object[size + 1];
+        for (int i = size - 1; i >= 0; i--) {
+            values[i] = normalize(fieldValue(records.get(i)));
+            Object next = lowestAfter[i + 1];
+            lowestAfter[i] = values[i] != null && (next == null || compare(values[i], next) < 0) ? values[i] : next;
+        }
+        Object[] committable = new Object[size + 1];
+        committable[0] = value;
+        Object highest = value;
+        for (int k = 1; k <= size; k++) {
+            Object candidate = values[k - 1];
+            if (candidate != null && (highest == null || compare(candidate, highest) > 0)) {
+                highest = candidate;
+            }
+            Object pending = lowestAfter[k];
+            committable[k] = pending == null || (highest != null && compare(highest, pending) < 0) ? highest : committable[k - 1];
+        }
+        return committable;
+    }
+
+    /**
+     * Valor para bind em SQL: texto ISO vira {@link LocalDateTime}, número segue como número.
+     */
+    public Object sqlValue() {
+        if (value instanceof String text) {
+            try {
+                return LocalDateTime.parse(text);
+            } catch (DateTimeParseException e) {
+                return text;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Campo do registro, sem diferenciar maiúsculas (bancos devolvem rótulos em caixa alta).
+     */
+    private Object fieldValue(Map<String, Object> record) {
+        Object direct = record.get(field);
+        if (direct != null) {
+            return direct;
+        }
+        for (Map.Entry<String, Object> entry : record.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(field)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    public static Object normalize(Object value) {
+        if (value instanceof java.sql.Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof Date date) {
+            return new java.sql.Timestamp(date.getTime()).toLocalDateTime().toString();
+        }
+        if (value instanceof TemporalAccessor temporal) {
+            return temporal.toString();
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.scale() <= 0 && decimal.precision() < 19 ? (Object) decimal.longValue() : decimal;
+        }
+        return value;
+    }
+
+    public static int compare(Object a, Object b) {
+        if (a instanceof Number x && b instanceof Number y) {
+            return new BigDecimal(x.toString()).compareTo(new BigDecimal(y.toString()));
+        }
+        return a.toString().compareTo(b.toString());
+    }
+}
@@ -0,0 +1,58 @@
+package com.totvs.integration.connector.cdc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agrupa as mudanças decodificadas por transação: só transações com commit entram em
+ * {@link #committed()}, de modo que a leitura sempre termina numa fronteira de transação.
+ */
+final class ChangeCollector {
+
+    static final String OPERATION = "_op";
+    static final String TABLE = "_table";
+    static final String LSN = "_lsn";
+    static final String BEFORE = "_before";
+
+    private final List<Map<String, Object>> committed = new ArrayList<>();
+    private List<Map<String, Object>> current = new ArrayList<>();
+    private boolean inTransaction;
+    private int transactions;
+    private String position;
+
+    void position(String lsn) {
+        this.position = lsn;
+    }
+
+    void begin() {
+        current = new ArrayList<>();
+        inTransaction = true;
+    }
+
+    void change(Map<String, Object> record) {
+        if (position != null) {
+            record.put(LSN, position);
+        }
+        current.add(record);
+    }
+
+    void commit() {
+        committed.addAll(current);
+        current = new ArrayList<>();
+        inTransaction = false;
+        transactions++;
+    }
+
+    boolean inTransaction() {
+        return inTransaction;
+    }
+
+    int transactions() {
+        return transactions;
+    }
+
+    List<Map<String, Object>> committed() {
+        return committed;
+    }
+}
@@ -0,0 +1,27 @@
+package com.totvs.integration.connector.cdc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.totvs.integration.exception.ConnectorException;
+
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+/**
+ * Decodifica uma mensagem do plugin de saída do slot lógico em início/commit de transação
+ * e mudanças ({@code INSERT}, {@code UPDATE}, {@code DELETE}).
+ */
+interface LogicalDecoder {
+
+    /**
+     * @return {@code true} se a mensagem era o commit de uma transação
+     */
+    boolean decode(ByteBuffer message, ChangeCollector collector);
+
+    static LogicalDecoder forPlugin(String plugin, ObjectMapper objectMapper) {
+        return switch (plugin.toLowerCase(Locale.ROOT)) {
+            case PgOutputDecoder.PLUGIN -> new PgOutputDecoder();
+            case Wal2JsonDecoder.PLUGIN -> new Wal2JsonDecoder(objectMapper);
+            default -> throw new ConnectorException("Plugin de replicação lógica não suportado: " + plugin);
+        };
+    }
+}
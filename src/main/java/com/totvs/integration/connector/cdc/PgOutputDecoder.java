@@ -0,0 +1,180 @@
+package com.totvs.integration.connector.cdc;
+
+import com.totvs.integration.exception.ConnectorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Protocolo binário do {@code pgoutput} (versão 1), nativo do PostgreSQL 10+. As tabelas vêm
+ * da publicação do slot; cada {@code Relation} precede as mudanças da tabela e é guardada
+ * por OID. Valores chegam em texto e são convertidos para número/booleano pelos tipos comuns.
+ */
+final class PgOutputDecoder implements LogicalDecoder {
+
+    static final String PLUGIN = "pgoutput";
+
+    private static final Logger logger = LoggerFactory.getLogger(PgOutputDecoder.class);
+
+    private static final int BOOL = 16;
+    private static final int INT8 = 20;
+    private static final int INT2 = 21;
+    private static final int INT4 = 23;
+    private static final int OID = 26;
+    private static final int FLOAT4 = 700;
+    private static final int FLOAT8 = 701;
+    private static final int NUMERIC = 1700;
+
+    private record Relation(String table, String[] columns, int[] types) {
+    }
+
+    private final Map<Integer, Relation> relations = new HashMap<>();
+
+    @Override
+    public boolean decode(ByteBuffer message, ChangeCollector collector) {
+        char type = (char) message.get();
+        switch (type) {
+            case 'B' -> collector.begin();
+            case 'C' -> {
+                collector.commit();
+                return true;
+            }
+            case 'R' -> relation(message);
+            case 'I' -> {
+                Relation relation = relation(message.getInt());
+                expect(message, 'N');
+                collector.change(change("INSERT", relation, tuple(message, relation), null));
+            }
+            case 'U' -> {
+                Relation relation = relation(message.getInt());
+                char kind = (char) message.get();
+                Map<String, Object> before = null;
+                if (kind == 'K' || kind == 'O') {
+                    before = tuple(message, relation);
+                    kind = (char) message.get();
+                }
+                if (kind != 'N') {
+                    throw new ConnectorException("Mensagem pgoutput de UPDATE inválida: '" + kind + "'");
+                }
+                collector.change(change("UPDATE", relation, tuple(message, relation), before));
+            }
+            case 'D' -> {
+                Relation relation = relation(message.getInt());
+                char kind = (char) message.get();
+                if (kind != 'K' && kind != 'O') {
+                    throw new ConnectorException("Mensagem pgoutput de DELETE inválida: '" + kind + "'");
+                }
+                collector.change(change("DELETE", relation, tuple(message, relation), null));
+            }
+            case 'T' -> {
+                int count = message.getInt();
+                message.get();
+                StringBuilder tables = new StringBuilder();
+                for (int i = 0; i < count; i++) {
+                    Relation relation = relations.get(message.getInt());
+                    tables.append(i > 0 ? ", " : "").append(relation != null ? relation.table() : "?");
+                }
+                logger.warn("TRUNCATE em {} ignorado pela captura de mudanças", tables);
+            }
+            default -> {
+                // Origin, Type e mensagens lógicas não geram registros
+            }
+        }
+        return false;
+    }
+
+    private void relation(ByteBuffer message) {
+        int oid = message.getInt();
+        String namespace = string(message);
+        String name = string(message);
+        message.get();
+        int count = message.getShort();
+        String[] columns = new String[count];
+        int[] types = new int[count];
+        for (int i = 0; i < count; i++) {
+            message.get();
+            columns[i] = string(message);
+            types[i] = message.getInt();
+            message.getInt();
+        }
+        relations.put(oid, new Relation(namespace + "." + name, columns, types));
+    }
+
+    private Relation relation(int oid) {
+        Relation relation = relations.get(oid);
+        if (relation == null) {
+            throw new ConnectorException("Mudança pgoutput para relação desconhecida (OID " + oid + ")");
+        }
+        return relation;
+    }
+
+    /**
+     * TupleData: colunas {@code n} (nulo), {@code u} (TOAST não alterado, omitida) ou
+     * {@code t} (texto).
+     */
+    private static Map<String, Object> tuple(ByteBuffer message, Relation relation) {
+        int count = message.getShort();
+        Map<String, Object> values = new LinkedHashMap<>(Math.max(16, count * 2));
+        for (int i = 0; i < count; i++) {
+            char kind = (char) message.get();
+            String column = i < relation.columns().length ? relation.columns()[i] : "col" + i;
+            if (kind == 'n') {
+                values.put(column, null);
+            } else if (kind == 't') {
+                byte[] bytes = new byte[message.getInt()];
+                message.get(bytes);
+                values.put(column, convert(new String(bytes, StandardCharsets.UTF_8), relation.types()[i]));
+            }
+        }
+        return values;
+    }
+
+    private static Object convert(String text, int type) {
+        return switch (type) {
+            case BOOL -> "t".equals(text);
+            case INT2, INT4 -> Integer.valueOf(text);
+            case INT8, OID -> Long.valueOf(text);
+            case FLOAT4, FLOAT8 -> Double.valueOf(text);
+            case NUMERIC -> "NaN".equals(text) ? text : new BigDecimal(text);
+            default -> text;
+        };
+    }
+
+    private static Map<String, Object> change(String operation, Relation relation, Map<String, Object> values,
+                                              Map<String, Object> before) {
+        Map<String, Object> record = new LinkedHashMap<>(Math.max(16, (values.size() + 4) * 2));
+        record.put(ChangeCollector.OPERATION, operation);
+        record.put(ChangeCollector.TABLE, relation.table());
+        record.putAll(values);
+        if (before != null) {
+            record.put(ChangeCollector.BEFORE, before);
+        }
+        return record;
+    }
+
+    private static void expect(ByteBuffer message, char expected) {
+        char kind = (char) message.get();
+        if (kind != expected) {
+            throw new ConnectorException("Mensagem pgoutput inválida: esperado '" + expected + "', recebido '" + kind + "'");
+        }
+    }
+
+    private static String string(ByteBuffer message) {
+        int start = message.position();
+        while (message.get() != 0) {
+            // avança até o terminador
+        }
+        int length = message.position() - start - 1;
+        byte[] bytes = new byte[length];
+        message.position(start);
+        message.get(bytes);
+        message.get();
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
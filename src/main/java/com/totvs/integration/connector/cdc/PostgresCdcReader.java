@@ -0,0 +1,289 @@
+package com.totvs.integration.connector.cdc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.totvs.integration.connector.DatabaseConnector;
+import com.totvs.integration.connector.SourceAcknowledgement;
+import com.totvs.integration.connector.SourceSnapshot;
+import com.totvs.integration.exception.ConnectorException;
+import com.totvs.integration.metering.DataVolumeCounter;
+import org.postgresql.PGConnection;
+import org.postgresql.PGProperty;
+import org.postgresql.replication.LogSequenceNumber;
+import org.postgresql.replication.PGReplicationStream;
+import org.postgresql.replication.fluent.logical.ChainedLogicalStreamBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Captura de mudanças do PostgreSQL por slot de replicação lógica ({@code cdc} na configuração
+ * do conector {@code DATABASE_POSTGRESQL}):
+ * <pre>
+ * "cdc": {"enabled": true, "slot": "hub_pedidos", "plugin": "pgoutput", "publication": "hub_pub",
+ *         "maxChanges": 10000, "idleTimeoutMs": 1000, "maxWaitMs": 30000}
+ * </pre>
+ * Cada execução drena o que o slot acumulou desde a última confirmação, até {@code maxChanges}
+ * (sempre em fronteira de transação), {@code idleTimeoutMs} sem mensagens ou {@code maxWaitMs}
+ * no total. Os registros trazem as colunas da linha e {@code _op} (INSERT/UPDATE/DELETE),
+ * {@code _table}, {@code _lsn} e, quando a tabela tem REPLICA IDENTITY, {@code _before}.
+ * <p>
+ * O LSN só é confirmado ao servidor pela {@link SourceAcknowledgement} que a execução chama
+ * depois que o destino gravou tudo; até lá o slot retém o WAL e uma falha reentrega as mesmas
+ * mudanças (entrega ao menos uma vez). Enquanto nada é confirmado a reentrega começa no mesmo
+ * LSN e na mesma ordem, então o slot e o LSN da primeira mensagem identificam a leitura
+ * ({@link SourceSnapshot}) e a execução pode ser retomada pelo número de registros já gravados.
+ */
+public final class PostgresCdcReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresCdcReader.class);
+
+    private static final Pattern SLOT_NAME = Pattern.compile("[a-z0-9_]{1,63}");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final long POLL_INTERVAL_MS = 10;
+
+    private final DatabaseConnector databaseConnector;
+
+    public PostgresCdcReader(DatabaseConnector databaseConnector) {
+        this.databaseConnector = databaseConnector;
+    }
+
+    public static boolean isEnabled(Map<String, Object> config) {
+        return config.get("cdc") instanceof Map<?, ?> cdc && Boolean.TRUE.equals(cdc.get("enabled"));
+    }
+
+    public List<Map<String, Object>> read(Map<String, Object> config, Map<String, Object> parameters) {
+        Map<?, ?> cdc = (Map<?, ?>) config.get("cdc");
+        String slot = String.valueOf(cdc.get("slot"));
+        if (!SLOT_NAME.matcher(slot).matches()) {
+            throw new ConnectorException("Nome de slot de replicação inválido: " + slot);
+        }
+        String plugin = cdc.get("plugin") instanceof String name ? name : PgOutputDecoder.PLUGIN;
+        LogicalDecoder decoder = LogicalDecoder.forPlugin(plugin, OBJECT_MAPPER);
+        int maxChanges = intOption(cdc, "maxChanges", 10_000);
+        long idleTimeoutMs = intOption(cdc, "idleTimeoutMs", 1_000);
+        long maxWaitMs = intOption(cdc, "maxWaitMs", 30_000);
+
+        if (!Boolean.FALSE.equals(cdc.get("createSlot"))) {
+            ensureSlot(config, slot, plugin);
+        }
+
+        Connection connection = null;
+        PGReplicationStream stream = null;
+        try {
+            connection = replicationConnection(config);
+            stream = start(connection.unwrap(PGConnection.class), slot, plugin, cdc);
+
+            DataVolumeCounter volume = DataVolumeCounter.from(parameters);
+            ChangeCollector collector = new ChangeCollector();
+            LogSequenceNumber committedLsn = null;
+            String firstLsn = null;
+            long startedAt = System.currentTimeMillis();
+            long lastMessageAt = startedAt;
+            while (true) {
+                ByteBuffer message = stream.readPending();
+                long now = System.currentTimeMillis();
+                if (message == null) {
+                    if (now - lastMessageAt >= idleTimeoutMs || now - startedAt >= maxWaitMs) {
+                        break;
+                    }
+                    TimeUnit.MILLISECONDS.sleep(POLL_INTERVAL_MS);
+                    continue;
+                }
+                lastMessageAt = now;
+                volume.addBytesRead(message.remaining());
+                collector.position(stream.getLastReceiveLSN().asString());
+                if (firstLsn == null) {
+                    firstLsn = stream.getLastReceiveLSN().asString();
+                }
+                if (decoder.decode(message, collector)) {
+                    committedLsn = stream.getLastReceiveLSN();
+                    if (collector.committed().size() >= maxChanges) {
+                        break;
+                    }
+                }
+                if (now - startedAt >= maxWaitMs && !collector.inTransaction()) {
+                    break;
+                }
+            }
+
+            logger.info("CDC slot '{}': {} mudanças em {} transações até o LSN {}",
+                    slot, collector.committed().size(), collector.transactions(),
+                    committedLsn != null ? committedLsn.asString() : "-");
+
+            parameters.put(SourceAcknowledgement.PARAMETER, new SlotAcknowledgement(config, slot, connection, stream, committedLsn));
+            if (firstLsn != null) {
+                SourceSnapshot.register(parameters, slot + "@" + firstLsn);
+            }
+            return collector.committed();
+        } catch (SQLException e) {
+            closeQuietly(stream, connection);
+            throw new ConnectorException("Erro ao ler o slot de replicação '" + slot + "': " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closeQuietly(stream, connection);
+            throw new ConnectorException("Leitura do slot de replicação '" + slot + "' interrompida", e);
+        } catch (RuntimeException e) {
+            closeQuietly(stream, connection);
+            throw e;
+        }
+    }
+
+    private static PGReplicationStream start(PGConnection connection, String slot, String plugin, Map<?, ?> cdc) throws SQLException {
+        ChainedLogicalStreamBuilder builder = connection.getReplicationAPI()
+                .replicationStream()
+                .logical()
+                .withSlotName(slot)
+                .withStatusInterval(intOption(cdc, "statusIntervalMs", 10_000), TimeUnit.MILLISECONDS);
+        if (PgOutputDecoder.PLUGIN.equalsIgnoreCase(plugin)) {
+            if (!(cdc.get("publication") instanceof String publication) || publication.isBlank()) {
+                throw new ConnectorException("Informe 'publication' para o plugin pgoutput");
+            }
+            builder.withSlotOption("proto_version", "1").withSlotOption("publication_names", publication);
+        } else {
+            builder.withSlotOption("format-version", "2").withSlotOption("include-transaction", "true");
+            if (cdc.get("tables") instanceof String tables && !tables.isBlank()) {
+                builder.withSlotOption("add-tables", tables);
+            }
+        }
+        return builder.start();
+    }
+
+    private void ensureSlot(Map<String, Object> config, String slot, String plugin) {
+        try (Connection connection = databaseConnector.connect(config);
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT 1 FROM pg_replication_slots WHERE slot_name = ?")) {
+            statement.setString(1, slot);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    return;
+                }
+            }
+        } catch (SQLException e) {
+            throw new ConnectorException("Erro ao consultar o slot de replicação '" + slot + "': " + e.getMessage(), e);
+        }
+
+        try (Connection connection = replicationConnection(config)) {
+            connection.unwrap(PGConnection.class).getReplicationAPI()
+                    .createReplicationSlot()
+                    .logical()
+                    .withSlotName(slot)
+                    .withOutputPlugin(plugin.toLowerCase())
+                    .make();
+            logger.info("Slot de replicação lógica '{}' criado com o plugin {}", slot, plugin);
+        } catch (SQLException e) {
+            throw new ConnectorException("Erro ao criar o slot de replicação '" + slot + "': " + e.getMessage(), e);
+        }
+    }
+
+    private static Connection replicationConnection(Map<String, Object> config) throws SQLException {
+        Properties properties = new Properties();
+        PGProperty.USER.set(properties, (String) config.get("username"));
+        PGProperty.PASSWORD.set(properties, (String) config.get("password"));
+        PGProperty.ASSUME_MIN_SERVER_VERSION.set(properties, "10");
+        PGProperty.REPLICATION.set(properties, "database");
+        PGProperty.PREFER_QUERY_MODE.set(properties, "simple");
+        return DriverManager.getConnection(url(config), properties);
+    }
+
+    private static String url(Map<String, Object> config) {
+        if (config.get("jdbcUrl") instanceof String url && !url.isBlank()) {
+            return url;
+        }
+        Object port = config.getOrDefault("port", 5432);
+        return String.format("jdbc:postgresql://%s:%s/%s", config.get("host"), port, config.get("database"));
+    }
+
+    private static int intOption(Map<?, ?> cdc, String key, int defaultValue) {
+        return cdc.get(key) instanceof Number value ? value.intValue() : defaultValue;
+    }
+
+    private static void closeQuietly(PGReplicationStream stream, Connection connection) {
+        try {
+            if (stream != null && !stream.isClosed()) {
+                stream.close();
+            }
+        } catch (SQLException e) {
+            logger.debug("Erro ao fechar stream de replicação: {}", e.getMessage());
+        }
+        try {
+            if (connection != null) {
+                connection.close();
+            }
+        } catch (SQLException e) {
+            logger.debug("Erro ao fechar conexão de replicação: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Mantém a conexão de replicação aberta até o destino gravar e então informa o LSN
+     * como aplicado/gravado. Se o servidor derrubou a conexão nesse meio tempo
+     * ({@code wal_sender_timeout} numa gravação longa), avança o slot com
+     * {@code pg_replication_slot_advance} numa conexão comum.
+     */
+    private final class SlotAcknowledgement implements SourceAcknowledgement {
+
+        private final Map<String, Object> config;
+        private final String slot;
+        private final Connection connection;
+        private final PGReplicationStream stream;
+        private final LogSequenceNumber lsn;
+
+        private SlotAcknowledgement(Map<String, Object> config, String slot, Connection connection,
+                                    PGReplicationStream stream, LogSequenceNumber lsn) {
+            this.config = config;
+            this.slot = slot;
+            this.connection = connection;
+            this.stream = stream;
+            this.lsn = lsn;
+        }
+
+        @Override
+        public Object position() {
+            return lsn != null ? lsn.asString() : null;
+        }
+
+        @Override
+        public void acknowledge() {
+            if (lsn == null) {
+                return;
+            }
+            try {
+                stream.setAppliedLSN(lsn);
+                stream.setFlushedLSN(lsn);
+                stream.forceUpdateStatus();
+                logger.info("CDC slot '{}': LSN {} confirmado", slot, lsn.asString());
+                return;
+            } catch (SQLException e) {
+                logger.warn("CDC slot '{}': confirmação pelo stream falhou ({}), avançando o slot", slot, e.getMessage());
+            }
+            closeQuietly(stream, connection);
+            try (Connection admin = databaseConnector.connect(config);
+                 PreparedStatement statement = admin.prepareStatement("SELECT pg_replication_slot_advance(?, ?::pg_lsn)")) {
+                statement.setString(1, slot);
+                statement.setString(2, lsn.asString());
+                statement.execute();
+                logger.info("CDC slot '{}': avançado até o LSN {}", slot, lsn.asString());
+            } catch (SQLException e) {
+                throw new ConnectorException("Erro ao confirmar o LSN " + lsn.asString() + " do slot '" + slot + "': " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void close() {
+            closeQuietly(stream, connection);
+        }
+    }
+}
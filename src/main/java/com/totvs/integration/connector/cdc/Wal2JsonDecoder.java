@@ -0,0 +1,84 @@
+package com.totvs.integration.connector.cdc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.totvs.integration.exception.ConnectorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Saída do {@code wal2json} com {@code format-version=2}: um objeto JSON por mensagem, com
+ * {@code action} B/C (transação), I/U/D (mudança) e {@code columns}/{@code identity}.
+ */
+final class Wal2JsonDecoder implements LogicalDecoder {
+
+    static final String PLUGIN = "wal2json";
+
+    private static final Logger logger = LoggerFactory.getLogger(Wal2JsonDecoder.class);
+
+    private final ObjectMapper objectMapper;
+
+    Wal2JsonDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean decode(ByteBuffer message, ChangeCollector collector) {
+        JsonNode node;
+        try {
+            if (message.hasArray()) {
+                node = objectMapper.readTree(message.array(), message.arrayOffset() + message.position(), message.remaining());
+            } else {
+                byte[] bytes = new byte[message.remaining()];
+                message.get(bytes);
+                node = objectMapper.readTree(bytes);
+            }
+        } catch (IOException e) {
+            throw new ConnectorException("Mensagem wal2json inválida: " + e.getMessage(), e);
+        }
+        String table = node.path("schema").asText() + "." + node.path("table").asText();
+        switch (node.path("action").asText()) {
+            case "B" -> collector.begin();
+            case "C" -> {
+                collector.commit();
+                return true;
+            }
+            case "I" -> collector.change(change("INSERT", table, columns(node.path("columns")), null));
+            case "U" -> collector.change(change("UPDATE", table, columns(node.path("columns")),
+                    node.has("identity") ? columns(node.path("identity")) : null));
+            case "D" -> collector.change(change("DELETE", table, columns(node.path("identity")), null));
+            case "T" -> logger.warn("TRUNCATE em {} ignorado pela captura de mudanças", table);
+            default -> {
+                // mensagens lógicas (M) não geram registros
+            }
+        }
+        return false;
+    }
+
+    private Map<String, Object> columns(JsonNode columns) {
+        Map<String, Object> values = new LinkedHashMap<>(Math.max(16, columns.size() * 2));
+        for (JsonNode column : columns) {
+            JsonNode value = column.path("value");
+            values.put(column.path("name").asText(), value.isNull() || value.isMissingNode()
+                    ? null : objectMapper.convertValue(value, Object.class));
+        }
+        return values;
+    }
+
+    private static Map<String, Object> change(String operation, String table, Map<String, Object> values,
+                                              Map<String, Object> before) {
+        Map<String, Object> record = new LinkedHashMap<>(Math.max(16, (values.size() + 4) * 2));
+        record.put(ChangeCollector.OPERATION, operation);
+        record.put(ChangeCollector.TABLE, table);
+        record.putAll(values);
+        if (before != null) {
+            record.put(ChangeCollector.BEFORE, before);
+        }
+        return record;
+    }
+}
@@ -0,0 +1,71 @@
+package com.totvs.integration.connector.file;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Acumula bytes em um {@link ByteBuffer} direto e só escreve no canal quando ele enche ou em
+ * {@link #drain()}, em escritas grandes e sem a cópia extra de um buffer de heap. {@code flush}
+ * e {@code close} não fazem nada: serializadores e compressores dão flush a cada registro, e o
+ * canal pertence ao {@link RotatingFileWriter}.
+ */
+final class ChannelOutputStream extends OutputStream {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    ChannelOutputStream(FileChannel channel, ByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+        buffer.clear();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int chunk = Math.min(length, buffer.remaining());
+            buffer.put(bytes, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    /**
+     * Escreve no canal tudo o que está no buffer.
+     */
+    void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Descarta o que ainda não foi escrito no canal.
+     */
+    void discard() {
+        buffer.clear();
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
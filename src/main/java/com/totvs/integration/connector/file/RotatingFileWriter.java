@@ -0,0 +1,416 @@
+package com.totvs.integration.connector.file;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.luben.zstd.ZstdOutputStreamNoFinalizer;
+import com.totvs.integration.connector.TargetSession;
+import com.totvs.integration.exception.ConnectorException;
+import com.totvs.integration.metering.DataVolumeCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Destino de arquivo de uma execução: cada lote é serializado (CSV ou NDJSON) em um buffer
+ * direto e escrito por {@link FileChannel}, opcionalmente comprimido com gzip ou zstd.
+ * <p>
+ * O arquivo em escrita fica oculto ({@code .nome.inprogress}) e só ganha o nome final por
+ * rename atômico quando é concluído: na rotação ({@code rotateBytes} em disco ou
+ * {@code rotateMillis} desde a abertura) ou no {@link #close()}, inclusive quando a execução
+ * falha. Cada lote é um membro gzip / frame zstd independente; se a escrita de um lote falha,
+ * o arquivo é truncado no fim do lote anterior, então um arquivo publicado só contém lotes
+ * inteiros (os mesmos que o checkpoint da execução considera gravados).
+ * <p>
+ * O {@link #checkpoint()} de cada lote guarda a parte em escrita e o tamanho confirmado dela.
+ * Quando uma execução órfã é retomada, {@link #resume(String)} reabre essa parte e a trunca
+ * nesse tamanho, descartando um lote gravado depois do último checkpoint. A escrita continua
+ * com a mesma data/hora e sequência, então os registros que a retomada pula continuam nos
+ * arquivos.
+ * <p>
+ * Sem rotação o arquivo final é o próprio {@code target}; com rotação cada parte recebe
+ * data/hora da execução e sequência ({@code pedidos-20240101T120000-0001.csv.gz}).
+ */
+public final class RotatingFileWriter implements TargetSession {
+
+    private static final Logger logger = LoggerFactory.getLogger(RotatingFileWriter.class);
+
+    public static final int DEFAULT_BUFFER_BYTES = 4 * 1024 * 1024;
+
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    public enum Format { CSV, NDJSON }
+
+    public enum Compression {
+        NONE(""), GZIP(".gz"), ZSTD(".zst");
+
+        private final String extension;
+
+        Compression(String extension) {
+            this.extension = extension;
+        }
+
+        public static Compression of(String name) {
+            if (name == null || name.isBlank() || "none".equalsIgnoreCase(name)) {
+                return NONE;
+            }
+            return switch (name.toLowerCase(Locale.ROOT)) {
+                case "gzip", "gz" -> GZIP;
+                case "zstd", "zst" -> ZSTD;
+                default -> throw new ConnectorException("Compressão não suportada: " + name + " (use gzip ou zstd)");
+            };
+        }
+    }
+
+    /**
+     * @param compressionLevel 0 usa o padrão do algoritmo (gzip 6, zstd 3)
+     * @param rotateBytes      0 desliga a rotação por tamanho
+     * @param rotateMillis     0 desliga a rotação por tempo
+     */
+    public record Options(Charset charset, char delimiter, boolean header, Compression compression,
+                          int compressionLevel, long rotateBytes, long rotateMillis, int bufferBytes) {
+    }
+
+    private final Format format;
+    private final Options options;
+    private final DataVolumeCounter volume;
+    private final ObjectMapper objectMapper;
+    private final ByteBuffer buffer;
+    private final Path directory;
+    private final String stem;
+    private final String extension;
+    private String stamp = LocalDateTime.now().format(STAMP);
+    private final List<Path> files = new ArrayList<>();
+    private List<String> columns;
+    private Part part;
+    private int sequence;
+
+    public RotatingFileWriter(Path target, Format format, Options options, ObjectMapper objectMapper, DataVolumeCounter volume) {
+        this.format = format;
+        this.options = options;
+        this.volume = volume;
+        this.objectMapper = objectMapper.copy().disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.objectMapper.getFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET).setRootValueSeparator(null);
+        this.buffer = ByteBuffer.allocateDirect(options.bufferBytes() > 0 ? options.bufferBytes() : DEFAULT_BUFFER_BYTES);
+
+        Path absolute = target.toAbsolutePath();
+        this.directory = absolute.getParent();
+        String name = absolute.getFileName().toString();
+        if (!name.endsWith(options.compression().extension)) {
+            name += options.compression().extension;
+        }
+        int dot = name.indexOf('.', 1);
+        this.stem = dot > 0 ? name.substring(0, dot) : name;
+        this.extension = dot > 0 ? name.substring(dot) : "";
+    }
+
+    /**
+     * Grava o lote inteiro ou nada: em caso de erro o arquivo volta ao fim do lote anterior.
+     *
+     * @return registros gravados
+     */
+    public int write(List<Map<String, Object>> records) throws IOException {
+        if (records.isEmpty()) {
+            return 0;
+        }
+        if (format == Format.CSV && columns == null) {
+            columns = columns(records.get(0));
+        }
+        if (part != null && part.due()) {
+            finish(part);
+            part = null;
+        }
+        if (part == null) {
+            part = open();
+        }
+
+        long committed = part.channel.position();
+        OutputStream out = null;
+        try {
+            out = compress(part.stream);
+            if (format == Format.CSV) {
+                writeCsv(records, out, part.records == 0 && options.header());
+            } else {
+                writeNdjson(records, out);
+            }
+            out.close();
+            part.stream.drain();
+        } catch (IOException | RuntimeException e) {
+            release(out);
+            part.rollback(committed);
+            throw e;
+        }
+
+        long bytes = part.channel.position() - committed;
+        part.bytes += bytes;
+        part.records += records.size();
+        volume.addBytesWritten(bytes);
+        return records.size();
+    }
+
+    /**
+     * Parte em escrita, sequência e tamanho confirmado (o fim do último lote), em JSON.
+     */
+    @Override
+    public String checkpoint() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("stamp", stamp);
+        state.put("sequence", sequence);
+        if (part != null) {
+            state.put("bytes", part.bytes);
+            state.put("records", part.records);
+        }
+        if (columns != null) {
+            state.put("columns", columns);
+        }
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (IOException e) {
+            throw new ConnectorException("Erro ao registrar o estado do arquivo: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Continua a escrita a partir de um {@link #checkpoint()} de uma tentativa anterior da mesma
+     * execução. Deve ser chamado antes do primeiro {@link #write}. A parte em escrita é
+     * reaberta e truncada no tamanho confirmado. Se uma rotação posterior ao checkpoint já a
+     * tinha publicado, ela volta a ficar oculta.
+     *
+     * @throws ConnectorException se a parte não existe mais ou é menor que o confirmado
+     */
+    public void resume(String checkpoint) throws IOException {
+        Map<?, ?> state = objectMapper.readValue(checkpoint, Map.class);
+        stamp = String.valueOf(state.get("stamp"));
+        sequence = ((Number) state.get("sequence")).intValue();
+        if (state.get("columns") instanceof List<?> saved) {
+            columns = saved.stream().map(String::valueOf).toList();
+        }
+        if (!(state.get("bytes") instanceof Number committed)) {
+            return;
+        }
+        Path target = directory.resolve(partName(sequence));
+        Path temp = directory.resolve("." + target.getFileName() + ".inprogress");
+        if (!Files.exists(temp) && Files.exists(target)) {
+            Files.move(target, temp, StandardCopyOption.ATOMIC_MOVE);
+        }
+        if (!Files.exists(temp) || Files.size(temp) < committed.longValue()) {
+            throw new ConnectorException("Arquivo " + target + " não está como no último checkpoint ("
+                    + committed + " bytes); a execução não pode ser retomada");
+        }
+        FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+        channel.truncate(committed.longValue());
+        channel.position(committed.longValue());
+        part = new Part(target, temp, channel, new ChannelOutputStream(channel, buffer));
+        part.bytes = committed.longValue();
+        part.records = ((Number) state.get("records")).longValue();
+        logger.info("Arquivo {} retomado em {} bytes ({} registros)", target, part.bytes, part.records);
+    }
+
+    /**
+     * Arquivos já publicados com o nome final.
+     */
+    public List<Path> getFiles() {
+        return List.copyOf(files);
+    }
+
+    @Override
+    public void close() {
+        if (part == null) {
+            return;
+        }
+        Part closing = part;
+        part = null;
+        try {
+            finish(closing);
+        } catch (IOException e) {
+            throw new ConnectorException("Erro ao concluir arquivo " + closing.target + ": " + e.getMessage(), e);
+        }
+    }
+
+    private Part open() throws IOException {
+        sequence++;
+        String name = partName(sequence);
+        Path target = directory.resolve(name);
+        Path temp = directory.resolve("." + name + ".inprogress");
+        Files.createDirectories(directory);
+        FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        return new Part(target, temp, channel, new ChannelOutputStream(channel, buffer));
+    }
+
+    private String partName(int sequence) {
+        boolean rotating = options.rotateBytes() > 0 || options.rotateMillis() > 0;
+        return rotating ? String.format("%s-%s-%04d%s", stem, stamp, sequence, extension) : stem + extension;
+    }
+
+    /**
+     * Força o conteúdo para o disco e publica por rename atômico; parte vazia ou corrompida
+     * por falha no rollback é apagada.
+     */
+    private void finish(Part finished) throws IOException {
+        try (FileChannel channel = finished.channel) {
+            if (!finished.broken && finished.records > 0) {
+                channel.force(false);
+            }
+        }
+        if (finished.broken || finished.records == 0) {
+            Files.deleteIfExists(finished.temp);
+            return;
+        }
+        Files.move(finished.temp, finished.target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        files.add(finished.target);
+        logger.info("Arquivo {} concluído: {} registros, {} bytes", finished.target, finished.records, finished.bytes);
+    }
+
+    private OutputStream compress(ChannelOutputStream out) throws IOException {
+        int level = options.compressionLevel();
+        return switch (options.compression()) {
+            case NONE -> out;
+            case GZIP -> new GZIPOutputStream(out, 64 * 1024) {
+                {
+                    def.setLevel(level > 0 ? level : Deflater.DEFAULT_COMPRESSION);
+                }
+            };
+            case ZSTD -> new ZstdOutputStreamNoFinalizer(out, level > 0 ? level : 3);
+        };
+    }
+
+    /**
+     * Libera o compressor (memória nativa no zstd); o que ele escrever é descartado no rollback.
+     */
+    private static void release(OutputStream out) {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Erro ao liberar compressor após falha: {}", e.getMessage());
+        }
+    }
+
+    private void writeCsv(List<Map<String, Object>> records, OutputStream out, boolean header) throws IOException {
+        Writer writer = new OutputStreamWriter(out, options.charset());
+        if (header) {
+            writeRow(writer, columns);
+        }
+        List<Object> row = new ArrayList<>(columns.size());
+        for (Map<String, Object> record : records) {
+            row.clear();
+            for (String column : columns) {
+                row.add(record.get(column));
+            }
+            writeRow(writer, row);
+        }
+        writer.flush();
+    }
+
+    private void writeRow(Writer writer, Collection<?> values) throws IOException {
+        boolean first = true;
+        for (Object value : values) {
+            if (!first) {
+                writer.write(options.delimiter());
+            }
+            first = false;
+            if (value != null) {
+                String text = value instanceof Map<?, ?> || value instanceof Collection<?>
+                        ? objectMapper.writeValueAsString(value) : value.toString();
+                writeField(writer, text);
+            }
+        }
+        writer.write('\n');
+    }
+
+    private void writeField(Writer writer, String text) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == options.delimiter() || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private void writeNdjson(List<Map<String, Object>> records, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            for (Map<String, Object> record : records) {
+                objectMapper.writeValue(generator, record);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    /**
+     * Colunas do CSV pelo primeiro registro, sem os campos internos ({@code _op}, {@code _lsn}...).
+     */
+    private static List<String> columns(Map<String, Object> first) {
+        List<String> columns = new ArrayList<>();
+        for (String key : first.keySet()) {
+            if (!key.startsWith("_")) {
+                columns.add(key);
+            }
+        }
+        return List.copyOf(columns);
+    }
+
+    private final class Part {
+
+        final Path target;
+        final Path temp;
+        final FileChannel channel;
+        final ChannelOutputStream stream;
+        final long openedAt = System.currentTimeMillis();
+        long bytes;
+        long records;
+        boolean broken;
+
+        Part(Path target, Path temp, FileChannel channel, ChannelOutputStream stream) {
+            this.target = target;
+            this.temp = temp;
+            this.channel = channel;
+            this.stream = stream;
+        }
+
+        boolean due() {
+            return (options.rotateBytes() > 0 && bytes >= options.rotateBytes())
+                    || (options.rotateMillis() > 0 && System.currentTimeMillis() - openedAt >= options.rotateMillis());
+        }
+
+        void rollback(long position) {
+            stream.discard();
+            try {
+                channel.truncate(position);
+                channel.position(position);
+            } catch (IOException e) {
+                broken = true;
+                logger.error("Não foi possível desfazer lote parcial em {}; arquivo será descartado", temp, e);
+            }
+        }
+    }
+}
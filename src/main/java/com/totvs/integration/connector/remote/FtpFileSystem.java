@@ -0,0 +1,98 @@
+package com.totvs.integration.connector.remote;
+
+import org.apache.commons.net.ftp.FTP;
+import org.apache.commons.net.ftp.FTPClient;
+import org.apache.commons.net.ftp.FTPFile;
+import org.apache.commons.net.ftp.FTPReply;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FTP pelo commons-net, em modo passivo e binário; o offset vira {@code REST} antes do
+ * {@code RETR}.
+ */
+final class FtpFileSystem implements RemoteFileSystem {
+
+    private final FTPClient ftp;
+
+    private FtpFileSystem(FTPClient ftp) {
+        this.ftp = ftp;
+    }
+
+    static FtpFileSystem connect(RemoteEndpoint endpoint) throws IOException {
+        FTPClient ftp = new FTPClient();
+        ftp.setConnectTimeout(endpoint.timeoutMs());
+        ftp.setDataTimeout(Duration.ofMillis(endpoint.timeoutMs()));
+        try {
+            ftp.connect(endpoint.host(), endpoint.port());
+            if (!FTPReply.isPositiveCompletion(ftp.getReplyCode())
+                    || !ftp.login(endpoint.username() != null ? endpoint.username() : "anonymous",
+                    endpoint.password() != null ? endpoint.password() : "")) {
+                throw new IOException("FTP recusou a conexão: " + ftp.getReplyString().trim());
+            }
+            ftp.enterLocalPassiveMode();
+            ftp.setFileType(FTP.BINARY_FILE_TYPE);
+            return new FtpFileSystem(ftp);
+        } catch (IOException | RuntimeException e) {
+            if (ftp.isConnected()) {
+                ftp.disconnect();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public List<RemoteFile> list(String path, String pattern) throws IOException {
+        FTPFile file = ftp.mlistFile(path);
+        if (file != null && file.isFile()) {
+            return List.of(new RemoteFile(path, file.getSize()));
+        }
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + (pattern != null ? pattern : "*"));
+        String directory = path.endsWith("/") ? path : path + "/";
+        List<RemoteFile> files = new ArrayList<>();
+        for (FTPFile entry : ftp.listFiles(path)) {
+            if (entry.isFile() && matcher.matches(Path.of(entry.getName()))) {
+                files.add(new RemoteFile(directory + entry.getName(), entry.getSize()));
+            }
+        }
+        return files;
+    }
+
+    @Override
+    public InputStream open(String path, long offset) throws IOException {
+        ftp.setRestartOffset(offset);
+        InputStream in = ftp.retrieveFileStream(path);
+        if (in == null) {
+            throw new IOException("FTP recusou a leitura de " + path + ": " + ftp.getReplyString().trim());
+        }
+        return new FilterInputStream(in) {
+            @Override
+            public void close() throws IOException {
+                super.close();
+                ftp.completePendingCommand();
+            }
+        };
+    }
+
+    @Override
+    public boolean isOpen() {
+        return ftp.isConnected();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            ftp.logout();
+        } finally {
+            ftp.disconnect();
+        }
+    }
+}
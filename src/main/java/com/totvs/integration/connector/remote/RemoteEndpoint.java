@@ -0,0 +1,48 @@
+package com.totvs.integration.connector.remote;
+
+import com.totvs.integration.exception.ConnectorException;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Servidor remoto configurado no conector de arquivo ({@code FileConnectorDto}):
+ * {@code ftpHost}, {@code ftpPort}, {@code ftpUsername}, {@code ftpPassword} e
+ * {@code protocol} ({@code sftp}, padrão, ou {@code ftp}). Para SFTP, {@code hostKeyFingerprint}
+ * ({@code SHA256:...}, como em {@code ssh-keygen -lf}) fixa a chave aceita do servidor.
+ */
+public record RemoteEndpoint(String protocol, String host, int port, String username, String password,
+                             String hostKeyFingerprint, int timeoutMs) {
+
+    private static final int DEFAULT_TIMEOUT_MS = 30_000;
+
+    public static boolean isRemote(Map<String, Object> config) {
+        return config.get("ftpHost") instanceof String host && !host.isBlank();
+    }
+
+    public static RemoteEndpoint from(Map<String, Object> config) {
+        String protocol = text(config, "protocol") != null ? text(config, "protocol").toLowerCase(Locale.ROOT) : "sftp";
+        if (!"sftp".equals(protocol) && !"ftp".equals(protocol)) {
+            throw new ConnectorException("Protocolo não suportado: " + protocol + " (use sftp ou ftp)");
+        }
+        int port = config.get("ftpPort") instanceof Number number ? number.intValue() : "sftp".equals(protocol) ? 22 : 21;
+        int timeoutMs = config.get("timeoutMs") instanceof Number number ? number.intValue() : DEFAULT_TIMEOUT_MS;
+        return new RemoteEndpoint(protocol, text(config, "ftpHost"), port, text(config, "ftpUsername"),
+                text(config, "ftpPassword"), text(config, "hostKeyFingerprint"), timeoutMs);
+    }
+
+    public RemoteFileSystem connect() throws IOException {
+        return "ftp".equals(protocol) ? FtpFileSystem.connect(this) : SftpFileSystem.connect(this);
+    }
+
+    @Override
+    public String toString() {
+        return protocol + "://" + (username != null ? username + "@" : "") + host + ":" + port;
+    }
+
+    private static String text(Map<String, Object> config, String key) {
+        Object value = config.get(key);
+        return value instanceof String text && !text.isBlank() ? text : null;
+    }
+}
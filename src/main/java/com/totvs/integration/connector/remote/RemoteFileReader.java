@@ -0,0 +1,237 @@
+package com.totvs.integration.connector.remote;
+
+import com.totvs.integration.exception.ConnectorException;
+import com.totvs.integration.format.RecordReader;
+import com.totvs.integration.metering.DataVolumeCounter;
+import com.totvs.integration.metering.ExecutionResourceUsage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registros de todos os arquivos remotos que casam com o filtro, em ordem de nome. Até
+ * {@code parallelism} arquivos são baixados e interpretados ao mesmo tempo, cada um na sua
+ * sessão do pool e direto do socket para o parser, sem disco local. Cada arquivo tem uma fila
+ * limitada de lotes: quem está à frente da leitura para quando a fila enche, então a memória
+ * fica em {@code parallelism × QUEUE_BATCHES × BATCH_RECORDS} registros. A CPU e a alocação
+ * das threads de download contam para a execução ({@link ExecutionResourceUsage}).
+ * <p>
+ * A ordem é determinística (a do nome), o que permite à execução retomar pelo checkpoint
+ * descartando os primeiros registros enquanto a lista de arquivos e seus tamanhos forem os
+ * mesmos ({@link #getSnapshot()}).
+ */
+public final class RemoteFileReader implements RecordReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteFileReader.class);
+
+    private static final int BATCH_RECORDS = 500;
+    private static final int QUEUE_BATCHES = 4;
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    private static final Object END = new Object();
+    private static final AtomicInteger THREADS = new AtomicInteger();
+
+    /**
+     * Abre o leitor de registros de um arquivo sobre o stream do download.
+     */
+    @FunctionalInterface
+    public interface Parser {
+        RecordReader open(InputStream in) throws IOException;
+    }
+
+    private final RemoteSessionPool pool;
+    private final List<Download> downloads = new ArrayList<>();
+    private final ExecutorService executor;
+    private final String snapshot;
+    private List<Map<String, Object>> batch = List.of();
+    private int batchPosition;
+    private int current;
+
+    private RemoteFileReader(RemoteSessionPool pool, List<RemoteFileSystem.RemoteFile> files, int parallelism,
+                             int maxResumes, Parser parser, DataVolumeCounter volume, ExecutionResourceUsage resources,
+                             String snapshot) {
+        this.pool = pool;
+        this.snapshot = snapshot;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, files.size())), runnable -> {
+            Thread thread = new Thread(runnable, "remote-download-" + THREADS.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (RemoteFileSystem.RemoteFile file : files) {
+            Download download = new Download(file, maxResumes, parser, volume);
+            downloads.add(download);
+            executor.execute(resources.wrap(download));
+        }
+    }
+
+    /**
+     * Lista {@code path} (diretório filtrado por {@code pattern}, ou um arquivo) e começa os
+     * downloads.
+     */
+    public static RemoteFileReader open(RemoteEndpoint endpoint, String path, String pattern, int parallelism,
+                                        int maxResumes, Parser parser, DataVolumeCounter volume,
+                                        ExecutionResourceUsage resources) throws IOException {
+        RemoteSessionPool pool = new RemoteSessionPool(endpoint);
+        try {
+            RemoteFileSystem session = pool.borrow();
+            List<RemoteFileSystem.RemoteFile> files;
+            try {
+                files = new ArrayList<>(session.list(path, pattern));
+            } finally {
+                pool.release(session);
+            }
+            files.sort(Comparator.comparing(RemoteFileSystem.RemoteFile::path));
+            logger.info("{}{}: {} arquivos ({} bytes), {} downloads simultâneos", endpoint, path, files.size(),
+                    files.stream().mapToLong(RemoteFileSystem.RemoteFile::size).sum(), parallelism);
+            StringBuilder listing = new StringBuilder();
+            files.forEach(file -> listing.append(file.path()).append(':').append(file.size()).append('\n'));
+            String snapshot = endpoint + path + "#" + files.size() + ":"
+                    + UUID.nameUUIDFromBytes(listing.toString().getBytes(StandardCharsets.UTF_8));
+            return new RemoteFileReader(pool, files, parallelism, maxResumes, parser, volume, resources, snapshot);
+        } catch (IOException | RuntimeException e) {
+            pool.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Map<String, Object> next() throws IOException {
+        while (batchPosition >= batch.size()) {
+            if (current >= downloads.size()) {
+                return null;
+            }
+            Download download = downloads.get(current);
+            Object item;
+            try {
+                item = download.queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Leitura de " + download.file.path() + " interrompida");
+            }
+            if (item == END) {
+                current++;
+            } else if (item instanceof IOException e) {
+                throw e;
+            } else if (item instanceof RuntimeException e) {
+                throw e;
+            } else {
+                batch = cast(item);
+                batchPosition = 0;
+            }
+        }
+        return batch.get(batchPosition++);
+    }
+
+    /**
+     * Servidor, caminho e lista de arquivos com seus tamanhos ({@link com.totvs.integration.connector.SourceSnapshot}).
+     */
+    public String getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Conexões abertas com o servidor até agora (para diagnóstico e testes).
+     */
+    public int getConnections() {
+        return pool.getConnections();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("Downloads remotos não terminaram em 5s após o fechamento");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.close();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> cast(Object batch) {
+        return (List<Map<String, Object>>) batch;
+    }
+
+    private final class Download implements Runnable {
+
+        final RemoteFileSystem.RemoteFile file;
+        final int maxResumes;
+        final Parser parser;
+        final DataVolumeCounter volume;
+        final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_BATCHES + 1);
+        RemoteFileSystem session;
+
+        Download(RemoteFileSystem.RemoteFile file, int maxResumes, Parser parser, DataVolumeCounter volume) {
+            this.file = file;
+            this.maxResumes = maxResumes;
+            this.parser = parser;
+            this.volume = volume;
+        }
+
+        @Override
+        public void run() {
+            long started = System.nanoTime();
+            long records = 0;
+            try (ResumableInputStream in = new ResumableInputStream(file.path(), this::open, maxResumes);
+                 RecordReader reader = parser.open(new BufferedInputStream(volume.wrap(in), READ_BUFFER_BYTES))) {
+                List<Map<String, Object>> pending = new ArrayList<>(BATCH_RECORDS);
+                Map<String, Object> record;
+                while ((record = reader.next()) != null) {
+                    pending.add(record);
+                    if (pending.size() == BATCH_RECORDS) {
+                        queue.put(pending);
+                        records += pending.size();
+                        pending = new ArrayList<>(BATCH_RECORDS);
+                    }
+                }
+                if (!pending.isEmpty()) {
+                    queue.put(pending);
+                    records += pending.size();
+                }
+                queue.put(END);
+                logger.debug("{}: {} registros, {} bytes em {}ms ({} retomadas)", file.path(), records, file.size(),
+                        (System.nanoTime() - started) / 1_000_000, in.getResumes());
+            } catch (InterruptedException | InterruptedIOException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | RuntimeException e) {
+                logger.error("Falha ao ler {} após {} registros: {}", file.path(), records, e.getMessage());
+                queue.clear();
+                queue.offer(e instanceof ConnectorException ? e
+                        : new ConnectorException("Erro ao baixar " + file.path() + ": " + e.getMessage(), e));
+            } finally {
+                if (session != null) {
+                    pool.release(session);
+                }
+            }
+        }
+
+        private InputStream open(long offset, boolean reconnect) throws IOException {
+            if (reconnect && session != null) {
+                pool.discard(session);
+                session = null;
+            }
+            if (session == null) {
+                session = pool.borrow();
+            }
+            return session.open(file.path(), offset);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.totvs.integration.connector.remote;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Uma sessão com o servidor de arquivos (SFTP ou FTP). Não é thread-safe: cada download
+ * paralelo usa a sua, emprestada do {@link RemoteSessionPool}.
+ */
+public interface RemoteFileSystem extends Closeable {
+
+    /**
+     * Arquivos regulares de {@code path} cujo nome casa com o glob {@code pattern}; se
+     * {@code path} é um arquivo, só ele.
+     */
+    List<RemoteFile> list(String path, String pattern) throws IOException;
+
+    /**
+     * Conteúdo de {@code path} a partir do byte {@code offset}, sem passar por disco local.
+     */
+    InputStream open(String path, long offset) throws IOException;
+
+    boolean isOpen();
+
+    record RemoteFile(String path, long size) {
+    }
+}
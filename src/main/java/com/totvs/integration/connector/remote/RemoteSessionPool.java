@@ -0,0 +1,84 @@
+package com.totvs.integration.connector.remote;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sessões de um servidor remoto reaproveitadas entre arquivos: o handshake SSH/login FTP custa
+ * mais que baixar um arquivo pequeno. O número de sessões abertas acompanha o de downloads
+ * simultâneos; sessões caídas são descartadas no empréstimo.
+ */
+final class RemoteSessionPool implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteSessionPool.class);
+
+    private final RemoteEndpoint endpoint;
+    private final LinkedBlockingDeque<RemoteFileSystem> idle = new LinkedBlockingDeque<>();
+    private final Set<RemoteFileSystem> open = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+    private volatile boolean closed;
+
+    RemoteSessionPool(RemoteEndpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    RemoteFileSystem borrow() throws IOException {
+        RemoteFileSystem session;
+        while ((session = idle.pollFirst()) != null) {
+            if (session.isOpen()) {
+                return session;
+            }
+            discard(session);
+        }
+        if (closed) {
+            throw new IOException("Pool de sessões de " + endpoint + " fechado");
+        }
+        session = endpoint.connect();
+        open.add(session);
+        connections.incrementAndGet();
+        return session;
+    }
+
+    void release(RemoteFileSystem session) {
+        if (closed || !session.isOpen()) {
+            discard(session);
+        } else {
+            idle.offerFirst(session);
+        }
+    }
+
+    /**
+     * Fecha uma sessão que falhou, para que o próximo empréstimo conecte de novo.
+     */
+    void discard(RemoteFileSystem session) {
+        open.remove(session);
+        idle.remove(session);
+        try {
+            session.close();
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Erro ao fechar sessão com {}: {}", endpoint, e.getMessage());
+        }
+    }
+
+    /**
+     * Conexões abertas desde a criação do pool.
+     */
+    int getConnections() {
+        return connections.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (RemoteFileSystem session : Set.copyOf(open)) {
+            discard(session);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.totvs.integration.connector.remote;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+/**
+ * Download que sobrevive a quedas de conexão: em erro de leitura reabre o arquivo (em outra
+ * sessão) a partir do último byte entregue, até {@code maxResumes} vezes, e o leitor de
+ * registros por cima não percebe a troca.
+ */
+final class ResumableInputStream extends InputStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumableInputStream.class);
+
+    private static final long RESUME_BACKOFF_MS = 250;
+
+    @FunctionalInterface
+    interface Opener {
+
+        /**
+         * @param reconnect {@code true} quando a abertura anterior falhou e a sessão deve ser trocada
+         */
+        InputStream open(long offset, boolean reconnect) throws IOException;
+    }
+
+    private final String path;
+    private final Opener opener;
+    private final int maxResumes;
+    private InputStream in;
+    private long position;
+    private int resumes;
+
+    ResumableInputStream(String path, Opener opener, int maxResumes) {
+        this.path = path;
+        this.opener = opener;
+        this.maxResumes = maxResumes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        while (true) {
+            try {
+                int b = current().read();
+                if (b >= 0) {
+                    position++;
+                }
+                return b;
+            } catch (IOException e) {
+                recover(e);
+            }
+        }
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            // o stream SFTP do sshd responde -1 a leituras vazias depois de esgotar a janela pedida
+            return 0;
+        }
+        while (true) {
+            try {
+                int read = current().read(bytes, offset, length);
+                if (read > 0) {
+                    position += read;
+                }
+                return read;
+            } catch (IOException e) {
+                recover(e);
+            }
+        }
+    }
+
+    int getResumes() {
+        return resumes;
+    }
+
+    private InputStream current() throws IOException {
+        if (in == null) {
+            in = opener.open(position, resumes > 0);
+        }
+        return in;
+    }
+
+    private void recover(IOException e) throws IOException {
+        if (e instanceof InterruptedIOException || Thread.currentThread().isInterrupted() || resumes >= maxResumes) {
+            throw e;
+        }
+        resumes++;
+        logger.warn("Download de {} interrompido em {} bytes ({}); retomando ({}/{})",
+                path, position, e.getMessage(), resumes, maxResumes);
+        closeCurrent();
+        try {
+            Thread.sleep(RESUME_BACKOFF_MS * resumes);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Download de " + path + " interrompido");
+        }
+    }
+
+    private void closeCurrent() {
+        if (in == null) {
+            return;
+        }
+        try {
+            in.close();
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Erro ao fechar download de {}: {}", path, e.getMessage());
+        }
+        in = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (in != null) {
+            in.close();
+        }
+    }
+}
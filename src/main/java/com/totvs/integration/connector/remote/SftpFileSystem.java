@@ -0,0 +1,130 @@
+package com.totvs.integration.connector.remote;
+
+import org.apache.sshd.client.SshClient;
+import org.apache.sshd.client.session.ClientSession;
+import org.apache.sshd.common.AttributeRepository;
+import org.apache.sshd.common.config.keys.KeyUtils;
+import org.apache.sshd.sftp.client.SftpClient;
+import org.apache.sshd.sftp.client.SftpClientFactory;
+import org.apache.sshd.sftp.client.impl.SftpInputStreamAsync;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SFTP pelo cliente do Apache MINA SSHD. Um único {@link SshClient} (e seus threads de I/O)
+ * atende todas as sessões; cada instância é uma sessão SSH com um canal SFTP. A leitura usa
+ * {@link SftpInputStreamAsync}, que mantém várias requisições de leitura em voo; o skip antes
+ * da primeira leitura só desloca o offset das requisições, sem transferir o trecho pulado.
+ */
+final class SftpFileSystem implements RemoteFileSystem {
+
+    private static final Logger logger = LoggerFactory.getLogger(SftpFileSystem.class);
+
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+
+    private static final AttributeRepository.AttributeKey<String> FINGERPRINT = new AttributeRepository.AttributeKey<>();
+
+    private static SshClient client;
+
+    private final ClientSession session;
+    private final SftpClient sftp;
+
+    private SftpFileSystem(ClientSession session, SftpClient sftp) {
+        this.session = session;
+        this.sftp = sftp;
+    }
+
+    static SftpFileSystem connect(RemoteEndpoint endpoint) throws IOException {
+        Duration timeout = Duration.ofMillis(endpoint.timeoutMs());
+        AttributeRepository context = endpoint.hostKeyFingerprint() != null
+                ? AttributeRepository.ofKeyValuePair(FINGERPRINT, endpoint.hostKeyFingerprint()) : null;
+        ClientSession session = client().connect(endpoint.username(), endpoint.host(), endpoint.port(), context)
+                .verify(timeout).getSession();
+        try {
+            if (endpoint.password() != null) {
+                session.addPasswordIdentity(endpoint.password());
+            }
+            session.auth().verify(timeout);
+            return new SftpFileSystem(session, SftpClientFactory.instance().createSftpClient(session));
+        } catch (IOException | RuntimeException e) {
+            session.close(true);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<RemoteFile> list(String path, String pattern) throws IOException {
+        SftpClient.Attributes attributes = sftp.stat(path);
+        if (attributes.isRegularFile()) {
+            return List.of(new RemoteFile(path, attributes.getSize()));
+        }
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + (pattern != null ? pattern : "*"));
+        String directory = path.endsWith("/") ? path : path + "/";
+        List<RemoteFile> files = new ArrayList<>();
+        for (SftpClient.DirEntry entry : sftp.readDir(path)) {
+            if (entry.getAttributes().isRegularFile() && matcher.matches(Path.of(entry.getFilename()))) {
+                files.add(new RemoteFile(directory + entry.getFilename(), entry.getAttributes().getSize()));
+            }
+        }
+        return files;
+    }
+
+    @Override
+    public InputStream open(String path, long offset) throws IOException {
+        InputStream in = sftp.read(path, READ_BUFFER_BYTES);
+        try {
+            in.skipNBytes(offset);
+            return in;
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return session.isOpen() && sftp.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sftp.close();
+        } finally {
+            session.close();
+        }
+    }
+
+    /**
+     * Cliente compartilhado, iniciado no primeiro uso. Com {@code hostKeyFingerprint} na
+     * configuração só essa chave é aceita; sem ele qualquer chave é aceita (e registrada no log).
+     */
+    private static synchronized SshClient client() {
+        if (client == null) {
+            SshClient started = SshClient.setUpDefaultClient();
+            started.setServerKeyVerifier((clientSession, address, key) -> {
+                String fingerprint = KeyUtils.getFingerPrint(key);
+                AttributeRepository context = clientSession.getConnectionContext();
+                String expected = context != null ? context.getAttribute(FINGERPRINT) : null;
+                if (expected == null) {
+                    logger.warn("Chave do servidor SFTP {} aceita sem verificação ({}); configure hostKeyFingerprint",
+                            address, fingerprint);
+                    return true;
+                }
+                return expected.equals(fingerprint);
+            });
+            started.start();
+            client = started;
+        }
+        return client;
+    }
+}
@@ -1,5 +1,6 @@
 package com.totvs.integration.controller;
 
+import com.totvs.integration.dto.connector.ConnectorMetricsDto;
 import com.totvs.integration.dto.request.TestConnectorRequest;
 import com.totvs.integration.dto.response.ConnectorTestResponse;
 import com.totvs.integration.service.ConnectorService;
@@ -32,6 +33,17 @@ public class ConnectorController {
         return ResponseEntity.ok(types);
     }
 
+    @GetMapping("/metrics")
+    public ResponseEntity<List<ConnectorMetricsDto>> getConnectorMetrics(
+            @RequestParam(required = false) String type) {
+        
+        log.debug("Buscando métricas de conectores, tipo: {}", type);
+        
+        List<ConnectorMetricsDto> metrics = connectorService.getConnectorMetrics(type);
+        
+        return ResponseEntity.ok(metrics);
+    }
+
     @PostMapping("/test")
     public ResponseEntity<ConnectorTestResponse> testConnector(
             @Valid @RequestBody TestConnectorRequest request) {
@@ -3,12 +3,25 @@
 // ============================================================================
 package com.totvs.integration.controller;
 
+import com.totvs.integration.dto.request.BulkCreateIntegrationRequest;
+import com.totvs.integration.dto.request.BulkDeleteRequest;
+import com.totvs.integration.dto.request.BulkExecuteRequest;
+import com.totvs.integration.dto.request.BulkStatusChangeRequest;
+import com.totvs.integration.dto.request.BulkUpdateIntegrationRequest;
 import com.totvs.integration.dto.request.CreateIntegrationRequest;
 import com.totvs.integration.dto.request.UpdateIntegrationRequest;
 import com.totvs.integration.dto.response.ApiResponse;
+import com.totvs.integration.dto.response.BulkExecutionResponse;
+import com.totvs.integration.dto.response.BulkOperationResponse;
 import com.totvs.integration.dto.response.IntegrationResponse;
+import com.totvs.integration.dto.response.IntegrationSummaryResponse;
+import com.totvs.integration.dto.response.WebhookRegistrationResponse;
 import com.totvs.integration.dto.response.ExecutionLogResponse;
+import com.totvs.integration.profiling.ExecutionProfiler;
+import com.totvs.integration.service.BulkExecutionService;
+import com.totvs.integration.service.IntegrationBulkService;
 import com.totvs.integration.service.IntegrationService;
+import com.totvs.integration.webhook.WebhookService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +42,18 @@ public class IntegrationController {
     @Autowired
     private IntegrationService integrationService;
 
+    @Autowired
+    private IntegrationBulkService integrationBulkService;
+
+    @Autowired
+    private BulkExecutionService bulkExecutionService;
+
+    @Autowired
+    private WebhookService webhookService;
+
+    @Autowired
+    private ExecutionProfiler executionProfiler;
+
     @PostMapping
     public ResponseEntity<ApiResponse<IntegrationResponse>> createIntegration(
             @Valid @RequestBody CreateIntegrationRequest request) {
@@ -41,8 +66,52 @@ public class IntegrationController {
                 .body(ApiResponse.success(integration, "Integração criada com sucesso"));
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> createIntegrations(
+            @Valid @RequestBody BulkCreateIntegrationRequest request) {
+        
+        log.info("Bulk creating {} integrations", request.getItems().size());
+        
+        BulkOperationResponse result = integrationBulkService.createIntegrations(request.getItems());
+        
+        return ResponseEntity.ok(ApiResponse.success(result, bulkMessage(result)));
+    }
+
+    @PutMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> updateIntegrations(
+            @Valid @RequestBody BulkUpdateIntegrationRequest request) {
+        
+        log.info("Bulk updating {} integrations", request.getItems().size());
+        
+        BulkOperationResponse result = integrationBulkService.updateIntegrations(request.getItems());
+        
+        return ResponseEntity.ok(ApiResponse.success(result, bulkMessage(result)));
+    }
+
+    @PatchMapping("/bulk/status")
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> changeStatus(
+            @Valid @RequestBody BulkStatusChangeRequest request) {
+        
+        log.info("Bulk changing status of {} integrations to {}", request.getIds().size(), request.getStatus());
+        
+        BulkOperationResponse result = integrationBulkService.changeStatus(request.getIds(), request.getStatus());
+        
+        return ResponseEntity.ok(ApiResponse.success(result, bulkMessage(result)));
+    }
+
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> deleteIntegrations(
+            @Valid @RequestBody BulkDeleteRequest request) {
+        
+        log.info("Bulk deleting {} integrations", request.getIds().size());
+        
+        BulkOperationResponse result = integrationBulkService.deleteIntegrations(request.getIds());
+        
+        return ResponseEntity.ok(ApiResponse.success(result, bulkMessage(result)));
+    }
+
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<IntegrationResponse>>> listIntegrations(
+    public ResponseEntity<ApiResponse<Page<IntegrationSummaryResponse>>> listIntegrations(
             @PageableDefault(size = 20) Pageable pageable,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String name,
@@ -51,7 +120,7 @@ public class IntegrationController {
         log.debug("Listing integrations with filters - status: {}, name: {}, tags: {}", 
                 status, name, tags);
         
-        Page<IntegrationResponse> integrations = integrationService.listIntegrations(
+        Page<IntegrationSummaryResponse> integrations = integrationService.listIntegrations(
                 pageable, status, name, tags);
         
         return ResponseEntity.ok(ApiResponse.success(integrations));
@@ -90,15 +159,67 @@ public class IntegrationController {
     }
 
     @PostMapping("/{id}/execute")
-    public ResponseEntity<ApiResponse<ExecutionLogResponse>> executeIntegration(@PathVariable String id) {
+    public ResponseEntity<ApiResponse<ExecutionLogResponse>> executeIntegration(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "false") boolean profile,
+            @RequestHeader(value = "X-Admin-Token", required = false) String adminToken) {
         
-        log.info("Executing integration: {}", id);
+        log.info("Executing integration: {} (profile: {})", id, profile);
         
-        ExecutionLogResponse executionLog = integrationService.executeIntegration(id);
+        if (profile) {
+            executionProfiler.checkAdmin(adminToken);
+        }
+        
+        ExecutionLogResponse executionLog = integrationService.executeIntegration(id, profile);
         
         return ResponseEntity.ok(ApiResponse.success(executionLog, "Integração executada"));
     }
 
+    @PostMapping("/execute")
+    public ResponseEntity<ApiResponse<BulkExecutionResponse>> executeIntegrations(
+            @Valid @RequestBody BulkExecuteRequest request) {
+        
+        log.info("Bulk executing integrations - tags: {}, status: {}, name: {}",
+                request.getTags(), request.getStatus(), request.getName());
+        
+        BulkExecutionResponse batch = bulkExecutionService.execute(request);
+        
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(batch, "Execução em lote iniciada"));
+    }
+
+    @GetMapping("/execute/{batchId}")
+    public ResponseEntity<ApiResponse<BulkExecutionResponse>> getBulkExecution(@PathVariable String batchId) {
+        
+        log.debug("Getting bulk execution: {}", batchId);
+        
+        BulkExecutionResponse batch = bulkExecutionService.getProgress(batchId);
+        
+        return ResponseEntity.ok(ApiResponse.success(batch));
+    }
+
+    @PostMapping("/{id}/webhook")
+    public ResponseEntity<ApiResponse<WebhookRegistrationResponse>> enableWebhook(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "false") boolean passThrough) {
+        
+        log.info("Enabling webhook for integration: {} (passThrough: {})", id, passThrough);
+        
+        WebhookRegistrationResponse registration = webhookService.enable(id, passThrough);
+        
+        return ResponseEntity.ok(ApiResponse.success(registration, "Webhook habilitado"));
+    }
+
+    @DeleteMapping("/{id}/webhook")
+    public ResponseEntity<ApiResponse<Void>> disableWebhook(@PathVariable String id) {
+        
+        log.info("Disabling webhook for integration: {}", id);
+        
+        webhookService.disable(id);
+        
+        return ResponseEntity.ok(ApiResponse.success(null, "Webhook desabilitado"));
+    }
+
     @GetMapping("/{id}/logs")
     public ResponseEntity<ApiResponse<Page<ExecutionLogResponse>>> getExecutionLogs(
             @PathVariable String id,
@@ -110,4 +231,8 @@ public class IntegrationController {
         
         return ResponseEntity.ok(ApiResponse.success(logs));
     }
+
+    private static String bulkMessage(BulkOperationResponse result) {
+        return String.format("Operação em lote concluída: %d de %d itens", result.getSucceeded(), result.getTotal());
+    }
 }
@@ -0,0 +1,66 @@
+package com.totvs.integration.controller;
+
+import com.totvs.integration.dto.response.ApiResponse;
+import com.totvs.integration.dto.response.IngestResponse;
+import com.totvs.integration.dto.response.WebhookReceiptResponse;
+import com.totvs.integration.ingest.IngestService;
+import com.totvs.integration.webhook.WebhookService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * Entrada dos webhooks. A autenticação é o token da integração (header
+ * {@code X-Webhook-Token} ou parâmetro {@code token}), não o tenant.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/v1/hooks")
+public class WebhookController {
+
+    @Autowired
+    private WebhookService webhookService;
+
+    @Autowired
+    private IngestService ingestService;
+
+    @PostMapping("/{integrationId}")
+    public ResponseEntity<ApiResponse<WebhookReceiptResponse>> receive(
+            @PathVariable String integrationId,
+            @RequestHeader(value = "X-Webhook-Token", required = false) String headerToken,
+            @RequestParam(value = "token", required = false) String queryToken,
+            @RequestBody(required = false) Object payload) {
+        
+        log.debug("Webhook event for integration: {}", integrationId);
+        
+        WebhookReceiptResponse receipt = webhookService.receive(integrationId,
+                headerToken != null ? headerToken : queryToken, payload);
+        
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(receipt, "Evento recebido"));
+    }
+
+    /**
+     * Corpo NDJSON ou CSV (pode ser chunked) lido em stream: os registros seguem para a
+     * integração enquanto chegam e a resposta sai ao fim do envio, com o resultado da execução.
+     */
+    @PostMapping("/{integrationId}/stream")
+    public ResponseEntity<ApiResponse<IngestResponse>> ingest(
+            @PathVariable String integrationId,
+            @RequestHeader(value = "X-Webhook-Token", required = false) String headerToken,
+            @RequestParam(value = "token", required = false) String queryToken,
+            HttpServletRequest request) throws IOException {
+        
+        log.info("Ingest stream for integration: {} ({})", integrationId, request.getContentType());
+        
+        IngestResponse ingest = ingestService.ingest(integrationId,
+                headerToken != null ? headerToken : queryToken, request.getContentType(), request.getInputStream());
+        
+        return ResponseEntity.ok(ApiResponse.success(ingest, "Stream processado"));
+    }
+}
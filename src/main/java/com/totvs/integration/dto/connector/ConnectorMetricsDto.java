@@ -20,6 +20,10 @@ public class ConnectorMetricsDto {
     private Long failedConnections;
     private Double successRate;
     private Long averageResponseTimeMs;
+    private Double p50ResponseTimeMs;
+    private Double p95ResponseTimeMs;
+    private Double p99ResponseTimeMs;
+    private Double maxResponseTimeMs;
     private LocalDateTime lastUsed;
     private String tenantId;
     private LocalDateTime periodStart;
@@ -0,0 +1,25 @@
+package com.totvs.integration.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Criação em lote. Cada item é validado individualmente: itens inválidos entram
+ * no resultado como {@code INVALID} sem impedir a criação dos demais.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCreateIntegrationRequest {
+    
+    @NotEmpty(message = "Informe ao menos uma integração")
+    @Size(max = 500, message = "Máximo de 500 integrações por requisição")
+    private List<CreateIntegrationRequest> items;
+}
@@ -0,0 +1,21 @@
+package com.totvs.integration.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkDeleteRequest {
+    
+    @NotEmpty(message = "Informe ao menos uma integração")
+    @Size(max = 500, message = "Máximo de 500 integrações por requisição")
+    private List<String> ids;
+}
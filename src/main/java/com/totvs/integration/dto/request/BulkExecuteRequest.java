@@ -0,0 +1,38 @@
+package com.totvs.integration.dto.request;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Filtro da execução em lote ({@code POST /v1/integrations/execute}). Integrações com
+ * qualquer uma das {@code tags}, no {@code status} informado ({@code ACTIVE} se omitido)
+ * e com {@code name} contido no nome. {@code maxParallelism} só reduz o limite configurado.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkExecuteRequest {
+    
+    private List<String> tags;
+    private String status;
+    private String name;
+    
+    @Min(value = 1, message = "maxParallelism deve ser maior que zero")
+    @Max(value = 64, message = "maxParallelism deve ser no máximo 64")
+    private Integer maxParallelism;
+    
+    @AssertTrue(message = "Informe ao menos um filtro: tags, status ou name")
+    public boolean isFilterPresent() {
+        return (tags != null && !tags.isEmpty())
+                || (status != null && !status.isBlank())
+                || (name != null && !name.isBlank());
+    }
+}
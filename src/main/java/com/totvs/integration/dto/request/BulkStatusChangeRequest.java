@@ -0,0 +1,25 @@
+package com.totvs.integration.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusChangeRequest {
+    
+    @NotEmpty(message = "Informe ao menos uma integração")
+    @Size(max = 500, message = "Máximo de 500 integrações por requisição")
+    private List<String> ids;
+    
+    @NotBlank(message = "Status é obrigatório")
+    private String status;
+}
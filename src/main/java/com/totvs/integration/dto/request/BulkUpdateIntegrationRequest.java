@@ -0,0 +1,35 @@
+package com.totvs.integration.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Atualização em lote: cada item traz o id da integração e as alterações, com a
+ * mesma semântica parcial de {@code PUT /v1/integrations/{id}}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUpdateIntegrationRequest {
+    
+    @NotEmpty(message = "Informe ao menos uma integração")
+    @Size(max = 500, message = "Máximo de 500 integrações por requisição")
+    private List<Item> items;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+        
+        private String id;
+        private UpdateIntegrationRequest changes;
+    }
+}
@@ -0,0 +1,51 @@
+package com.totvs.integration.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progresso de uma execução em lote, consultável em {@code GET /v1/integrations/execute/{batchId}}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkExecutionResponse {
+
+    private String batchId;
+    private String status;
+    private int total;
+    private int queued;
+    private int running;
+    private int succeeded;
+    private int failed;
+    private int maxParallelism;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private List<Item> items;
+
+    public double getProgress() {
+        return total == 0 ? 1.0 : (double) (succeeded + failed) / total;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+
+        private String integrationId;
+        private String integrationName;
+        private String targetSystem;
+        private String status;
+        private String executionId;
+        private String errorMessage;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+    }
+}
@@ -0,0 +1,52 @@
+package com.totvs.integration.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultado de uma operação em lote: totais e um resultado por item, na mesma
+ * ordem da requisição ({@code index}).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkOperationResponse {
+
+    private String operation;
+    private int total;
+    private int succeeded;
+    private int failed;
+    private long durationMs;
+    private List<ItemResult> results;
+
+    public enum Outcome {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        DELETED,
+        NOT_FOUND,
+        INVALID
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ItemResult {
+
+        private int index;
+        private String id;
+        private Outcome outcome;
+        private String error;
+
+        public boolean isSuccess() {
+            return outcome == Outcome.CREATED || outcome == Outcome.UPDATED
+                    || outcome == Outcome.STATUS_CHANGED || outcome == Outcome.DELETED;
+        }
+    }
+}
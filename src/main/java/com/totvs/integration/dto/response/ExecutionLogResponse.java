@@ -43,6 +43,8 @@ public class ExecutionLogResponse {
     private Long sourceReadTimeMs;
     private Long transformationTimeMs;
     private Long targetWriteTimeMs;
+    private Long cpuTimeMs;
+    private Long allocatedBytes;
     
   
     private Map<String, Object> sourceStats;  
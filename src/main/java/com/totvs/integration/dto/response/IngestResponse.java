@@ -0,0 +1,25 @@
+package com.totvs.integration.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngestResponse {
+
+    private String integrationId;
+    private String executionId;
+    private String status;
+    private String format;
+    private long recordsReceived;
+    private long bytesReceived;
+    private int chunks;
+    private Integer recordsWritten;
+    private long backpressureWaitMs;
+    private long durationMs;
+    private String errorMessage;
+}
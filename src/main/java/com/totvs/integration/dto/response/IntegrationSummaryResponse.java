@@ -0,0 +1,43 @@
+package com.totvs.integration.dto.response;
+
+import com.totvs.integration.entity.Integration;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IntegrationSummaryResponse implements Serializable {
+
+    private String id;
+    private String tenantId;
+    private String name;
+
+    private Integration.IntegrationStatus status;
+    private LocalDateTime lastExecution;
+    private LocalDateTime nextExecution;
+
+    private Integer executionCount;
+    private Integer errorCount;
+    private Integer successCount;
+
+    private List<String> tags;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public double getSuccessRate() {
+        if (executionCount == null || executionCount == 0) {
+            return 0.0;
+        }
+        int success = successCount != null ? successCount : 0;
+        return (double) success / executionCount * 100.0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.totvs.integration.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WebhookReceiptResponse {
+
+    private String integrationId;
+    private int records;
+    private int pendingEvents;
+    private int pendingRecords;
+    private boolean executionRunning;
+}
@@ -0,0 +1,24 @@
+package com.totvs.integration.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dados para o sistema de origem chamar o webhook da integração. O token só é
+ * devolvido aqui; gerar um novo revoga o anterior.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WebhookRegistrationResponse {
+
+    private String integrationId;
+    private String path;
+    private String token;
+    private boolean passThrough;
+    private long windowMs;
+    private int maxBatchRecords;
+}
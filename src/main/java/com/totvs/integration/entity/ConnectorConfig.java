@@ -6,8 +6,10 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import io.hypersistence.utils.hibernate.type.json.JsonType;
 import org.hibernate.annotations.Type;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.HashMap;
@@ -17,13 +19,14 @@ import java.util.HashMap;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonIgnoreProperties(value = "valid", allowGetters = true)
 @Entity
 @Table(name = "connector_configs", indexes = {
     @Index(name = "idx_connector_name", columnList = "name"),
     @Index(name = "idx_connector_type", columnList = "type"),
     @Index(name = "idx_connector_tenant", columnList = "tenant_id")
 })
-public class ConnectorConfig {
+public class ConnectorConfig implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
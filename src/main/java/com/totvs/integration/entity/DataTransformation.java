@@ -5,6 +5,7 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 
+import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
 
@@ -14,7 +15,7 @@ import java.util.Map;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class DataTransformation {
+public class DataTransformation implements Serializable {
     
   
     private Map<String, String> fieldMappings;
@@ -42,7 +43,7 @@ public class DataTransformation {
     @NoArgsConstructor
     @AllArgsConstructor
     @Builder
-    public static class ConditionalRule {
+    public static class ConditionalRule implements Serializable {
         private String condition; 
         private String action;
         private Map<String, Object> actionParameters;
@@ -52,7 +53,7 @@ public class DataTransformation {
     @NoArgsConstructor
     @AllArgsConstructor
     @Builder
-    public static class AggregationRule {
+    public static class AggregationRule implements Serializable {
         private String groupByField;
         private String aggregateField;
         private AggregationType type; 
@@ -23,7 +23,8 @@ import java.util.Map;
     @Index(name = "idx_execution_tenant", columnList = "tenant_id"),
     @Index(name = "idx_execution_integration", columnList = "integration_id"),
     @Index(name = "idx_execution_status", columnList = "status"),
-    @Index(name = "idx_execution_created", columnList = "created_at")
+    @Index(name = "idx_execution_created", columnList = "created_at"),
+    @Index(name = "idx_execution_heartbeat", columnList = "status, heartbeat_at")
 })
 public class ExecutionLog {
     
@@ -103,9 +104,37 @@ public class ExecutionLog {
     @Column(name = "target_write_time_ms")
     private Long targetWriteTimeMs;
     
+    @Column(name = "cpu_time_ms")
+    private Long cpuTimeMs;
+    
+    @Column(name = "allocated_bytes")
+    private Long allocatedBytes;
+    
     @Column(name = "execution_id", unique = true)
     private String executionId; 
     
+    
+    @Column(name = "node_id")
+    private String nodeId;
+    
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+    
+    @Column(name = "checkpoint_offset")
+    private Long checkpointOffset;
+    
+    @Column(name = "checkpoint_batch")
+    private Integer checkpointBatch;
+    
+    @Column(name = "checkpoint_source", columnDefinition = "TEXT")
+    private String checkpointSource;
+    
+    @Column(name = "checkpoint_target", columnDefinition = "TEXT")
+    private String checkpointTarget;
+    
+    @Column(name = "resume_count")
+    private Integer resumeCount;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
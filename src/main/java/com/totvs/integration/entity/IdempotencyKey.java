@@ -0,0 +1,37 @@
+package com.totvs.integration.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Chave de idempotência de um registro já gravado no destino por uma integração
+ * (hash de 64 bits das {@code keyFields} ou do registro inteiro).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "idempotency_keys",
+    uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_key", columnNames = {"integration_id", "key_hash"}),
+    indexes = @Index(name = "idx_idempotency_created", columnList = "integration_id, created_at"))
+public class IdempotencyKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "integration_id", nullable = false)
+    private String integrationId;
+
+    @Column(name = "key_hash", nullable = false)
+    private Long keyHash;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
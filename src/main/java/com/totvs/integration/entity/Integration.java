@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import io.hypersistence.utils.hibernate.type.json.JsonType;
 
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.Type;
 import org.hibernate.type.SqlTypes;
@@ -20,6 +21,7 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Entity
+@DynamicUpdate
 @Table(name = "integrations", indexes = {
     @Index(name = "idx_integration_tenant", columnList = "tenant_id"),
     @Index(name = "idx_integration_status", columnList = "status"),
@@ -181,19 +181,21 @@ public class Tenant {
     }
 
     public enum Plan {
-        FREE("Free", 100, 5),
-        BASIC("Basic", 1000, 25),
-        PROFESSIONAL("Professional", 10000, 100),
-        ENTERPRISE("Enterprise", -1, -1);
+        FREE("Free", 100, 5, 1L << 30),
+        BASIC("Basic", 1000, 25, 10L << 30),
+        PROFESSIONAL("Professional", 10000, 100, 100L << 30),
+        ENTERPRISE("Enterprise", -1, -1, -1);
 
         private final String displayName;
         private final int maxRequestsPerMinute;
         private final int maxConcurrentIntegrations;
+        private final long monthlyDataQuotaBytes;
 
-        Plan(String displayName, int maxRequestsPerMinute, int maxConcurrentIntegrations) {
+        Plan(String displayName, int maxRequestsPerMinute, int maxConcurrentIntegrations, long monthlyDataQuotaBytes) {
             this.displayName = displayName;
             this.maxRequestsPerMinute = maxRequestsPerMinute;
             this.maxConcurrentIntegrations = maxConcurrentIntegrations;
+            this.monthlyDataQuotaBytes = monthlyDataQuotaBytes;
         }
 
         public String getDisplayName() {
@@ -208,6 +210,10 @@ public class Tenant {
             return maxConcurrentIntegrations;
         }
 
+        public long getMonthlyDataQuotaBytes() {
+            return monthlyDataQuotaBytes;
+        }
+
         public boolean isUnlimited() {
             return this == ENTERPRISE;
         }
@@ -48,6 +48,12 @@ public class TenantStats {
     @Column(name = "failed_executions")
     private Long failedExecutions = 0L;
     
+    @Column(name = "total_cpu_time_ms")
+    private Long totalCpuTimeMs = 0L;
+    
+    @Column(name = "total_allocated_bytes")
+    private Long totalAllocatedBytes = 0L;
+    
     
     @Column(name = "current_month_executions")
     private Long currentMonthExecutions = 0L;
@@ -58,6 +64,12 @@ public class TenantStats {
     @Column(name = "current_month_api_calls")
     private Long currentMonthApiCalls = 0L;
     
+    @Column(name = "current_month_cpu_time_ms")
+    private Long currentMonthCpuTimeMs = 0L;
+    
+    @Column(name = "current_month_allocated_bytes")
+    private Long currentMonthAllocatedBytes = 0L;
+    
    
     @Column(name = "average_execution_time_ms")
     private Double averageExecutionTimeMs = 0.0;
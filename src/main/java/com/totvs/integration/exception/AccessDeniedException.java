@@ -0,0 +1,7 @@
+package com.totvs.integration.exception;
+
+public class AccessDeniedException extends RuntimeException {
+    public AccessDeniedException(String message) {
+        super(message);
+    }
+}
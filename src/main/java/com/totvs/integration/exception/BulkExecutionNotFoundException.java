@@ -0,0 +1,7 @@
+package com.totvs.integration.exception;
+
+public class BulkExecutionNotFoundException extends RuntimeException {
+    public BulkExecutionNotFoundException(String batchId) {
+        super("Bulk execution not found: " + batchId);
+    }
+}
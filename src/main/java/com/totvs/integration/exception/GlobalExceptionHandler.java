@@ -35,6 +35,14 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
     
+    @ExceptionHandler(BulkExecutionNotFoundException.class)
+    public ResponseEntity<ApiResponse<Object>> handleBulkExecutionNotFound(BulkExecutionNotFoundException ex, WebRequest request) {
+        log.error("Bulk execution not found: {}", ex.getMessage());
+        
+        ApiResponse<Object> response = ApiResponse.error("BULK_EXECUTION_NOT_FOUND", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+    
     @ExceptionHandler(ConnectorException.class)
     public ResponseEntity<ApiResponse<Object>> handleConnectorException(ConnectorException ex, WebRequest request) {
         log.error("Connector error: {}", ex.getMessage(), ex);
@@ -51,6 +59,38 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(response);
     }
     
+    @ExceptionHandler(QuotaExceededException.class)
+    public ResponseEntity<ApiResponse<Object>> handleQuotaExceeded(QuotaExceededException ex, WebRequest request) {
+        log.warn("Quota exceeded: {}", ex.getMessage());
+        
+        ApiResponse<Object> response = ApiResponse.error("QUOTA_EXCEEDED", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(response);
+    }
+    
+    @ExceptionHandler(WebhookBacklogFullException.class)
+    public ResponseEntity<ApiResponse<Object>> handleWebhookBacklogFull(WebhookBacklogFullException ex, WebRequest request) {
+        log.warn("Webhook backlog full: {}", ex.getMessage());
+        
+        ApiResponse<Object> response = ApiResponse.error("WEBHOOK_BACKLOG_FULL", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(response);
+    }
+    
+    @ExceptionHandler(IngestCapacityExceededException.class)
+    public ResponseEntity<ApiResponse<Object>> handleIngestCapacityExceeded(IngestCapacityExceededException ex, WebRequest request) {
+        log.warn("Ingest capacity exceeded: {}", ex.getMessage());
+        
+        ApiResponse<Object> response = ApiResponse.error("INGEST_CAPACITY_EXCEEDED", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(response);
+    }
+    
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ApiResponse<Object>> handleAccessDenied(AccessDeniedException ex, WebRequest request) {
+        log.warn("Access denied: {}", ex.getMessage());
+
+        ApiResponse<Object> response = ApiResponse.error("ACCESS_DENIED", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -0,0 +1,7 @@
+package com.totvs.integration.exception;
+
+public class IngestCapacityExceededException extends RuntimeException {
+    public IngestCapacityExceededException(int limit) {
+        super("Ingest capacity exceeded. Limit: " + limit + " concurrent streams");
+    }
+}
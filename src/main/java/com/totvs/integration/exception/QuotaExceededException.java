@@ -0,0 +1,7 @@
+package com.totvs.integration.exception;
+
+public class QuotaExceededException extends RuntimeException {
+    public QuotaExceededException(String tenantId, String message) {
+        super(message + " (tenant: " + tenantId + ")");
+    }
+}
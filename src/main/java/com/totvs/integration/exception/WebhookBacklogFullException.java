@@ -0,0 +1,7 @@
+package com.totvs.integration.exception;
+
+public class WebhookBacklogFullException extends RuntimeException {
+    public WebhookBacklogFullException(String integrationId, int limit) {
+        super("Webhook backlog full for integration: " + integrationId + ". Limit: " + limit + " pending records");
+    }
+}
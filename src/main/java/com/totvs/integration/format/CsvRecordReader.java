@@ -0,0 +1,135 @@
+package com.totvs.integration.format;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CSV com cabeçalho (RFC 4180): campos entre aspas podem conter o delimitador, quebras de linha
+ * e aspas duplicadas. Os valores ficam como texto; linhas em branco são ignoradas.
+ */
+public class CsvRecordReader implements RecordReader {
+
+    private final Reader reader;
+    private final char delimiter;
+    private final StringBuilder field = new StringBuilder();
+    private List<String> header;
+    private long line = 1;
+    private long rowStart = 1;
+    private boolean eof;
+    private int pushedBack = -1;
+
+    public CsvRecordReader(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    @Override
+    public Map<String, Object> next() throws IOException {
+        if (header == null) {
+            header = readRow();
+            if (header == null) {
+                return null;
+            }
+        }
+
+        List<String> values = readRow();
+        if (values == null) {
+            return null;
+        }
+        if (values.size() > header.size()) {
+            throw new RecordFormatException("Linha com " + values.size() + " colunas, cabeçalho tem " + header.size(), rowStart);
+        }
+
+        Map<String, Object> record = new LinkedHashMap<>(Math.max(16, header.size() * 2));
+        for (int i = 0; i < header.size(); i++) {
+            record.put(header.get(i), i < values.size() ? values.get(i) : null);
+        }
+        return record;
+    }
+
+    /**
+     * Próxima linha não vazia como lista de campos, ou {@code null} ao fim do conteúdo.
+     */
+    private List<String> readRow() throws IOException {
+        while (!eof) {
+            rowStart = line;
+            List<String> row = new ArrayList<>();
+            boolean quoted = false;
+            boolean wasQuoted = false;
+            field.setLength(0);
+
+            while (true) {
+                int c = read();
+                if (c < 0) {
+                    eof = true;
+                    if (quoted) {
+                        throw new RecordFormatException("Aspas não fechadas", line);
+                    }
+                    break;
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        int following = read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            unread(following);
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0 && !wasQuoted) {
+                    quoted = true;
+                    wasQuoted = true;
+                } else if (c == delimiter) {
+                    row.add(field.toString());
+                    field.setLength(0);
+                    wasQuoted = false;
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        int following = read();
+                        if (following != '\n') {
+                            unread(following);
+                        }
+                    }
+                    line++;
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+            }
+
+            if (!row.isEmpty() || field.length() > 0 || wasQuoted) {
+                row.add(field.toString());
+                return row;
+            }
+        }
+        return null;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -1) {
+            int c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
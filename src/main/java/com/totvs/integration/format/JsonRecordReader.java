@@ -0,0 +1,114 @@
+package com.totvs.integration.format;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * JSON em stream pela API de tokens do Jackson: um array de registros na raiz, um array dentro
+ * de objetos ({@code recordsPath} separado por ponto, ex.: {@code data.items}) ou uma sequência
+ * de objetos na raiz (NDJSON). Os demais campos do caminho são pulados sem materializar, e só o
+ * registro corrente fica em memória. Elementos que não são objetos viram {@code {"value": ...}}.
+ */
+public class JsonRecordReader implements RecordReader {
+
+    private final JsonParser parser;
+    private final ObjectMapper objectMapper;
+    private final String[] path;
+    private boolean started;
+    private boolean inArray;
+    private boolean finished;
+
+    public JsonRecordReader(InputStream in, ObjectMapper objectMapper, String recordsPath) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(in);
+        this.path = recordsPath == null || recordsPath.isBlank() ? new String[0] : recordsPath.split("\\.");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        try {
+            JsonToken token;
+            if (!started) {
+                started = true;
+                token = start();
+            } else {
+                token = parser.nextToken();
+            }
+            if (token == null || (inArray && token == JsonToken.END_ARRAY)) {
+                finished = true;
+                return null;
+            }
+            if (token == JsonToken.START_OBJECT) {
+                return objectMapper.readValue(parser, Map.class);
+            }
+            if (!inArray) {
+                throw new RecordFormatException("Esperado um objeto JSON, encontrado " + token, line());
+            }
+            return Collections.singletonMap("value", objectMapper.readValue(parser, Object.class));
+        } catch (JsonProcessingException e) {
+            throw new RecordFormatException("JSON inválido: " + e.getOriginalMessage(),
+                    e.getLocation() != null ? e.getLocation().getLineNr() : line(), e);
+        }
+    }
+
+    /**
+     * Posiciona o parser no primeiro registro e devolve o token dele.
+     */
+    private JsonToken start() throws IOException {
+        JsonToken token = parser.nextToken();
+        for (int depth = 0; depth < path.length; depth++) {
+            if (token != JsonToken.START_OBJECT) {
+                throw new RecordFormatException("Caminho '" + String.join(".", path) + "' não encontrado: '"
+                        + (depth > 0 ? path[depth - 1] : "$") + "' não é um objeto", line());
+            }
+            token = field(path[depth]);
+            if (token == null) {
+                throw new RecordFormatException("Campo '" + path[depth] + "' não encontrado", line());
+            }
+        }
+        if (token == JsonToken.START_ARRAY) {
+            inArray = true;
+            return parser.nextToken();
+        }
+        if (path.length > 0 && token != JsonToken.START_OBJECT) {
+            throw new RecordFormatException("Campo '" + path[path.length - 1] + "' não é um array nem objeto", line());
+        }
+        return token;
+    }
+
+    /**
+     * Avança no objeto corrente até o valor de {@code name}, pulando os outros campos.
+     */
+    private JsonToken field(String name) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String current = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (name.equals(current)) {
+                return value;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private long line() {
+        return parser.currentLocation().getLineNr();
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
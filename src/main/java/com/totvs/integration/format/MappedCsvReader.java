@@ -0,0 +1,484 @@
+package com.totvs.integration.format;
+
+import com.totvs.integration.exception.ConnectorException;
+import com.totvs.integration.metering.ExecutionResourceUsage;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Leitor paralelo de CSV grande (mesmo formato do {@link CsvRecordReader}) sobre o arquivo
+ * mapeado em memória, em duas passadas sobre blocos de {@code chunkBytes}:
+ * <ol>
+ * <li>cada bloco é varrido em paralelo contando aspas e guardando a primeira quebra de linha
+ * com paridade de aspas par e ímpar; uma soma de prefixo da paridade diz se o bloco começa
+ * dentro de um campo entre aspas e, com isso, onde começa a primeira linha real dele. Campos
+ * entre aspas que atravessam blocos (inclusive com quebras de linha) ficam inteiros;</li>
+ * <li>os segmentos alinhados em linha são interpretados em paralelo e entregues em ordem, com
+ * no máximo {@code 2 × paralelismo} segmentos em memória além do consumidor.</li>
+ * </ol>
+ * {@link #open()} entrega os registros um a um como {@link RecordReader}, puxando os segmentos
+ * conforme o consumidor avança; a memória continua limitada à mesma janela. Com
+ * {@link ExecutionResourceUsage}, a CPU e a alocação das tarefas no pool contam para a execução.
+ * Só para codificações em que aspas, delimitador e {@code \n} são bytes únicos
+ * ({@link #supports(Charset)}); as demais usam o {@link CsvRecordReader}.
+ */
+public final class MappedCsvReader {
+
+    /**
+     * Blocos pequenos mantêm os segmentos em voo (2 × paralelismo) na geração jovem do GC.
+     */
+    public static final int DEFAULT_CHUNK_BYTES = 1024 * 1024;
+
+    private static final int MAX_HEADER_BYTES = 1024 * 1024;
+
+    private static final Set<Charset> SUPPORTED = Set.of(StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1,
+            StandardCharsets.US_ASCII, Charset.forName("windows-1252"));
+
+    private static volatile ForkJoinPool sharedPool;
+
+    private final Path path;
+    private final Charset charset;
+    private final byte delimiter;
+    private final boolean hasHeader;
+    private final int chunkBytes;
+    private final ForkJoinPool pool;
+    private final ExecutionResourceUsage resources;
+
+    private record Scan(int parity, long newlines, long firstEven, long linesBeforeEven, long firstOdd, long linesBeforeOdd) {
+    }
+
+    private record Segment(long start, long end, long firstLine, long lines) {
+    }
+
+    public MappedCsvReader(Path path, Charset charset, char delimiter, boolean hasHeader, int chunkBytes, ForkJoinPool pool) {
+        this(path, charset, delimiter, hasHeader, chunkBytes, pool, null);
+    }
+
+    public MappedCsvReader(Path path, Charset charset, char delimiter, boolean hasHeader, int chunkBytes, ForkJoinPool pool,
+                           ExecutionResourceUsage resources) {
+        if (!supports(charset) || delimiter > 0x7F || delimiter == '"' || delimiter == '\n') {
+            throw new IllegalArgumentException("Codificação/delimitador não suportado pelo leitor mapeado: " + charset + " '" + delimiter + "'");
+        }
+        this.path = path;
+        this.charset = charset;
+        this.delimiter = (byte) delimiter;
+        this.hasHeader = hasHeader;
+        this.chunkBytes = Math.max(1, chunkBytes);
+        this.pool = pool != null ? pool : sharedPool();
+        this.resources = resources;
+    }
+
+    public static boolean supports(Charset charset) {
+        return SUPPORTED.contains(charset);
+    }
+
+    /**
+     * Pool compartilhado ({@code csv-parser-N}), com uma thread por processador.
+     */
+    public static ForkJoinPool sharedPool() {
+        ForkJoinPool pool = sharedPool;
+        if (pool == null) {
+            synchronized (MappedCsvReader.class) {
+                pool = sharedPool;
+                if (pool == null) {
+                    pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), forkJoinPool -> {
+                        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                        thread.setName("csv-parser-" + thread.getPoolIndex());
+                        thread.setDaemon(true);
+                        return thread;
+                    }, null, false);
+                    sharedPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Lê o arquivo inteiro entregando os registros de cada segmento, na ordem do arquivo.
+     *
+     * @return total de registros lidos
+     */
+    public long read(Consumer<List<Map<String, Object>>> batches) throws IOException {
+        long total = 0;
+        try (Records records = open()) {
+            List<Map<String, Object>> batch;
+            while ((batch = records.nextBatch()) != null) {
+                total += batch.size();
+                batches.accept(batch);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Abre o arquivo e começa a interpretar os primeiros segmentos; os registros saem na ordem
+     * do arquivo. O leitor deve ser fechado (libera o arquivo e cancela o que está em voo).
+     */
+    public Records open() throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            long start = bomLength(channel, size);
+            List<String> header = List.of();
+            long firstLine = 1;
+            if (hasHeader) {
+                HeaderRow row = header(channel, start, size);
+                if (row == null) {
+                    return new Records(channel, List.of(), header);
+                }
+                header = row.columns();
+                start = row.end();
+                firstLine += row.lines();
+            }
+            return new Records(channel, segments(channel, start, size, firstLine), header);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private List<Segment> segments(FileChannel channel, long start, long size, long firstLine) throws IOException {
+        long length = size - start;
+        if (length <= 0) {
+            return List.of();
+        }
+        int chunks = (int) Math.max(1, (length + chunkBytes - 1) / chunkBytes);
+        List<Future<Scan>> scans = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            long chunkStart = start + (long) i * chunkBytes;
+            long chunkLength = Math.min(chunkBytes, size - chunkStart);
+            scans.add(pool.submit(measured(() -> scan(channel, chunkStart, chunkLength))));
+        }
+
+        List<Segment> segments = new ArrayList<>();
+        long segmentStart = start;
+        long segmentLine = firstLine;
+        long lines = 0;
+        int parity = 0;
+        for (int i = 0; i < chunks; i++) {
+            Scan scan = await(scans.get(i));
+            if (i > 0) {
+                long chunkStart = start + (long) i * chunkBytes;
+                long boundary = parity == 0 ? scan.firstEven() : scan.firstOdd();
+                if (boundary >= 0) {
+                    long next = chunkStart + boundary + 1;
+                    long nextLine = firstLine + lines + (parity == 0 ? scan.linesBeforeEven() : scan.linesBeforeOdd()) + 1;
+                    segments.add(new Segment(segmentStart, next, segmentLine, nextLine - segmentLine));
+                    segmentStart = next;
+                    segmentLine = nextLine;
+                }
+            }
+            parity ^= scan.parity();
+            lines += scan.newlines();
+        }
+        if (segmentStart < size) {
+            segments.add(new Segment(segmentStart, size, segmentLine, firstLine + lines - segmentLine + 1));
+        }
+        return segments;
+    }
+
+    private static Scan scan(FileChannel channel, long start, long length) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        int parity = 0;
+        long newlines = 0;
+        long firstEven = -1;
+        long linesBeforeEven = 0;
+        long firstOdd = -1;
+        long linesBeforeOdd = 0;
+        int limit = (int) length;
+        for (int i = 0; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b == '"') {
+                parity ^= 1;
+            } else if (b == '\n') {
+                if (parity == 0 && firstEven < 0) {
+                    firstEven = i;
+                    linesBeforeEven = newlines;
+                } else if (parity == 1 && firstOdd < 0) {
+                    firstOdd = i;
+                    linesBeforeOdd = newlines;
+                }
+                newlines++;
+            }
+        }
+        return new Scan(parity, newlines, firstEven, linesBeforeEven, firstOdd, linesBeforeOdd);
+    }
+
+    private <T> Callable<T> measured(Callable<T> task) {
+        return resources != null ? resources.wrap(task) : task;
+    }
+
+    private List<Map<String, Object>> parseSegment(FileChannel channel, Segment segment, List<String> header) throws IOException {
+        long length = segment.end() - segment.start();
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new RecordFormatException("Linha maior que 2 GB", segment.firstLine());
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, segment.start(), length);
+        RowParser parser = new RowParser(buffer, (int) length, segment.firstLine());
+        List<Map<String, Object>> records = new ArrayList<>((int) Math.min(segment.lines(), 1 << 24));
+        List<String> row;
+        while ((row = parser.next()) != null) {
+            records.add(toRecord(header, row, parser.rowLine));
+        }
+        return records;
+    }
+
+    private static Map<String, Object> toRecord(List<String> header, List<String> row, long line) {
+        if (header.isEmpty()) {
+            Map<String, Object> record = new LinkedHashMap<>(Math.max(16, row.size() * 2));
+            for (int i = 0; i < row.size(); i++) {
+                record.put("column" + (i + 1), row.get(i));
+            }
+            return record;
+        }
+        if (row.size() > header.size()) {
+            throw new RecordFormatException("Linha com " + row.size() + " colunas, cabeçalho tem " + header.size(), line);
+        }
+        Map<String, Object> record = new LinkedHashMap<>(Math.max(16, header.size() * 2));
+        for (int i = 0; i < header.size(); i++) {
+            record.put(header.get(i), i < row.size() ? row.get(i) : null);
+        }
+        return record;
+    }
+
+    private record HeaderRow(List<String> columns, long end, long lines) {
+    }
+
+    private HeaderRow header(FileChannel channel, long start, long size) throws IOException {
+        long length = Math.min(size - start, MAX_HEADER_BYTES);
+        if (length <= 0) {
+            return null;
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        RowParser parser = new RowParser(buffer, (int) length, 1);
+        List<String> columns = parser.next();
+        if (columns == null) {
+            return null;
+        }
+        if (parser.position >= length && start + length < size) {
+            throw new RecordFormatException("Cabeçalho maior que " + MAX_HEADER_BYTES + " bytes", 1);
+        }
+        return new HeaderRow(List.copyOf(columns), start + parser.position, parser.line - 1);
+    }
+
+    private static long bomLength(FileChannel channel, long size) throws IOException {
+        if (size < 3) {
+            return 0;
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, 3);
+        return buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF ? 3 : 0;
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectorException("Leitura do CSV interrompida", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new ConnectorException("Erro ao ler CSV: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Registros do arquivo, segmento a segmento: até {@code 2 × paralelismo} segmentos são
+     * interpretados à frente do consumidor. Usado por uma única thread.
+     */
+    public final class Records implements RecordReader {
+
+        private final FileChannel channel;
+        private final List<Segment> segments;
+        private final List<String> header;
+        private final int window = Math.max(2, pool.getParallelism() * 2);
+        private final Deque<Future<List<Map<String, Object>>>> inFlight = new ArrayDeque<>();
+        private List<Map<String, Object>> batch = List.of();
+        private int batchPosition;
+        private int next;
+
+        private Records(FileChannel channel, List<Segment> segments, List<String> header) {
+            this.channel = channel;
+            this.segments = segments;
+            this.header = header;
+        }
+
+        @Override
+        public Map<String, Object> next() throws IOException {
+            while (batchPosition >= batch.size()) {
+                List<Map<String, Object>> records = nextBatch();
+                if (records == null) {
+                    return null;
+                }
+                batch = records;
+                batchPosition = 0;
+            }
+            return batch.get(batchPosition++);
+        }
+
+        /**
+         * Registros do próximo segmento não vazio, ou {@code null} ao fim do arquivo.
+         */
+        List<Map<String, Object>> nextBatch() throws IOException {
+            while (next < segments.size() || !inFlight.isEmpty()) {
+                while (next < segments.size() && inFlight.size() < window) {
+                    Segment segment = segments.get(next++);
+                    inFlight.add(pool.submit(measured(() -> parseSegment(channel, segment, header))));
+                }
+                List<Map<String, Object>> records = await(inFlight.poll());
+                if (!records.isEmpty()) {
+                    return records;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            inFlight.forEach(future -> future.cancel(true));
+            inFlight.clear();
+            batch = List.of();
+            channel.close();
+        }
+    }
+
+    /**
+     * Interpreta linhas de um trecho que começa no início de uma linha. Mesmas regras do
+     * {@link CsvRecordReader}: aspas duplicadas dentro de campo entre aspas, {@code \r\n} ou
+     * {@code \n} como fim de linha, linhas em branco ignoradas.
+     */
+    private final class RowParser {
+
+        private final MappedByteBuffer buffer;
+        private final int limit;
+        private final List<String> row = new ArrayList<>();
+        private byte[] scratch = new byte[256];
+        private int position;
+        private long line;
+        private long rowLine;
+
+        private RowParser(MappedByteBuffer buffer, int limit, long firstLine) {
+            this.buffer = buffer;
+            this.limit = limit;
+            this.line = firstLine;
+        }
+
+        private List<String> next() {
+            while (position < limit) {
+                rowLine = line;
+                row.clear();
+                boolean blank = true;
+                while (true) {
+                    int length = 0;
+                    boolean quoted = false;
+                    if (position < limit && buffer.get(position) == '"') {
+                        quoted = true;
+                        blank = false;
+                        position++;
+                        while (true) {
+                            if (position >= limit) {
+                                throw new RecordFormatException("Aspas não fechadas", line);
+                            }
+                            byte b = buffer.get(position++);
+                            if (b == '"') {
+                                if (position < limit && buffer.get(position) == '"') {
+                                    position++;
+                                } else {
+                                    break;
+                                }
+                            } else if (b == '\n') {
+                                line++;
+                            }
+                            length = append(length, b);
+                        }
+                    }
+                    int fieldStart = position;
+                    while (position < limit) {
+                        byte b = buffer.get(position);
+                        if (b == delimiter || b == '\n') {
+                            break;
+                        }
+                        position++;
+                    }
+                    int end = position;
+                    boolean endOfRow = position >= limit || buffer.get(position) == '\n';
+                    if (endOfRow && end > fieldStart && buffer.get(end - 1) == '\r') {
+                        end--;
+                    }
+                    if (end > fieldStart) {
+                        blank = false;
+                        if (quoted) {
+                            for (int i = fieldStart; i < end; i++) {
+                                length = append(length, buffer.get(i));
+                            }
+                        }
+                    }
+                    if (quoted) {
+                        row.add(new String(scratch, 0, length, charset));
+                    } else {
+                        row.add(decode(fieldStart, end));
+                    }
+                    if (endOfRow) {
+                        if (position < limit) {
+                            position++;
+                            line++;
+                        }
+                        break;
+                    }
+                    position++;
+                    blank = false;
+                }
+                if (!blank) {
+                    return row;
+                }
+            }
+            return null;
+        }
+
+        private int append(int length, byte b) {
+            if (length == scratch.length) {
+                scratch = Arrays.copyOf(scratch, scratch.length * 2);
+            }
+            scratch[length] = b;
+            return length + 1;
+        }
+
+        private String decode(int from, int to) {
+            int length = to - from;
+            if (length == 0) {
+                return "";
+            }
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(from, scratch, 0, length);
+            return new String(scratch, 0, length, charset);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.totvs.integration.format;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * NDJSON (um objeto JSON por linha). O parser do Jackson lê o stream incrementalmente, então
+ * apenas o objeto corrente é materializado.
+ */
+public class NdjsonRecordReader implements RecordReader {
+
+    private final JsonParser parser;
+    private final ObjectMapper objectMapper;
+
+    public NdjsonRecordReader(InputStream in, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(in);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> next() throws IOException {
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return null;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new RecordFormatException("Esperado um objeto JSON por linha, encontrado " + token,
+                        parser.currentLocation().getLineNr());
+            }
+            return objectMapper.readValue(parser, Map.class);
+        } catch (JsonProcessingException e) {
+            throw new RecordFormatException("JSON inválido: " + e.getOriginalMessage(),
+                    e.getLocation() != null ? e.getLocation().getLineNr() : parser.currentLocation().getLineNr(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
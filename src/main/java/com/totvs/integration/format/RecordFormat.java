@@ -0,0 +1,43 @@
+package com.totvs.integration.format;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+public enum RecordFormat {
+
+    NDJSON,
+    CSV;
+
+    private static final int READ_BUFFER_CHARS = 64 * 1024;
+
+    /**
+     * {@code application/x-ndjson}, {@code application/jsonl} e {@code application/json} são lidos
+     * como NDJSON; {@code text/csv} como CSV.
+     *
+     * @return {@code null} para tipos não suportados
+     */
+    public static RecordFormat fromContentType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        String mediaType = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        return switch (mediaType) {
+            case "application/x-ndjson", "application/ndjson", "application/jsonl", "application/json" -> NDJSON;
+            case "text/csv", "application/csv" -> CSV;
+            default -> null;
+        };
+    }
+
+    public RecordReader open(InputStream in, ObjectMapper objectMapper, char csvDelimiter) throws IOException {
+        return switch (this) {
+            case NDJSON -> new NdjsonRecordReader(in, objectMapper);
+            case CSV -> new CsvRecordReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), READ_BUFFER_CHARS), csvDelimiter);
+        };
+    }
+}
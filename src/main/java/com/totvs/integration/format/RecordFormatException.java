@@ -0,0 +1,26 @@
+package com.totvs.integration.format;
+
+import com.totvs.integration.exception.ConnectorException;
+
+/**
+ * Conteúdo fora do formato esperado; {@code line} é a linha (a partir de 1) onde o problema foi
+ * encontrado.
+ */
+public class RecordFormatException extends ConnectorException {
+
+    private final long line;
+
+    public RecordFormatException(String message, long line) {
+        super(message + " (linha " + line + ")");
+        this.line = line;
+    }
+
+    public RecordFormatException(String message, long line, Throwable cause) {
+        super(message + " (linha " + line + ")", cause);
+        this.line = line;
+    }
+
+    public long getLine() {
+        return line;
+    }
+}
@@ -0,0 +1,18 @@
+package com.totvs.integration.format;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Leitura registro a registro de um conteúdo em stream. Só o registro corrente (e o buffer
+ * de I/O do leitor) fica em memória, então o tamanho do conteúdo não limita o consumo.
+ */
+public interface RecordReader extends Closeable {
+
+    /**
+     * @return o próximo registro ou {@code null} ao fim do conteúdo
+     * @throws RecordFormatException se o conteúdo não está no formato esperado
+     */
+    Map<String, Object> next() throws IOException;
+}
@@ -0,0 +1,179 @@
+package com.totvs.integration.format;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * XML em stream (StAX): cada ocorrência do elemento em {@code recordPath} vira um registro, sem
+ * montar o documento inteiro. O caminho usa nomes locais separados por {@code /} e casa pelo
+ * final ({@code NFe} ou {@code nfeProc/NFe}); com {@code /} inicial é absoluto a partir da raiz.
+ * Sem caminho, os registros são os filhos do elemento raiz.
+ * <p>
+ * Atributos viram {@code @nome}, filhos repetidos viram lista, elementos só com texto viram
+ * {@code String} e texto ao lado de filhos fica em {@code #text}. DTD e entidades externas ficam
+ * desligados.
+ */
+public class XmlRecordReader implements RecordReader {
+
+    private static final XMLInputFactory FACTORY = factory();
+
+    private final InputStream in;
+    private final XMLStreamReader reader;
+    private final String[] path;
+    private final boolean absolute;
+    private final Deque<String> open = new ArrayDeque<>();
+
+    public XmlRecordReader(InputStream in, String recordPath) throws IOException {
+        this.in = in;
+        try {
+            this.reader = FACTORY.createXMLStreamReader(in);
+        } catch (XMLStreamException e) {
+            throw new IOException("Não foi possível abrir o XML: " + e.getMessage(), e);
+        }
+        String trimmed = recordPath != null ? recordPath.trim() : "";
+        this.absolute = trimmed.startsWith("/");
+        String relative = absolute ? trimmed.substring(1) : trimmed;
+        this.path = relative.isEmpty() ? new String[0] : relative.split("/");
+    }
+
+    @Override
+    public Map<String, Object> next() throws IOException {
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if (matches(reader.getLocalName())) {
+                        Object element = readElement();
+                        return element instanceof Map<?, ?> ? asMap(element) : textRecord(element);
+                    }
+                    open.push(reader.getLocalName());
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    open.pop();
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new RecordFormatException("XML inválido: " + e.getMessage(), line(), e);
+        }
+    }
+
+    /**
+     * O elemento que começa agora, com os elementos abertos em {@link #open}, está no caminho?
+     */
+    private boolean matches(String name) {
+        if (path.length == 0) {
+            return open.size() == 1;
+        }
+        if (!path[path.length - 1].equals(name) || open.size() < path.length - 1
+                || (absolute && open.size() != path.length - 1)) {
+            return false;
+        }
+        Iterator<String> ancestors = open.iterator();
+        for (int i = path.length - 2; i >= 0; i--) {
+            if (!path[i].equals(ancestors.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lê o elemento corrente até o fechamento; devolve {@code Map} ou, sem atributos e filhos,
+     * o texto ({@code null} se vazio).
+     */
+    private Object readElement() throws XMLStreamException {
+        Map<String, Object> element = new LinkedHashMap<>();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.put("@" + reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        }
+        StringBuilder text = null;
+        while (true) {
+            int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    String name = reader.getLocalName();
+                    add(element, name, readElement());
+                }
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE -> {
+                    if (text == null) {
+                        text = new StringBuilder();
+                    }
+                    text.append(reader.getText());
+                }
+                case XMLStreamConstants.END_ELEMENT -> {
+                    String value = text != null ? text.toString().trim() : "";
+                    if (element.isEmpty()) {
+                        return value.isEmpty() ? null : value;
+                    }
+                    if (!value.isEmpty()) {
+                        element.put("#text", value);
+                    }
+                    return element;
+                }
+                default -> { }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void add(Map<String, Object> element, String name, Object value) {
+        if (!element.containsKey(name)) {
+            element.put(name, value);
+            return;
+        }
+        Object existing = element.get(name);
+        if (existing instanceof List<?> list) {
+            ((List<Object>) list).add(value);
+        } else {
+            List<Object> list = new ArrayList<>();
+            list.add(existing);
+            list.add(value);
+            element.put(name, list);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object element) {
+        return (Map<String, Object>) element;
+    }
+
+    private static Map<String, Object> textRecord(Object text) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("#text", text);
+        return record;
+    }
+
+    private long line() {
+        return reader.getLocation() != null ? reader.getLocation().getLineNumber() : -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        } finally {
+            in.close();
+        }
+    }
+
+    private static XMLInputFactory factory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
@@ -0,0 +1,51 @@
+package com.totvs.integration.idempotency;
+
+/**
+ * Filtro de Bloom sobre hashes de 64 bits já calculados (as chaves de idempotência). Os
+ * {@code k} índices saem de double hashing das duas metades do hash. Thread-safe para
+ * leituras; escritas são sincronizadas.
+ */
+final class BloomFilter {
+
+    private final long[] bits;
+    private final long size;
+    private final int hashes;
+
+    /**
+     * @param expectedKeys      chaves esperadas na janela de retenção
+     * @param falsePositiveRate taxa de falso positivo com {@code expectedKeys} chaves
+     */
+    BloomFilter(long expectedKeys, double falsePositiveRate) {
+        long keys = Math.max(1, expectedKeys);
+        double rate = Math.min(0.5, Math.max(1e-9, falsePositiveRate));
+        long sizeBits = (long) Math.ceil(-keys * Math.log(rate) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (sizeBits + 63) / 64))];
+        this.size = (long) bits.length * 64;
+        this.hashes = Math.max(1, (int) Math.round((double) size / keys * Math.log(2)));
+    }
+
+    synchronized void put(long hash) {
+        int low = (int) hash;
+        int high = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long index = Math.floorMod(low + (long) i * high, size);
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+    }
+
+    boolean mightContain(long hash) {
+        int low = (int) hash;
+        int high = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long index = Math.floorMod(low + (long) i * high, size);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long sizeBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+}
@@ -0,0 +1,217 @@
+package com.totvs.integration.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.totvs.integration.entity.Integration;
+import com.totvs.integration.repository.IdempotencyKeyRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Gravação idempotente configurada em {@code configuration.idempotency}:
+ * <pre>
+ * "idempotency": { "enabled": true, "keyFields": ["pedido_id", "updated_at"] }
+ * </pre>
+ * A chave identifica a <em>entrega</em> do registro: os valores de {@code keyFields} ou, sem
+ * eles, o registro inteiro (já transformado). Registros cuja chave já foi gravada dentro de
+ * {@code app.idempotency.retention} são descartados antes do destino, de modo que retentativas,
+ * retomadas e reentregas (CDC, webhooks) não duplicam escritas.
+ * <p>
+ * Cada nó mantém um {@link BloomFilter} por integração com as chaves do repositório; só
+ * as chaves que o filtro aponta como possivelmente vistas são confirmadas no banco, numa
+ * consulta por lote. A chave é registrada depois que o destino gravou; uma falha entre as
+ * duas coisas é coberta pelo upsert no destino ({@code upsertKeys} do conector de banco).
+ * As chaves são inseridas na sua própria transação, com {@code ON CONFLICT DO NOTHING}: a
+ * transação de quem disparou a execução não as segura, e duas execuções que entregam o mesmo
+ * registro não falham na unicidade.
+ * <p>
+ * O filtro é reconstruído a cada {@code retention} só com as chaves ainda retidas, para não
+ * acumular as expiradas, e o nó guarda no máximo {@code app.idempotency.max-filters} filtros
+ * (os das integrações usadas menos recentemente são descartados e recarregados do banco no
+ * próximo uso).
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String CONFIGURATION_KEY = "idempotency";
+
+    /**
+     * Chave do lote gravado, em {@code parameters} (enviada como {@code Idempotency-Key} no REST).
+     */
+    public static final String KEY_PARAMETER = "__idempotencyKey";
+
+    private static final int VERIFY_CHUNK = 1000;
+
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    @Autowired
+    private IdempotencyKeyRepository keyRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.idempotency.retention:P7D}")
+    private Duration retention;
+
+    @Value("${app.idempotency.expected-keys:1000000}")
+    private long expectedKeys;
+
+    @Value("${app.idempotency.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${app.idempotency.max-filters:64}")
+    private int maxFilters;
+
+    private ObjectMapper canonicalMapper;
+
+    private TransactionTemplate ownTransaction;
+
+    private Map<String, NodeFilter> filters;
+
+    private static final class NodeFilter {
+        private BloomFilter bloom;
+        private LocalDateTime builtAt;
+        private LocalDateTime loadedUntil;
+    }
+
+    @PostConstruct
+    void init() {
+        canonicalMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        ownTransaction = new TransactionTemplate(transactionManager);
+        ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        int capacity = Math.max(1, maxFilters);
+        filters = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, NodeFilter> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Abre a janela de deduplicação de uma execução, ou {@code null} se a integração não usa
+     * idempotência. Atualiza o filtro do nó com as chaves gravadas desde a última execução
+     * (inclusive por outros nós) numa única consulta.
+     */
+    public IdempotencyWindow open(Integration integration) {
+        Object settings = integration.getConfiguration() != null ? integration.getConfiguration().get(CONFIGURATION_KEY) : null;
+        if (!(settings instanceof Map<?, ?> map) || !Boolean.TRUE.equals(map.get("enabled"))) {
+            return null;
+        }
+        List<String> keyFields = new ArrayList<>();
+        if (map.get("keyFields") instanceof Collection<?> fields) {
+            fields.forEach(field -> keyFields.add(String.valueOf(field)));
+        }
+        return new IdempotencyWindow(this, integration.getId(), keyFields, refresh(integration.getId()));
+    }
+
+    private BloomFilter refresh(String integrationId) {
+        NodeFilter filter;
+        synchronized (filters) {
+            filter = filters.computeIfAbsent(integrationId, id -> new NodeFilter());
+        }
+        synchronized (filter) {
+            LocalDateTime queriedAt = LocalDateTime.now();
+            if (filter.bloom == null || filter.builtAt.isBefore(queriedAt.minus(retention))) {
+                filter.bloom = new BloomFilter(expectedKeys, falsePositiveRate);
+                filter.builtAt = queriedAt;
+                filter.loadedUntil = queriedAt.minus(retention);
+            }
+            List<Long> hashes = keyRepository.findHashesSince(integrationId, filter.loadedUntil.minus(REFRESH_OVERLAP));
+            hashes.forEach(filter.bloom::put);
+            filter.loadedUntil = queriedAt;
+            if (!hashes.isEmpty()) {
+                log.debug("Filtro de idempotência da integração {}: {} chaves carregadas ({} KB)",
+                        integrationId, hashes.size(), filter.bloom.sizeBytes() / 1024);
+            }
+        }
+        return filter.bloom;
+    }
+
+    /**
+     * Das chaves informadas, as que já estão no repositório.
+     */
+    LongHashSet verify(String integrationId, List<Long> candidates) {
+        LongHashSet existing = new LongHashSet();
+        for (int from = 0; from < candidates.size(); from += VERIFY_CHUNK) {
+            keyRepository.findExisting(integrationId, candidates.subList(from, Math.min(from + VERIFY_CHUNK, candidates.size())))
+                    .forEach(existing::add);
+        }
+        return existing;
+    }
+
+    void record(String integrationId, long[] hashes, BloomFilter bloom) {
+        LocalDateTime now = LocalDateTime.now();
+        ownTransaction.executeWithoutResult(status -> {
+            for (long hash : hashes) {
+                keyRepository.insertIfAbsent(UUID.randomUUID().toString(), integrationId, hash, now);
+            }
+        });
+        for (long hash : hashes) {
+            bloom.put(hash);
+        }
+    }
+
+    /**
+     * Primeiros 64 bits do SHA-256 da forma canônica (JSON com chaves ordenadas) de
+     * {@code keyFields} ou do registro inteiro.
+     */
+    long hash(Map<String, Object> record, List<String> keyFields, MessageDigest digest) {
+        Object canonical = record;
+        if (!keyFields.isEmpty()) {
+            List<Object> values = new ArrayList<>(keyFields.size());
+            for (String field : keyFields) {
+                Object value = record.get(field);
+                values.add(value != null ? value.toString() : null);
+            }
+            canonical = values;
+        }
+        try {
+            digest.reset();
+            return ByteBuffer.wrap(digest.digest(canonicalMapper.writeValueAsBytes(canonical))).getLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Registro sem forma canônica para a chave de idempotência: " + e.getMessage(), e);
+        }
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}",
+               initialDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int removed = keyRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+        if (removed > 0) {
+            log.info("Chaves de idempotência expiradas removidas: {}", removed);
+        }
+    }
+}
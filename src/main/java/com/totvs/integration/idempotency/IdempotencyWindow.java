@@ -0,0 +1,94 @@
+package com.totvs.integration.idempotency;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deduplicação de uma execução: conjunto exato das chaves já vistas nela mais o filtro do nó
+ * para as execuções anteriores. Usada por uma única thread.
+ */
+public final class IdempotencyWindow {
+
+    /**
+     * Registros ainda não entregues de um lote e suas chaves, na mesma ordem.
+     */
+    public record Batch(List<Map<String, Object>> records, long[] hashes) {
+
+        /**
+         * Chave estável do lote (mesmos registros, mesma chave), para destinos que
+         * aceitam {@code Idempotency-Key}.
+         */
+        public String key() {
+            MessageDigest digest = IdempotencyService.sha256();
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+            for (long hash : hashes) {
+                buffer.clear();
+                digest.update(buffer.putLong(hash).array());
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        }
+    }
+
+    private final IdempotencyService service;
+    private final String integrationId;
+    private final List<String> keyFields;
+    private final BloomFilter bloom;
+    private final LongHashSet seen = new LongHashSet();
+    private final MessageDigest digest = IdempotencyService.sha256();
+    private int duplicates;
+
+    IdempotencyWindow(IdempotencyService service, String integrationId, List<String> keyFields, BloomFilter bloom) {
+        this.service = service;
+        this.integrationId = integrationId;
+        this.keyFields = keyFields;
+        this.bloom = bloom;
+    }
+
+    /**
+     * Remove do lote os registros repetidos na execução e os já gravados antes. Só as chaves
+     * que o filtro de Bloom acusa são consultadas no repositório, numa ida ao banco.
+     */
+    public Batch filter(List<Map<String, Object>> records) {
+        long[] hashes = new long[records.size()];
+        boolean[] keep = new boolean[records.size()];
+        List<Long> candidates = new ArrayList<>();
+        for (int i = 0; i < records.size(); i++) {
+            hashes[i] = service.hash(records.get(i), keyFields, digest);
+            keep[i] = seen.add(hashes[i]);
+            if (keep[i] && bloom.mightContain(hashes[i])) {
+                candidates.add(hashes[i]);
+            }
+        }
+        LongHashSet delivered = candidates.isEmpty() ? null : service.verify(integrationId, candidates);
+
+        List<Map<String, Object>> fresh = new ArrayList<>(records.size());
+        long[] freshHashes = new long[records.size()];
+        for (int i = 0; i < records.size(); i++) {
+            if (keep[i] && (delivered == null || !delivered.contains(hashes[i]))) {
+                freshHashes[fresh.size()] = hashes[i];
+                fresh.add(records.get(i));
+            } else {
+                duplicates++;
+            }
+        }
+        return new Batch(fresh, Arrays.copyOf(freshHashes, fresh.size()));
+    }
+
+    /**
+     * Registra as chaves do lote depois que o destino o gravou.
+     */
+    public void delivered(Batch batch) {
+        if (batch.hashes().length > 0) {
+            service.record(integrationId, batch.hashes(), bloom);
+        }
+    }
+
+    public int getDuplicates() {
+        return duplicates;
+    }
+}
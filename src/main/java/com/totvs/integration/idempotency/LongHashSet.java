@@ -0,0 +1,81 @@
+package com.totvs.integration.idempotency;
+
+/**
+ * Conjunto de {@code long} com endereçamento aberto: 8 bytes por chave (com folga de carga),
+ * sem o custo de {@code HashSet<Long>}. Usado como conjunto exato de chaves de uma execução.
+ * Não é thread-safe.
+ */
+final class LongHashSet {
+
+    private static final long EMPTY = 0L;
+
+    private long[] table = new long[1024];
+    private int size;
+    private boolean containsEmpty;
+
+    /**
+     * @return {@code true} se a chave não estava no conjunto
+     */
+    boolean add(long key) {
+        if (key == EMPTY) {
+            boolean added = !containsEmpty;
+            containsEmpty = true;
+            return added;
+        }
+        if ((size + 1) * 4L > table.length * 3L) {
+            grow();
+        }
+        if (insert(table, key)) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    boolean contains(long key) {
+        if (key == EMPTY) {
+            return containsEmpty;
+        }
+        int mask = table.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            if (table[slot] == EMPTY) {
+                return false;
+            }
+            if (table[slot] == key) {
+                return true;
+            }
+        }
+    }
+
+    int size() {
+        return size + (containsEmpty ? 1 : 0);
+    }
+
+    private void grow() {
+        long[] larger = new long[table.length * 2];
+        for (long key : table) {
+            if (key != EMPTY) {
+                insert(larger, key);
+            }
+        }
+        table = larger;
+    }
+
+    private static boolean insert(long[] table, long key) {
+        int mask = table.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            if (table[slot] == EMPTY) {
+                table[slot] = key;
+                return true;
+            }
+            if (table[slot] == key) {
+                return false;
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,118 @@
+package com.totvs.integration.ingest;
+
+import com.totvs.integration.exception.ConnectorException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fila limitada de lotes entre a thread que lê o corpo da requisição (produtor) e a execução da
+ * integração (consumidor). Com a fila cheia o produtor bloqueia e para de ler o socket, e o
+ * controle de fluxo do TCP segura o cliente: nunca há mais de {@code capacity} lotes em memória.
+ * <p>
+ * Falhas atravessam a fila nos dois sentidos: {@link #fail(Exception)} encerra o consumo com o
+ * erro da leitura e {@link #abort()} faz o produtor desistir quando a escrita falhou.
+ */
+public class IngestBuffer {
+
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    public record Chunk(List<Map<String, Object>> records, long bytes) {
+    }
+
+    private static final Chunk END = new Chunk(List.of(), 0);
+
+    private final BlockingQueue<Chunk> chunks;
+    private final long idleTimeoutNanos;
+    private final AtomicLong producerWaitNanos = new AtomicLong();
+    private volatile boolean aborted;
+    private volatile Exception failure;
+
+    public IngestBuffer(int capacity, Duration idleTimeout) {
+        this.chunks = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    /**
+     * Entrega um lote, bloqueando enquanto a fila estiver cheia.
+     *
+     * @return {@code false} se o consumidor desistiu; o produtor deve parar de ler
+     */
+    public boolean put(Chunk chunk) throws InterruptedException {
+        if (chunks.offer(chunk)) {
+            return !aborted;
+        }
+        long waitStart = System.nanoTime();
+        try {
+            while (!aborted) {
+                if (chunks.offer(chunk, POLL_NANOS, TimeUnit.NANOSECONDS)) {
+                    return !aborted;
+                }
+            }
+            return false;
+        } finally {
+            producerWaitNanos.addAndGet(System.nanoTime() - waitStart);
+        }
+    }
+
+    public void complete() throws InterruptedException {
+        put(END);
+    }
+
+    public void fail(Exception e) {
+        failure = e;
+        chunks.offer(END);
+    }
+
+    public void abort() {
+        aborted = true;
+        chunks.clear();
+    }
+
+    /**
+     * Próximo lote, ou {@code null} quando o produtor terminou.
+     *
+     * @throws ConnectorException se a leitura falhou ou o produtor ficou ocioso além do limite
+     */
+    public Chunk next() throws InterruptedException {
+        long deadline = System.nanoTime() + idleTimeoutNanos;
+        while (true) {
+            rethrowFailure();
+            Chunk chunk = chunks.poll(POLL_NANOS, TimeUnit.NANOSECONDS);
+            if (chunk == END) {
+                rethrowFailure();
+                return null;
+            }
+            if (chunk != null) {
+                return chunk;
+            }
+            if (System.nanoTime() - deadline > 0) {
+                aborted = true;
+                throw new ConnectorException("Nenhum registro recebido em "
+                        + TimeUnit.NANOSECONDS.toSeconds(idleTimeoutNanos) + "s; stream abandonado");
+            }
+        }
+    }
+
+    /**
+     * Tempo total em que o produtor ficou bloqueado esperando espaço na fila (destino lento).
+     */
+    public long getProducerWaitMs() {
+        return TimeUnit.NANOSECONDS.toMillis(producerWaitNanos.get());
+    }
+
+    private void rethrowFailure() {
+        Exception e = failure;
+        if (e instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (e != null) {
+            throw new ConnectorException("Falha ao ler o stream: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.totvs.integration.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.totvs.integration.dto.response.IngestResponse;
+import com.totvs.integration.entity.ExecutionLog;
+import com.totvs.integration.entity.Integration;
+import com.totvs.integration.exception.ConnectorException;
+import com.totvs.integration.exception.IngestCapacityExceededException;
+import com.totvs.integration.exception.IntegrationNotFoundException;
+import com.totvs.integration.format.RecordFormat;
+import com.totvs.integration.format.RecordReader;
+import com.totvs.integration.metering.DataQuotaService;
+import com.totvs.integration.metering.DataVolumeCounter;
+import com.totvs.integration.metrics.IntegrationMetrics;
+import com.totvs.integration.repository.IntegrationRepository;
+import com.totvs.integration.security.TenantContext;
+import com.totvs.integration.service.IntegrationExecutorService;
+import com.totvs.integration.webhook.WebhookService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ingestão por stream ({@code POST /v1/hooks/{integrationId}/stream}) para sistemas que enviam
+ * dados mas não podem ser consultados. O corpo NDJSON ou CSV é lido na thread da requisição em
+ * lotes de {@code app.ingest.chunk-records} registros, que seguem por um {@link IngestBuffer} de
+ * {@code buffer-chunks} lotes para a execução da integração (transformação e destino) numa thread
+ * própria. Quando o destino é mais lento que o cliente, a leitura do socket para até abrir espaço.
+ * <p>
+ * A autenticação é o token do webhook da integração ({@link WebhookService}).
+ */
+@Slf4j
+@Service
+public class IngestService {
+
+    @Autowired
+    private WebhookService webhookService;
+
+    @Autowired
+    private IntegrationRepository integrationRepository;
+
+    @Autowired
+    private IntegrationExecutorService executorService;
+
+    @Autowired
+    private DataQuotaService dataQuotaService;
+
+    @Autowired
+    private IntegrationMetrics metrics;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.ingest.chunk-records:500}")
+    private int chunkRecords;
+
+    @Value("${app.ingest.buffer-chunks:4}")
+    private int bufferChunks;
+
+    @Value("${app.ingest.max-concurrent-streams:8}")
+    private int maxConcurrentStreams;
+
+    @Value("${app.ingest.idle-timeout:60s}")
+    private Duration idleTimeout;
+
+    @Value("${app.ingest.csv-delimiter:,}")
+    private char csvDelimiter;
+
+    private Semaphore streams;
+    private ExecutorService writers;
+
+    @PostConstruct
+    void start() {
+        maxConcurrentStreams = Math.max(1, maxConcurrentStreams);
+        streams = new Semaphore(maxConcurrentStreams);
+        AtomicInteger counter = new AtomicInteger();
+        writers = Executors.newFixedThreadPool(maxConcurrentStreams, runnable -> {
+            Thread thread = new Thread(runnable, "ingest-writer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        writers.shutdownNow();
+    }
+
+    public IngestResponse ingest(String integrationId, String token, String contentType, InputStream body) {
+        String tenantId = webhookService.authenticateTenant(integrationId, token);
+        RecordFormat format = RecordFormat.fromContentType(contentType);
+        if (format == null) {
+            throw new ConnectorException("Content-Type não suportado para ingestão: " + contentType
+                    + " (use application/x-ndjson ou text/csv)");
+        }
+        Integration integration = integrationRepository.findByIdAndTenantId(integrationId, tenantId)
+                .orElseThrow(() -> new IntegrationNotFoundException(integrationId, tenantId));
+
+        if (!streams.tryAcquire()) {
+            throw new IngestCapacityExceededException(maxConcurrentStreams);
+        }
+        try {
+            dataQuotaService.checkQuota(tenantId);
+            metrics.executionQueued();
+
+            long start = System.currentTimeMillis();
+            IngestBuffer buffer = new IngestBuffer(bufferChunks, idleTimeout);
+            CompletableFuture<ExecutionLog> execution = CompletableFuture.supplyAsync(() -> execute(integration, buffer), writers);
+            execution.whenComplete((executionLog, e) -> buffer.abort());
+
+            Progress progress = produce(format, body, buffer, tenantId);
+            ExecutionLog executionLog = execution.join();
+
+            log.info("Ingest {} for integration '{}': {} records in {} chunks, {} bytes, status {}, client held back {}ms",
+                    format, integrationId, progress.records, progress.chunks, progress.bytes,
+                    executionLog.getStatus(), buffer.getProducerWaitMs());
+
+            return IngestResponse.builder()
+                    .integrationId(integrationId)
+                    .executionId(executionLog.getExecutionId())
+                    .status(executionLog.getStatus().name())
+                    .format(format.name())
+                    .recordsReceived(progress.records)
+                    .bytesReceived(progress.bytes)
+                    .chunks(progress.chunks)
+                    .recordsWritten(executionLog.getRecordsSuccess())
+                    .backpressureWaitMs(buffer.getProducerWaitMs())
+                    .durationMs(System.currentTimeMillis() - start)
+                    .errorMessage(executionLog.getErrorMessage())
+                    .build();
+        } finally {
+            streams.release();
+        }
+    }
+
+    private ExecutionLog execute(Integration integration, IngestBuffer buffer) {
+        TenantContext.setCurrentTenant(TenantContext.builder().tenantId(integration.getTenantId()).build());
+        try {
+            return executorService.executeIntegrationStream(integration, buffer).join();
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private static final class Progress {
+        private long records;
+        private long bytes;
+        private int chunks;
+    }
+
+    /**
+     * Lê o corpo e entrega os lotes ao buffer. Falhas de leitura (formato inválido, conexão
+     * encerrada pelo cliente) vão para o buffer e encerram a execução com erro.
+     */
+    private Progress produce(RecordFormat format, InputStream body, IngestBuffer buffer, String tenantId) {
+        Progress progress = new Progress();
+        DataVolumeCounter received = DataVolumeCounter.unlimited(tenantId);
+        try (RecordReader reader = format.open(received.wrap(body), objectMapper, csvDelimiter)) {
+            List<Map<String, Object>> chunk = new ArrayList<>(chunkRecords);
+            Map<String, Object> record;
+            while ((record = reader.next()) != null) {
+                chunk.add(record);
+                progress.records++;
+                if (chunk.size() >= chunkRecords) {
+                    if (!deliver(buffer, chunk, received, progress)) {
+                        return progress;
+                    }
+                    chunk = new ArrayList<>(chunkRecords);
+                }
+            }
+            if (!chunk.isEmpty() && !deliver(buffer, chunk, received, progress)) {
+                return progress;
+            }
+            buffer.complete();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            buffer.fail(e);
+        } catch (Exception e) {
+            buffer.fail(e);
+        }
+        return progress;
+    }
+
+    private static boolean deliver(IngestBuffer buffer, List<Map<String, Object>> chunk, DataVolumeCounter received,
+                                   Progress progress) throws InterruptedException {
+        long bytes = received.getBytesRead();
+        boolean accepted = buffer.put(new IngestBuffer.Chunk(chunk, bytes - progress.bytes));
+        progress.bytes = bytes;
+        progress.chunks++;
+        return accepted;
+    }
+}
@@ -0,0 +1,50 @@
+package com.totvs.integration.metering;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Conta os bytes lidos na fronteira do conector, sem copiar nem reserializar o conteúdo.
+ */
+public class CountingInputStream extends FilterInputStream {
+
+    private final DataVolumeCounter counter;
+
+    public CountingInputStream(InputStream in, DataVolumeCounter counter) {
+        super(in);
+        this.counter = counter;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            counter.addBytesRead(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            counter.addBytesRead(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        if (skipped > 0) {
+            counter.addBytesRead(skipped);
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
@@ -0,0 +1,30 @@
+package com.totvs.integration.metering;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Conta os bytes escritos na fronteira do conector, repassando os buffers sem cópia.
+ */
+public class CountingOutputStream extends FilterOutputStream {
+
+    private final DataVolumeCounter counter;
+
+    public CountingOutputStream(OutputStream out, DataVolumeCounter counter) {
+        super(out);
+        this.counter = counter;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        counter.addBytesWritten(1);
+        out.write(b);
+    }
+
+    @Override
+    public void write(byte[] buffer, int offset, int length) throws IOException {
+        counter.addBytesWritten(length);
+        out.write(buffer, offset, length);
+    }
+}
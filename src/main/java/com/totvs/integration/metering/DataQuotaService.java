@@ -0,0 +1,112 @@
+package com.totvs.integration.metering;
+
+import com.totvs.integration.entity.Tenant;
+import com.totvs.integration.entity.TenantStats;
+import com.totvs.integration.exception.QuotaExceededException;
+import com.totvs.integration.repository.TenantRepository;
+import com.totvs.integration.repository.TenantStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Cota mensal de volume de dados por tenant. O limite vem do plano
+ * ({@link Tenant.Plan#getMonthlyDataQuotaBytes()}) ou do setting
+ * {@code monthlyDataQuotaBytes} do tenant; o uso é o valor gravado em
+ * {@code tenant_stats} somado ao que ainda está pendente no {@link TenantUsageMeter}
+ * e ao que as execuções em andamento já transferiram.
+ * <p>
+ * O saldo não é fotografado por execução: os contadores de {@link #newCounter(String)}
+ * reservam nos contadores compartilhados do tenant, então execuções simultâneas no nó
+ * consomem o mesmo saldo. Entre nós o uso só converge pelo {@code tenant_stats}, a cada flush.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DataQuotaService {
+
+    public static final String QUOTA_SETTING = "monthlyDataQuotaBytes";
+
+    private final TenantRepository tenantRepository;
+    private final TenantStatsRepository tenantStatsRepository;
+    private final TenantUsageMeter usageMeter;
+
+    @Value("${app.metering.quota.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.metering.quota.throttle-ratio:0.9}")
+    private double throttleRatio = 0.9;
+
+    @Value("${app.metering.quota.throttled-bytes-per-second:1048576}")
+    private long throttledBytesPerSecond = 1_048_576L;
+
+    public long monthlyQuotaBytes(String tenantId) {
+        if (!enabled || tenantId == null) {
+            return -1L;
+        }
+
+        Optional<Tenant> tenant = tenantRepository.findByTenantId(tenantId);
+        if (tenant.isEmpty()) {
+            tenant = tenantRepository.findByDomain(tenantId);
+        }
+
+        return tenant.map(t -> {
+            Object override = t.getSetting(QUOTA_SETTING);
+            if (override instanceof Number number) {
+                return number.longValue();
+            }
+            if (override instanceof String text && !text.isBlank()) {
+                return Long.parseLong(text.trim());
+            }
+            return t.getPlan() != null ? t.getPlan().getMonthlyDataQuotaBytes() : -1L;
+        }).orElse(-1L);
+    }
+
+    public long monthlyUsageBytes(String tenantId) {
+        return persistedMonthlyBytes(tenantId) + usageMeter.pending(tenantId).bytesTransferred()
+                + usageMeter.inFlightBytes(tenantId);
+    }
+
+    public void checkQuota(String tenantId) {
+        long quota = monthlyQuotaBytes(tenantId);
+        if (quota < 0) {
+            return;
+        }
+
+        long used = monthlyUsageBytes(tenantId);
+        if (used >= quota) {
+            log.warn("Tenant {} atingiu a cota mensal de dados: {} de {} bytes", tenantId, used, quota);
+            throw new QuotaExceededException(tenantId, "Cota mensal de transferência de dados excedida");
+        }
+    }
+
+    public DataVolumeCounter newCounter(String tenantId) {
+        TenantUsageCounters tenant = usageMeter.countersFor(tenantId);
+        long quota = monthlyQuotaBytes(tenantId);
+        if (quota < 0 || tenant == null) {
+            return new DataVolumeCounter(tenantId, -1L, -1L, 0, tenant, 0L);
+        }
+
+        // uso do tenant = gravado + (transferido no nó - já gravado) + reservado
+        long baseline = persistedMonthlyBytes(tenantId) - tenant.flushedBytesTransferred();
+        long throttleAfter = (long) (quota * throttleRatio);
+
+        return new DataVolumeCounter(tenantId, quota, throttleAfter, throttledBytesPerSecond, tenant, baseline);
+    }
+
+    private long persistedMonthlyBytes(String tenantId) {
+        return tenantStatsRepository.findByTenantId(tenantId)
+                .filter(stats -> isCurrentMonth(stats.getUpdatedAt()))
+                .map(TenantStats::getCurrentMonthDataTransferred)
+                .orElse(0L);
+    }
+
+    private static boolean isCurrentMonth(LocalDateTime timestamp) {
+        LocalDateTime now = LocalDateTime.now();
+        return timestamp != null && timestamp.getYear() == now.getYear() && timestamp.getMonth() == now.getMonth();
+    }
+}
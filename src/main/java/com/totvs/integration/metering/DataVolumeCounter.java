@@ -0,0 +1,156 @@
+package com.totvs.integration.metering;
+
+import com.totvs.integration.exception.QuotaExceededException;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Volume de dados (bytes e registros) de uma execução. É passado aos conectores
+ * em {@code parameters} sob {@link #PARAMETER}; conectores que fazem I/O em
+ * stream usam {@link #wrap(InputStream)} / {@link #wrap(OutputStream)}.
+ * <p>
+ * Quando o tenant tem cota, o contador aplica o orçamento restante do mês:
+ * acima de {@code throttleAfterBytes} o I/O é desacelerado e ao estourar
+ * {@code budgetBytes} a execução é interrompida com {@link QuotaExceededException}.
+ * <p>
+ * Os contadores criados pelo {@link DataQuotaService} reservam cada byte nos contadores
+ * compartilhados do tenant ({@link TenantUsageCounters}) e comparam a cota com o uso do
+ * tenant inteiro (gravado + execuções terminadas + em andamento), não só com o desta
+ * execução: N execuções simultâneas dividem o mesmo saldo. {@link #settle()} encerra a
+ * reserva quando a execução termina.
+ */
+public class DataVolumeCounter {
+
+    public static final String PARAMETER = "__dataVolume";
+
+    private static final long UNLIMITED = -1L;
+
+    private final String tenantId;
+    private final long budgetBytes;
+    private final long throttleAfterBytes;
+    private final long throttledBytesPerSecond;
+    private final TenantUsageCounters tenant;
+    private final long baselineBytes;
+    private final AtomicBoolean settled = new AtomicBoolean();
+
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder recordsRead = new LongAdder();
+    private final LongAdder recordsWritten = new LongAdder();
+
+    public DataVolumeCounter(String tenantId, long budgetBytes, long throttleAfterBytes, long throttledBytesPerSecond) {
+        this(tenantId, budgetBytes, throttleAfterBytes, throttledBytesPerSecond, null, 0L);
+    }
+
+    /**
+     * Contador que reserva no uso compartilhado do tenant: os limites são absolutos no mês e o
+     * uso do tenant é {@code baselineBytes} + transferidos + reservados em {@code tenant}.
+     */
+    DataVolumeCounter(String tenantId, long budgetBytes, long throttleAfterBytes, long throttledBytesPerSecond,
+                      TenantUsageCounters tenant, long baselineBytes) {
+        this.tenantId = tenantId;
+        this.budgetBytes = budgetBytes;
+        this.throttleAfterBytes = throttleAfterBytes;
+        this.throttledBytesPerSecond = throttledBytesPerSecond;
+        this.tenant = tenant;
+        this.baselineBytes = baselineBytes;
+    }
+
+    public static DataVolumeCounter unlimited(String tenantId) {
+        return new DataVolumeCounter(tenantId, UNLIMITED, UNLIMITED, 0);
+    }
+
+    public static DataVolumeCounter from(Map<String, Object> parameters) {
+        Object counter = parameters != null ? parameters.get(PARAMETER) : null;
+        return counter instanceof DataVolumeCounter volume ? volume : unlimited(null);
+    }
+
+    public InputStream wrap(InputStream in) {
+        return new CountingInputStream(in, this);
+    }
+
+    public OutputStream wrap(OutputStream out) {
+        return new CountingOutputStream(out, this);
+    }
+
+    public void addBytesRead(long bytes) {
+        bytesRead.add(bytes);
+        reserve(bytes);
+        enforce(bytes);
+    }
+
+    public void addBytesWritten(long bytes) {
+        bytesWritten.add(bytes);
+        reserve(bytes);
+        enforce(bytes);
+    }
+
+    /**
+     * Fim da execução: os bytes passam de reservados a transferidos no uso do tenant, que o
+     * flush leva para {@code tenant_stats}. Chamadas repetidas não têm efeito.
+     */
+    public void settle() {
+        if (tenant != null && settled.compareAndSet(false, true)) {
+            tenant.settleBytes(getTotalBytes());
+        }
+    }
+
+    public void addRecordsRead(long records) {
+        recordsRead.add(records);
+    }
+
+    public void addRecordsWritten(long records) {
+        recordsWritten.add(records);
+    }
+
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    public long getTotalBytes() {
+        return bytesRead.sum() + bytesWritten.sum();
+    }
+
+    public long getRecordsRead() {
+        return recordsRead.sum();
+    }
+
+    public long getRecordsWritten() {
+        return recordsWritten.sum();
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    private void reserve(long bytes) {
+        if (tenant != null && !settled.get()) {
+            tenant.reserveBytes(bytes);
+        }
+    }
+
+    private void enforce(long justTransferred) {
+        if (budgetBytes == UNLIMITED) {
+            return;
+        }
+
+        long total = tenant != null
+                ? baselineBytes + tenant.totalBytesTransferred() + tenant.inFlightBytes()
+                : getTotalBytes();
+        if (total > budgetBytes) {
+            throw new QuotaExceededException(tenantId, "Cota mensal de transferência de dados excedida durante a execução");
+        }
+        if (throttleAfterBytes != UNLIMITED && total > throttleAfterBytes && throttledBytesPerSecond > 0) {
+            LockSupport.parkNanos(justTransferred * 1_000_000_000L / throttledBytesPerSecond);
+        }
+    }
+}
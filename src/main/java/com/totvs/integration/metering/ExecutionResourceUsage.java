@@ -0,0 +1,127 @@
+package com.totvs.integration.metering;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tempo de CPU e bytes alocados de uma execução, somados em todas as threads que
+ * trabalharam nela. A thread do executor abre um {@link #enter()} em volta do
+ * pipeline; conectores que distribuem trabalho em outras threads obtêm a instância
+ * via {@link #from(Map)} (chave {@link #PARAMETER}) e usam {@link #wrap(Runnable)}
+ * ou {@link #wrap(Callable)} nas tarefas submetidas.
+ * <p>
+ * Os valores vêm de {@code com.sun.management.ThreadMXBean}; quando a JVM não
+ * suporta a medição, os contadores ficam zerados.
+ */
+public class ExecutionResourceUsage {
+
+    public static final String PARAMETER = "__resourceUsage";
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionResourceUsage.class);
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+    private static final boolean CPU_SUPPORTED = THREADS != null && THREADS.isCurrentThreadCpuTimeSupported();
+    private static final boolean ALLOCATION_SUPPORTED = THREADS != null && THREADS.isThreadAllocatedMemorySupported();
+
+    private final LongAdder cpuNanos = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    public static ExecutionResourceUsage from(Map<String, Object> parameters) {
+        Object usage = parameters != null ? parameters.get(PARAMETER) : null;
+        return usage instanceof ExecutionResourceUsage resources ? resources : new ExecutionResourceUsage();
+    }
+
+    /**
+     * Começa a medir a thread corrente; o consumo é somado ao fechar o escopo.
+     */
+    public Scope enter() {
+        return new Scope(this, currentCpuNanos(), currentAllocatedBytes());
+    }
+
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            try (Scope ignored = enter()) {
+                task.run();
+            }
+        };
+    }
+
+    public <T> Callable<T> wrap(Callable<T> task) {
+        return () -> {
+            try (Scope ignored = enter()) {
+                return task.call();
+            }
+        };
+    }
+
+    public long getCpuTimeMs() {
+        return TimeUnit.NANOSECONDS.toMillis(cpuNanos.sum());
+    }
+
+    public long getCpuTimeNanos() {
+        return cpuNanos.sum();
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    private static long currentCpuNanos() {
+        return CPU_SUPPORTED ? THREADS.getCurrentThreadCpuTime() : 0L;
+    }
+
+    private static long currentAllocatedBytes() {
+        return ALLOCATION_SUPPORTED ? THREADS.getCurrentThreadAllocatedBytes() : 0L;
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)) {
+            logger.warn("JVM sem com.sun.management.ThreadMXBean; CPU e alocação por execução não serão medidos");
+            return null;
+        }
+        try {
+            if (bean.isThreadCpuTimeSupported() && !bean.isThreadCpuTimeEnabled()) {
+                bean.setThreadCpuTimeEnabled(true);
+            }
+            if (bean.isThreadAllocatedMemorySupported() && !bean.isThreadAllocatedMemoryEnabled()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+            }
+        } catch (UnsupportedOperationException | SecurityException e) {
+            logger.warn("Não foi possível habilitar a medição de CPU/alocação por thread: {}", e.getMessage());
+        }
+        return bean;
+    }
+
+    /**
+     * Medição de uma thread. Deve ser fechado na mesma thread que o abriu.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final ExecutionResourceUsage usage;
+        private final long cpuStart;
+        private final long allocatedStart;
+        private boolean closed;
+
+        private Scope(ExecutionResourceUsage usage, long cpuStart, long allocatedStart) {
+            this.usage = usage;
+            this.cpuStart = cpuStart;
+            this.allocatedStart = allocatedStart;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            usage.cpuNanos.add(Math.max(0, currentCpuNanos() - cpuStart));
+            usage.allocatedBytes.add(Math.max(0, currentAllocatedBytes() - allocatedStart));
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.totvs.integration.metering;
+
+import com.totvs.integration.entity.TenantStats;
+import com.totvs.integration.repository.TenantStatsRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind dos contadores de uso: a cada intervalo persiste os deltas
+ * pendentes em {@code tenant_stats}, em lotes e numa transação por lote.
+ * As linhas são lidas com lock pessimista para que vários nós possam somar
+ * deltas na mesma linha sem perder atualizações; a linha de um tenant novo é
+ * criada por upsert antes do lock, então dois nós no primeiro flush não
+ * disputam o insert. Se o lote falhar, os deltas continuam pendentes e entram
+ * no próximo flush.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TenantStatsFlusher {
+
+    private final TenantUsageMeter usageMeter;
+    private final TenantStatsRepository tenantStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.metering.flush-batch-size:100}")
+    private int batchSize = 100;
+
+    @Scheduled(fixedDelayString = "${app.metering.flush-interval-ms:5000}",
+               initialDelayString = "${app.metering.flush-interval-ms:5000}")
+    public void flush() {
+        List<TenantUsageDelta> deltas = usageMeter.pendingDeltas();
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        for (int from = 0; from < deltas.size(); from += batchSize) {
+            List<TenantUsageDelta> batch = deltas.subList(from, Math.min(from + batchSize, deltas.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(batch));
+                batch.forEach(usageMeter::markFlushed);
+            } catch (Exception e) {
+                log.warn("Falha ao gravar estatísticas de {} tenants, nova tentativa no próximo flush: {}",
+                        batch.size(), e.getMessage());
+            }
+        }
+
+        log.debug("Estatísticas de uso gravadas para {} tenants", deltas.size());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void persist(List<TenantUsageDelta> batch) {
+        List<String> tenantIds = batch.stream().map(TenantUsageDelta::tenantId).toList();
+        Map<String, TenantStats> existing = lockRows(tenantIds);
+
+        List<String> missing = tenantIds.stream().filter(tenantId -> !existing.containsKey(tenantId)).toList();
+        if (!missing.isEmpty()) {
+            missing.forEach(tenantId -> tenantStatsRepository.insertIfAbsent(UUID.randomUUID().toString(), tenantId));
+            existing.putAll(lockRows(missing));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TenantStats> updated = batch.stream()
+                .map(delta -> {
+                    TenantStats stats = existing.get(delta.tenantId());
+                    if (stats == null) {
+                        throw new IllegalStateException("Linha de tenant_stats não encontrada para " + delta.tenantId());
+                    }
+                    apply(stats, delta, now);
+                    return stats;
+                })
+                .toList();
+
+        tenantStatsRepository.saveAll(updated);
+    }
+
+    static void apply(TenantStats stats, TenantUsageDelta delta, LocalDateTime now) {
+        LocalDateTime last = stats.getUpdatedAt();
+
+        if (last == null || !sameMonth(last, now)) {
+            stats.setCurrentMonthExecutions(0L);
+            stats.setCurrentMonthDataTransferred(0L);
+            stats.setCurrentMonthApiCalls(0L);
+            stats.setCurrentMonthCpuTimeMs(0L);
+            stats.setCurrentMonthAllocatedBytes(0L);
+            stats.setMonthlyUsageByDay(new HashMap<>());
+        }
+        if (last == null || !last.truncatedTo(ChronoUnit.DAYS).equals(now.truncatedTo(ChronoUnit.DAYS))) {
+            stats.setCurrentDayRequests(0L);
+        }
+        if (last == null || !last.truncatedTo(ChronoUnit.HOURS).equals(now.truncatedTo(ChronoUnit.HOURS))) {
+            stats.setCurrentHourRequests(0L);
+        }
+        if (last == null || !last.truncatedTo(ChronoUnit.MINUTES).equals(now.truncatedTo(ChronoUnit.MINUTES))) {
+            stats.setCurrentMinuteRequests(0L);
+        }
+
+        long previousExecutions = value(stats.getTotalExecutions());
+        long totalExecutions = previousExecutions + delta.executions();
+        long successes = value(stats.getSuccessfulExecutions()) + delta.successes();
+
+        stats.setTotalExecutions(totalExecutions);
+        stats.setSuccessfulExecutions(successes);
+        stats.setFailedExecutions(value(stats.getFailedExecutions()) + delta.failures());
+        stats.setCurrentMonthExecutions(value(stats.getCurrentMonthExecutions()) + delta.executions());
+        stats.setCurrentMonthDataTransferred(value(stats.getCurrentMonthDataTransferred()) + delta.bytesTransferred());
+        stats.setCurrentMonthApiCalls(value(stats.getCurrentMonthApiCalls()) + delta.apiCalls());
+        stats.setTotalCpuTimeMs(value(stats.getTotalCpuTimeMs()) + delta.cpuTimeMs());
+        stats.setCurrentMonthCpuTimeMs(value(stats.getCurrentMonthCpuTimeMs()) + delta.cpuTimeMs());
+        stats.setTotalAllocatedBytes(value(stats.getTotalAllocatedBytes()) + delta.allocatedBytes());
+        stats.setCurrentMonthAllocatedBytes(value(stats.getCurrentMonthAllocatedBytes()) + delta.allocatedBytes());
+        stats.setCurrentDayRequests(value(stats.getCurrentDayRequests()) + delta.apiCalls());
+        stats.setCurrentHourRequests(value(stats.getCurrentHourRequests()) + delta.apiCalls());
+        stats.setCurrentMinuteRequests(value(stats.getCurrentMinuteRequests()) + delta.apiCalls());
+
+        if (totalExecutions > 0) {
+            double previousTotalTime = (stats.getAverageExecutionTimeMs() != null ? stats.getAverageExecutionTimeMs() : 0.0)
+                    * previousExecutions;
+            stats.setAverageExecutionTimeMs((previousTotalTime + delta.executionTimeMs()) / totalExecutions);
+            stats.setSuccessRate(successes * 100.0 / totalExecutions);
+        }
+
+        if (!delta.connectorUsage().isEmpty()) {
+            Map<String, Long> connectorUsage = stats.getConnectorUsage() != null
+                    ? new HashMap<>(stats.getConnectorUsage()) : new HashMap<>();
+            delta.connectorUsage().forEach((type, count) -> connectorUsage.merge(type, count, Long::sum));
+            stats.setConnectorUsage(connectorUsage);
+        }
+
+        if (delta.executions() > 0) {
+            Map<String, Long> byDay = stats.getMonthlyUsageByDay() != null
+                    ? new HashMap<>(stats.getMonthlyUsageByDay()) : new HashMap<>();
+            byDay.merge(now.toLocalDate().toString(), delta.executions(), Long::sum);
+            stats.setMonthlyUsageByDay(byDay);
+        }
+
+        stats.setUpdatedAt(now);
+    }
+
+    private Map<String, TenantStats> lockRows(List<String> tenantIds) {
+        return tenantStatsRepository.findByTenantIdIn(tenantIds).stream()
+                .collect(Collectors.toMap(TenantStats::getTenantId, Function.identity()));
+    }
+
+    private static boolean sameMonth(LocalDateTime a, LocalDateTime b) {
+        return a.getYear() == b.getYear() && a.getMonth() == b.getMonth();
+    }
+
+    private static long value(Long value) {
+        return value != null ? value : 0L;
+    }
+}
@@ -0,0 +1,150 @@
+package com.totvs.integration.metering;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores em memória de um tenant. Os {@link LongAdder} nunca são zerados:
+ * o flush lê a soma atual e guarda o valor já persistido, evitando perder
+ * incrementos concorrentes com a leitura.
+ * <p>
+ * {@code inFlightBytes} soma os bytes das execuções ainda em andamento no nó; é o
+ * que as execuções simultâneas do tenant compartilham para respeitar a cota.
+ */
+class TenantUsageCounters {
+
+    private final String tenantId;
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder executionTimeMs = new LongAdder();
+    private final LongAdder apiCalls = new LongAdder();
+    private final LongAdder bytesTransferred = new LongAdder();
+    private final LongAdder cpuTimeMs = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder inFlightBytes = new LongAdder();
+    private final ConcurrentMap<String, LongAdder> connectorUsage = new ConcurrentHashMap<>();
+
+    private volatile long lastActivityMillis;
+
+    private long flushedExecutions;
+    private long flushedSuccesses;
+    private long flushedFailures;
+    private long flushedExecutionTimeMs;
+    private long flushedApiCalls;
+    private long flushedBytesTransferred;
+    private long flushedCpuTimeMs;
+    private long flushedAllocatedBytes;
+    private final Map<String, Long> flushedConnectorUsage = new HashMap<>();
+
+    TenantUsageCounters(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    void recordExecution(boolean success, long durationMs) {
+        executions.increment();
+        if (success) {
+            successes.increment();
+        } else {
+            failures.increment();
+        }
+        if (durationMs > 0) {
+            executionTimeMs.add(durationMs);
+        }
+        touch();
+    }
+
+    void recordApiCall() {
+        apiCalls.increment();
+        touch();
+    }
+
+    void recordBytes(long bytes) {
+        if (bytes > 0) {
+            bytesTransferred.add(bytes);
+            touch();
+        }
+    }
+
+    void recordResources(long cpuMs, long allocated) {
+        if (cpuMs > 0) {
+            cpuTimeMs.add(cpuMs);
+        }
+        if (allocated > 0) {
+            allocatedBytes.add(allocated);
+        }
+    }
+
+    void recordConnectorUsage(String connectorType) {
+        connectorUsage.computeIfAbsent(connectorType, k -> new LongAdder()).increment();
+    }
+
+    void reserveBytes(long bytes) {
+        inFlightBytes.add(bytes);
+    }
+
+    /**
+     * Bytes de uma execução terminada deixam de ser reservados e passam a transferidos.
+     * Soma antes de subtrair: quem lê no meio vê o uso a mais, nunca a menos.
+     */
+    void settleBytes(long bytes) {
+        recordBytes(bytes);
+        inFlightBytes.add(-bytes);
+    }
+
+    long totalBytesTransferred() {
+        return bytesTransferred.sum();
+    }
+
+    long inFlightBytes() {
+        return inFlightBytes.sum();
+    }
+
+    synchronized long flushedBytesTransferred() {
+        return flushedBytesTransferred;
+    }
+
+    synchronized TenantUsageDelta pending() {
+        Map<String, Long> connectors = new HashMap<>();
+        connectorUsage.forEach((type, adder) -> {
+            long delta = adder.sum() - flushedConnectorUsage.getOrDefault(type, 0L);
+            if (delta != 0) {
+                connectors.put(type, delta);
+            }
+        });
+
+        return new TenantUsageDelta(
+                tenantId,
+                executions.sum() - flushedExecutions,
+                successes.sum() - flushedSuccesses,
+                failures.sum() - flushedFailures,
+                executionTimeMs.sum() - flushedExecutionTimeMs,
+                apiCalls.sum() - flushedApiCalls,
+                bytesTransferred.sum() - flushedBytesTransferred,
+                cpuTimeMs.sum() - flushedCpuTimeMs,
+                allocatedBytes.sum() - flushedAllocatedBytes,
+                connectors,
+                lastActivityMillis
+        );
+    }
+
+    synchronized void markFlushed(TenantUsageDelta delta) {
+        flushedExecutions += delta.executions();
+        flushedSuccesses += delta.successes();
+        flushedFailures += delta.failures();
+        flushedExecutionTimeMs += delta.executionTimeMs();
+        flushedApiCalls += delta.apiCalls();
+        flushedBytesTransferred += delta.bytesTransferred();
+        flushedCpuTimeMs += delta.cpuTimeMs();
+        flushedAllocatedBytes += delta.allocatedBytes();
+        delta.connectorUsage().forEach((type, value) -> flushedConnectorUsage.merge(type, value, Long::sum));
+    }
+
+    private void touch() {
+        lastActivityMillis = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,27 @@
+package com.totvs.integration.metering;
+
+import java.util.Map;
+
+/**
+ * Incremento de uso de um tenant acumulado desde o último flush.
+ */
+public record TenantUsageDelta(
+        String tenantId,
+        long executions,
+        long successes,
+        long failures,
+        long executionTimeMs,
+        long apiCalls,
+        long bytesTransferred,
+        long cpuTimeMs,
+        long allocatedBytes,
+        Map<String, Long> connectorUsage,
+        long lastActivityMillis
+) {
+
+    public boolean isEmpty() {
+        return executions == 0 && successes == 0 && failures == 0 && executionTimeMs == 0
+                && apiCalls == 0 && bytesTransferred == 0 && cpuTimeMs == 0 && allocatedBytes == 0
+                && connectorUsage.isEmpty();
+    }
+}
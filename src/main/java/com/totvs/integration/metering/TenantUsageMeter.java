@@ -0,0 +1,96 @@
+package com.totvs.integration.metering;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Ponto único de registro de uso por tenant. Cada evento é só um incremento em
+ * memória; a persistência em {@code tenant_stats} é feita em lote pelo
+ * {@link TenantStatsFlusher}.
+ */
+@Component
+public class TenantUsageMeter {
+
+    private final ConcurrentMap<String, TenantUsageCounters> counters = new ConcurrentHashMap<>();
+
+    public void recordExecution(String tenantId, boolean success, long durationMs) {
+        TenantUsageCounters tenant = countersFor(tenantId);
+        if (tenant != null) {
+            tenant.recordExecution(success, durationMs);
+        }
+    }
+
+    public void recordApiCall(String tenantId) {
+        TenantUsageCounters tenant = countersFor(tenantId);
+        if (tenant != null) {
+            tenant.recordApiCall();
+        }
+    }
+
+    public void recordBytesTransferred(String tenantId, long bytes) {
+        TenantUsageCounters tenant = countersFor(tenantId);
+        if (tenant != null) {
+            tenant.recordBytes(bytes);
+        }
+    }
+
+    public void recordResources(String tenantId, long cpuTimeMs, long allocatedBytes) {
+        TenantUsageCounters tenant = countersFor(tenantId);
+        if (tenant != null) {
+            tenant.recordResources(cpuTimeMs, allocatedBytes);
+        }
+    }
+
+    public void recordConnectorUsage(String tenantId, String connectorType) {
+        TenantUsageCounters tenant = countersFor(tenantId);
+        if (tenant != null && connectorType != null) {
+            tenant.recordConnectorUsage(connectorType.toUpperCase());
+        }
+    }
+
+    /**
+     * Bytes das execuções do tenant ainda em andamento neste nó.
+     */
+    public long inFlightBytes(String tenantId) {
+        TenantUsageCounters tenant = tenantId != null ? counters.get(tenantId) : null;
+        return tenant != null ? tenant.inFlightBytes() : 0L;
+    }
+
+    public TenantUsageDelta pending(String tenantId) {
+        TenantUsageCounters tenant = tenantId != null ? counters.get(tenantId) : null;
+        return tenant != null ? tenant.pending() : empty(tenantId);
+    }
+
+    List<TenantUsageDelta> pendingDeltas() {
+        List<TenantUsageDelta> deltas = new ArrayList<>();
+        counters.values().forEach(tenant -> {
+            TenantUsageDelta delta = tenant.pending();
+            if (!delta.isEmpty()) {
+                deltas.add(delta);
+            }
+        });
+        return deltas;
+    }
+
+    void markFlushed(TenantUsageDelta delta) {
+        TenantUsageCounters tenant = counters.get(delta.tenantId());
+        if (tenant != null) {
+            tenant.markFlushed(delta);
+        }
+    }
+
+    TenantUsageCounters countersFor(String tenantId) {
+        if (tenantId == null) {
+            return null;
+        }
+        return counters.computeIfAbsent(tenantId, TenantUsageCounters::new);
+    }
+
+    private static TenantUsageDelta empty(String tenantId) {
+        return new TenantUsageDelta(tenantId, 0, 0, 0, 0, 0, 0, 0, 0, java.util.Map.of(), 0);
+    }
+}
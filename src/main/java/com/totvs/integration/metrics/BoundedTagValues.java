@@ -0,0 +1,46 @@
+package com.totvs.integration.metrics;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limita a cardinalidade de uma tag: os primeiros {@code maxValues} valores
+ * distintos são mantidos, os seguintes viram {@link #OTHER}.
+ */
+public class BoundedTagValues {
+
+    public static final String OTHER = "other";
+    public static final String UNKNOWN = "unknown";
+
+    private final int maxValues;
+    private final boolean upperCase;
+    private final Set<String> accepted = ConcurrentHashMap.newKeySet();
+
+    public BoundedTagValues(int maxValues, boolean upperCase) {
+        this.maxValues = maxValues;
+        this.upperCase = upperCase;
+    }
+
+    public String tag(String value) {
+        if (value == null || value.isBlank()) {
+            return UNKNOWN;
+        }
+
+        String normalized = upperCase ? value.trim().toUpperCase(Locale.ROOT) : value.trim();
+        if (accepted.contains(normalized)) {
+            return normalized;
+        }
+
+        synchronized (accepted) {
+            if (accepted.contains(normalized)) {
+                return normalized;
+            }
+            if (accepted.size() >= maxValues) {
+                return OTHER;
+            }
+            accepted.add(normalized);
+            return normalized;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.totvs.integration.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.IntCountsHistogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Janela deslizante de latências de um conector para um tenant.
+ * <p>
+ * As chamadas gravam num {@link Recorder} (sem lock); {@link #drain(long)} move o
+ * intervalo acumulado para o slot do minuto corrente. A janela é formada pelos
+ * últimos {@code slots} slots de {@code slotMillis} cada.
+ */
+class ConnectorLatencyWindow {
+
+    static final long HIGHEST_TRACKABLE_MICROS = 10L * 60 * 1_000_000;
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final long slotMillis;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lastUsedMillis;
+
+    private final IntCountsHistogram[] slots;
+    private final long[] slotEpochs;
+    private final long[] slotSuccesses;
+    private final long[] slotFailures;
+    private Histogram recycled;
+
+    ConnectorLatencyWindow(int slotCount, long slotMillis) {
+        this.slotMillis = slotMillis;
+        this.slots = new IntCountsHistogram[slotCount];
+        this.slotEpochs = new long[slotCount];
+        this.slotSuccesses = new long[slotCount];
+        this.slotFailures = new long[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new IntCountsHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+            slotEpochs[i] = -1;
+        }
+    }
+
+    void record(long durationNanos, boolean success, long nowMillis) {
+        long micros = Math.max(0, Math.min(durationNanos / 1_000, HIGHEST_TRACKABLE_MICROS));
+        recorder.recordValue(micros);
+        (success ? successes : failures).incrementAndGet();
+        lastUsedMillis = nowMillis;
+    }
+
+    long lastUsedMillis() {
+        return lastUsedMillis;
+    }
+
+    synchronized void drain(long nowMillis) {
+        long epoch = nowMillis / slotMillis;
+        int index = (int) (epoch % slots.length);
+        if (slotEpochs[index] != epoch) {
+            slots[index].reset();
+            slotSuccesses[index] = 0;
+            slotFailures[index] = 0;
+            slotEpochs[index] = epoch;
+        }
+
+        recycled = recorder.getIntervalHistogram(recycled);
+        slots[index].add(recycled);
+        slotSuccesses[index] += successes.getAndSet(0);
+        slotFailures[index] += failures.getAndSet(0);
+    }
+
+    synchronized Snapshot snapshot(long nowMillis) {
+        drain(nowMillis);
+
+        long currentEpoch = nowMillis / slotMillis;
+        long oldestEpoch = currentEpoch - slots.length + 1;
+        Histogram merged = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        long success = 0;
+        long failure = 0;
+        long windowStartEpoch = currentEpoch;
+
+        for (int i = 0; i < slots.length; i++) {
+            if (slotEpochs[i] < oldestEpoch || slotEpochs[i] > currentEpoch) {
+                continue;
+            }
+            merged.add(slots[i]);
+            success += slotSuccesses[i];
+            failure += slotFailures[i];
+            windowStartEpoch = Math.min(windowStartEpoch, slotEpochs[i]);
+        }
+
+        return new Snapshot(merged, success, failure, windowStartEpoch * slotMillis, lastUsedMillis);
+    }
+
+    record Snapshot(Histogram latenciesMicros, long successes, long failures, long windowStartMillis, long lastUsedMillis) {
+
+        long total() {
+            return successes + failures;
+        }
+    }
+}
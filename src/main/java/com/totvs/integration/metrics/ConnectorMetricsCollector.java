@@ -0,0 +1,123 @@
+package com.totvs.integration.metrics;
+
+import com.totvs.integration.dto.connector.ConnectorMetricsDto;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Latências das chamadas aos conectores por tenant e tipo de conector, em janelas
+ * deslizantes de {@code app.metrics.connector.window-slots} x
+ * {@code app.metrics.connector.slot-seconds}. Alimenta {@code GET /api/connectors/metrics}
+ * sem consultar {@code execution_logs}.
+ */
+@Component
+public class ConnectorMetricsCollector {
+
+    private final int slotCount;
+    private final long slotMillis;
+    private final LongSupplier clock;
+
+    private final ConcurrentMap<Key, ConnectorLatencyWindow> windows = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ConnectorMetricsCollector(@Value("${app.metrics.connector.window-slots:5}") int slotCount,
+                                     @Value("${app.metrics.connector.slot-seconds:60}") long slotSeconds) {
+        this(slotCount, slotSeconds * 1000, System::currentTimeMillis);
+    }
+
+    ConnectorMetricsCollector(int slotCount, long slotMillis, LongSupplier clock) {
+        this.slotCount = slotCount;
+        this.slotMillis = slotMillis;
+        this.clock = clock;
+    }
+
+    public void record(String tenantId, String connectorType, long durationNanos, boolean success) {
+        if (connectorType == null) {
+            return;
+        }
+        Key key = new Key(tenantId != null ? tenantId : "", connectorType.toUpperCase(Locale.ROOT));
+        windows.computeIfAbsent(key, k -> new ConnectorLatencyWindow(slotCount, slotMillis))
+                .record(durationNanos, success, clock.getAsLong());
+    }
+
+    public List<ConnectorMetricsDto> getMetrics(String tenantId, String connectorType) {
+        String tenant = tenantId != null ? tenantId : "";
+        String type = connectorType != null ? connectorType.toUpperCase(Locale.ROOT) : null;
+        long now = clock.getAsLong();
+
+        List<ConnectorMetricsDto> metrics = new ArrayList<>();
+        windows.forEach((key, window) -> {
+            if (key.tenantId().equals(tenant) && (type == null || key.connectorType().equals(type))) {
+                ConnectorLatencyWindow.Snapshot snapshot = window.snapshot(now);
+                if (snapshot.total() > 0) {
+                    metrics.add(toDto(key, snapshot, now));
+                }
+            }
+        });
+        metrics.sort(Comparator.comparing(ConnectorMetricsDto::getConnectorType));
+        return metrics;
+    }
+
+    /**
+     * Fecha o slot corrente de todas as janelas para que as latências caiam no minuto
+     * em que ocorreram, e descarta janelas sem uso há mais que a janela inteira.
+     */
+    @Scheduled(fixedDelayString = "#{${app.metrics.connector.slot-seconds:60} * 1000}")
+    public void drain() {
+        long now = clock.getAsLong();
+        long idleBefore = now - slotCount * slotMillis;
+        windows.entrySet().removeIf(entry -> entry.getValue().lastUsedMillis() < idleBefore);
+        windows.values().forEach(window -> window.drain(now));
+    }
+
+    int windowCount() {
+        return windows.size();
+    }
+
+    private static ConnectorMetricsDto toDto(Key key, ConnectorLatencyWindow.Snapshot snapshot, long now) {
+        Histogram latencies = snapshot.latenciesMicros();
+        long total = snapshot.total();
+
+        return ConnectorMetricsDto.builder()
+                .connectorType(key.connectorType())
+                .tenantId(key.tenantId().isEmpty() ? null : key.tenantId())
+                .totalConnections(total)
+                .successfulConnections(snapshot.successes())
+                .failedConnections(snapshot.failures())
+                .successRate(snapshot.successes() * 100.0 / total)
+                .averageResponseTimeMs(Math.round(latencies.getMean() / 1000.0))
+                .p50ResponseTimeMs(millis(latencies.getValueAtPercentile(50.0)))
+                .p95ResponseTimeMs(millis(latencies.getValueAtPercentile(95.0)))
+                .p99ResponseTimeMs(millis(latencies.getValueAtPercentile(99.0)))
+                .maxResponseTimeMs(millis(latencies.getMaxValue()))
+                .lastUsed(toDateTime(snapshot.lastUsedMillis()))
+                .periodStart(toDateTime(snapshot.windowStartMillis()))
+                .periodEnd(toDateTime(now))
+                .build();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private record Key(String tenantId, String connectorType) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.totvs.integration.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Métricas do caminho de execução das integrações, expostas em {@code /actuator/prometheus}.
+ * <p>
+ * Tags de tenant e de tipo de conector passam por {@link BoundedTagValues} para que
+ * a cardinalidade das séries fique limitada a {@code app.metrics.max-tenant-tags}
+ * e {@code app.metrics.max-connector-tags}.
+ */
+@Component
+public class IntegrationMetrics {
+
+    public static final String STAGE_READ = "read";
+    public static final String STAGE_TRANSFORM = "transform";
+    public static final String STAGE_WRITE = "write";
+
+    private final MeterRegistry registry;
+    private final BoundedTagValues tenants;
+    private final BoundedTagValues connectors;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ConcurrentMap<String, AtomicInteger> activeByTenant = new ConcurrentHashMap<>();
+
+    public IntegrationMetrics(MeterRegistry registry,
+                              @Value("${app.metrics.max-tenant-tags:50}") int maxTenantTags,
+                              @Value("${app.metrics.max-connector-tags:32}") int maxConnectorTags) {
+        this.registry = registry;
+        this.tenants = new BoundedTagValues(maxTenantTags, false);
+        this.connectors = new BoundedTagValues(maxConnectorTags, true);
+
+        Gauge.builder("integration.executions.queued", queued, AtomicInteger::get)
+                .description("Execuções aceitas que ainda não começaram a rodar")
+                .register(registry);
+    }
+
+    public void executionQueued() {
+        queued.incrementAndGet();
+    }
+
+    public void executionDequeued() {
+        queued.updateAndGet(current -> Math.max(0, current - 1));
+    }
+
+    /**
+     * A execução contada em {@link #executionQueued()} foi recusada pelo pool (fila cheia).
+     */
+    public void executionRejected() {
+        executionDequeued();
+        registry.counter("integration.executions.rejected").increment();
+    }
+
+    public void executionStarted(String tenantId) {
+        activeExecutions(tenantId).incrementAndGet();
+    }
+
+    public void executionFinished(String tenantId, String sourceType, String targetType, String outcome,
+                                  long durationNanos, long records) {
+        activeExecutions(tenantId).updateAndGet(current -> Math.max(0, current - 1));
+
+        String source = connectors.tag(sourceType);
+        String target = connectors.tag(targetType);
+
+        Timer.builder("integration.execution.duration")
+                .description("Duração total das execuções")
+                .tags("source", source, "target", target, "outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(30))
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+
+        if (records > 0 && durationNanos > 0) {
+            DistributionSummary.builder("integration.execution.throughput")
+                    .description("Registros por segundo de cada execução")
+                    .baseUnit("records.per.second")
+                    .tags("source", source, "target", target)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(records * 1_000_000_000.0 / durationNanos);
+        }
+    }
+
+    public void recordStage(String stage, String connectorType, long durationNanos, long records) {
+        String connector = connectors.tag(connectorType);
+
+        Timer.builder("integration.stage.duration")
+                .description("Duração de cada etapa (read/transform/write) por tipo de conector")
+                .tags("stage", stage, "connector", connector)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(30))
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+
+        Counter.builder("integration.records")
+                .description("Registros processados por etapa; use rate() para registros/s")
+                .baseUnit("records")
+                .tags("stage", stage, "connector", connector)
+                .register(registry)
+                .increment(records);
+
+        DistributionSummary.builder("integration.batch.size")
+                .description("Tamanho dos lotes lidos/gravados pelos conectores")
+                .baseUnit("records")
+                .tags("stage", stage, "connector", connector)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(1_000_000.0)
+                .register(registry)
+                .record(records);
+    }
+
+    public void rateLimitRejected(String tenantId) {
+        Counter.builder("integration.ratelimit.rejections")
+                .description("Requisições recusadas pelo rate limit")
+                .tag("tenant", tenants.tag(tenantId))
+                .register(registry)
+                .increment();
+    }
+
+    private AtomicInteger activeExecutions(String tenantId) {
+        String tenant = tenants.tag(tenantId);
+        return activeByTenant.computeIfAbsent(tenant, t -> {
+            AtomicInteger active = new AtomicInteger();
+            Gauge.builder("integration.executions.active", active, AtomicInteger::get)
+                    .description("Execuções em andamento por tenant")
+                    .tag("tenant", t)
+                    .register(registry);
+            return active;
+        });
+    }
+}
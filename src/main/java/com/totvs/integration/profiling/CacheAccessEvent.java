@@ -0,0 +1,47 @@
+package com.totvs.integration.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Leitura com carga ({@code get(key, loader)}) de um cache de integrações; num
+ * {@code miss} a duração inclui a carga single-flight.
+ */
+@Name(CacheAccessEvent.NAME)
+@Label("Cache Access")
+@Description("Leitura de cache com carga sob demanda")
+@Category({"Integration Hub", "Cache"})
+@StackTrace(false)
+public class CacheAccessEvent extends Event {
+
+    public static final String NAME = "com.totvs.integration.CacheAccess";
+
+    public static final String HIT = "hit";
+    public static final String MISS = "miss";
+    public static final String STALE = "stale";
+
+    @Label("Cache")
+    String cacheName;
+
+    @Label("Result")
+    String result;
+
+    public static CacheAccessEvent start(String cacheName) {
+        CacheAccessEvent event = new CacheAccessEvent();
+        event.cacheName = cacheName;
+        event.begin();
+        return event;
+    }
+
+    public void finish(String result) {
+        end();
+        if (shouldCommit()) {
+            this.result = result;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.totvs.integration.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Uma chamada a um {@code ConnectorHandler}. Os bytes vêm do
+ * {@code DataVolumeCounter} da execução, quando o conector mede o próprio I/O.
+ */
+@Name(ConnectorCallEvent.NAME)
+@Label("Connector Call")
+@Description("Chamada a um conector (leitura, gravação, teste ou execução)")
+@Category({"Integration Hub", "Connector"})
+@StackTrace(false)
+public class ConnectorCallEvent extends Event {
+
+    public static final String NAME = "com.totvs.integration.ConnectorCall";
+
+    @Label("Connector Type")
+    String connectorType;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Rows")
+    long rows;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Success")
+    boolean success;
+
+    public static ConnectorCallEvent start(String connectorType, String operation) {
+        ConnectorCallEvent event = new ConnectorCallEvent();
+        event.connectorType = connectorType;
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    public void finish(long rows, long bytes, boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.rows = rows;
+            this.bytes = bytes;
+            this.success = success;
+            commit();
+        }
+    }
+}
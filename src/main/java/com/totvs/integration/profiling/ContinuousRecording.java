@@ -0,0 +1,129 @@
+package com.totvs.integration.profiling;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gravação JFR contínua em ring buffer ({@code max-age}/{@code max-size}) com os eventos
+ * customizados do hub. Depois de um incidente, {@code POST /actuator/jfr} grava o
+ * conteúdo do buffer em {@code app.profiling.continuous.directory}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.profiling.continuous.enabled", havingValue = "true")
+public class ContinuousRecording {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContinuousRecording.class);
+
+    static final List<Class<? extends Event>> HUB_EVENTS = List.of(
+            TenantRequestEvent.class,
+            RateLimitDecisionEvent.class,
+            CacheAccessEvent.class,
+            ConnectorCallEvent.class,
+            PipelineStageEvent.class,
+            PipelineBatchEvent.class);
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final String settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Duration threshold;
+    private final Path directory;
+    private final int maxFiles;
+
+    private Recording recording;
+
+    @Autowired
+    public ContinuousRecording(@Value("${app.profiling.continuous.settings:default}") String settings,
+                               @Value("${app.profiling.continuous.max-age:PT30M}") Duration maxAge,
+                               @Value("${app.profiling.continuous.max-size:256MB}") DataSize maxSize,
+                               @Value("${app.profiling.continuous.threshold:0ms}") Duration threshold,
+                               @Value("${app.profiling.continuous.directory:${java.io.tmpdir}/integration-hub/jfr-continuous}") String directory,
+                               @Value("${app.profiling.continuous.max-files:10}") int maxFiles) {
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.threshold = threshold;
+        this.directory = Path.of(directory);
+        this.maxFiles = maxFiles;
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        try {
+            Recording continuous = new Recording(Configuration.getConfiguration(settings));
+            continuous.setName("integration-hub-continuous");
+            continuous.setToDisk(true);
+            continuous.setMaxAge(maxAge);
+            continuous.setMaxSize(maxSize.toBytes());
+            HUB_EVENTS.forEach(type -> continuous.enable(type).withThreshold(threshold));
+            continuous.start();
+            recording = continuous;
+            logger.info("Gravação JFR contínua iniciada (configuração '{}', max-age {}, max-size {})", settings, maxAge, maxSize);
+        } catch (Exception e) {
+            logger.warn("Não foi possível iniciar a gravação JFR contínua: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Grava o conteúdo atual do ring buffer num arquivo novo; a gravação continua ativa.
+     */
+    public synchronized Map<String, Object> dump() throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("Gravação JFR contínua não está ativa");
+        }
+        Files.createDirectories(directory);
+        Path file = directory.resolve("continuous-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+        recording.dump(file);
+        RecordingFiles.prune(directory, maxFiles);
+        logger.info("Gravação JFR contínua salva em {}", file.toAbsolutePath());
+
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("file", file.toAbsolutePath().toString());
+        info.put("sizeBytes", Files.size(file));
+        return info;
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", recording != null ? recording.getState().name() : "NOT_STARTED");
+        status.put("settings", settings);
+        status.put("maxAge", maxAge.toString());
+        status.put("maxSize", maxSize.toString());
+        status.put("threshold", threshold.toString());
+        status.put("directory", directory.toAbsolutePath().toString());
+        status.put("events", HUB_EVENTS.stream().map(type -> type.getAnnotation(jdk.jfr.Name.class).value()).toList());
+        if (recording != null && recording.getStartTime() != null) {
+            status.put("startTime", recording.getStartTime().toString());
+        }
+        return status;
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
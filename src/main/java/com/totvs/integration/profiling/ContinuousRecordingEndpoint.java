@@ -0,0 +1,52 @@
+package com.totvs.integration.profiling;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/jfr} mostra o estado da gravação contínua;
+ * {@code POST /actuator/jfr} com {@code {"token": "<app.profiling.admin-token>"}} grava o ring
+ * buffer em arquivo local e devolve o caminho. O dump expõe pilhas e detalhes do heap e escreve
+ * em disco, então sem o token de administrador responde 403.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class ContinuousRecordingEndpoint {
+
+    private static final int STATUS_FORBIDDEN = 403;
+
+    private final ObjectProvider<ContinuousRecording> recording;
+    private final ExecutionProfiler profiler;
+
+    public ContinuousRecordingEndpoint(ObjectProvider<ContinuousRecording> recording, ExecutionProfiler profiler) {
+        this.recording = recording;
+        this.profiler = profiler;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        ContinuousRecording continuous = recording.getIfAvailable();
+        return continuous != null ? continuous.status() : Map.of("state", "DISABLED");
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> dump(@Nullable String token) throws IOException {
+        if (!profiler.isAdminToken(token)) {
+            return new WebEndpointResponse<>(Map.of("error", "Dump JFR restrito a administradores"),
+                    STATUS_FORBIDDEN);
+        }
+        ContinuousRecording continuous = recording.getIfAvailable();
+        if (continuous == null) {
+            return new WebEndpointResponse<>(Map.of("state", "DISABLED"));
+        }
+        return new WebEndpointResponse<>(continuous.dump());
+    }
+}
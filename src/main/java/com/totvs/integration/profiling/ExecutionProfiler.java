@@ -0,0 +1,187 @@
+package com.totvs.integration.profiling;
+
+import com.totvs.integration.exception.AccessDeniedException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Gravações JFR sob demanda de uma única execução ({@code POST /v1/integrations/{id}/execute?profile=true}).
+ * <p>
+ * A gravação é da JVM inteira durante a execução; os eventos {@link PipelineStageEvent} e
+ * {@link PipelineBatchEvent} levam o {@code executionId} para filtrar a execução perfilada.
+ * O arquivo {@code .jfr} fica em {@code app.profiling.directory}, que guarda no máximo
+ * {@code app.profiling.max-files} gravações.
+ */
+@Component
+public class ExecutionProfiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionProfiler.class);
+
+    public static final String METADATA_KEY = "profiling";
+
+    private final boolean enabled;
+    private final String adminToken;
+    private final Path directory;
+    private final String settings;
+    private final Duration maxDuration;
+    private final int maxFiles;
+    private final Semaphore slots;
+
+    @Autowired
+    public ExecutionProfiler(@Value("${app.profiling.enabled:true}") boolean enabled,
+                             @Value("${app.profiling.admin-token:}") String adminToken,
+                             @Value("${app.profiling.directory:${java.io.tmpdir}/integration-hub/jfr}") String directory,
+                             @Value("${app.profiling.settings:profile}") String settings,
+                             @Value("${app.profiling.max-duration:PT10M}") Duration maxDuration,
+                             @Value("${app.profiling.max-concurrent:1}") int maxConcurrent,
+                             @Value("${app.profiling.max-files:20}") int maxFiles) {
+        this.enabled = enabled;
+        this.adminToken = adminToken;
+        this.directory = Path.of(directory);
+        this.settings = settings;
+        this.maxDuration = maxDuration;
+        this.maxFiles = maxFiles;
+        this.slots = new Semaphore(Math.max(1, maxConcurrent));
+    }
+
+    /**
+     * Perfilamento é restrito a administradores: exige {@code app.profiling.admin-token}
+     * configurado e o mesmo valor no header {@code X-Admin-Token}.
+     */
+    public void checkAdmin(String token) {
+        if (!enabled) {
+            throw new AccessDeniedException("Perfilamento de execuções desabilitado");
+        }
+        if (!isAdminToken(token)) {
+            throw new AccessDeniedException("Perfilamento de execuções restrito a administradores");
+        }
+    }
+
+    /**
+     * {@code token} confere com {@code app.profiling.admin-token}? Sem token configurado, nunca.
+     */
+    public boolean isAdminToken(String token) {
+        return adminToken != null && !adminToken.isBlank() && token != null
+                && MessageDigest.isEqual(adminToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Inicia a gravação da execução. Nunca falha a execução: se não houver vaga ou a
+     * gravação não puder ser criada, a sessão devolvida só registra o motivo.
+     */
+    public Session start(String executionId, String tenantId) {
+        if (!slots.tryAcquire()) {
+            logger.warn("Perfilamento da execução {} ignorado: limite de gravações simultâneas atingido", executionId);
+            return Session.skipped("busy");
+        }
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration(settings));
+            recording.setName("execution-" + executionId);
+            recording.setToDisk(true);
+            recording.setDuration(maxDuration);
+            recording.enable(PipelineStageEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(PipelineBatchEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            logger.info("Gravação JFR iniciada para execução {} (tenant {}, configuração '{}')", executionId, tenantId, settings);
+            return new Session(this, recording, executionId, tenantId);
+        } catch (Exception e) {
+            slots.release();
+            logger.warn("Não foi possível iniciar gravação JFR da execução {}: {}", executionId, e.getMessage());
+            return Session.skipped("failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Arquivo em que a gravação da execução é salva ao terminar.
+     */
+    public Path recordingFile(String tenantId, String executionId) {
+        return directory.resolve(RecordingFiles.safeName(tenantId)).resolve(RecordingFiles.safeName(executionId) + ".jfr")
+                .toAbsolutePath();
+    }
+
+    private Map<String, Object> finish(Session session) {
+        Recording recording = session.recording;
+        Map<String, Object> info = new LinkedHashMap<>();
+        try {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            Path file = recordingFile(session.tenantId, session.executionId);
+            Files.createDirectories(file.getParent());
+            recording.dump(file);
+
+            info.put("status", "recorded");
+            info.put("file", file.toAbsolutePath().toString());
+            info.put("sizeBytes", Files.size(file));
+            info.put("settings", settings);
+            info.put("executionId", session.executionId);
+            info.put("events", List.of(PipelineStageEvent.NAME, PipelineBatchEvent.NAME));
+            logger.info("Gravação JFR da execução {} salva em {}", session.executionId, file.toAbsolutePath());
+            RecordingFiles.prune(directory, maxFiles);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Falha ao salvar gravação JFR da execução {}: {}", session.executionId, e.getMessage());
+            info.put("status", "failed: " + e.getMessage());
+        } finally {
+            recording.close();
+            slots.release();
+        }
+        return info;
+    }
+
+    /**
+     * Gravação em andamento; {@link #stop()} salva o arquivo e devolve o resumo
+     * que vai para {@code ExecutionLog.metadata.profiling}.
+     */
+    public static final class Session {
+
+        private final ExecutionProfiler profiler;
+        private final Recording recording;
+        private final String executionId;
+        private final String tenantId;
+        private final String skippedReason;
+
+        private Session(ExecutionProfiler profiler, Recording recording, String executionId, String tenantId) {
+            this.profiler = profiler;
+            this.recording = recording;
+            this.executionId = executionId;
+            this.tenantId = tenantId;
+            this.skippedReason = null;
+        }
+
+        private Session(String skippedReason) {
+            this.profiler = null;
+            this.recording = null;
+            this.executionId = null;
+            this.tenantId = null;
+            this.skippedReason = skippedReason;
+        }
+
+        private static Session skipped(String reason) {
+            return new Session(reason);
+        }
+
+        public Map<String, Object> stop() {
+            if (recording == null) {
+                return Map.of("status", skippedReason);
+            }
+            return profiler.finish(this);
+        }
+    }
+}
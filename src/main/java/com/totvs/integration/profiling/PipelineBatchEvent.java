@@ -0,0 +1,60 @@
+package com.totvs.integration.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Um lote de registros entregue por ou para um conector dentro de uma etapa.
+ */
+@Name(PipelineBatchEvent.NAME)
+@Label("Pipeline Batch")
+@Description("Lote de registros lido ou gravado por um conector")
+@Category({"Integration Hub", "Pipeline"})
+@StackTrace(false)
+public class PipelineBatchEvent extends Event {
+
+    public static final String NAME = "com.totvs.integration.PipelineBatch";
+
+    @Label("Execution Id")
+    String executionId;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Connector Type")
+    String connectorType;
+
+    @Label("Batch Index")
+    int batchIndex;
+
+    @Label("Records")
+    long records;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    public static PipelineBatchEvent start(String executionId, String stage, String connectorType, int batchIndex) {
+        PipelineBatchEvent event = new PipelineBatchEvent();
+        event.executionId = executionId;
+        event.stage = stage;
+        event.connectorType = connectorType;
+        event.batchIndex = batchIndex;
+        event.begin();
+        return event;
+    }
+
+    public void finish(long records, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.records = records;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
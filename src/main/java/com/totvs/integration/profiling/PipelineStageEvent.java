@@ -0,0 +1,66 @@
+package com.totvs.integration.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Uma etapa (leitura, transformação, gravação) do pipeline de uma execução.
+ * Só tem custo quando há uma gravação JFR ativa que habilite o evento.
+ */
+@Name(PipelineStageEvent.NAME)
+@Label("Pipeline Stage")
+@Description("Etapa do pipeline de uma execução de integração")
+@Category({"Integration Hub", "Pipeline"})
+@StackTrace(false)
+public class PipelineStageEvent extends Event {
+
+    public static final String NAME = "com.totvs.integration.PipelineStage";
+
+    @Label("Execution Id")
+    String executionId;
+
+    @Label("Integration Id")
+    String integrationId;
+
+    @Label("Tenant")
+    String tenantId;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Connector Type")
+    String connectorType;
+
+    @Label("Records")
+    long records;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    public static PipelineStageEvent start(String executionId, String integrationId, String tenantId,
+                                           String stage, String connectorType) {
+        PipelineStageEvent event = new PipelineStageEvent();
+        event.executionId = executionId;
+        event.integrationId = integrationId;
+        event.tenantId = tenantId;
+        event.stage = stage;
+        event.connectorType = connectorType;
+        event.begin();
+        return event;
+    }
+
+    public void finish(long records, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.records = records;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
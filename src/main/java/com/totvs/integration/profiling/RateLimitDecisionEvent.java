@@ -0,0 +1,55 @@
+package com.totvs.integration.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Decisão do {@code RateLimitService}; a duração do evento é a latência da
+ * consulta ao Redis.
+ */
+@Name(RateLimitDecisionEvent.NAME)
+@Label("Rate Limit Decision")
+@Description("Decisão de rate limit por tenant")
+@Category({"Integration Hub", "Security"})
+@StackTrace(false)
+public class RateLimitDecisionEvent extends Event {
+
+    public static final String NAME = "com.totvs.integration.RateLimitDecision";
+
+    @Label("Tenant")
+    String tenantId;
+
+    @Label("Allowed")
+    boolean allowed;
+
+    @Label("Current Count")
+    long currentCount;
+
+    @Label("Limit")
+    int limit;
+
+    @Label("Error")
+    boolean error;
+
+    public static RateLimitDecisionEvent start(String tenantId, int limit) {
+        RateLimitDecisionEvent event = new RateLimitDecisionEvent();
+        event.tenantId = tenantId;
+        event.limit = limit;
+        event.begin();
+        return event;
+    }
+
+    public void finish(boolean allowed, long currentCount, boolean error) {
+        end();
+        if (shouldCommit()) {
+            this.allowed = allowed;
+            this.currentCount = currentCount;
+            this.error = error;
+            commit();
+        }
+    }
+}
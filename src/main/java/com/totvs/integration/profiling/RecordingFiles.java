@@ -0,0 +1,53 @@
+package com.totvs.integration.profiling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Utilitários dos arquivos {@code .jfr} gravados localmente.
+ */
+final class RecordingFiles {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordingFiles.class);
+
+    private RecordingFiles() {
+    }
+
+    /**
+     * Mantém apenas os {@code maxFiles} arquivos {@code .jfr} mais recentes sob {@code directory}.
+     */
+    static void prune(Path directory, int maxFiles) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> recordings;
+        try (Stream<Path> files = Files.walk(directory)) {
+            recordings = files.filter(path -> path.toString().endsWith(".jfr"))
+                    .sorted(Comparator.comparingLong(RecordingFiles::lastModified).reversed())
+                    .toList();
+        }
+        for (Path old : recordings.subList(Math.min(maxFiles, recordings.size()), recordings.size())) {
+            Files.deleteIfExists(old);
+            logger.debug("Gravação JFR antiga removida: {}", old);
+        }
+    }
+
+    static String safeName(String value) {
+        return value == null || value.isBlank() ? "unknown" : value.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
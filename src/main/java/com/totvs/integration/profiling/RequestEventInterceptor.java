@@ -0,0 +1,34 @@
+package com.totvs.integration.profiling;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Emite um {@link TenantRequestEvent} por requisição da API ({@code /api/**} e {@code /v1/**},
+ * webhooks incluídos). O tenant é lido no fim da requisição do atributo
+ * {@link TenantRequestEvent#TENANT_ATTRIBUTE}, gravado pelo {@code TenantInterceptor} ou, nos
+ * webhooks, pelo {@code WebhookService} ao validar o token.
+ */
+@Component
+public class RequestEventInterceptor implements HandlerInterceptor {
+
+    private static final String EVENT_ATTRIBUTE = RequestEventInterceptor.class.getName() + ".event";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(EVENT_ATTRIBUTE, TenantRequestEvent.start(request.getMethod(), request.getRequestURI()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(EVENT_ATTRIBUTE) instanceof TenantRequestEvent event) {
+            if (request.getAttribute(TenantRequestEvent.TENANT_ATTRIBUTE) instanceof String tenantId) {
+                event.tenant(tenantId);
+            }
+            event.finish(response.getStatus());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.totvs.integration.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Uma requisição HTTP atendida para um tenant, do {@code preHandle} ao
+ * {@code afterCompletion} do {@link RequestEventInterceptor}.
+ */
+@Name(TenantRequestEvent.NAME)
+@Label("Tenant Request")
+@Description("Requisição HTTP resolvida para um tenant")
+@Category({"Integration Hub", "Web"})
+@StackTrace(false)
+public class TenantRequestEvent extends Event {
+
+    public static final String NAME = "com.totvs.integration.TenantRequest";
+
+    /** Atributo da requisição com o tenant resolvido, lido ao fim da requisição. */
+    public static final String TENANT_ATTRIBUTE = TenantRequestEvent.class.getName() + ".tenant";
+
+    @Label("Method")
+    String method;
+
+    @Label("Path")
+    String path;
+
+    @Label("Tenant")
+    String tenantId;
+
+    @Label("Status")
+    int status;
+
+    public static TenantRequestEvent start(String method, String path) {
+        TenantRequestEvent event = new TenantRequestEvent();
+        event.method = method;
+        event.path = path;
+        event.begin();
+        return event;
+    }
+
+    public void tenant(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public void finish(int status) {
+        end();
+        if (shouldCommit()) {
+            this.status = status;
+            commit();
+        }
+    }
+}
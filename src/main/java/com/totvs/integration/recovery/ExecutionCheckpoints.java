@@ -0,0 +1,191 @@
+package com.totvs.integration.recovery;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.totvs.integration.entity.ExecutionLog;
+import com.totvs.integration.repository.ExecutionLogRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Posse e progresso das execuções deste nó. Cada execução em andamento tem {@code node_id} e
+ * {@code heartbeat_at}, renovado a cada {@code app.executions.heartbeat-interval-ms}; uma
+ * execução sem heartbeat recente é considerada órfã ({@link ExecutionRecoveryService}).
+ * <p>
+ * O checkpoint ({@code checkpoint_offset}: registros da origem já gravados no destino,
+ * {@code checkpoint_batch}: último lote confirmado, {@code checkpoint_source}: posição estável da
+ * origem, ver {@link SourcePosition}, {@code checkpoint_target}: estado do destino nesse lote, ver
+ * {@link com.totvs.integration.connector.TargetSession#checkpoint()}) é gravado após cada lote
+ * escrito. Heartbeat
+ * e checkpoint só atualizam a linha se ela ainda pertence a este nó: se outro nó assumiu a
+ * execução, o checkpoint falha e esta cópia é interrompida.
+ * <p>
+ * Log, checkpoint e heartbeat são gravados cada um na sua própria transação curta
+ * ({@code REQUIRES_NEW}): uma execução disparada de dentro da transação de uma requisição não
+ * pode deixar o progresso invisível para os outros nós (que a considerariam órfã) nem segurar o
+ * lock da linha até terminar.
+ */
+@Slf4j
+@Component
+public class ExecutionCheckpoints {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    @Autowired
+    private ExecutionLogRepository executionLogRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.executions.node-id:}")
+    private String configuredNodeId;
+
+    @Value("${app.executions.checkpoint.batch-size:5000}")
+    private int batchSize;
+
+    private String nodeId;
+    private TransactionTemplate ownTransaction;
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        nodeId = StringUtils.hasText(configuredNodeId) ? configuredNodeId : hostname();
+        batchSize = Math.max(1, batchSize);
+        ownTransaction = new TransactionTemplate(transactionManager);
+        ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        log.info("Execuções deste nó identificadas como '{}'", nodeId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Registros por lote de escrita; um checkpoint é gravado ao fim de cada lote.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void register(String executionId) {
+        running.add(executionId);
+    }
+
+    public void unregister(String executionId) {
+        running.remove(executionId);
+    }
+
+    public boolean isRunningHere(String executionId) {
+        return running.contains(executionId);
+    }
+
+    /**
+     * Grava o log da execução (início, retomada ou resultado) e devolve a instância gravada.
+     */
+    public ExecutionLog saveLog(ExecutionLog executionLog) {
+        return ownTransaction.execute(status -> executionLogRepository.save(executionLog));
+    }
+
+    /**
+     * Confirma que os primeiros {@code offset} registros da origem estão gravados no destino.
+     *
+     * @throws ExecutionTakenOverException se a execução foi assumida por outro nó
+     */
+    public void save(ExecutionLog executionLog, long offset, int batch, int recordsWritten) {
+        save(executionLog, offset, batch, recordsWritten, null, null);
+    }
+
+    /**
+     * @param source posição da origem após o lote ({@code null} se a origem não tem posição estável)
+     * @param target estado do destino após o lote ({@code null} se o destino não precisa)
+     * @throws ExecutionTakenOverException se a execução foi assumida por outro nó
+     */
+    public void save(ExecutionLog executionLog, long offset, int batch, int recordsWritten, SourcePosition source,
+                     String target) {
+        String position = write(source);
+        Integer updated = ownTransaction.execute(status -> executionLogRepository.saveCheckpoint(
+                executionLog.getExecutionId(), nodeId, offset, batch, recordsWritten, position, target, LocalDateTime.now()));
+        if (updated == null || updated == 0) {
+            throw new ExecutionTakenOverException(executionLog.getExecutionId());
+        }
+        executionLog.setCheckpointOffset(offset);
+        executionLog.setCheckpointBatch(batch);
+        executionLog.setRecordsSuccess(recordsWritten);
+        executionLog.setCheckpointSource(position);
+        executionLog.setCheckpointTarget(target);
+    }
+
+    /**
+     * Posição da origem no último checkpoint, ou {@code null} se não há.
+     */
+    public static SourcePosition sourcePosition(ExecutionLog executionLog) {
+        String position = executionLog.getCheckpointSource();
+        if (position == null || position.isBlank()) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.readValue(position, SourcePosition.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Posição de origem ilegível no checkpoint da execução {}: {}", executionLog.getExecutionId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static String write(SourcePosition source) {
+        if (source == null) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(source);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Posição de origem não serializável: " + source, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.executions.heartbeat-interval-ms:30000}",
+               initialDelayString = "${app.executions.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        if (running.isEmpty()) {
+            return;
+        }
+        List<String> executionIds = List.copyOf(running);
+        Integer updated = ownTransaction.execute(status ->
+                executionLogRepository.heartbeat(executionIds, nodeId, LocalDateTime.now()));
+        if (updated != null && updated < executionIds.size()) {
+            log.debug("Heartbeat renovado para {} de {} execuções deste nó; as demais foram assumidas por outro nó ou encerradas",
+                    updated, executionIds.size());
+        }
+    }
+
+    private static String hostname() {
+        String hostname = System.getenv("HOSTNAME");
+        if (StringUtils.hasText(hostname)) {
+            return hostname;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "node-" + UUID.randomUUID();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.totvs.integration.recovery;
+
+import com.totvs.integration.entity.ExecutionLog;
+import com.totvs.integration.entity.Integration;
+import com.totvs.integration.metrics.IntegrationMetrics;
+import com.totvs.integration.repository.ExecutionLogRepository;
+import com.totvs.integration.repository.IntegrationRepository;
+import com.totvs.integration.security.TenantContext;
+import com.totvs.integration.service.IntegrationExecutorService;
+import com.totvs.integration.service.IntegrationStatisticsService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recuperação de execuções órfãs: logs {@code RUNNING} cujo nó parou de renovar o heartbeat
+ * ({@link ExecutionCheckpoints}). Na subida, as execuções deixadas por este mesmo nó são
+ * assumidas na hora; as de outros nós, depois de {@code app.executions.recovery.stale-after-ms}
+ * sem heartbeat, por uma varredura periódica. A posse é tomada com um {@code UPDATE}
+ * condicional, então só um nó assume cada execução.
+ * <p>
+ * Execuções com checkpoint (leitura de um conector de origem) são retomadas do último lote
+ * gravado, até {@code max-resumes} vezes, desde que o checkpoint tenha a posição estável da
+ * origem ({@link SourcePosition}) ou nenhum lote tenha sido gravado ainda. As demais (payload de
+ * webhook ou stream, que não pode ser relido, ou origem sem ordem garantida) são encerradas como
+ * {@code FAILED}.
+ */
+@Slf4j
+@Service
+public class ExecutionRecoveryService {
+
+    @Autowired
+    private ExecutionLogRepository executionLogRepository;
+
+    @Autowired
+    private IntegrationRepository integrationRepository;
+
+    @Autowired
+    private IntegrationExecutorService executorService;
+
+    @Autowired
+    private IntegrationStatisticsService statistics;
+
+    @Autowired
+    private IntegrationMetrics metrics;
+
+    @Autowired
+    private ExecutionCheckpoints checkpoints;
+
+    @Value("${app.executions.recovery.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.executions.recovery.resume:true}")
+    private boolean resume;
+
+    @Value("${app.executions.recovery.stale-after-ms:300000}")
+    private long staleAfterMs;
+
+    @Value("${app.executions.recovery.max-resumes:3}")
+    private int maxResumes;
+
+    @Value("${app.executions.recovery.sweep-limit:50}")
+    private int sweepLimit;
+
+    @Value("${app.executions.recovery.threads:2}")
+    private int threads;
+
+    private ExecutorService pool;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "execution-recovery-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Execuções {@code RUNNING} deste nó na subida só podem ser da instância anterior.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOwnExecutions() {
+        if (!enabled) {
+            return;
+        }
+        List<ExecutionLog> orphans = executionLogRepository.findByStatusAndNodeId(
+                ExecutionLog.ExecutionStatus.RUNNING, checkpoints.getNodeId());
+        LocalDateTime now = LocalDateTime.now();
+        int recovered = 0;
+        for (ExecutionLog orphan : orphans) {
+            if (!checkpoints.isRunningHere(orphan.getExecutionId())
+                    && executionLogRepository.claim(orphan.getExecutionId(), checkpoints.getNodeId(), now, now) == 1) {
+                recover(orphan);
+                recovered++;
+            }
+        }
+        if (recovered > 0) {
+            log.info("{} execuções interrompidas na instância anterior deste nó foram assumidas", recovered);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.executions.recovery.sweep-interval-ms:60000}",
+               initialDelayString = "${app.executions.recovery.sweep-interval-ms:60000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime threshold = LocalDateTime.now().minusNanos(staleAfterMs * 1_000_000L);
+        List<ExecutionLog> stale = executionLogRepository.findStaleRunning(threshold, PageRequest.of(0, Math.max(1, sweepLimit)));
+        for (ExecutionLog orphan : stale) {
+            if (executionLogRepository.claim(orphan.getExecutionId(), checkpoints.getNodeId(), threshold, LocalDateTime.now()) == 1) {
+                log.warn("Execução {} da integração {} sem heartbeat desde {} (nó '{}'); assumida por '{}'",
+                        orphan.getExecutionId(), orphan.getIntegrationId(),
+                        orphan.getHeartbeatAt() != null ? orphan.getHeartbeatAt() : orphan.getStartTime(),
+                        orphan.getNodeId(), checkpoints.getNodeId());
+                recover(orphan);
+            }
+        }
+    }
+
+    private void recover(ExecutionLog orphan) {
+        Integration integration = integrationRepository.findById(orphan.getIntegrationId()).orElse(null);
+        int resumes = orphan.getResumeCount() != null ? orphan.getResumeCount() : 0;
+
+        if (integration == null) {
+            abandon(orphan, null, "Execução interrompida e integração removida");
+        } else if (!resume || orphan.getCheckpointOffset() == null) {
+            abandon(orphan, integration, orphan.getNodeId() != null
+                    ? "Execução interrompida: o nó '" + orphan.getNodeId() + "' parou de responder"
+                    : "Execução interrompida: sem heartbeat desde " + orphan.getStartTime());
+        } else if (orphan.getCheckpointOffset() > 0 && ExecutionCheckpoints.sourcePosition(orphan) == null) {
+            abandon(orphan, integration, "Execução interrompida após " + orphan.getCheckpointOffset()
+                    + " registros gravados; a origem não tem posição estável para retomar sem perder ou duplicar registros");
+        } else if (resumes >= maxResumes) {
+            abandon(orphan, integration, "Execução interrompida " + (resumes + 1) + " vezes; limite de retomadas atingido");
+        } else {
+            metrics.executionQueued();
+            pool.execute(() -> resume(integration, orphan));
+        }
+    }
+
+    private void resume(Integration integration, ExecutionLog orphan) {
+        TenantContext.setCurrentTenant(TenantContext.builder().tenantId(integration.getTenantId()).build());
+        try {
+            ExecutionLog result = executorService.resumeExecution(integration, orphan).join();
+            log.info("Execução {} retomada do registro {}: status {}", orphan.getExecutionId(),
+                    orphan.getCheckpointOffset(), result.getStatus());
+        } catch (Exception e) {
+            log.error("Falha ao retomar a execução {}: {}", orphan.getExecutionId(), e.getMessage(), e);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private void abandon(ExecutionLog orphan, Integration integration, String reason) {
+        orphan.setStatus(ExecutionLog.ExecutionStatus.FAILED);
+        orphan.setEndTime(LocalDateTime.now());
+        orphan.setErrorMessage(reason);
+        orphan.setNodeId(checkpoints.getNodeId());
+        executionLogRepository.save(orphan);
+        if (integration != null) {
+            statistics.executionFailed(integration, reason);
+        }
+        log.warn("Execução {} da integração {} encerrada: {}", orphan.getExecutionId(), orphan.getIntegrationId(), reason);
+    }
+}
@@ -0,0 +1,12 @@
+package com.totvs.integration.recovery;
+
+/**
+ * A execução foi assumida por outro nó (este ficou sem heartbeat além do limite). A cópia
+ * local deve parar sem gravar o log, que agora pertence ao outro nó.
+ */
+public class ExecutionTakenOverException extends IllegalStateException {
+
+    public ExecutionTakenOverException(String executionId) {
+        super("Execução " + executionId + " foi assumida por outro nó; esta cópia foi interrompida");
+    }
+}
@@ -0,0 +1,24 @@
+package com.totvs.integration.recovery;
+
+/**
+ * Posição estável da origem gravada com o checkpoint ({@code checkpoint_source}), da qual a
+ * execução interrompida é retomada:
+ * <ul>
+ * <li>leitura incremental: {@code field} e a maior {@code watermark} com todos os registros até
+ * ela já gravados; a retomada relê a partir dela, sem pular registros pela contagem;</li>
+ * <li>origem de ordem determinística: o {@code snapshot} do conteúdo lido
+ * ({@link com.totvs.integration.connector.SourceSnapshot}); a retomada pula os
+ * {@code checkpoint_offset} primeiros registros se o snapshot relido for o mesmo.</li>
+ * </ul>
+ * Sem posição, uma execução que já gravou algum lote não é retomada.
+ */
+public record SourcePosition(String snapshot, String field, Object watermark) {
+
+    public static SourcePosition ofSnapshot(String identity) {
+        return new SourcePosition(identity, null, null);
+    }
+
+    public static SourcePosition ofWatermark(String field, Object watermark) {
+        return new SourcePosition(null, field, watermark);
+    }
+}
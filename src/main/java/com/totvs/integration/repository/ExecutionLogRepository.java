@@ -5,11 +5,14 @@ import com.totvs.integration.entity.ExecutionLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -52,4 +55,40 @@ public interface ExecutionLogRepository extends JpaRepository<ExecutionLog, Stri
            "AND e.status = 'SUCCESS' ORDER BY e.createdAt DESC")
     List<ExecutionLog> findLatestSuccessfulExecutions(@Param("tenantId") String tenantId, 
                                                      Pageable pageable);
-}
\ No newline at end of file
+    
+    
+    List<ExecutionLog> findByStatusAndNodeId(ExecutionLog.ExecutionStatus status, String nodeId);
+    
+    @Query("SELECT e FROM ExecutionLog e WHERE e.status = com.totvs.integration.entity.ExecutionLog$ExecutionStatus.RUNNING " +
+           "AND (e.heartbeatAt < :threshold OR (e.heartbeatAt IS NULL AND e.startTime < :threshold)) ORDER BY e.startTime")
+    List<ExecutionLog> findStaleRunning(@Param("threshold") LocalDateTime threshold, Pageable pageable);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE ExecutionLog e SET e.heartbeatAt = :now " +
+           "WHERE e.executionId IN :executionIds AND e.nodeId = :nodeId " +
+           "AND e.status = com.totvs.integration.entity.ExecutionLog$ExecutionStatus.RUNNING")
+    int heartbeat(@Param("executionIds") Collection<String> executionIds, @Param("nodeId") String nodeId,
+                  @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE ExecutionLog e SET e.checkpointOffset = :offset, e.checkpointBatch = :batch, " +
+           "e.recordsSuccess = :recordsWritten, e.checkpointSource = :source, e.checkpointTarget = :target, e.heartbeatAt = :now " +
+           "WHERE e.executionId = :executionId AND e.nodeId = :nodeId " +
+           "AND e.status = com.totvs.integration.entity.ExecutionLog$ExecutionStatus.RUNNING")
+    int saveCheckpoint(@Param("executionId") String executionId, @Param("nodeId") String nodeId,
+                       @Param("offset") long offset, @Param("batch") int batch,
+                       @Param("recordsWritten") int recordsWritten, @Param("source") String source,
+                       @Param("target") String target,
+                       @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE ExecutionLog e SET e.nodeId = :nodeId, e.heartbeatAt = :now " +
+           "WHERE e.executionId = :executionId " +
+           "AND e.status = com.totvs.integration.entity.ExecutionLog$ExecutionStatus.RUNNING " +
+           "AND (e.heartbeatAt < :threshold OR (e.heartbeatAt IS NULL AND e.startTime < :threshold))")
+    int claim(@Param("executionId") String executionId, @Param("nodeId") String nodeId,
+              @Param("threshold") LocalDateTime threshold, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,39 @@
+package com.totvs.integration.repository;
+
+import com.totvs.integration.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    @Query("SELECT k.keyHash FROM IdempotencyKey k WHERE k.integrationId = :integrationId AND k.createdAt > :since")
+    List<Long> findHashesSince(@Param("integrationId") String integrationId, @Param("since") LocalDateTime since);
+
+    @Query("SELECT k.keyHash FROM IdempotencyKey k WHERE k.integrationId = :integrationId AND k.keyHash IN :hashes")
+    List<Long> findExisting(@Param("integrationId") String integrationId, @Param("hashes") Collection<Long> hashes);
+
+    /**
+     * Registra a chave se ainda não existe; se outra execução ou outro nó a gravou antes, não
+     * faz nada (a unicidade de {@code (integration_id, key_hash)} resolve a corrida).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (id, integration_id, key_hash, created_at) " +
+                   "VALUES (:id, :integrationId, :keyHash, :createdAt) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("id") String id, @Param("integrationId") String integrationId,
+                       @Param("keyHash") long keyHash, @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < :threshold")
+    int deleteOlderThan(@Param("threshold") LocalDateTime threshold);
+}
@@ -1,20 +1,56 @@
 package com.totvs.integration.repository;
 
 import com.totvs.integration.entity.Integration;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface IntegrationRepository extends JpaRepository<Integration, String> {
     
+    String SUMMARY_SELECT = "SELECT i.id AS id, i.tenantId AS tenantId, i.name AS name, i.status AS status, " +
+            "i.executionCount AS executionCount, i.successCount AS successCount, i.errorCount AS errorCount, " +
+            "i.lastExecution AS lastExecution, i.nextExecution AS nextExecution, i.tags AS tags, " +
+            "i.createdAt AS createdAt, i.updatedAt AS updatedAt FROM Integration i ";
+    
+    
+    @Query(value = SUMMARY_SELECT + "WHERE i.tenantId = :tenantId",
+           countQuery = "SELECT COUNT(i) FROM Integration i WHERE i.tenantId = :tenantId")
+    Page<IntegrationSummary> findSummariesByTenantId(@Param("tenantId") String tenantId, Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE i.tenantId = :tenantId AND i.status = :status",
+           countQuery = "SELECT COUNT(i) FROM Integration i WHERE i.tenantId = :tenantId AND i.status = :status")
+    Page<IntegrationSummary> findSummariesByTenantIdAndStatus(
+        @Param("tenantId") String tenantId,
+        @Param("status") Integration.IntegrationStatus status,
+        Pageable pageable
+    );
+    
+    @Query(value = SUMMARY_SELECT + "WHERE i.tenantId = :tenantId AND LOWER(i.name) LIKE LOWER(CONCAT('%', :name, '%'))",
+           countQuery = "SELECT COUNT(i) FROM Integration i WHERE i.tenantId = :tenantId " +
+                   "AND LOWER(i.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+    Page<IntegrationSummary> findSummariesByTenantIdAndNameContaining(
+        @Param("tenantId") String tenantId,
+        @Param("name") String name,
+        Pageable pageable
+    );
+    
+    @Query(SUMMARY_SELECT + "WHERE i.id IN :ids")
+    List<IntegrationSummary> findSummariesByIdIn(@Param("ids") Collection<String> ids);
+    
+    
     
     Page<Integration> findByTenantIdAndStatus(String tenantId, Integration.IntegrationStatus status, Pageable pageable);
     
@@ -66,6 +102,46 @@ public interface IntegrationRepository extends JpaRepository<Integration, String
         @Param("tag5") String tag5,
         Pageable pageable
     );
+    
+    
+    @Query(value = """
+        SELECT i.id FROM integrations i 
+        WHERE i.tenant_id = :tenantId 
+        AND (
+            i.tags IS NOT NULL 
+            AND (
+                i.tags LIKE CONCAT('%"', :tag1, '"%')
+                OR (:tag2 IS NOT NULL AND i.tags LIKE CONCAT('%"', :tag2, '"%'))
+                OR (:tag3 IS NOT NULL AND i.tags LIKE CONCAT('%"', :tag3, '"%'))
+                OR (:tag4 IS NOT NULL AND i.tags LIKE CONCAT('%"', :tag4, '"%'))
+                OR (:tag5 IS NOT NULL AND i.tags LIKE CONCAT('%"', :tag5, '"%'))
+            )
+        )
+        """, 
+        countQuery = """
+        SELECT COUNT(*) FROM integrations i 
+        WHERE i.tenant_id = :tenantId 
+        AND (
+            i.tags IS NOT NULL 
+            AND (
+                i.tags LIKE CONCAT('%"', :tag1, '"%')
+                OR (:tag2 IS NOT NULL AND i.tags LIKE CONCAT('%"', :tag2, '"%'))
+                OR (:tag3 IS NOT NULL AND i.tags LIKE CONCAT('%"', :tag3, '"%'))
+                OR (:tag4 IS NOT NULL AND i.tags LIKE CONCAT('%"', :tag4, '"%'))
+                OR (:tag5 IS NOT NULL AND i.tags LIKE CONCAT('%"', :tag5, '"%'))
+            )
+        )
+        """,
+        nativeQuery = true)
+    Page<String> findIdsByTenantIdAndTagsIn(
+        @Param("tenantId") String tenantId,
+        @Param("tag1") String tag1,
+        @Param("tag2") String tag2,
+        @Param("tag3") String tag3,
+        @Param("tag4") String tag4,
+        @Param("tag5") String tag5,
+        Pageable pageable
+    );
 
     
     Page<Integration> findByTenantId(String tenantId, Pageable pageable);
@@ -73,6 +149,11 @@ public interface IntegrationRepository extends JpaRepository<Integration, String
     
     Optional<Integration> findByIdAndTenantId(String id, String tenantId);
     
+    List<Integration> findByTenantIdAndIdIn(String tenantId, Collection<String> ids);
+    
+    @Query("SELECT i.id FROM Integration i WHERE i.tenantId = :tenantId AND i.id IN :ids")
+    List<String> findIdsByTenantIdAndIdIn(@Param("tenantId") String tenantId, @Param("ids") Collection<String> ids);
+    
     
     List<Integration> findByTenantId(String tenantId);
     
@@ -95,6 +176,14 @@ public interface IntegrationRepository extends JpaRepository<Integration, String
     @Query("SELECT i FROM Integration i WHERE i.tenantId = :tenantId AND i.status = 'ACTIVE'")
     List<Integration> findActiveByTenantId(@Param("tenantId") String tenantId);
     
+    @Query("SELECT i FROM Integration i WHERE i.tenantId = :tenantId AND i.status = :status " +
+           "AND (:name IS NULL OR LOWER(i.name) LIKE LOWER(CONCAT('%', :name, '%'))) ORDER BY i.name")
+    List<Integration> findExecutionCandidates(
+        @Param("tenantId") String tenantId,
+        @Param("status") Integration.IntegrationStatus status,
+        @Param("name") String name
+    );
+    
    
     
     long countByTenantId(String tenantId);
@@ -120,6 +209,65 @@ public interface IntegrationRepository extends JpaRepository<Integration, String
     
 
     
+    @Transactional
+    @Modifying
+    @Query("UPDATE Integration i SET i.executionCount = COALESCE(i.executionCount, 0) + 1, " +
+           "i.lastExecution = :now, i.status = com.totvs.integration.entity.Integration$IntegrationStatus.RUNNING, " +
+           "i.updatedAt = :now WHERE i.id = :id")
+    int markExecutionStarted(@Param("id") String id, @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE Integration i SET i.successCount = COALESCE(i.successCount, 0) + 1, i.lastError = NULL, " +
+           "i.status = com.totvs.integration.entity.Integration$IntegrationStatus.ACTIVE, " +
+           "i.updatedAt = :now WHERE i.id = :id")
+    int recordExecutionSuccess(@Param("id") String id, @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE Integration i SET i.errorCount = COALESCE(i.errorCount, 0) + 1, i.lastError = :error, " +
+           "i.status = com.totvs.integration.entity.Integration$IntegrationStatus.ERROR, " +
+           "i.updatedAt = :now WHERE i.id = :id")
+    int recordExecutionFailure(@Param("id") String id, @Param("error") String error, @Param("now") LocalDateTime now);
+    
+    /**
+     * Falha antes de {@link #markExecutionStarted} (ex.: fila do executor cheia): conta a
+     * execução e o erro no mesmo UPDATE.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Integration i SET i.executionCount = COALESCE(i.executionCount, 0) + 1, " +
+           "i.errorCount = COALESCE(i.errorCount, 0) + 1, i.lastExecution = :now, i.lastError = :error, " +
+           "i.status = com.totvs.integration.entity.Integration$IntegrationStatus.ERROR, " +
+           "i.updatedAt = :now WHERE i.id = :id")
+    int recordExecutionNotStarted(@Param("id") String id, @Param("error") String error, @Param("now") LocalDateTime now);
+    
+    
+    /**
+     * Lê a integração com lock de escrita na linha, para atualizar {@code configuration}
+     * sem perder alterações concorrentes (read-modify-write dentro da transação do chamador).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Integration i WHERE i.id = :id")
+    Optional<Integration> findByIdForUpdate(@Param("id") String id);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE Integration i SET i.status = :status, i.updatedAt = :now " +
+           "WHERE i.tenantId = :tenantId AND i.id IN :ids")
+    int updateStatusByTenantIdAndIdIn(
+        @Param("tenantId") String tenantId,
+        @Param("ids") Collection<String> ids,
+        @Param("status") Integration.IntegrationStatus status,
+        @Param("now") LocalDateTime now
+    );
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE Integration i SET i.lastError = NULL WHERE i.tenantId = :tenantId AND i.id IN :ids")
+    int clearLastErrorByTenantIdAndIdIn(@Param("tenantId") String tenantId, @Param("ids") Collection<String> ids);
+    
+    
     @Query("SELECT i FROM Integration i WHERE i.tenantId = :tenantId AND i.errorCount > 0 ORDER BY i.lastExecution DESC")
     List<Integration> findWithRecentErrors(@Param("tenantId") String tenantId);
     
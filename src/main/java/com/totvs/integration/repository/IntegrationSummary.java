@@ -0,0 +1,37 @@
+package com.totvs.integration.repository;
+
+import com.totvs.integration.entity.Integration;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Projeção enxuta de {@link Integration} para listagens: só colunas escalares e
+ * {@code tags}, sem desserializar conectores, transformação, agenda e configuração.
+ */
+public interface IntegrationSummary {
+
+    String getId();
+
+    String getTenantId();
+
+    String getName();
+
+    Integration.IntegrationStatus getStatus();
+
+    Integer getExecutionCount();
+
+    Integer getSuccessCount();
+
+    Integer getErrorCount();
+
+    LocalDateTime getLastExecution();
+
+    LocalDateTime getNextExecution();
+
+    List<String> getTags();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
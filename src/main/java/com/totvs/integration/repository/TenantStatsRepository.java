@@ -1,9 +1,16 @@
 package com.totvs.integration.repository;
 
 import com.totvs.integration.entity.TenantStats;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +18,16 @@ public interface TenantStatsRepository extends JpaRepository<TenantStats, String
     
     Optional<TenantStats> findByTenantId(String tenantId);
     boolean existsByTenantId(String tenantId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<TenantStats> findByTenantIdIn(Collection<String> tenantIds);
+
+    /**
+     * Cria a linha do tenant se ainda não existe; se outro nó criou antes, não faz nada
+     * (a unicidade de {@code tenant_id} resolve a corrida).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO tenant_stats (id, tenant_id) VALUES (:id, :tenantId) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("id") String id, @Param("tenantId") String tenantId);
 }
\ No newline at end of file
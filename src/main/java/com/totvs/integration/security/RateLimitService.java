@@ -1,6 +1,8 @@
 
 package com.totvs.integration.security;
 
+import com.totvs.integration.metrics.IntegrationMetrics;
+import com.totvs.integration.profiling.RateLimitDecisionEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -15,9 +17,11 @@ import java.util.concurrent.TimeUnit;
 public class RateLimitService {
     
     private final RedisTemplate<String, Object> redisTemplate;
+    private final IntegrationMetrics metrics;
     
     public boolean isAllowed(String tenantId, int maxRequestsPerMinute) {
         String key = "rate_limit:" + tenantId + ":" + getCurrentMinute();
+        RateLimitDecisionEvent event = RateLimitDecisionEvent.start(tenantId, maxRequestsPerMinute);
         
         try {
             Long currentCount = redisTemplate.opsForValue().increment(key);
@@ -30,14 +34,17 @@ public class RateLimitService {
             boolean allowed = currentCount <= maxRequestsPerMinute;
             
             if (!allowed) {
+                metrics.rateLimitRejected(tenantId);
                 log.warn("Rate limit exceeded for tenant: {}. Current: {}, Max: {}", 
                         tenantId, currentCount, maxRequestsPerMinute);
             }
             
+            event.finish(allowed, currentCount, false);
             return allowed;
         } catch (Exception e) {
             log.error("Error checking rate limit for tenant: {}", tenantId, e);
             
+            event.finish(true, 0, true);
             return true;
         }
     }
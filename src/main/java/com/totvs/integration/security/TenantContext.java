@@ -5,12 +5,14 @@ import lombok.Data;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
+
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class TenantContext {
+public class TenantContext implements Serializable {
     
     private String tenantId;
     private String apiKey;
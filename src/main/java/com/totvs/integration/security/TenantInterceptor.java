@@ -1,10 +1,13 @@
 
 package com.totvs.integration.security;
 
+import com.totvs.integration.metering.TenantUsageMeter;
+import com.totvs.integration.profiling.TenantRequestEvent;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
@@ -29,6 +32,9 @@ public class TenantInterceptor implements HandlerInterceptor {
     @Value("${app.security.api-key.header-name:X-API-Key}")
     private String apiKeyHeaderName;
 
+    @Autowired
+    private TenantUsageMeter usageMeter;
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
         try {
@@ -48,6 +54,8 @@ public class TenantInterceptor implements HandlerInterceptor {
 
            
             TenantContext.setCurrentTenant(tenantId);
+            usageMeter.recordApiCall(tenantId);
+            request.setAttribute(TenantRequestEvent.TENANT_ATTRIBUTE, tenantId);
             logger.debug("Tenant definido para request: {}", tenantId);
             
             return true;
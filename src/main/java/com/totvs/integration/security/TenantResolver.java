@@ -20,7 +20,7 @@ public class TenantResolver {
     @Value("${app.multi-tenant.default-tenant:default}")
     private String defaultTenantId;
     
-    @Cacheable(value = "tenants", key = "#tenantId")
+    @Cacheable(value = "tenants", key = "#tenantId", sync = true)
     public Optional<TenantContext> resolveTenantById(String tenantId) {
         if (tenantId == null || tenantId.trim().isEmpty()) {
             tenantId = defaultTenantId;
@@ -37,7 +37,7 @@ public class TenantResolver {
                 .map(this::toTenantContext);
     }
     
-    @Cacheable(value = "tenants", key = "#apiKey")
+    @Cacheable(value = "tenants", key = "#apiKey", sync = true)
     public Optional<TenantContext> resolveTenantByApiKey(String apiKey) {
         if (apiKey == null || apiKey.trim().isEmpty()) {
             return Optional.empty();
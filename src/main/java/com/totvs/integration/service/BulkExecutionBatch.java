@@ -0,0 +1,156 @@
+package com.totvs.integration.service;
+
+import com.totvs.integration.dto.response.BulkExecutionResponse;
+import com.totvs.integration.entity.Integration;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Estado de uma execução em lote: a fila de integrações pendentes e o progresso de cada item.
+ * Os workers retiram itens com {@link #claim(Predicate)}, que pula integrações cujo sistema de
+ * destino está no limite de concorrência.
+ */
+final class BulkExecutionBatch {
+
+    enum ItemStatus { QUEUED, RUNNING, SUCCESS, FAILED }
+
+    private final String id;
+    private final String tenantId;
+    private final int maxParallelism;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final List<Item> items;
+    private final Deque<Item> pending;
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger succeeded = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger finished = new AtomicInteger();
+    private volatile LocalDateTime completedAt;
+
+    BulkExecutionBatch(String id, String tenantId, int maxParallelism, List<Item> items) {
+        this.id = id;
+        this.tenantId = tenantId;
+        this.maxParallelism = maxParallelism;
+        this.items = List.copyOf(items);
+        this.pending = new ArrayDeque<>(items);
+        if (items.isEmpty()) {
+            completedAt = createdAt;
+        }
+    }
+
+    String getId() {
+        return id;
+    }
+
+    String getTenantId() {
+        return tenantId;
+    }
+
+    int size() {
+        return items.size();
+    }
+
+    boolean isCompleted() {
+        return completedAt != null;
+    }
+
+    LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    /**
+     * Primeiro item pendente cujo destino é aceito por {@code tryAcquireTarget}; {@code null}
+     * se todos os pendentes estão bloqueados pelo limite do destino.
+     */
+    synchronized Item claim(Predicate<String> tryAcquireTarget) {
+        Iterator<Item> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            Item item = iterator.next();
+            if (tryAcquireTarget.test(item.targetSystem)) {
+                iterator.remove();
+                item.status = ItemStatus.RUNNING;
+                item.startedAt = LocalDateTime.now();
+                running.incrementAndGet();
+                return item;
+            }
+        }
+        return null;
+    }
+
+    synchronized boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    void finish(Item item, boolean success, String executionId, String errorMessage) {
+        item.executionId = executionId;
+        item.errorMessage = errorMessage;
+        item.finishedAt = LocalDateTime.now();
+        item.status = success ? ItemStatus.SUCCESS : ItemStatus.FAILED;
+        (success ? succeeded : failed).incrementAndGet();
+        running.decrementAndGet();
+        if (finished.incrementAndGet() == items.size()) {
+            completedAt = LocalDateTime.now();
+        }
+    }
+
+    BulkExecutionResponse toResponse() {
+        int runningNow = running.get();
+        int succeededNow = succeeded.get();
+        int failedNow = failed.get();
+        return BulkExecutionResponse.builder()
+                .batchId(id)
+                .status(isCompleted() ? "COMPLETED" : "RUNNING")
+                .total(items.size())
+                .queued(Math.max(0, items.size() - runningNow - succeededNow - failedNow))
+                .running(runningNow)
+                .succeeded(succeededNow)
+                .failed(failedNow)
+                .maxParallelism(maxParallelism)
+                .createdAt(createdAt)
+                .completedAt(completedAt)
+                .items(items.stream().map(Item::toResponse).toList())
+                .build();
+    }
+
+    static final class Item {
+
+        private final Integration integration;
+        private final String targetSystem;
+        private volatile ItemStatus status = ItemStatus.QUEUED;
+        private volatile String executionId;
+        private volatile String errorMessage;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        Item(Integration integration, String targetSystem) {
+            this.integration = integration;
+            this.targetSystem = targetSystem;
+        }
+
+        Integration getIntegration() {
+            return integration;
+        }
+
+        String getTargetSystem() {
+            return targetSystem;
+        }
+
+        private BulkExecutionResponse.Item toResponse() {
+            return BulkExecutionResponse.Item.builder()
+                    .integrationId(integration.getId())
+                    .integrationName(integration.getName())
+                    .targetSystem(targetSystem)
+                    .status(status.name())
+                    .executionId(executionId)
+                    .errorMessage(errorMessage)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
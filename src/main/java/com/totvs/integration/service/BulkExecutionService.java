@@ -0,0 +1,216 @@
+package com.totvs.integration.service;
+
+import com.totvs.integration.dto.request.BulkExecuteRequest;
+import com.totvs.integration.dto.response.BulkExecutionResponse;
+import com.totvs.integration.entity.ExecutionLog;
+import com.totvs.integration.entity.Integration;
+import com.totvs.integration.exception.BulkExecutionNotFoundException;
+import com.totvs.integration.metering.DataQuotaService;
+import com.totvs.integration.metrics.IntegrationMetrics;
+import com.totvs.integration.repository.IntegrationRepository;
+import com.totvs.integration.security.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Execução em lote de integrações selecionadas por filtro ({@code POST /v1/integrations/execute}).
+ * <p>
+ * As execuções rodam num pool próprio de {@code app.integrations.bulk-execution.max-parallelism}
+ * threads, compartilhado por todos os lotes. Cada sistema de destino (tipo do conector de destino)
+ * tem um limite de execuções simultâneas ({@code target-limits}, ou {@code default-target-limit}),
+ * válido entre lotes: um worker pula integrações cujo destino está no limite e pega a próxima.
+ * O progresso fica em memória por {@code retention} após o término.
+ */
+@Slf4j
+@Service
+public class BulkExecutionService {
+
+    @Autowired
+    private IntegrationRepository integrationRepository;
+
+    @Autowired
+    private IntegrationExecutorService executorService;
+
+    @Autowired
+    private DataQuotaService dataQuotaService;
+
+    @Autowired
+    private IntegrationMetrics metrics;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${app.integrations.bulk-execution.max-parallelism:4}")
+    private int maxParallelism;
+
+    @Value("${app.integrations.bulk-execution.default-target-limit:2}")
+    private int defaultTargetLimit;
+
+    @Value("${app.integrations.bulk-execution.retention:PT1H}")
+    private Duration retention;
+
+    @Value("${app.integrations.bulk-execution.target-poll-ms:100}")
+    private long targetPollMs;
+
+    private final Map<String, BulkExecutionBatch> batches = new ConcurrentHashMap<>();
+    private final Map<String, Semaphore> targetPermits = new ConcurrentHashMap<>();
+    private final Map<String, Integer> targetLimits = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor pool;
+
+    @PostConstruct
+    void start() {
+        maxParallelism = Math.max(1, maxParallelism);
+        Binder.get(environment)
+                .bind("app.integrations.bulk-execution.target-limits", Bindable.mapOf(String.class, Integer.class))
+                .orElse(Map.of())
+                .forEach((target, limit) -> targetLimits.put(target.toUpperCase(Locale.ROOT), limit));
+        AtomicInteger counter = new AtomicInteger();
+        pool = new ThreadPoolExecutor(maxParallelism, maxParallelism, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "bulk-execution-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdownNow();
+    }
+
+    public BulkExecutionResponse execute(BulkExecuteRequest request) {
+        String tenantId = TenantContext.getCurrentTenantId();
+        purgeExpired();
+
+        dataQuotaService.checkQuota(tenantId);
+
+        List<BulkExecutionBatch.Item> items = resolve(tenantId, request).stream()
+                .map(integration -> new BulkExecutionBatch.Item(integration, targetSystem(integration)))
+                .toList();
+        int parallelism = Math.min(maxParallelism, request.getMaxParallelism() != null ? request.getMaxParallelism() : maxParallelism);
+        BulkExecutionBatch batch = new BulkExecutionBatch(UUID.randomUUID().toString(), tenantId, parallelism, items);
+        batches.put(batch.getId(), batch);
+
+        int workers = Math.min(parallelism, batch.size());
+        for (int i = 0; i < workers; i++) {
+            pool.execute(() -> drain(batch));
+        }
+
+        log.info("Bulk execution {} for tenant '{}': {} integrations, parallelism {}",
+                batch.getId(), tenantId, batch.size(), workers);
+
+        return batch.toResponse();
+    }
+
+    public BulkExecutionResponse getProgress(String batchId) {
+        BulkExecutionBatch batch = batches.get(batchId);
+        if (batch == null || !batch.getTenantId().equals(TenantContext.getCurrentTenantId())) {
+            throw new BulkExecutionNotFoundException(batchId);
+        }
+        return batch.toResponse();
+    }
+
+    private List<Integration> resolve(String tenantId, BulkExecuteRequest request) {
+        Integration.IntegrationStatus status = StringUtils.hasText(request.getStatus())
+                ? Integration.IntegrationStatus.valueOf(request.getStatus().toUpperCase())
+                : Integration.IntegrationStatus.ACTIVE;
+        String name = StringUtils.hasText(request.getName()) ? request.getName() : null;
+
+        List<Integration> candidates = integrationRepository.findExecutionCandidates(tenantId, status, name);
+        if (request.getTags() == null || request.getTags().isEmpty()) {
+            return candidates;
+        }
+        return candidates.stream()
+                .filter(integration -> request.getTags().stream().anyMatch(integration::hasTag))
+                .toList();
+    }
+
+    private void drain(BulkExecutionBatch batch) {
+        TenantContext.setCurrentTenant(TenantContext.builder().tenantId(batch.getTenantId()).build());
+        try {
+            BulkExecutionBatch.Item item;
+            while ((item = next(batch)) != null) {
+                try {
+                    run(batch, item);
+                } finally {
+                    permits(item.getTargetSystem()).release();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Bulk execution {} interrupted", batch.getId());
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    /**
+     * Próximo item do lote com vaga no destino; espera enquanto todos os pendentes estão
+     * bloqueados pelo limite do destino e devolve {@code null} quando a fila acaba.
+     */
+    private BulkExecutionBatch.Item next(BulkExecutionBatch batch) throws InterruptedException {
+        while (batch.hasPending()) {
+            BulkExecutionBatch.Item item = batch.claim(target -> permits(target).tryAcquire());
+            if (item != null) {
+                return item;
+            }
+            Thread.sleep(targetPollMs);
+        }
+        return null;
+    }
+
+    private void run(BulkExecutionBatch batch, BulkExecutionBatch.Item item) {
+        Integration integration = item.getIntegration();
+        try {
+            dataQuotaService.checkQuota(batch.getTenantId());
+            metrics.executionQueued();
+            ExecutionLog executionLog = executorService.executeIntegrationAsync(integration).join();
+            batch.finish(item, executionLog.getStatus() == ExecutionLog.ExecutionStatus.SUCCESS,
+                    executionLog.getExecutionId(), executionLog.getErrorMessage());
+        } catch (Exception e) {
+            log.warn("Bulk execution {}: integration '{}' failed to run: {}", batch.getId(), integration.getId(), e.getMessage());
+            if (e instanceof TaskRejectedException) {
+                metrics.executionRejected();
+            }
+            batch.finish(item, false, null, e.getMessage());
+        }
+    }
+
+    private Semaphore permits(String targetSystem) {
+        return targetPermits.computeIfAbsent(targetSystem,
+                target -> new Semaphore(Math.max(1, targetLimits.getOrDefault(target, defaultTargetLimit))));
+    }
+
+    private static String targetSystem(Integration integration) {
+        return integration.getTargetConnector() != null && integration.getTargetConnector().getType() != null
+                ? integration.getTargetConnector().getType().toUpperCase(Locale.ROOT)
+                : "UNKNOWN";
+    }
+
+    private void purgeExpired() {
+        LocalDateTime threshold = LocalDateTime.now().minus(retention);
+        batches.values().removeIf(batch -> batch.isCompleted() && batch.getCompletedAt().isBefore(threshold));
+    }
+}
@@ -2,8 +2,11 @@ package com.totvs.integration.service;
 
 import com.totvs.integration.connector.ConnectorFactory;
 import com.totvs.integration.connector.ConnectorHandler;
+import com.totvs.integration.dto.connector.ConnectorMetricsDto;
 import com.totvs.integration.dto.request.TestConnectorRequest;
 import com.totvs.integration.dto.response.ConnectorTestResponse;
+import com.totvs.integration.metrics.ConnectorMetricsCollector;
+import com.totvs.integration.security.TenantContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -15,6 +18,9 @@ public class ConnectorService {
     @Autowired
     private ConnectorFactory connectorFactory;
 
+    @Autowired
+    private ConnectorMetricsCollector connectorMetricsCollector;
+
     
     public List<String> getAvailableConnectorTypes() {
         try {
@@ -129,6 +135,11 @@ public class ConnectorService {
     }
 
     
+    public List<ConnectorMetricsDto> getConnectorMetrics(String type) {
+        return connectorMetricsCollector.getMetrics(TenantContext.getCurrentTenantId(), type);
+    }
+
+    
     public ConnectorTestResponse testConnector(TestConnectorRequest request) {
         return testConnector(request.getType(), request.getConfig());
     }
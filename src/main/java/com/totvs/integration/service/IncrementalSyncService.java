@@ -0,0 +1,139 @@
+package com.totvs.integration.service;
+
+import com.totvs.integration.cache.IntegrationPageKeyGenerator;
+import com.totvs.integration.connector.Watermark;
+import com.totvs.integration.entity.Integration;
+import com.totvs.integration.repository.IntegrationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sincronização incremental configurada em {@code configuration.incremental}:
+ * <pre>
+ * "incremental": { "enabled": true, "field": "updated_at", "param": "since", "watermark": "2024-05-01T10:00" }
+ * </pre>
+ * {@code field} é a coluna (banco) ou campo (REST) crescente; {@code param} é o parâmetro de URL
+ * do REST (padrão {@code since}). {@code watermark} é mantido pela plataforma: o maior valor de
+ * {@code field} já gravado no destino. Removê-lo força uma nova carga completa.
+ */
+@Service
+public class IncrementalSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalSyncService.class);
+
+    public static final String CONFIGURATION_KEY = "incremental";
+
+    private static final String DEFAULT_QUERY_PARAM = "since";
+
+    @Autowired
+    private IntegrationRepository integrationRepository;
+
+    @Autowired
+    private IntegrationPageKeyGenerator integrationPageKeyGenerator;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Marca d'água da próxima leitura, ou {@code null} se a integração não é incremental.
+     */
+    public Watermark resolve(Integration integration) {
+        Map<?, ?> settings = settings(integration.getConfiguration());
+        if (settings == null) {
+            return null;
+        }
+        Object param = settings.get("param");
+        return new Watermark(String.valueOf(settings.get("field")), settings.get("watermark"),
+                param != null ? param.toString() : DEFAULT_QUERY_PARAM);
+    }
+
+    /**
+     * Persiste a nova marca d'água ao fim de um lote gravado com sucesso. A linha é relida com
+     * lock, então alterações concorrentes de {@code configuration} são preservadas, e a marca
+     * nunca retrocede (execuções sobrepostas da mesma integração).
+     * <p>
+     * Roda na sua própria transação ({@code REQUIRES_NEW}): dentro da transação da requisição o
+     * lock seria mantido até o fim da execução, e a releitura devolveria a instância já
+     * gerenciada pelo contexto de persistência, com a {@code configuration} antiga. Os caches de
+     * detalhe e de páginas são invalidados depois do commit.
+     * <p>
+     * A execução chama a cada lote, com a maior marca cujos registros já estão todos no destino
+     * ({@link Watermark#committable}): uma falha no meio da carga relê só o que faltou.
+     *
+     * @return {@code true} se a marca avançou
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean commit(String integrationId, Object watermark) {
+        if (integrationId == null || watermark == null) {
+            return false;
+        }
+        Integration integration = integrationRepository.findByIdForUpdate(integrationId).orElse(null);
+        if (integration == null) {
+            return false;
+        }
+        Map<?, ?> settings = settings(integration.getConfiguration());
+        if (settings == null) {
+            return false;
+        }
+        Object current = settings.get("watermark");
+        if (current != null && Watermark.compare(watermark, current) <= 0) {
+            return false;
+        }
+
+        Map<String, Object> incremental = new LinkedHashMap<>();
+        settings.forEach((key, value) -> incremental.put(String.valueOf(key), value));
+        incremental.put("watermark", watermark);
+        incremental.put("watermarkUpdatedAt", LocalDateTime.now().toString());
+        Map<String, Object> configuration = new HashMap<>(integration.getConfiguration());
+        configuration.put(CONFIGURATION_KEY, incremental);
+        integration.setConfiguration(configuration);
+        integrationRepository.save(integration);
+
+        String tenantId = integration.getTenantId();
+        String detailKey = integration.getId() + "_" + tenantId;
+        afterCommit(() -> {
+            integrationPageKeyGenerator.invalidateTenant(tenantId);
+            Cache details = cacheManager.getCache("integrations");
+            if (details != null) {
+                details.evict(detailKey);
+            }
+        });
+        logger.info("Marca d'água da integração {} avançou de {} para {}", integrationId, current, watermark);
+        return true;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static Map<?, ?> settings(Map<String, Object> configuration) {
+        Object settings = configuration != null ? configuration.get(CONFIGURATION_KEY) : null;
+        if (settings instanceof Map<?, ?> map && !Boolean.FALSE.equals(map.get("enabled"))
+                && map.get("field") instanceof String field && !field.isBlank()) {
+            return map;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,290 @@
+package com.totvs.integration.service;
+
+import com.totvs.integration.cache.IntegrationPageKeyGenerator;
+import com.totvs.integration.dto.request.BulkUpdateIntegrationRequest;
+import com.totvs.integration.dto.request.CreateIntegrationRequest;
+import com.totvs.integration.dto.response.BulkOperationResponse;
+import com.totvs.integration.dto.response.BulkOperationResponse.ItemResult;
+import com.totvs.integration.dto.response.BulkOperationResponse.Outcome;
+import com.totvs.integration.entity.Integration;
+import com.totvs.integration.repository.IntegrationRepository;
+import com.totvs.integration.security.TenantContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Operações em lote sobre integrações ({@code /v1/integrations/bulk}), cada lote em uma
+ * única transação.
+ * <p>
+ * Criação e atualização usam batching JDBC: o id ({@code GenerationType.UUID}) é gerado
+ * em memória no {@code persist}, sem ida ao banco, e o contexto de persistência é
+ * descarregado e limpo a cada {@code app.integrations.bulk.batch-size} itens. Mudança de
+ * status e remoção são um {@code SELECT} dos ids do tenant e um único {@code UPDATE}/
+ * {@code DELETE ... WHERE id IN}. Itens inválidos ou inexistentes não interrompem o lote.
+ */
+@Slf4j
+@Service
+@Transactional
+public class IntegrationBulkService {
+
+    @Autowired
+    private IntegrationRepository integrationRepository;
+
+    @Autowired
+    private IntegrationServiceHelper integrationServiceHelper;
+
+    @Autowired
+    private IntegrationPageKeyGenerator integrationPageKeyGenerator;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.integrations.bulk.batch-size:100}")
+    private int batchSize;
+
+    public BulkOperationResponse createIntegrations(List<CreateIntegrationRequest> items) {
+        long start = System.currentTimeMillis();
+        String tenantId = TenantContext.getCurrentTenantId();
+        useJdbcBatching();
+
+        List<ItemResult> results = new ArrayList<>(items.size());
+        int pending = 0;
+        for (int index = 0; index < items.size(); index++) {
+            CreateIntegrationRequest item = items.get(index);
+            String error = item == null ? "Item vazio" : validate(item);
+            if (error != null) {
+                results.add(result(index, null, Outcome.INVALID, error));
+                continue;
+            }
+
+            Integration integration = integrationServiceHelper.newIntegration(tenantId, item);
+            entityManager.persist(integration);
+            results.add(result(index, integration.getId(), Outcome.CREATED, null));
+
+            if (++pending % batchSize == 0) {
+                flushAndClear();
+            }
+        }
+        flushAndClear();
+        integrationPageKeyGenerator.invalidateTenant(tenantId);
+
+        return summarize("CREATE", tenantId, results, start);
+    }
+
+    public BulkOperationResponse updateIntegrations(List<BulkUpdateIntegrationRequest.Item> items) {
+        long start = System.currentTimeMillis();
+        String tenantId = TenantContext.getCurrentTenantId();
+        useJdbcBatching();
+
+        List<ItemResult> results = new ArrayList<>(items.size());
+        List<String> updated = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += batchSize) {
+            List<BulkUpdateIntegrationRequest.Item> chunk = items.subList(from, Math.min(items.size(), from + batchSize));
+
+            Set<String> ids = chunk.stream()
+                    .filter(item -> item != null && StringUtils.hasText(item.getId()))
+                    .map(BulkUpdateIntegrationRequest.Item::getId)
+                    .collect(Collectors.toSet());
+            Map<String, Integration> existing = ids.isEmpty() ? Map.of()
+                    : integrationRepository.findByTenantIdAndIdIn(tenantId, ids).stream()
+                            .collect(Collectors.toMap(Integration::getId, Function.identity()));
+
+            for (int offset = 0; offset < chunk.size(); offset++) {
+                int index = from + offset;
+                BulkUpdateIntegrationRequest.Item item = chunk.get(offset);
+                if (item == null || !StringUtils.hasText(item.getId())) {
+                    results.add(result(index, null, Outcome.INVALID, "id é obrigatório"));
+                    continue;
+                }
+                if (item.getChanges() == null) {
+                    results.add(result(index, item.getId(), Outcome.INVALID, "changes é obrigatório"));
+                    continue;
+                }
+                String error = validate(item.getChanges());
+                if (error != null) {
+                    results.add(result(index, item.getId(), Outcome.INVALID, error));
+                    continue;
+                }
+                Integration integration = existing.get(item.getId());
+                if (integration == null) {
+                    results.add(result(index, item.getId(), Outcome.NOT_FOUND, "Integração não encontrada"));
+                    continue;
+                }
+
+                integrationServiceHelper.applyUpdate(integration, item.getChanges());
+                results.add(result(index, item.getId(), Outcome.UPDATED, null));
+                updated.add(item.getId());
+            }
+            flushAndClear();
+        }
+        invalidate(tenantId, updated);
+
+        return summarize("UPDATE", tenantId, results, start);
+    }
+
+    public BulkOperationResponse changeStatus(List<String> ids, String status) {
+        long start = System.currentTimeMillis();
+        String tenantId = TenantContext.getCurrentTenantId();
+
+        Integration.IntegrationStatus newStatus;
+        try {
+            newStatus = Integration.IntegrationStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid status '{}' for bulk status change", status);
+            throw new IllegalArgumentException("Invalid status: " + status);
+        }
+
+        Set<String> existing = existingIds(tenantId, ids);
+        if (!existing.isEmpty()) {
+            integrationRepository.updateStatusByTenantIdAndIdIn(tenantId, existing, newStatus, LocalDateTime.now());
+            if (newStatus == Integration.IntegrationStatus.ACTIVE) {
+                integrationRepository.clearLastErrorByTenantIdAndIdIn(tenantId, existing);
+            }
+        }
+        invalidate(tenantId, existing);
+
+        return summarize("CHANGE_STATUS", tenantId, resultsFor(ids, existing, Outcome.STATUS_CHANGED), start);
+    }
+
+    public BulkOperationResponse deleteIntegrations(List<String> ids) {
+        long start = System.currentTimeMillis();
+        String tenantId = TenantContext.getCurrentTenantId();
+
+        Set<String> existing = existingIds(tenantId, ids);
+        if (!existing.isEmpty()) {
+            integrationRepository.deleteAllByIdInBatch(existing);
+        }
+        invalidate(tenantId, existing);
+
+        return summarize("DELETE", tenantId, resultsFor(ids, existing, Outcome.DELETED), start);
+    }
+
+    private Set<String> existingIds(String tenantId, List<String> ids) {
+        Set<String> requested = ids.stream()
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (requested.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(integrationRepository.findIdsByTenantIdAndIdIn(tenantId, requested));
+    }
+
+    private List<ItemResult> resultsFor(List<String> ids, Set<String> existing, Outcome success) {
+        List<ItemResult> results = new ArrayList<>(ids.size());
+        for (int index = 0; index < ids.size(); index++) {
+            String id = ids.get(index);
+            if (!StringUtils.hasText(id)) {
+                results.add(result(index, id, Outcome.INVALID, "id é obrigatório"));
+            } else if (existing.contains(id)) {
+                results.add(result(index, id, success, null));
+            } else {
+                results.add(result(index, id, Outcome.NOT_FOUND, "Integração não encontrada"));
+            }
+        }
+        return results;
+    }
+
+    private String validate(Object item) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void useJdbcBatching() {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Só depois do commit: antes dele, uma leitura concorrente ainda vê os dados antigos e os
+     * colocaria de volta no cache.
+     */
+    private void invalidate(String tenantId, Collection<String> ids) {
+        List<String> evicted = List.copyOf(ids);
+        afterCommit(() -> {
+            integrationPageKeyGenerator.invalidateTenant(tenantId);
+            Cache details = cacheManager.getCache("integrations");
+            if (details != null) {
+                evicted.forEach(id -> details.evict(id + "_" + tenantId));
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static ItemResult result(int index, String id, Outcome outcome, String error) {
+        return ItemResult.builder()
+                .index(index)
+                .id(id)
+                .outcome(outcome)
+                .error(error)
+                .build();
+    }
+
+    private BulkOperationResponse summarize(String operation, String tenantId, List<ItemResult> results, long start) {
+        int succeeded = (int) results.stream().filter(ItemResult::isSuccess).count();
+        long durationMs = System.currentTimeMillis() - start;
+
+        log.info("Bulk {} for tenant '{}': {} of {} items succeeded in {}ms",
+                operation, tenantId, succeeded, results.size(), durationMs);
+
+        return BulkOperationResponse.builder()
+                .operation(operation)
+                .total(results.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .durationMs(durationMs)
+                .results(results)
+                .build();
+    }
+}
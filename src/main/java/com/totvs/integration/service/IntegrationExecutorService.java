@@ -1,8 +1,32 @@
 package com.totvs.integration.service;
 
+import com.totvs.integration.config.AsyncConfig;
 import com.totvs.integration.connector.ConnectorFactory;
+import com.totvs.integration.connector.ConnectorHandler;
+import com.totvs.integration.connector.SourceAcknowledgement;
+import com.totvs.integration.connector.SourceSnapshot;
+import com.totvs.integration.connector.TargetSession;
+import com.totvs.integration.connector.Watermark;
+import com.totvs.integration.entity.ConnectorConfig;
 import com.totvs.integration.entity.ExecutionLog;
 import com.totvs.integration.entity.Integration;
+import com.totvs.integration.exception.ConnectorException;
+import com.totvs.integration.format.RecordReader;
+import com.totvs.integration.idempotency.IdempotencyService;
+import com.totvs.integration.idempotency.IdempotencyWindow;
+import com.totvs.integration.ingest.IngestBuffer;
+import com.totvs.integration.metering.DataQuotaService;
+import com.totvs.integration.metering.DataVolumeCounter;
+import com.totvs.integration.metering.ExecutionResourceUsage;
+import com.totvs.integration.metering.TenantUsageMeter;
+import com.totvs.integration.metrics.ConnectorMetricsCollector;
+import com.totvs.integration.metrics.IntegrationMetrics;
+import com.totvs.integration.profiling.ExecutionProfiler;
+import com.totvs.integration.profiling.PipelineBatchEvent;
+import com.totvs.integration.profiling.PipelineStageEvent;
+import com.totvs.integration.recovery.ExecutionCheckpoints;
+import com.totvs.integration.recovery.ExecutionTakenOverException;
+import com.totvs.integration.recovery.SourcePosition;
 import com.totvs.integration.repository.ExecutionLogRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,6 +34,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -19,46 +44,172 @@ public class IntegrationExecutorService {
 
     private static final Logger logger = LoggerFactory.getLogger(IntegrationExecutorService.class);
 
+    /** Origem registrada nas métricas quando os registros chegam pelo webhook. */
+    public static final String INBOUND_SOURCE = "WEBHOOK";
+
+    public static final String STREAM_SOURCE = "STREAM";
+
     @Autowired
     private ConnectorFactory connectorFactory;
 
     @Autowired
     private ExecutionLogRepository executionLogRepository;
 
+    @Autowired
+    private TenantUsageMeter usageMeter;
+
+    @Autowired
+    private DataQuotaService dataQuotaService;
+
+    @Autowired
+    private RecordTransformer recordTransformer;
+
+    @Autowired
+    private IntegrationMetrics metrics;
+
+    @Autowired
+    private ConnectorMetricsCollector connectorMetrics;
+
+    @Autowired
+    private ExecutionProfiler profiler;
+
+    @Autowired
+    private IntegrationStatisticsService statistics;
+
+    @Autowired
+    private IncrementalSyncService incrementalSync;
+
+    @Autowired
+    private IdempotencyService idempotency;
+
+    @Autowired
+    private ExecutionCheckpoints checkpoints;
+
    
-    @Async
+    @Async(AsyncConfig.EXECUTION_EXECUTOR)
     public CompletableFuture<ExecutionLog> executeIntegrationAsync(Integration integration) {
-        logger.info("Iniciando execução da integração: {}", integration.getName());
-        
+        return executeIntegrationAsync(integration, false);
+    }
+
+    /**
+     * Com {@code profile}, a execução roda sob uma gravação JFR e o resumo (caminho do
+     * {@code .jfr}) fica em {@code metadata.profiling} do log.
+     */
+    @Async(AsyncConfig.EXECUTION_EXECUTOR)
+    public CompletableFuture<ExecutionLog> executeIntegrationAsync(Integration integration, boolean profile) {
+        return executeIntegrationAsync(integration, profile, null);
+    }
+
+    /**
+     * Como {@link #executeIntegrationAsync(Integration, boolean)}, com o {@code executionId}
+     * escolhido por quem dispara: quem responde antes do fim da execução já devolve o
+     * identificador (e o arquivo {@code .jfr}) que o log da execução vai ter.
+     */
+    @Async(AsyncConfig.EXECUTION_EXECUTOR)
+    public CompletableFuture<ExecutionLog> executeIntegrationAsync(Integration integration, boolean profile, String executionId) {
+        return execute(integration, profile, executionId, null, (log, volume, resources) ->
+                executePipeline(integration, log, volume, resources, null));
+    }
+
+    /**
+     * Execução disparada por webhook com repasse do payload: {@code inboundRecords}
+     * substituem a leitura do conector de origem e seguem para transformação e destino.
+     */
+    @Async(AsyncConfig.EXECUTION_EXECUTOR)
+    public CompletableFuture<ExecutionLog> executeIntegrationAsync(Integration integration, List<Map<String, Object>> inboundRecords) {
+        return execute(integration, false, null, null, (log, volume, resources) ->
+                executePipeline(integration, log, volume, resources, inboundRecords));
+    }
+
+    /**
+     * Execução alimentada por um stream enviado pelo cliente: cada lote do {@code inbound} é
+     * transformado e gravado no destino assim que chega, sem esperar o fim do envio.
+     */
+    public CompletableFuture<ExecutionLog> executeIntegrationStream(Integration integration, IngestBuffer inbound) {
+        return execute(integration, false, null, null, (log, volume, resources) ->
+                executeStreamingPipeline(integration, log, volume, resources, inbound));
+    }
+
+    /**
+     * Retoma uma execução órfã já assumida por este nó a partir da posição da origem no último
+     * checkpoint ({@link SourcePosition}): a leitura incremental recomeça da marca d'água
+     * confirmada; a origem de ordem determinística é relida e os primeiros
+     * {@code checkpointOffset} registros, já gravados no destino, são pulados se o conteúdo é o
+     * mesmo. O log (e o {@code executionId}) continuam os mesmos.
+     */
+    public CompletableFuture<ExecutionLog> resumeExecution(Integration integration, ExecutionLog orphan) {
+        return execute(integration, false, null, orphan, (log, volume, resources) ->
+                executePipeline(integration, log, volume, resources, null));
+    }
+
+    @FunctionalInterface
+    private interface Pipeline {
+        void run(ExecutionLog log, DataVolumeCounter volume, ExecutionResourceUsage resources) throws Exception;
+    }
+
+    private CompletableFuture<ExecutionLog> execute(Integration integration, boolean profile, String executionId,
+                                                    ExecutionLog resumed, Pipeline pipeline) {
+        logger.info("{} execução da integração: {}", resumed != null ? "Retomando" : "Iniciando", integration.getName());
+        metrics.executionDequeued();
+        metrics.executionStarted(integration.getTenantId());
+        long startNanos = System.nanoTime();
         
-        ExecutionLog log = ExecutionLog.builder()
-                .integrationId(integration.getId())
-                .integrationName(integration.getName())
-                .status(ExecutionLog.ExecutionStatus.RUNNING)
-                .startTime(LocalDateTime.now())
-                .sourceConnectorType(integration.getSourceConnector() != null ? integration.getSourceConnector().getType() : null)
-                .targetConnectorType(integration.getTargetConnector() != null ? integration.getTargetConnector().getType() : null)
-                .executionId(UUID.randomUUID().toString())
-                .build();
+        ExecutionLog log;
+        if (resumed != null) {
+            log = resumed;
+            log.setResumeCount((log.getResumeCount() != null ? log.getResumeCount() : 0) + 1);
+            log.setNodeId(checkpoints.getNodeId());
+            log.setHeartbeatAt(LocalDateTime.now());
+        } else {
+            log = ExecutionLog.builder()
+                    .tenantId(integration.getTenantId())
+                    .integrationId(integration.getId())
+                    .integrationName(integration.getName())
+                    .status(ExecutionLog.ExecutionStatus.RUNNING)
+                    .startTime(LocalDateTime.now())
+                    .sourceConnectorType(integration.getSourceConnector() != null ? integration.getSourceConnector().getType() : null)
+                    .targetConnectorType(integration.getTargetConnector() != null ? integration.getTargetConnector().getType() : null)
+                    .executionId(executionId != null ? executionId : UUID.randomUUID().toString())
+                    .nodeId(checkpoints.getNodeId())
+                    .heartbeatAt(LocalDateTime.now())
+                    .build();
+        }
         
        
-        log = executionLogRepository.save(log);
+        log = checkpoints.saveLog(log);
+        if (resumed == null) {
+            statistics.executionStarted(integration);
+        }
+        checkpoints.register(log.getExecutionId());
         
-        try {
+        ExecutionProfiler.Session profiling = profile ? profiler.start(log.getExecutionId(), integration.getTenantId()) : null;
+        DataVolumeCounter volume = DataVolumeCounter.unlimited(integration.getTenantId());
+        ExecutionResourceUsage resources = new ExecutionResourceUsage();
+        try (ExecutionResourceUsage.Scope ignored = resources.enter()) {
             long startTime = System.currentTimeMillis();
             
-           
-            executeIntegrationSimple(integration, log);
+            volume = dataQuotaService.newCounter(integration.getTenantId());
+            pipeline.run(log, volume, resources);
             
             long executionTime = System.currentTimeMillis() - startTime;
             
             
             log.setStatus(ExecutionLog.ExecutionStatus.SUCCESS);
             log.setEndTime(LocalDateTime.now());
-            log.setDurationMs(executionTime);
-            log.setRecordsProcessed(1); 
-            log.setRecordsSuccess(1);
+            log.setDurationMs(resumed != null ? Duration.between(log.getStartTime(), log.getEndTime()).toMillis() : executionTime);
+            if (log.getRecordsProcessed() == null) {
+                log.setRecordsProcessed(1);
+                log.setRecordsSuccess(1);
+            }
             
+        } catch (ExecutionTakenOverException e) {
+            logger.warn("Integração {}: {}", integration.getName(), e.getMessage());
+            if (profiling != null) {
+                profiling.stop();
+            }
+            metrics.executionFinished(integration.getTenantId(), log.getSourceConnectorType(), log.getTargetConnectorType(),
+                    "taken_over", System.nanoTime() - startNanos, 0);
+            return CompletableFuture.completedFuture(log);
         } catch (Exception e) {
             logger.error("Erro durante execução da integração: {}", e.getMessage(), e);
             
@@ -67,14 +218,526 @@ public class IntegrationExecutorService {
             log.setEndTime(LocalDateTime.now());
             log.setErrorMessage(e.getMessage());
             log.setStackTrace(getStackTrace(e));
+        } finally {
+            checkpoints.unregister(log.getExecutionId());
+            volume.settle();
         }
         
-       
-        executionLogRepository.save(log);
+        log.setCpuTimeMs(resources.getCpuTimeMs());
+        log.setAllocatedBytes(resources.getAllocatedBytes());
+        if (profiling != null) {
+            Map<String, Object> metadata = log.getMetadata() != null ? new HashMap<>(log.getMetadata()) : new HashMap<>();
+            metadata.put(ExecutionProfiler.METADATA_KEY, profiling.stop());
+            log.setMetadata(metadata);
+        }
+        log = checkpoints.saveLog(log);
+        if (log.getStatus() == ExecutionLog.ExecutionStatus.SUCCESS) {
+            statistics.executionSucceeded(integration);
+        } else {
+            statistics.executionFailed(integration, log.getErrorMessage());
+        }
+        recordUsage(integration, log);
+        metrics.executionFinished(integration.getTenantId(), log.getSourceConnectorType(), log.getTargetConnectorType(),
+                log.getStatus().name().toLowerCase(), System.nanoTime() - startNanos,
+                log.getRecordsProcessed() != null ? log.getRecordsProcessed() : 0);
         
         return CompletableFuture.completedFuture(log);
     }
 
+    private void executePipeline(Integration integration, ExecutionLog log, DataVolumeCounter volume,
+                                 ExecutionResourceUsage resources, List<Map<String, Object>> inboundRecords) throws Exception {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(DataVolumeCounter.PARAMETER, volume);
+        parameters.put(ExecutionResourceUsage.PARAMETER, resources);
+        try {
+            executePipeline(integration, log, volume, parameters, inboundRecords);
+        } finally {
+            SourceAcknowledgement acknowledgement = SourceAcknowledgement.from(parameters);
+            try {
+                if (acknowledgement != null) {
+                    acknowledgement.close();
+                }
+            } finally {
+                closeTargetSession(parameters);
+            }
+        }
+    }
+
+    private void executePipeline(Integration integration, ExecutionLog log, DataVolumeCounter volume,
+                                 Map<String, Object> parameters, List<Map<String, Object>> inboundRecords) throws Exception {
+        ConnectorConfig sourceConfig = integration.getSourceConnector();
+        ConnectorConfig targetConfig = integration.getTargetConnector();
+        ConnectorHandler source = sourceConfig != null && sourceConfig.getType() != null ? connectorFactory.getConnector(sourceConfig.getType()) : null;
+        ConnectorHandler target = targetConfig != null && targetConfig.getType() != null ? connectorFactory.getConnector(targetConfig.getType()) : null;
+        
+        if (target == null || (source == null && inboundRecords == null)) {
+            executeIntegrationSimple(integration, log);
+            return;
+        }
+        
+        if (inboundRecords == null) {
+            RecordReader reader;
+            long openStart = System.nanoTime();
+            try {
+                reader = source.openReader(sourceConfig.getConfiguration(), parameters);
+            } catch (RuntimeException e) {
+                connectorMetrics.record(integration.getTenantId(), sourceConfig.getType(), System.nanoTime() - openStart, false);
+                throw e;
+            }
+            if (reader != null) {
+                executeReaderPipeline(integration, log, volume, parameters, target, reader);
+                return;
+            }
+        }
+        
+        boolean checkpointed = inboundRecords == null;
+        long consumed = checkpointed && log.getCheckpointOffset() != null ? log.getCheckpointOffset() : 0;
+        SourcePosition resumePosition = consumed > 0 ? ExecutionCheckpoints.sourcePosition(log) : null;
+        Watermark watermark = inboundRecords == null ? incrementalSync.resolve(integration) : null;
+        if (watermark != null) {
+            watermark = resumeWatermark(watermark, resumePosition);
+            parameters.put(Watermark.PARAMETER, watermark);
+        }
+        
+        if (checkpointed && log.getCheckpointOffset() == null) {
+            checkpoints.save(log, 0, -1, 0);
+        }
+        
+        String executionId = log.getExecutionId();
+        String sourceType = inboundRecords != null ? INBOUND_SOURCE : sourceConfig.getType();
+        List<Map<String, Object>> records;
+        long stageStart = System.nanoTime();
+        PipelineStageEvent stageEvent = PipelineStageEvent.start(executionId, integration.getId(), integration.getTenantId(),
+                IntegrationMetrics.STAGE_READ, sourceType);
+        PipelineBatchEvent batchEvent = PipelineBatchEvent.start(executionId, IntegrationMetrics.STAGE_READ, sourceType, 0);
+        if (inboundRecords != null) {
+            records = inboundRecords;
+        } else {
+            try {
+                records = source.readData(sourceConfig.getConfiguration(), parameters);
+            } catch (UnsupportedOperationException e) {
+                logger.debug("Conector {} não suporta leitura, usando execução simplificada", sourceConfig.getType());
+                executeIntegrationSimple(integration, log);
+                return;
+            } catch (RuntimeException e) {
+                connectorMetrics.record(integration.getTenantId(), sourceConfig.getType(), System.nanoTime() - stageStart, false);
+                throw e;
+            }
+            connectorMetrics.record(integration.getTenantId(), sourceConfig.getType(), System.nanoTime() - stageStart, true);
+        }
+        volume.addRecordsRead(records.size());
+        batchEvent.finish(records.size(), volume.getBytesRead());
+        stageEvent.finish(records.size(), volume.getBytesRead());
+        metrics.recordStage(IntegrationMetrics.STAGE_READ, sourceType, System.nanoTime() - stageStart, records.size());
+        
+        int resumeOffset = consumed > 0 ? (int) Math.min(resumeSkip(log, resumePosition, watermark, parameters), records.size()) : 0;
+        int previouslyWritten = consumed > 0 && log.getRecordsSuccess() != null ? log.getRecordsSuccess() : 0;
+        int batchIndex = checkpointed && log.getCheckpointBatch() != null ? log.getCheckpointBatch() + 1 : 0;
+        if (consumed > 0) {
+            logger.info("Execução {} retomada: {} registros já gravados no destino (lote {}), {}", executionId, consumed,
+                    log.getCheckpointBatch(), watermark != null ? "relidos a partir de " + watermark.field() + " > " + watermark.value()
+                            : resumeOffset + " de " + records.size() + " registros relidos pulados");
+            resumeTargetSession(log, parameters);
+        }
+        List<Map<String, Object>> pending = resumeOffset > 0 ? records.subList(resumeOffset, records.size()) : records;
+        Object[] committable = checkpointed && watermark != null ? watermark.committable(pending) : null;
+        Object confirmedWatermark = watermark != null ? watermark.value() : null;
+        boolean watermarkHeld = false;
+        SourceSnapshot snapshot = SourceSnapshot.from(parameters);
+        
+        stageStart = System.nanoTime();
+        stageEvent = PipelineStageEvent.start(executionId, integration.getId(), integration.getTenantId(),
+                IntegrationMetrics.STAGE_TRANSFORM, targetConfig.getType());
+        List<Map<String, Object>> transformed = recordTransformer.transform(integration.getTransformation(), pending);
+        stageEvent.finish(transformed.size(), 0);
+        metrics.recordStage(IntegrationMetrics.STAGE_TRANSFORM, targetConfig.getType(), System.nanoTime() - stageStart, transformed.size());
+        
+        stageStart = System.nanoTime();
+        stageEvent = PipelineStageEvent.start(executionId, integration.getId(), integration.getTenantId(),
+                IntegrationMetrics.STAGE_WRITE, targetConfig.getType());
+        int written = 0;
+        int batchSize = checkpoints.getBatchSize();
+        IdempotencyWindow idempotencyWindow = idempotency.open(integration);
+        for (int from = 0; from < transformed.size() || (from == 0 && transformed.isEmpty()); from += batchSize) {
+            List<Map<String, Object>> batch = transformed.subList(from, Math.min(from + batchSize, transformed.size()));
+            long batchStart = System.nanoTime();
+            batchEvent = PipelineBatchEvent.start(executionId, IntegrationMetrics.STAGE_WRITE, targetConfig.getType(), batchIndex);
+            IdempotencyWindow.Batch fresh = idempotencyWindow != null ? idempotencyWindow.filter(batch) : null;
+            List<Map<String, Object>> toWrite = fresh != null ? fresh.records() : batch;
+            if (fresh != null) {
+                parameters.put(IdempotencyService.KEY_PARAMETER, fresh.key());
+            }
+            int batchWritten;
+            try {
+                batchWritten = toWrite.isEmpty() && !batch.isEmpty() ? 0 : target.writeData(targetConfig.getConfiguration(), toWrite, parameters);
+            } catch (RuntimeException e) {
+                connectorMetrics.record(integration.getTenantId(), targetConfig.getType(), System.nanoTime() - batchStart, false);
+                throw e;
+            }
+            connectorMetrics.record(integration.getTenantId(), targetConfig.getType(), System.nanoTime() - batchStart, true);
+            volume.addRecordsWritten(batchWritten);
+            batchEvent.finish(batchWritten, volume.getBytesWritten());
+            written += batchWritten;
+            if (fresh != null && batchWritten >= toWrite.size()) {
+                idempotencyWindow.delivered(fresh);
+            }
+            if (checkpointed && !batch.isEmpty()) {
+                Object previousWatermark = confirmedWatermark;
+                if (committable != null && !watermarkHeld && batchWritten >= toWrite.size()) {
+                    confirmedWatermark = committable[from + batch.size()];
+                } else {
+                    watermarkHeld = true;
+                }
+                SourcePosition position = committable != null
+                        ? (confirmedWatermark != null ? SourcePosition.ofWatermark(watermark.field(), confirmedWatermark) : null)
+                        : (snapshot != null ? SourcePosition.ofSnapshot(snapshot.identity()) : null);
+                checkpoints.save(log, consumed + from + batch.size(), batchIndex, previouslyWritten + written,
+                        position, targetCheckpoint(parameters));
+                if (confirmedWatermark != null && !confirmedWatermark.equals(previousWatermark)) {
+                    incrementalSync.commit(integration.getId(), confirmedWatermark);
+                }
+            }
+            batchIndex++;
+        }
+        stageEvent.finish(written, volume.getBytesWritten());
+        metrics.recordStage(IntegrationMetrics.STAGE_WRITE, targetConfig.getType(), System.nanoTime() - stageStart, written);
+        
+        int duplicates = idempotencyWindow != null ? idempotencyWindow.getDuplicates() : 0;
+        boolean complete = written + duplicates >= transformed.size();
+        
+        SourceAcknowledgement acknowledgement = SourceAcknowledgement.from(parameters);
+        boolean acknowledged = false;
+        if (acknowledgement != null) {
+            if (complete) {
+                acknowledgement.acknowledge();
+                acknowledged = true;
+            } else {
+                logger.warn("Integração {}: {} de {} registros gravados, posição {} da origem não confirmada",
+                        integration.getName(), written, transformed.size(), acknowledgement.position());
+            }
+        }
+        
+        if (watermark != null && watermarkHeld) {
+            logger.warn("Integração {}: {} de {} registros gravados, marca d'água mantida em {}",
+                    integration.getName(), written, transformed.size(), confirmedWatermark);
+        }
+        
+        log.setRecordsProcessed(records.size());
+        log.setRecordsSuccess(previouslyWritten + written);
+        log.setRecordsSkipped(resumeOffset + duplicates > 0 ? resumeOffset + duplicates : null);
+        log.setRecordsFailed(Math.max(0, transformed.size() - written - duplicates));
+        log.setSourceStats(Map.of("records", volume.getRecordsRead(), "bytes", volume.getBytesRead()));
+        log.setTargetStats(Map.of("records", volume.getRecordsWritten(), "bytes", volume.getBytesWritten()));
+        
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("executionMode", "pipeline");
+        if (inboundRecords != null) {
+            metadata.put("source", INBOUND_SOURCE);
+        }
+        if (consumed > 0 || log.getResumeCount() != null) {
+            metadata.put("resumedFromOffset", consumed);
+            metadata.put("resumeCount", log.getResumeCount());
+        }
+        if (idempotencyWindow != null) {
+            metadata.put("duplicatesSkipped", duplicates);
+        }
+        if (acknowledgement != null) {
+            metadata.put("sourcePosition", acknowledgement.position());
+            metadata.put("sourceAcknowledged", acknowledged);
+        }
+        if (watermark != null) {
+            metadata.put("incremental", true);
+            metadata.put("watermarkFrom", watermark.value());
+            metadata.put("watermarkTo", confirmedWatermark);
+        }
+        metadata.put("integrationId", integration.getId());
+        metadata.put("timestamp", LocalDateTime.now().toString());
+        log.setMetadata(metadata);
+        
+        logger.info("Integração {} executada: {} registros lidos, {} gravados, {} bytes", 
+                integration.getName(), records.size(), written, volume.getTotalBytes());
+    }
+
+
+    /**
+     * Origem lida em stream ({@link ConnectorHandler#openReader}): lotes de
+     * {@code checkpoints.getBatchSize()} registros são lidos, transformados e gravados um de cada
+     * vez, então a memória não depende do tamanho da origem. O checkpoint conta registros da
+     * origem e guarda o snapshot do conteúdo ({@link SourceSnapshot}); na retomada os já gravados
+     * são lidos e descartados, se o snapshot relido for o mesmo.
+     */
+    private void executeReaderPipeline(Integration integration, ExecutionLog log, DataVolumeCounter volume,
+                                       Map<String, Object> parameters, ConnectorHandler target, RecordReader reader) throws Exception {
+        ConnectorConfig targetConfig = integration.getTargetConnector();
+        String sourceType = integration.getSourceConnector().getType();
+        String targetType = targetConfig.getType();
+        String executionId = log.getExecutionId();
+        if (log.getCheckpointOffset() == null) {
+            checkpoints.save(log, 0, -1, 0);
+        }
+        long resumeOffset = log.getCheckpointOffset() > 0
+                ? resumeSkip(log, ExecutionCheckpoints.sourcePosition(log), null, parameters) : 0;
+        if (resumeOffset > 0) {
+            resumeTargetSession(log, parameters);
+        }
+        SourceSnapshot snapshot = SourceSnapshot.from(parameters);
+        SourcePosition position = snapshot != null ? SourcePosition.ofSnapshot(snapshot.identity()) : null;
+        int previouslyWritten = resumeOffset > 0 && log.getRecordsSuccess() != null ? log.getRecordsSuccess() : 0;
+        int batchIndex = log.getCheckpointBatch() != null ? log.getCheckpointBatch() + 1 : 0;
+        int batchSize = checkpoints.getBatchSize();
+
+        long read = 0;
+        long transformedTotal = 0;
+        long written = 0;
+        long readNanos = 0;
+        int batches = 0;
+        IdempotencyWindow idempotencyWindow = idempotency.open(integration);
+        try (reader) {
+            long stageStart = System.nanoTime();
+            try {
+                while (read < resumeOffset && reader.next() != null) {
+                    read++;
+                }
+            } finally {
+                readNanos += System.nanoTime() - stageStart;
+            }
+            if (resumeOffset > 0) {
+                logger.info("Execução {} retomada: {} registros da origem já gravados no destino (lote {})",
+                        executionId, read, log.getCheckpointBatch());
+            }
+
+            while (true) {
+                stageStart = System.nanoTime();
+                PipelineBatchEvent batchEvent = PipelineBatchEvent.start(executionId, IntegrationMetrics.STAGE_READ, sourceType, batchIndex);
+                List<Map<String, Object>> records = new ArrayList<>(batchSize);
+                try {
+                    Map<String, Object> record;
+                    while (records.size() < batchSize && (record = reader.next()) != null) {
+                        records.add(record);
+                    }
+                } catch (Exception e) {
+                    connectorMetrics.record(integration.getTenantId(), sourceType, readNanos + System.nanoTime() - stageStart, false);
+                    throw e;
+                }
+                readNanos += System.nanoTime() - stageStart;
+                if (records.isEmpty()) {
+                    break;
+                }
+                read += records.size();
+                volume.addRecordsRead(records.size());
+                batchEvent.finish(records.size(), volume.getBytesRead());
+                metrics.recordStage(IntegrationMetrics.STAGE_READ, sourceType, System.nanoTime() - stageStart, records.size());
+
+                stageStart = System.nanoTime();
+                List<Map<String, Object>> transformed = recordTransformer.transform(integration.getTransformation(), records);
+                metrics.recordStage(IntegrationMetrics.STAGE_TRANSFORM, targetType, System.nanoTime() - stageStart, transformed.size());
+                transformedTotal += transformed.size();
+
+                stageStart = System.nanoTime();
+                batchEvent = PipelineBatchEvent.start(executionId, IntegrationMetrics.STAGE_WRITE, targetType, batchIndex);
+                IdempotencyWindow.Batch fresh = idempotencyWindow != null ? idempotencyWindow.filter(transformed) : null;
+                List<Map<String, Object>> toWrite = fresh != null ? fresh.records() : transformed;
+                if (fresh != null) {
+                    parameters.put(IdempotencyService.KEY_PARAMETER, fresh.key());
+                }
+                int batchWritten;
+                try {
+                    batchWritten = toWrite.isEmpty() ? 0 : target.writeData(targetConfig.getConfiguration(), toWrite, parameters);
+                } catch (RuntimeException e) {
+                    connectorMetrics.record(integration.getTenantId(), targetType, System.nanoTime() - stageStart, false);
+                    throw e;
+                }
+                connectorMetrics.record(integration.getTenantId(), targetType, System.nanoTime() - stageStart, true);
+                volume.addRecordsWritten(batchWritten);
+                batchEvent.finish(batchWritten, volume.getBytesWritten());
+                metrics.recordStage(IntegrationMetrics.STAGE_WRITE, targetType, System.nanoTime() - stageStart, batchWritten);
+                written += batchWritten;
+                if (fresh != null && batchWritten >= toWrite.size()) {
+                    idempotencyWindow.delivered(fresh);
+                }
+                checkpoints.save(log, read, batchIndex, (int) (previouslyWritten + written), position, targetCheckpoint(parameters));
+                batchIndex++;
+                batches++;
+            }
+        }
+        connectorMetrics.record(integration.getTenantId(), sourceType, readNanos, true);
+
+        long skipped = Math.min(read, resumeOffset);
+        int duplicates = idempotencyWindow != null ? idempotencyWindow.getDuplicates() : 0;
+        log.setRecordsProcessed((int) read);
+        log.setRecordsSuccess((int) (previouslyWritten + written));
+        log.setRecordsSkipped(skipped + duplicates > 0 ? (int) (skipped + duplicates) : null);
+        log.setRecordsFailed((int) Math.max(0, transformedTotal - written - duplicates));
+        log.setSourceStats(Map.of("records", volume.getRecordsRead(), "bytes", volume.getBytesRead()));
+        log.setTargetStats(Map.of("records", volume.getRecordsWritten(), "bytes", volume.getBytesWritten()));
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("executionMode", "pipeline");
+        metadata.put("streamedSource", true);
+        metadata.put("batches", batches);
+        if (skipped > 0 || log.getResumeCount() != null) {
+            metadata.put("resumedFromOffset", skipped);
+            metadata.put("resumeCount", log.getResumeCount());
+        }
+        if (idempotencyWindow != null) {
+            metadata.put("duplicatesSkipped", duplicates);
+        }
+        metadata.put("integrationId", integration.getId());
+        metadata.put("timestamp", LocalDateTime.now().toString());
+        log.setMetadata(metadata);
+
+        logger.info("Integração {} executada em stream da origem: {} registros em {} lotes, {} gravados, {} bytes",
+                integration.getName(), read, batches, written, volume.getTotalBytes());
+    }
+
+
+    private void executeStreamingPipeline(Integration integration, ExecutionLog log, DataVolumeCounter volume,
+                                          ExecutionResourceUsage resources, IngestBuffer inbound) throws Exception {
+        ConnectorConfig targetConfig = integration.getTargetConnector();
+        ConnectorHandler target = targetConfig != null && targetConfig.getType() != null ? connectorFactory.getConnector(targetConfig.getType()) : null;
+        if (target == null) {
+            inbound.abort();
+            throw new ConnectorException("Integração " + integration.getId() + " não tem conector de destino para receber o stream");
+        }
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(DataVolumeCounter.PARAMETER, volume);
+        parameters.put(ExecutionResourceUsage.PARAMETER, resources);
+
+        String executionId = log.getExecutionId();
+        String targetType = targetConfig.getType();
+        long read = 0;
+        long transformedTotal = 0;
+        long written = 0;
+        int chunks = 0;
+        IdempotencyWindow idempotencyWindow = idempotency.open(integration);
+        try {
+            IngestBuffer.Chunk chunk;
+            while ((chunk = inbound.next()) != null) {
+                List<Map<String, Object>> records = chunk.records();
+                volume.addBytesRead(chunk.bytes());
+                volume.addRecordsRead(records.size());
+                read += records.size();
+
+                long stageStart = System.nanoTime();
+                List<Map<String, Object>> transformed = recordTransformer.transform(integration.getTransformation(), records);
+                metrics.recordStage(IntegrationMetrics.STAGE_TRANSFORM, targetType, System.nanoTime() - stageStart, transformed.size());
+                transformedTotal += transformed.size();
+
+                stageStart = System.nanoTime();
+                PipelineBatchEvent batchEvent = PipelineBatchEvent.start(executionId, IntegrationMetrics.STAGE_WRITE, targetType, chunks);
+                IdempotencyWindow.Batch fresh = idempotencyWindow != null ? idempotencyWindow.filter(transformed) : null;
+                if (fresh != null) {
+                    transformed = fresh.records();
+                    parameters.put(IdempotencyService.KEY_PARAMETER, fresh.key());
+                }
+                int chunkWritten;
+                try {
+                    chunkWritten = transformed.isEmpty() ? 0 : target.writeData(targetConfig.getConfiguration(), transformed, parameters);
+                } catch (RuntimeException e) {
+                    connectorMetrics.record(integration.getTenantId(), targetType, System.nanoTime() - stageStart, false);
+                    throw e;
+                }
+                connectorMetrics.record(integration.getTenantId(), targetType, System.nanoTime() - stageStart, true);
+                volume.addRecordsWritten(chunkWritten);
+                batchEvent.finish(chunkWritten, volume.getBytesWritten());
+                metrics.recordStage(IntegrationMetrics.STAGE_WRITE, targetType, System.nanoTime() - stageStart, chunkWritten);
+                written += chunkWritten;
+                if (fresh != null && chunkWritten >= transformed.size()) {
+                    idempotencyWindow.delivered(fresh);
+                }
+                chunks++;
+            }
+        } catch (Exception e) {
+            inbound.abort();
+            throw e;
+        } finally {
+            closeTargetSession(parameters);
+        }
+
+        int duplicates = idempotencyWindow != null ? idempotencyWindow.getDuplicates() : 0;
+        log.setRecordsProcessed((int) read);
+        log.setRecordsSuccess((int) written);
+        log.setRecordsSkipped(duplicates > 0 ? duplicates : null);
+        log.setRecordsFailed((int) Math.max(0, transformedTotal - written - duplicates));
+        log.setSourceStats(Map.of("records", volume.getRecordsRead(), "bytes", volume.getBytesRead()));
+        log.setTargetStats(Map.of("records", volume.getRecordsWritten(), "bytes", volume.getBytesWritten()));
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("executionMode", "pipeline");
+        metadata.put("source", STREAM_SOURCE);
+        metadata.put("chunks", chunks);
+        metadata.put("backpressureWaitMs", inbound.getProducerWaitMs());
+        if (idempotencyWindow != null) {
+            metadata.put("duplicatesSkipped", duplicates);
+        }
+        metadata.put("integrationId", integration.getId());
+        metadata.put("timestamp", LocalDateTime.now().toString());
+        log.setMetadata(metadata);
+
+        logger.info("Integração {} executada por stream: {} registros em {} lotes, {} gravados, {} bytes, {}ms de espera do cliente",
+                integration.getName(), read, chunks, written, volume.getTotalBytes(), inbound.getProducerWaitMs());
+    }
+
+    /**
+     * Na retomada de uma leitura incremental, a marca d'água confirmada no último checkpoint, se
+     * estiver à frente da persistida na integração.
+     */
+    private static Watermark resumeWatermark(Watermark watermark, SourcePosition position) {
+        if (position == null || position.watermark() == null || !watermark.field().equals(position.field())
+                || (watermark.value() != null && Watermark.compare(watermark.value(), position.watermark()) >= 0)) {
+            return watermark;
+        }
+        return new Watermark(watermark.field(), position.watermark(), watermark.queryParam());
+    }
+
+    /**
+     * Registros da releitura que já estão no destino. Com marca d'água a releitura começa na
+     * posição do checkpoint, então nenhum; com o mesmo snapshot do checkpoint, os
+     * {@code checkpointOffset} primeiros. Fora disso a retomada falha: pular registros de uma
+     * releitura em outra ordem, ou de outro conteúdo, perderia ou duplicaria registros.
+     */
+    private static long resumeSkip(ExecutionLog log, SourcePosition position, Watermark watermark,
+                                   Map<String, Object> parameters) {
+        if (position != null && watermark != null && watermark.field().equals(position.field())) {
+            return 0;
+        }
+        SourceSnapshot snapshot = SourceSnapshot.from(parameters);
+        if (position != null && position.snapshot() != null && snapshot != null
+                && position.snapshot().equals(snapshot.identity())) {
+            return log.getCheckpointOffset();
+        }
+        throw new ConnectorException("Execução " + log.getExecutionId() + " não pode ser retomada do registro "
+                + log.getCheckpointOffset() + ": " + (position != null && position.snapshot() != null
+                ? "o conteúdo da origem mudou desde a interrupção" : "a origem não tem posição estável de leitura"));
+    }
+
+    /**
+     * Entrega ao conector de destino o estado gravado no último checkpoint, para ele continuar
+     * a sessão (ex.: o arquivo em escrita) em vez de começar outra e perder o que já gravou.
+     */
+    private static void resumeTargetSession(ExecutionLog log, Map<String, Object> parameters) {
+        if (log.getCheckpointTarget() != null) {
+            parameters.put(TargetSession.RESUME_PARAMETER, log.getCheckpointTarget());
+        }
+    }
+
+    private static String targetCheckpoint(Map<String, Object> parameters) {
+        TargetSession session = TargetSession.from(parameters);
+        return session != null ? session.checkpoint() : null;
+    }
+
+    /**
+     * Conclui o que o conector de destino manteve aberto entre os lotes (ex.: arquivo em escrita).
+     */
+    private void closeTargetSession(Map<String, Object> parameters) {
+        TargetSession session = TargetSession.from(parameters);
+        if (session != null) {
+            parameters.remove(TargetSession.PARAMETER);
+            session.close();
+        }
+    }
+
     
     private void executeIntegrationSimple(Integration integration, ExecutionLog log) throws Exception {
         logger.info("Executando integração: {}", integration.getName());
@@ -98,11 +761,13 @@ public class IntegrationExecutorService {
    
     public ExecutionLog executeIntegrationSync(Integration integration) {
         try {
+            metrics.executionQueued();
             return executeIntegrationAsync(integration).get();
         } catch (Exception e) {
             logger.error("Erro na execução síncrona: {}", e.getMessage(), e);
             
             ExecutionLog errorLog = ExecutionLog.builder()
+                    .tenantId(integration.getTenantId())
                     .integrationId(integration.getId())
                     .integrationName(integration.getName())
                     .status(ExecutionLog.ExecutionStatus.FAILED)
@@ -117,6 +782,17 @@ public class IntegrationExecutorService {
         }
     }
 
+    private void recordUsage(Integration integration, ExecutionLog log) {
+        String tenantId = integration.getTenantId();
+        long durationMs = log.getDurationMs() != null ? log.getDurationMs() : 0L;
+        
+        usageMeter.recordExecution(tenantId, log.getStatus() == ExecutionLog.ExecutionStatus.SUCCESS, durationMs);
+        usageMeter.recordResources(tenantId, log.getCpuTimeMs() != null ? log.getCpuTimeMs() : 0L,
+                log.getAllocatedBytes() != null ? log.getAllocatedBytes() : 0L);
+        usageMeter.recordConnectorUsage(tenantId, log.getSourceConnectorType());
+        usageMeter.recordConnectorUsage(tenantId, log.getTargetConnectorType());
+    }
+
     
     private String getStackTrace(Exception e) {
         java.io.StringWriter sw = new java.io.StringWriter();
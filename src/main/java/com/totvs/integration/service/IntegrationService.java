@@ -3,15 +3,21 @@
 // ============================================================================
 package com.totvs.integration.service;
 
+import com.totvs.integration.cache.IntegrationPageKeyGenerator;
 import com.totvs.integration.dto.request.CreateIntegrationRequest;
 import com.totvs.integration.dto.request.UpdateIntegrationRequest;
 import com.totvs.integration.dto.response.IntegrationResponse;
+import com.totvs.integration.dto.response.IntegrationSummaryResponse;
 import com.totvs.integration.dto.response.ExecutionLogResponse;
 import com.totvs.integration.entity.Integration;
 import com.totvs.integration.entity.ExecutionLog;
 import com.totvs.integration.exception.IntegrationNotFoundException;
+import com.totvs.integration.metering.DataQuotaService;
+import com.totvs.integration.metrics.IntegrationMetrics;
+import com.totvs.integration.profiling.ExecutionProfiler;
 import com.totvs.integration.repository.IntegrationRepository;
 import com.totvs.integration.repository.ExecutionLogRepository;
+import com.totvs.integration.repository.IntegrationSummary;
 import com.totvs.integration.security.TenantContext;
 import com.totvs.integration.service.IntegrationServiceHelper;
 import lombok.extern.slf4j.Slf4j;
@@ -21,12 +27,16 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -47,6 +57,21 @@ public class IntegrationService {
     @Autowired
     private IntegrationExecutorService executorService;
 
+    @Autowired
+    private IntegrationPageKeyGenerator integrationPageKeyGenerator;
+
+    @Autowired
+    private DataQuotaService dataQuotaService;
+
+    @Autowired
+    private IntegrationMetrics metrics;
+
+    @Autowired
+    private IntegrationStatisticsService integrationStatistics;
+
+    @Autowired
+    private ExecutionProfiler executionProfiler;
+
     
 
     public IntegrationResponse createIntegration(CreateIntegrationRequest request) {
@@ -54,23 +79,10 @@ public class IntegrationService {
         
         log.info("Creating integration '{}' for tenant '{}'", request.getName(), tenantId);
         
-        Integration integration = Integration.builder()
-                .tenantId(tenantId)
-                .name(request.getName())
-                .description(request.getDescription())
-                .sourceConnector(request.getSourceConnector())
-                .targetConnector(request.getTargetConnector())
-                .transformation(request.getTransformation())
-                .schedule(request.getSchedule())
-                .status(Integration.IntegrationStatus.DRAFT)
-                .executionCount(0)
-                .errorCount(0)
-                .successCount(0)
-                .configuration(request.getConfiguration())
-                .tags(request.getTags())
-                .build();
+        Integration integration = integrationServiceHelper.newIntegration(tenantId, request);
         
         integration = integrationRepository.save(integration);
+        integrationPageKeyGenerator.invalidateTenant(tenantId);
         
         log.info("Integration '{}' created with ID: {}", integration.getName(), integration.getId());
         
@@ -78,37 +90,37 @@ public class IntegrationService {
     }
 
 
-  public Page<IntegrationResponse> listIntegrations(Pageable pageable, String status, String name, List<String> tags) {
+    @Cacheable(value = IntegrationPageKeyGenerator.CACHE_NAME, keyGenerator = IntegrationPageKeyGenerator.BEAN_NAME)
+    @Transactional(readOnly = true)
+    public Page<IntegrationSummaryResponse> listIntegrations(Pageable pageable, String status, String name, List<String> tags) {
         String tenantId = TenantContext.getCurrentTenantId();
         
         log.debug("Listing integrations for tenant '{}' with filters - status: {}, name: {}, tags: {}", 
                 tenantId, status, name, tags);
         
-        Page<Integration> integrations;
+        Page<IntegrationSummary> integrations;
         
         if (StringUtils.hasText(status)) {
             Integration.IntegrationStatus statusEnum = Integration.IntegrationStatus.valueOf(status.toUpperCase());
-            integrations = integrationRepository.findByTenantIdAndStatus(tenantId, statusEnum, pageable);
+            integrations = integrationRepository.findSummariesByTenantIdAndStatus(tenantId, statusEnum, pageable);
         } else if (StringUtils.hasText(name)) {
-            integrations = integrationRepository.findByTenantIdAndNameContaining(tenantId, name, pageable);
+            integrations = integrationRepository.findSummariesByTenantIdAndNameContaining(tenantId, name, pageable);
         } else if (tags != null && !tags.isEmpty()) {
             
-
-            
             log.debug("Filtering integrations by tags: {}", tags);
             
-            integrations = integrationServiceHelper.findByTenantIdAndTags(tenantId, tags, pageable);
+            integrations = integrationServiceHelper.findSummariesByTenantIdAndTags(tenantId, tags, pageable);
             
             log.debug("Found {} integrations matching tags filter", integrations.getTotalElements());
         } else {
-            integrations = integrationRepository.findByTenantId(tenantId, pageable);
+            integrations = integrationRepository.findSummariesByTenantId(tenantId, pageable);
         }
         
-        return integrations.map(this::toIntegrationResponse);
+        return integrations.map(this::toIntegrationSummaryResponse);
     }
 
 
-    @Cacheable(value = "integrations", key = "#id + '_' + T(com.totvs.integration.security.TenantContext).getCurrentTenantId()")
+    @Cacheable(value = "integrations", key = "#id + '_' + T(com.totvs.integration.security.TenantContext).getCurrentTenantId()", sync = true)
     public IntegrationResponse getIntegration(String id) {
         String tenantId = TenantContext.getCurrentTenantId();
         
@@ -129,36 +141,10 @@ public class IntegrationService {
         Integration integration = integrationRepository.findByIdAndTenantId(id, tenantId)
                 .orElseThrow(() -> new IntegrationNotFoundException(id, tenantId));
         
-       
-        if (StringUtils.hasText(request.getName())) {
-            integration.setName(request.getName());
-        }
-        if (StringUtils.hasText(request.getDescription())) {
-            integration.setDescription(request.getDescription());
-        }
-        if (request.getSourceConnector() != null) {
-            integration.setSourceConnector(request.getSourceConnector());
-        }
-        if (request.getTargetConnector() != null) {
-            integration.setTargetConnector(request.getTargetConnector());
-        }
-        if (request.getTransformation() != null) {
-            integration.setTransformation(request.getTransformation());
-        }
-        if (request.getSchedule() != null) {
-            integration.setSchedule(request.getSchedule());
-        }
-        if (request.getStatus() != null) {
-            integration.setStatus(request.getStatus());
-        }
-        if (request.getConfiguration() != null) {
-            integration.setConfiguration(request.getConfiguration());
-        }
-        if (request.getTags() != null) {
-            integration.setTags(request.getTags());
-        }
+        integrationServiceHelper.applyUpdate(integration, request);
         
         integration = integrationRepository.save(integration);
+        integrationPageKeyGenerator.invalidateTenant(tenantId);
         
         log.info("Integration '{}' updated successfully", id);
         
@@ -177,6 +163,7 @@ public class IntegrationService {
                 .orElseThrow(() -> new IntegrationNotFoundException(id, tenantId));
         
         integrationRepository.delete(integration);
+        integrationPageKeyGenerator.invalidateTenant(tenantId);
         
         log.info("Integration '{}' deleted successfully", id);
     }
@@ -184,6 +171,15 @@ public class IntegrationService {
     
 
     public ExecutionLogResponse executeIntegration(String id) {
+        return executeIntegration(id, false);
+    }
+
+    /**
+     * Com {@code profile}, a execução roda sob uma gravação JFR; o log devolvido aponta a
+     * execução perfilada ({@code metadata.profiledExecutionId}) e o arquivo {@code .jfr} que
+     * ela vai gravar ao terminar ({@code metadata.profiling}).
+     */
+    public ExecutionLogResponse executeIntegration(String id, boolean profile) {
         String tenantId = TenantContext.getCurrentTenantId();
         
         log.info("Executing integration '{}' for tenant '{}'", id, tenantId);
@@ -196,6 +192,8 @@ public class IntegrationService {
             log.warn("Integration '{}' is not active, current status: {}", id, integration.getStatus());
         }
         
+        dataQuotaService.checkQuota(tenantId);
+        
        
         ExecutionLog executionLog = ExecutionLog.builder()
                 .tenantId(tenantId)
@@ -212,20 +210,19 @@ public class IntegrationService {
         
         try {
       
-            executorService.executeIntegrationAsync(integration);
-            
-     
-            integration.setLastExecution(LocalDateTime.now());
-            integration.incrementExecution();
-            
-           
-            integration.setStatus(Integration.IntegrationStatus.RUNNING);
-            integrationRepository.save(integration);
+            metrics.executionQueued();
+            String profiledExecutionId = profile ? UUID.randomUUID().toString() : null;
+            executorService.executeIntegrationAsync(integration, profile, profiledExecutionId);
+            if (profile) {
+                executionLog = attachProfiling(executionLog, tenantId, profiledExecutionId);
+            }
             
         } catch (Exception e) {
             log.error("Error starting execution for integration '{}': {}", id, e.getMessage(), e);
-            integration.recordError(e.getMessage());
-            integrationRepository.save(integration);
+            if (e instanceof TaskRejectedException) {
+                metrics.executionRejected();
+            }
+            integrationStatistics.executionNotStarted(integration, e.getMessage());
             
             
             executionLog.setStatus(ExecutionLog.ExecutionStatus.FAILED);
@@ -239,6 +236,23 @@ public class IntegrationService {
 
   
 
+    /**
+     * A execução ainda está na fila ou rodando: o resumo final da gravação fica no log da
+     * execução perfilada; aqui vão o identificador dela e o arquivo esperado.
+     */
+    private ExecutionLog attachProfiling(ExecutionLog executionLog, String tenantId, String profiledExecutionId) {
+        Map<String, Object> profiling = new LinkedHashMap<>();
+        profiling.put("status", "pending");
+        profiling.put("executionId", profiledExecutionId);
+        profiling.put("file", executionProfiler.recordingFile(tenantId, profiledExecutionId).toString());
+        
+        Map<String, Object> metadata = executionLog.getMetadata() != null ? new HashMap<>(executionLog.getMetadata()) : new HashMap<>();
+        metadata.put(ExecutionProfiler.METADATA_KEY, profiling);
+        metadata.put("profiledExecutionId", profiledExecutionId);
+        executionLog.setMetadata(metadata);
+        return executionLogRepository.save(executionLog);
+    }
+
     public Page<ExecutionLogResponse> getExecutionLogs(String integrationId, Pageable pageable) {
         String tenantId = TenantContext.getCurrentTenantId();
         
@@ -272,6 +286,7 @@ public class IntegrationService {
             }
             
             integration = integrationRepository.save(integration);
+            integrationPageKeyGenerator.invalidateTenant(tenantId);
             
             log.info("Integration '{}' status changed to '{}' successfully", id, status);
             
@@ -302,7 +317,7 @@ public class IntegrationService {
 
    
 
-    private IntegrationResponse toIntegrationResponse(Integration integration) {
+    IntegrationResponse toIntegrationResponse(Integration integration) {
         return IntegrationResponse.builder()
                 .id(integration.getId())
                 .tenantId(integration.getTenantId())
@@ -326,6 +341,23 @@ public class IntegrationService {
                 .build();
     }
 
+    IntegrationSummaryResponse toIntegrationSummaryResponse(IntegrationSummary integration) {
+        return IntegrationSummaryResponse.builder()
+                .id(integration.getId())
+                .tenantId(integration.getTenantId())
+                .name(integration.getName())
+                .status(integration.getStatus())
+                .lastExecution(integration.getLastExecution())
+                .nextExecution(integration.getNextExecution())
+                .executionCount(integration.getExecutionCount())
+                .errorCount(integration.getErrorCount())
+                .successCount(integration.getSuccessCount())
+                .tags(integration.getTags())
+                .createdAt(integration.getCreatedAt())
+                .updatedAt(integration.getUpdatedAt())
+                .build();
+    }
+
     private ExecutionLogResponse toExecutionLogResponse(ExecutionLog log) {
         return ExecutionLogResponse.builder()
                 .id(log.getId())
@@ -345,6 +377,8 @@ public class IntegrationService {
                 .sourceReadTimeMs(log.getSourceReadTimeMs())
                 .transformationTimeMs(log.getTransformationTimeMs())
                 .targetWriteTimeMs(log.getTargetWriteTimeMs())
+                .cpuTimeMs(log.getCpuTimeMs())
+                .allocatedBytes(log.getAllocatedBytes())
                 .sourceStats(log.getSourceStats())
                 .targetStats(log.getTargetStats())
                 .metadata(log.getMetadata())
@@ -1,14 +1,23 @@
 
 package com.totvs.integration.service;
 
+import com.totvs.integration.dto.request.CreateIntegrationRequest;
+import com.totvs.integration.dto.request.UpdateIntegrationRequest;
 import com.totvs.integration.entity.Integration;
 import com.totvs.integration.repository.IntegrationRepository;
+import com.totvs.integration.repository.IntegrationSummary;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 @Component
@@ -18,6 +27,63 @@ public class IntegrationServiceHelper {
     private IntegrationRepository integrationRepository;
 
     
+    /**
+     * Nova integração em {@code DRAFT} com contadores zerados; usada pela criação
+     * individual e pela criação em lote.
+     */
+    public Integration newIntegration(String tenantId, CreateIntegrationRequest request) {
+        return Integration.builder()
+                .tenantId(tenantId)
+                .name(request.getName())
+                .description(request.getDescription())
+                .sourceConnector(request.getSourceConnector())
+                .targetConnector(request.getTargetConnector())
+                .transformation(request.getTransformation())
+                .schedule(request.getSchedule())
+                .status(Integration.IntegrationStatus.DRAFT)
+                .executionCount(0)
+                .errorCount(0)
+                .successCount(0)
+                .configuration(request.getConfiguration())
+                .tags(request.getTags())
+                .build();
+    }
+
+    
+    /**
+     * Aplica na entidade apenas os campos informados na requisição.
+     */
+    public void applyUpdate(Integration integration, UpdateIntegrationRequest request) {
+        if (StringUtils.hasText(request.getName())) {
+            integration.setName(request.getName());
+        }
+        if (StringUtils.hasText(request.getDescription())) {
+            integration.setDescription(request.getDescription());
+        }
+        if (request.getSourceConnector() != null) {
+            integration.setSourceConnector(request.getSourceConnector());
+        }
+        if (request.getTargetConnector() != null) {
+            integration.setTargetConnector(request.getTargetConnector());
+        }
+        if (request.getTransformation() != null) {
+            integration.setTransformation(request.getTransformation());
+        }
+        if (request.getSchedule() != null) {
+            integration.setSchedule(request.getSchedule());
+        }
+        if (request.getStatus() != null) {
+            integration.setStatus(request.getStatus());
+        }
+        if (request.getConfiguration() != null) {
+            integration.setConfiguration(request.getConfiguration());
+        }
+        if (request.getTags() != null) {
+            integration.setTags(request.getTags());
+        }
+    }
+
+    
     public Page<Integration> findByTenantIdAndTags(String tenantId, List<String> tags, Pageable pageable) {
         if (tags == null || tags.isEmpty()) {
             return integrationRepository.findByTenantId(tenantId, pageable);
@@ -34,4 +100,36 @@ public class IntegrationServiceHelper {
             tenantId, tag1, tag2, tag3, tag4, tag5, pageable
         );
     }
-}
\ No newline at end of file
+
+    
+    /**
+     * Filtro por tags em duas consultas enxutas: a nativa pagina só os ids e a
+     * projeção carrega os resumos, preservando a ordem da página.
+     */
+    public Page<IntegrationSummary> findSummariesByTenantIdAndTags(String tenantId, List<String> tags, Pageable pageable) {
+        if (tags == null || tags.isEmpty()) {
+            return integrationRepository.findSummariesByTenantId(tenantId, pageable);
+        }
+        
+        Page<String> ids = integrationRepository.findIdsByTenantIdAndTagsIn(
+            tenantId,
+            tags.get(0),
+            tags.size() > 1 ? tags.get(1) : null,
+            tags.size() > 2 ? tags.get(2) : null,
+            tags.size() > 3 ? tags.get(3) : null,
+            tags.size() > 4 ? tags.get(4) : null,
+            pageable
+        );
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        }
+        
+        Map<String, IntegrationSummary> byId = integrationRepository.findSummariesByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(IntegrationSummary::getId, Function.identity()));
+        List<IntegrationSummary> ordered = ids.getContent().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(ordered, pageable, ids.getTotalElements());
+    }
+}
@@ -0,0 +1,106 @@
+package com.totvs.integration.service;
+
+import com.totvs.integration.cache.IntegrationPageKeyGenerator;
+import com.totvs.integration.entity.Integration;
+import com.totvs.integration.repository.IntegrationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contadores de execução de {@link Integration} ({@code execution_count}, {@code success_count},
+ * {@code error_count}, {@code last_execution}, {@code last_error}, {@code status}) atualizados
+ * com um único {@code UPDATE ... SET x = x + 1}, sem reler e regravar a entidade. Execuções
+ * sobrepostas da mesma integração não perdem incrementos nem reescrevem as colunas JSON.
+ * <p>
+ * Cada atualização roda e faz commit na sua própria transação ({@code REQUIRES_NEW}): chamada
+ * de dentro da transação de uma requisição, o lock da linha da integração seria mantido até o
+ * fim da execução inteira e as execuções sobrepostas voltariam a se serializar. Os caches são
+ * invalidados depois do commit, para que uma leitura concorrente não guarde o valor antigo.
+ */
+@Service
+public class IntegrationStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IntegrationStatisticsService.class);
+
+    @Autowired
+    private IntegrationRepository integrationRepository;
+
+    @Autowired
+    private IntegrationPageKeyGenerator integrationPageKeyGenerator;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void executionStarted(Integration integration) {
+        if (integration.getId() == null) {
+            return;
+        }
+        integrationRepository.markExecutionStarted(integration.getId(), LocalDateTime.now());
+        invalidate(integration);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void executionSucceeded(Integration integration) {
+        if (integration.getId() == null) {
+            return;
+        }
+        integrationRepository.recordExecutionSuccess(integration.getId(), LocalDateTime.now());
+        invalidate(integration);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void executionFailed(Integration integration, String error) {
+        if (integration.getId() == null) {
+            return;
+        }
+        integrationRepository.recordExecutionFailure(integration.getId(), error, LocalDateTime.now());
+        invalidate(integration);
+    }
+
+    /**
+     * A execução falhou antes de {@link #executionStarted}: além do erro, conta a execução.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void executionNotStarted(Integration integration, String error) {
+        if (integration.getId() == null) {
+            return;
+        }
+        integrationRepository.recordExecutionNotStarted(integration.getId(), error, LocalDateTime.now());
+        invalidate(integration);
+    }
+
+    private void invalidate(Integration integration) {
+        integrationPageKeyGenerator.invalidateTenant(integration.getTenantId());
+        afterCommit(() -> {
+            Cache details = cacheManager.getCache("integrations");
+            if (details != null) {
+                details.evict(integration.getId() + "_" + integration.getTenantId());
+            }
+        });
+        logger.debug("Estatísticas da integração {} atualizadas", integration.getId());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,65 @@
+package com.totvs.integration.service;
+
+import com.totvs.integration.entity.DataTransformation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class RecordTransformer {
+
+    public List<Map<String, Object>> transform(DataTransformation transformation, List<Map<String, Object>> records) {
+        if (transformation == null || records.isEmpty()) {
+            return records;
+        }
+
+        Map<String, String> fieldMappings = transformation.getFieldMappings();
+        Map<String, Object> defaultValues = transformation.getDefaultValues();
+        boolean hasMappings = fieldMappings != null && !fieldMappings.isEmpty();
+        boolean hasDefaults = defaultValues != null && !defaultValues.isEmpty();
+
+        if (!hasMappings && !hasDefaults) {
+            return records;
+        }
+
+        List<Map<String, Object>> transformed = new ArrayList<>(records.size());
+        for (Map<String, Object> record : records) {
+            transformed.add(transform(record, fieldMappings, defaultValues, hasMappings, hasDefaults));
+        }
+        return transformed;
+    }
+
+    public Map<String, Object> transform(DataTransformation transformation, Map<String, Object> record) {
+        if (transformation == null) {
+            return record;
+        }
+        Map<String, String> fieldMappings = transformation.getFieldMappings();
+        Map<String, Object> defaultValues = transformation.getDefaultValues();
+        return transform(record, fieldMappings, defaultValues,
+                fieldMappings != null && !fieldMappings.isEmpty(),
+                defaultValues != null && !defaultValues.isEmpty());
+    }
+
+    private Map<String, Object> transform(Map<String, Object> record, Map<String, String> fieldMappings,
+                                          Map<String, Object> defaultValues, boolean hasMappings, boolean hasDefaults) {
+        Map<String, Object> result = new LinkedHashMap<>(Math.max(16, record.size() * 2));
+
+        for (Map.Entry<String, Object> field : record.entrySet()) {
+            String targetField = hasMappings ? fieldMappings.getOrDefault(field.getKey(), field.getKey()) : field.getKey();
+            result.put(targetField, field.getValue());
+        }
+
+        if (hasDefaults) {
+            defaultValues.forEach((field, value) -> {
+                if (result.get(field) == null) {
+                    result.put(field, value);
+                }
+            });
+        }
+
+        return result;
+    }
+}
@@ -1,9 +1,16 @@
 package com.totvs.integration.service;
 
+import com.totvs.integration.entity.Integration;
 import com.totvs.integration.entity.Tenant;
+import com.totvs.integration.entity.TenantStats;
 import com.totvs.integration.dto.request.CreateTenantRequest;
 import com.totvs.integration.dto.response.TenantResponse;
+import com.totvs.integration.metering.DataQuotaService;
+import com.totvs.integration.metering.TenantUsageDelta;
+import com.totvs.integration.metering.TenantUsageMeter;
+import com.totvs.integration.repository.IntegrationRepository;
 import com.totvs.integration.repository.TenantRepository;
+import com.totvs.integration.repository.TenantStatsRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -11,8 +18,12 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -22,6 +33,10 @@ import java.util.UUID;
 public class TenantService {
 
     private final TenantRepository tenantRepository;
+    private final TenantStatsRepository tenantStatsRepository;
+    private final IntegrationRepository integrationRepository;
+    private final TenantUsageMeter usageMeter;
+    private final DataQuotaService dataQuotaService;
 
    
     public TenantResponse createTenant(CreateTenantRequest request) {
@@ -169,12 +184,75 @@ public class TenantService {
         log.info("Obtendo estatísticas para tenant: {}", tenantId);
         
         
-        if (!tenantRepository.existsById(tenantId)) {
-            throw new IllegalArgumentException("Tenant não encontrado: " + tenantId);
+        Tenant tenant = tenantRepository.findById(tenantId)
+                .orElseThrow(() -> new IllegalArgumentException("Tenant não encontrado: " + tenantId));
+        
+        String statsTenantId = tenant.getTenantId();
+        TenantStats stats = tenantStatsRepository.findByTenantId(statsTenantId).orElseGet(TenantStats::new);
+        TenantUsageDelta pending = usageMeter.pending(statsTenantId);
+        
+        return toUsageStats(statsTenantId, stats, pending);
+    }
+
+    private TenantResponse.UsageStats toUsageStats(String tenantId, TenantStats stats, TenantUsageDelta pending) {
+        long totalExecutions = value(stats.getTotalExecutions()) + pending.executions();
+        long failedExecutions = value(stats.getFailedExecutions()) + pending.failures();
+        long monthlyExecutions = value(stats.getCurrentMonthExecutions()) + pending.executions();
+        long monthlyApiCalls = value(stats.getCurrentMonthApiCalls()) + pending.apiCalls();
+        long dailyApiCalls = value(stats.getCurrentDayRequests()) + pending.apiCalls();
+        
+        double averageExecutionTime = totalExecutions > 0
+                ? ((stats.getAverageExecutionTimeMs() != null ? stats.getAverageExecutionTimeMs() : 0.0)
+                        * value(stats.getTotalExecutions()) + pending.executionTimeMs()) / totalExecutions
+                : 0.0;
+        
+        Map<String, Long> connectorUsage = new HashMap<>();
+        if (stats.getConnectorUsage() != null) {
+            connectorUsage.putAll(stats.getConnectorUsage());
         }
+        pending.connectorUsage().forEach((type, count) -> connectorUsage.merge(type, count, Long::sum));
         
+        LocalDateTime lastActivity = pending.lastActivityMillis() > 0
+                ? LocalDateTime.ofInstant(Instant.ofEpochMilli(pending.lastActivityMillis()), ZoneId.systemDefault())
+                : stats.getUpdatedAt();
         
-        return TenantResponse.UsageStats.createSampleStats();
+        Map<String, Object> additionalMetrics = new HashMap<>();
+        additionalMetrics.put("successfulExecutions", value(stats.getSuccessfulExecutions()) + pending.successes());
+        additionalMetrics.put("failedExecutions", failedExecutions);
+        additionalMetrics.put("currentMonthExecutions", monthlyExecutions);
+        long monthlyDataTransferred = value(stats.getCurrentMonthDataTransferred()) + pending.bytesTransferred();
+        long quotaLimit = dataQuotaService.monthlyQuotaBytes(tenantId);
+        additionalMetrics.put("currentMonthDataTransferred", monthlyDataTransferred);
+        additionalMetrics.put("totalCpuTimeMs", value(stats.getTotalCpuTimeMs()) + pending.cpuTimeMs());
+        additionalMetrics.put("currentMonthCpuTimeMs", value(stats.getCurrentMonthCpuTimeMs()) + pending.cpuTimeMs());
+        additionalMetrics.put("totalAllocatedBytes", value(stats.getTotalAllocatedBytes()) + pending.allocatedBytes());
+        additionalMetrics.put("currentMonthAllocatedBytes", value(stats.getCurrentMonthAllocatedBytes()) + pending.allocatedBytes());
+        additionalMetrics.put("currentHourRequests", value(stats.getCurrentHourRequests()) + pending.apiCalls());
+        additionalMetrics.put("activeIntegrations", integrationRepository.countByTenantIdAndStatus(tenantId, Integration.IntegrationStatus.ACTIVE));
+        additionalMetrics.put("connectorUsage", connectorUsage);
+        if (stats.getMonthlyUsageByDay() != null) {
+            additionalMetrics.put("monthlyUsageByDay", stats.getMonthlyUsageByDay());
+        }
+        
+        return TenantResponse.UsageStats.builder()
+                .totalRequests(totalExecutions)
+                .totalIntegrations(integrationRepository.countByTenantId(tenantId))
+                .totalConnectors((long) connectorUsage.size())
+                .monthlyRequests(monthlyApiCalls)
+                .dailyRequests(dailyApiCalls)
+                .averageResponseTime(averageExecutionTime)
+                .errorCount(failedExecutions)
+                .errorRate(totalExecutions > 0 ? failedExecutions * 100.0 / totalExecutions : 0.0)
+                .lastActivity(lastActivity)
+                .quotaUsed(monthlyDataTransferred)
+                .quotaLimit(quotaLimit >= 0 ? quotaLimit : null)
+                .quotaPercentage(quotaLimit > 0 ? monthlyDataTransferred * 100.0 / quotaLimit : null)
+                .additionalMetrics(additionalMetrics)
+                .build();
+    }
+
+    private static long value(Long value) {
+        return value != null ? value : 0L;
     }
 
    
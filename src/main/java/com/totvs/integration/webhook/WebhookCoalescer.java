@@ -0,0 +1,150 @@
+package com.totvs.integration.webhook;
+
+import com.totvs.integration.exception.WebhookBacklogFullException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Janela de coalescência por integração: o primeiro evento abre uma janela de {@code window};
+ * os eventos que chegam nela viram uma única execução ({@link Batch}). A janela fecha antes se
+ * acumular {@code maxBatchRecords} registros (micro-lote). Nunca há duas execuções da mesma
+ * integração ao mesmo tempo: eventos recebidos durante uma execução formam a próxima janela.
+ */
+final class WebhookCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebhookCoalescer.class);
+
+    record Batch(String integrationId, int events, List<Map<String, Object>> records, long firstEventNanos) {
+    }
+
+    record Receipt(int pendingEvents, int pendingRecords, boolean running) {
+    }
+
+    private final Duration window;
+    private final int maxBatchRecords;
+    private final int maxPendingRecords;
+    private final ScheduledExecutorService scheduler;
+    private final Executor runner;
+    private final Consumer<Batch> handler;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    WebhookCoalescer(Duration window, int maxBatchRecords, int maxPendingRecords,
+                     ScheduledExecutorService scheduler, Executor runner, Consumer<Batch> handler) {
+        this.window = window;
+        this.maxBatchRecords = Math.max(1, maxBatchRecords);
+        this.maxPendingRecords = Math.max(this.maxBatchRecords, maxPendingRecords);
+        this.scheduler = scheduler;
+        this.runner = runner;
+        this.handler = handler;
+    }
+
+    /**
+     * Registra um evento e seus registros (vazio quando não há repasse do payload).
+     *
+     * @throws WebhookBacklogFullException se a integração já acumula {@code maxPendingRecords}
+     */
+    Receipt submit(String integrationId, List<Map<String, Object>> records) {
+        while (true) {
+            Window current = windows.computeIfAbsent(integrationId, id -> new Window(id));
+            boolean fireNow = false;
+            Receipt receipt;
+            synchronized (current) {
+                if (current.retired) {
+                    continue;
+                }
+                if (current.records.size() + records.size() > maxPendingRecords) {
+                    throw new WebhookBacklogFullException(integrationId, maxPendingRecords);
+                }
+                if (current.events == 0) {
+                    current.firstEventNanos = System.nanoTime();
+                }
+                current.events++;
+                current.records.addAll(records);
+                receipt = new Receipt(current.events, current.records.size(), current.running);
+
+                if (!current.running) {
+                    if (current.records.size() >= maxBatchRecords) {
+                        fireNow = true;
+                    } else if (!current.scheduled) {
+                        current.scheduled = true;
+                        scheduler.schedule(() -> fire(current), window.toNanos(), TimeUnit.NANOSECONDS);
+                    }
+                }
+            }
+            if (fireNow) {
+                fire(current);
+            }
+            return receipt;
+        }
+    }
+
+    int pendingWindows() {
+        return windows.size();
+    }
+
+    private void fire(Window current) {
+        Batch batch;
+        synchronized (current) {
+            current.scheduled = false;
+            if (current.running || current.events == 0) {
+                return;
+            }
+            batch = new Batch(current.integrationId, current.events, current.records, current.firstEventNanos);
+            current.events = 0;
+            current.records = new ArrayList<>();
+            current.running = true;
+        }
+        runner.execute(() -> run(current, batch));
+    }
+
+    private void run(Window current, Batch batch) {
+        try {
+            handler.accept(batch);
+        } catch (RuntimeException e) {
+            logger.error("Falha na execução do webhook da integração {} ({} eventos): {}",
+                    batch.integrationId(), batch.events(), e.getMessage(), e);
+        } finally {
+            boolean fireNow = false;
+            synchronized (current) {
+                current.running = false;
+                if (current.events == 0) {
+                    current.retired = true;
+                    windows.remove(current.integrationId, current);
+                } else if (current.records.size() >= maxBatchRecords) {
+                    fireNow = true;
+                } else if (!current.scheduled) {
+                    current.scheduled = true;
+                    scheduler.schedule(() -> fire(current), window.toNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+            if (fireNow) {
+                fire(current);
+            }
+        }
+    }
+
+    private static final class Window {
+
+        private final String integrationId;
+        private List<Map<String, Object>> records = new ArrayList<>();
+        private int events;
+        private long firstEventNanos;
+        private boolean scheduled;
+        private boolean running;
+        private boolean retired;
+
+        private Window(String integrationId) {
+            this.integrationId = integrationId;
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.totvs.integration.webhook;
+
+import com.totvs.integration.cache.IntegrationPageKeyGenerator;
+import com.totvs.integration.dto.response.WebhookReceiptResponse;
+import com.totvs.integration.dto.response.WebhookRegistrationResponse;
+import com.totvs.integration.entity.ExecutionLog;
+import com.totvs.integration.entity.Integration;
+import com.totvs.integration.exception.AccessDeniedException;
+import com.totvs.integration.exception.IntegrationNotFoundException;
+import com.totvs.integration.exception.QuotaExceededException;
+import com.totvs.integration.metering.DataQuotaService;
+import com.totvs.integration.metering.TenantUsageMeter;
+import com.totvs.integration.metrics.IntegrationMetrics;
+import com.totvs.integration.profiling.TenantRequestEvent;
+import com.totvs.integration.repository.IntegrationRepository;
+import com.totvs.integration.security.TenantContext;
+import com.totvs.integration.service.IntegrationExecutorService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Disparo de integrações por webhook ({@code POST /v1/hooks/{integrationId}}).
+ * <p>
+ * O webhook é habilitado por integração e guarda em {@code configuration.webhook} o nonce do
+ * token ({@link WebhookSigner}) e se o payload deve ser repassado como registros de origem.
+ * Os eventos passam pelo {@link WebhookCoalescer}: uma rajada dentro de {@code app.webhooks.window}
+ * vira uma execução, ou micro-lotes de {@code max-batch-records} registros com repasse.
+ */
+@Slf4j
+@Service
+public class WebhookService {
+
+    public static final String CONFIGURATION_KEY = "webhook";
+
+    @Autowired
+    private IntegrationRepository integrationRepository;
+
+    @Autowired
+    private IntegrationExecutorService executorService;
+
+    @Autowired
+    private WebhookSigner signer;
+
+    @Autowired
+    private DataQuotaService dataQuotaService;
+
+    @Autowired
+    private IntegrationMetrics metrics;
+
+    @Autowired
+    private TenantUsageMeter usageMeter;
+
+    @Autowired
+    private IntegrationPageKeyGenerator integrationPageKeyGenerator;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${app.webhooks.window:200ms}")
+    private Duration window;
+
+    @Value("${app.webhooks.max-batch-records:1000}")
+    private int maxBatchRecords;
+
+    @Value("${app.webhooks.max-pending-records:10000}")
+    private int maxPendingRecords;
+
+    @Value("${app.webhooks.execution-threads:4}")
+    private int executionThreads;
+
+    @Value("${app.webhooks.registration-ttl:30s}")
+    private Duration registrationTtl;
+
+    private final Map<String, Registration> registrations = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private ExecutorService runner;
+    private WebhookCoalescer coalescer;
+
+    private record Registration(String tenantId, String nonce, boolean passThrough, long loadedAtNanos) {
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "webhook-window");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger counter = new AtomicInteger();
+        runner = Executors.newFixedThreadPool(Math.max(1, executionThreads), runnable -> {
+            Thread thread = new Thread(runnable, "webhook-execution-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        coalescer = new WebhookCoalescer(window, maxBatchRecords, maxPendingRecords, scheduler, runner, this::execute);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+        runner.shutdown();
+    }
+
+    /**
+     * Habilita o webhook (ou gera um novo token, revogando o anterior).
+     */
+    @Transactional
+    public WebhookRegistrationResponse enable(String integrationId, boolean passThrough) {
+        String tenantId = TenantContext.getCurrentTenantId();
+        Integration integration = lockIntegration(integrationId, tenantId);
+
+        String nonce = UUID.randomUUID().toString();
+        String token = signer.sign(tenantId, integrationId, nonce);
+
+        Map<String, Object> webhook = new LinkedHashMap<>();
+        webhook.put("enabled", true);
+        webhook.put("nonce", nonce);
+        webhook.put("passThrough", passThrough);
+        webhook.put("updatedAt", LocalDateTime.now().toString());
+        saveWebhookConfiguration(integration, webhook);
+
+        log.info("Webhook habilitado para integração '{}' do tenant '{}' (repasse do payload: {})",
+                integrationId, tenantId, passThrough);
+
+        return WebhookRegistrationResponse.builder()
+                .integrationId(integrationId)
+                .path("/v1/hooks/" + integrationId)
+                .token(token)
+                .passThrough(passThrough)
+                .windowMs(window.toMillis())
+                .maxBatchRecords(maxBatchRecords)
+                .build();
+    }
+
+    @Transactional
+    public void disable(String integrationId) {
+        String tenantId = TenantContext.getCurrentTenantId();
+        Integration integration = lockIntegration(integrationId, tenantId);
+
+        saveWebhookConfiguration(integration, null);
+
+        log.info("Webhook desabilitado para integração '{}' do tenant '{}'", integrationId, tenantId);
+    }
+
+    /**
+     * Recebe um evento. Não executa nada na thread da requisição: o evento entra na janela
+     * da integração e a resposta sai imediatamente.
+     */
+    public WebhookReceiptResponse receive(String integrationId, String token, Object payload) {
+        Registration registration = authenticate(integrationId, token);
+
+        List<Map<String, Object>> records = registration.passThrough() ? toRecords(payload) : List.of();
+        WebhookCoalescer.Receipt receipt = coalescer.submit(integrationId, records);
+
+        return WebhookReceiptResponse.builder()
+                .integrationId(integrationId)
+                .records(records.size())
+                .pendingEvents(receipt.pendingEvents())
+                .pendingRecords(receipt.pendingRecords())
+                .executionRunning(receipt.running())
+                .build();
+    }
+
+    /**
+     * Valida o token do webhook da integração.
+     *
+     * @return o tenant dono da integração
+     * @throws AccessDeniedException se o webhook não está habilitado ou o token não confere
+     */
+    public String authenticateTenant(String integrationId, String token) {
+        return authenticate(integrationId, token).tenantId();
+    }
+
+    private Registration authenticate(String integrationId, String token) {
+        Registration registration = registration(integrationId);
+        if (registration == null || !signer.verify(registration.tenantId(), integrationId, registration.nonce(), token)) {
+            throw new AccessDeniedException("Token do webhook inválido para a integração " + integrationId);
+        }
+        // /v1/hooks fica fora do TenantInterceptor: a chamada conta para o dono da integração
+        usageMeter.recordApiCall(registration.tenantId());
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(TenantRequestEvent.TENANT_ATTRIBUTE, registration.tenantId(), RequestAttributes.SCOPE_REQUEST);
+        }
+        return registration;
+    }
+
+    private void execute(WebhookCoalescer.Batch batch) {
+        Integration integration = integrationRepository.findById(batch.integrationId()).orElse(null);
+        if (integration == null || webhookSettings(integration) == null) {
+            log.warn("Webhook da integração {} removido; {} eventos descartados", batch.integrationId(), batch.events());
+            return;
+        }
+
+        TenantContext.setCurrentTenant(TenantContext.builder().tenantId(integration.getTenantId()).build());
+        try {
+            dataQuotaService.checkQuota(integration.getTenantId());
+            metrics.executionQueued();
+            ExecutionLog executionLog = batch.records().isEmpty()
+                    ? executorService.executeIntegrationAsync(integration).join()
+                    : executorService.executeIntegrationAsync(integration, batch.records()).join();
+
+            log.info("Webhook da integração {}: {} eventos ({} registros) em uma execução {} com status {}, {}ms após o primeiro evento",
+                    batch.integrationId(), batch.events(), batch.records().size(), executionLog.getExecutionId(),
+                    executionLog.getStatus(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batch.firstEventNanos()));
+        } catch (QuotaExceededException e) {
+            log.warn("Webhook da integração {}: {} eventos descartados, {}", batch.integrationId(), batch.events(), e.getMessage());
+        } catch (TaskRejectedException e) {
+            metrics.executionRejected();
+            log.warn("Webhook da integração {}: {} eventos descartados, fila de execuções cheia", batch.integrationId(), batch.events());
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private Registration registration(String integrationId) {
+        Registration cached = registrations.get(integrationId);
+        if (cached != null && System.nanoTime() - cached.loadedAtNanos() < registrationTtl.toNanos()) {
+            return cached;
+        }
+
+        Registration loaded = integrationRepository.findById(integrationId)
+                .map(integration -> {
+                    Map<?, ?> settings = webhookSettings(integration);
+                    if (settings == null) {
+                        return null;
+                    }
+                    return new Registration(integration.getTenantId(), String.valueOf(settings.get("nonce")),
+                            Boolean.TRUE.equals(settings.get("passThrough")), System.nanoTime());
+                })
+                .orElse(null);
+        if (loaded != null) {
+            registrations.put(integrationId, loaded);
+        } else {
+            registrations.remove(integrationId);
+        }
+        return loaded;
+    }
+
+    private static Map<?, ?> webhookSettings(Integration integration) {
+        Object settings = integration.getConfiguration() != null ? integration.getConfiguration().get(CONFIGURATION_KEY) : null;
+        if (settings instanceof Map<?, ?> map && Boolean.TRUE.equals(map.get("enabled")) && map.get("nonce") != null) {
+            return map;
+        }
+        return null;
+    }
+
+    /**
+     * Relê a integração com lock até o fim da transação: {@code configuration} é regravada
+     * inteira, e sem o lock a gravação apagaria uma marca d'água confirmada ao mesmo tempo
+     * ({@code IncrementalSyncService#commit}, que também relê com lock).
+     */
+    private Integration lockIntegration(String integrationId, String tenantId) {
+        return integrationRepository.findByIdForUpdate(integrationId)
+                .filter(integration -> integration.getTenantId().equals(tenantId))
+                .orElseThrow(() -> new IntegrationNotFoundException(integrationId, tenantId));
+    }
+
+    /**
+     * O token em cache e os caches de integração são descartados depois do commit: antes dele,
+     * uma leitura concorrente recarregaria a configuração anterior.
+     */
+    private void saveWebhookConfiguration(Integration integration, Map<String, Object> webhook) {
+        Map<String, Object> configuration = integration.getConfiguration() != null
+                ? new HashMap<>(integration.getConfiguration()) : new HashMap<>();
+        if (webhook != null) {
+            configuration.put(CONFIGURATION_KEY, webhook);
+        } else {
+            configuration.remove(CONFIGURATION_KEY);
+        }
+        integration.setConfiguration(configuration);
+        integrationRepository.save(integration);
+
+        String integrationId = integration.getId();
+        String tenantId = integration.getTenantId();
+        afterCommit(() -> {
+            registrations.remove(integrationId);
+            integrationPageKeyGenerator.invalidateTenant(tenantId);
+            Cache details = cacheManager.getCache("integrations");
+            if (details != null) {
+                details.evict(integrationId + "_" + tenantId);
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Payload aceito: um objeto (um registro), uma lista de objetos ou {@code {"records": [...]}}.
+     */
+    @SuppressWarnings("unchecked")
+    static List<Map<String, Object>> toRecords(Object payload) {
+        if (payload == null) {
+            return List.of();
+        }
+        if (payload instanceof Map<?, ?> map) {
+            Object records = map.get("records");
+            if (map.size() == 1 && records instanceof List<?> list) {
+                return toRecords(list);
+            }
+            return List.of((Map<String, Object>) map);
+        }
+        if (payload instanceof List<?> list) {
+            List<Map<String, Object>> records = new ArrayList<>(list.size());
+            for (Object element : list) {
+                records.add(element instanceof Map<?, ?> map ? (Map<String, Object>) map : Collections.singletonMap("value", element));
+            }
+            return records;
+        }
+        return List.of(Collections.singletonMap("value", payload));
+    }
+}
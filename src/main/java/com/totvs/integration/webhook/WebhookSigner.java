@@ -0,0 +1,55 @@
+package com.totvs.integration.webhook;
+
+import com.totvs.integration.exception.AccessDeniedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Tokens dos webhooks: {@code HMAC-SHA256(app.webhooks.secret, tenant:integração:nonce)} em
+ * base64url. Nada é guardado além do nonce da integração; gerar um novo nonce revoga o token
+ * anterior.
+ */
+@Component
+public class WebhookSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final byte[] secret;
+
+    public WebhookSigner(@Value("${app.webhooks.secret:}") String secret) {
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public boolean isEnabled() {
+        return secret.length > 0;
+    }
+
+    public String sign(String tenantId, String integrationId, String nonce) {
+        if (!isEnabled()) {
+            throw new AccessDeniedException("Webhooks desabilitados: app.webhooks.secret não configurado");
+        }
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret, ALGORITHM));
+            byte[] signature = mac.doFinal((tenantId + ":" + integrationId + ":" + nonce).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Falha ao assinar token do webhook", e);
+        }
+    }
+
+    public boolean verify(String tenantId, String integrationId, String nonce, String token) {
+        if (!isEnabled() || token == null || nonce == null) {
+            return false;
+        }
+        byte[] expected = sign(tenantId, integrationId, nonce).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, token.getBytes(StandardCharsets.US_ASCII));
+    }
+}
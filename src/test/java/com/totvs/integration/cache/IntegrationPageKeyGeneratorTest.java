@@ -0,0 +1,121 @@
+package com.totvs.integration.cache;
+
+import com.totvs.integration.security.TenantContext;
+import com.totvs.integration.service.IntegrationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IntegrationPageKeyGeneratorTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    private IntegrationPageKeyGenerator keyGenerator;
+    private Method listMethod;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        keyGenerator = new IntegrationPageKeyGenerator(new TenantCacheGenerations(redisTemplate));
+        listMethod = IntegrationService.class.getMethod("listIntegrations", Pageable.class, String.class, String.class, List.class);
+        TenantContext.setCurrentTenant(TenantContext.builder().tenantId("tenant-a").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Deve gerar a mesma chave para filtros equivalentes")
+    void shouldGenerateSameKeyForEquivalentFilters() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenReturn(3);
+
+        Object first = keyGenerator.generate(null, listMethod, PageRequest.of(0, 20), "active", null, List.of("b", "a"));
+        Object second = keyGenerator.generate(null, listMethod, PageRequest.of(0, 20), "ACTIVE", null, List.of("a", "b"));
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first.toString()).startsWith("tenant-a:g3:");
+    }
+
+    @Test
+    @DisplayName("Deve mudar a chave quando a geração do tenant é incrementada")
+    void shouldChangeKeyWhenGenerationIsBumped() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("cache_generation:integration-pages:tenant-a")).thenReturn(1, 2);
+
+        Object before = keyGenerator.generate(null, listMethod, PageRequest.of(1, 20), null, null, null);
+        keyGenerator.invalidateTenant("tenant-a");
+        Object after = keyGenerator.generate(null, listMethod, PageRequest.of(1, 20), null, null, null);
+
+        assertThat(before).isNotEqualTo(after);
+        verify(valueOperations).increment("cache_generation:integration-pages:tenant-a");
+    }
+
+    @Test
+    @DisplayName("Deve usar geração local quando o Redis estiver indisponível")
+    void shouldFallBackToLocalGenerationWhenRedisIsDown() {
+        when(redisTemplate.opsForValue()).thenThrow(new IllegalStateException("redis down"));
+
+        Object before = keyGenerator.generate(null, listMethod, PageRequest.of(0, 20), null, "erp", null);
+        keyGenerator.invalidateTenant("tenant-a");
+        Object after = keyGenerator.generate(null, listMethod, PageRequest.of(0, 20), null, "erp", null);
+
+        assertThat(before.toString()).contains(":g0.l0:");
+        assertThat(after.toString()).contains(":g0.l1:");
+    }
+
+    @Test
+    @DisplayName("Deve aplicar no Redis os incrementos feitos durante a queda e nunca voltar a uma geração anterior")
+    void shouldApplyPendingBumpsWhenRedisComesBack() {
+        String key = "cache_generation:integration-pages:tenant-a";
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(key)).thenReturn(5).thenThrow(new IllegalStateException("redis down")).thenReturn(5);
+        when(valueOperations.increment(key)).thenThrow(new IllegalStateException("redis down"));
+        when(valueOperations.increment(key, 1L)).thenReturn(6L);
+
+        Object healthy = keyGenerator.generate(null, listMethod, PageRequest.of(0, 20), null, null, null);
+        Object degraded = keyGenerator.generate(null, listMethod, PageRequest.of(0, 20), null, null, null);
+        keyGenerator.invalidateTenant("tenant-a");
+        Object recovered = keyGenerator.generate(null, listMethod, PageRequest.of(0, 20), null, null, null);
+
+        assertThat(healthy.toString()).startsWith("tenant-a:g5:");
+        assertThat(degraded.toString()).startsWith("tenant-a:g5.l0:");
+        assertThat(recovered.toString()).startsWith("tenant-a:g6:");
+        verify(valueOperations).increment(key, 1L);
+    }
+
+    @Test
+    @DisplayName("Deve separar chaves por página e por tenant")
+    void shouldSeparateKeysByPageAndTenant() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        Object page0 = keyGenerator.generate(null, listMethod, PageRequest.of(0, 20), null, null, null);
+        Object page1 = keyGenerator.generate(null, listMethod, PageRequest.of(1, 20), null, null, null);
+        TenantContext.setCurrentTenant(TenantContext.builder().tenantId("tenant-b").build());
+        Object otherTenant = keyGenerator.generate(null, listMethod, PageRequest.of(0, 20), null, null, null);
+
+        assertThat(page0).isNotEqualTo(page1);
+        assertThat(page0).isNotEqualTo(otherTenant);
+    }
+}
@@ -0,0 +1,138 @@
+package com.totvs.integration.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StampedeProtectedCacheTest {
+
+    private static final long FRESH_FOR_MS = 1_000;
+
+    private AtomicLong now;
+    private ConcurrentMapCache delegate;
+    private StampedeProtectedCache cache;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(10_000);
+        delegate = new ConcurrentMapCache("integrations");
+        cache = new StampedeProtectedCache(delegate, FRESH_FOR_MS, 0.0, Runnable::run, now::get);
+    }
+
+    @Test
+    @DisplayName("Deve executar um único loader para requisições concorrentes da mesma chave")
+    void shouldCoalesceConcurrentLoads() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(pool.submit(() -> cache.get("k", () -> {
+                    loads.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "value";
+                })));
+            }
+
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve servir valor antigo e revalidar em background após expirar")
+    void shouldServeStaleWhileRevalidating() {
+        List<Runnable> scheduled = new ArrayList<>();
+        cache = new StampedeProtectedCache(delegate, FRESH_FOR_MS, 0.0, scheduled::add, now::get);
+        cache.put("k", "v1");
+
+        now.addAndGet(FRESH_FOR_MS + 1);
+        String served = cache.get("k", () -> "v2");
+        String servedAgain = cache.get("k", () -> "v3");
+
+        assertThat(served).isEqualTo("v1");
+        assertThat(servedAgain).isEqualTo("v1");
+        assertThat(scheduled).hasSize(1);
+
+        scheduled.get(0).run();
+
+        assertThat(cache.get("k", () -> "v4")).isEqualTo("v2");
+    }
+
+    @Test
+    @DisplayName("Deve manter valor fresco sem recarregar")
+    void shouldNotReloadFreshEntries() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("k", () -> "v" + loads.incrementAndGet());
+
+        now.addAndGet(FRESH_FOR_MS - 1);
+
+        assertThat(cache.get("k", () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve antecipar o refresh quando o custo de recomputação é alto (XFetch)")
+    void shouldRefreshEarlyForExpensiveEntries() {
+        List<Runnable> scheduled = new ArrayList<>();
+        cache = new StampedeProtectedCache(delegate, FRESH_FOR_MS, 1_000_000.0, scheduled::add, now::get);
+        delegate.put("k", new CachedValue("v1", now.get(), 500));
+
+        now.addAndGet(FRESH_FOR_MS / 2);
+
+        assertThat(cache.get("k", () -> "v2")).isEqualTo("v1");
+        assertThat(scheduled).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Deve propagar a exceção do loader para todos os chamadores")
+    void shouldPropagateLoaderFailure() {
+        assertThatThrownBy(() -> cache.get("missing", () -> {
+            throw new IllegalArgumentException("not found");
+        }))
+                .isInstanceOf(Cache.ValueRetrievalException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+
+        assertThat(cache.inFlightCount()).isZero();
+        assertThat(cache.get("missing")).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve desembrulhar valores e respeitar evict")
+    void shouldUnwrapValuesAndEvict() {
+        cache.put("k", "v1");
+
+        assertThat(cache.get("k").get()).isEqualTo("v1");
+        assertThat(cache.get("k", String.class)).isEqualTo("v1");
+        assertThat(delegate.get("k").get()).isInstanceOf(CachedValue.class);
+
+        cache.evict("k");
+
+        assertThat(cache.get("k")).isNull();
+    }
+}
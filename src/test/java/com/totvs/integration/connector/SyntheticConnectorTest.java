@@ -0,0 +1,45 @@
+package com.totvs.integration.connector;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SyntheticConnectorTest {
+
+    private final ConnectorFactory factory = new ConnectorFactory();
+
+    @Test
+    @DisplayName("Deve gerar registros determinísticos com largura e skew configurados")
+    void shouldGenerateRecordsWithConfiguredShape() {
+        ConnectorHandler generator = factory.getConnector("GENERATOR");
+        Map<String, Object> config = Map.of("recordCount", 1000, "width", 5, "skew", 0.1, "skewFactor", 4, "seed", 42);
+
+        List<Map<String, Object>> records = generator.readData(config, Map.of());
+
+        assertThat(records).hasSize(1000);
+        assertThat(records).extracting(Map::size).containsOnly(5, 20);
+        assertThat(records.stream().filter(r -> r.size() == 20).count()).isBetween(50L, 150L);
+        assertThat(generator.readData(config, Map.of())).isEqualTo(records);
+    }
+
+    @Test
+    @DisplayName("Deve contar registros e lotes recebidos pelo destino COUNTING")
+    void shouldCountRecordsWrittenToCountingSink() {
+        ConnectorHandler sink = factory.getConnector("counting");
+        List<Map<String, Object>> batch = List.of(Map.of("id", 1), Map.of("id", 2), Map.of("id", 3));
+
+        sink.writeData(Map.of("counter", "run-a"), batch, Map.of());
+        sink.writeData(Map.of("counter", "run-a"), batch, Map.of());
+        sink.writeData(Map.of(), batch, Map.of());
+
+        assertThat(factory.getCountingConnector().getRecords("run-a")).isEqualTo(6L);
+        assertThat(factory.getCountingConnector().getBatches("run-a")).isEqualTo(2L);
+        assertThat(factory.getCountingConnector().getRecords(CountingConnector.DEFAULT_COUNTER)).isEqualTo(3L);
+        assertThat(factory.getConnector("NULL").writeData(Map.of(), batch, Map.of())).isEqualTo(3);
+        assertThat(factory.validateConfigWithErrors("NULL", Map.of())).isEmpty();
+    }
+}
@@ -0,0 +1,45 @@
+package com.totvs.integration.connector;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class WatermarkTest {
+
+    @Test
+    @DisplayName("Deve segurar a marca confirmável enquanto houver empate ainda não gravado")
+    void shouldHoldCommittableWatermarkAcrossTies() {
+        Watermark watermark = new Watermark("updated_at", "2024-05-01T10:00", "since");
+        List<Map<String, Object>> records = List.of(
+                record("UPDATED_AT", Timestamp.valueOf(LocalDateTime.parse("2024-05-01T10:01"))),
+                record("UPDATED_AT", Timestamp.valueOf(LocalDateTime.parse("2024-05-01T10:02"))),
+                record("UPDATED_AT", Timestamp.valueOf(LocalDateTime.parse("2024-05-01T10:02"))),
+                record("UPDATED_AT", Timestamp.valueOf(LocalDateTime.parse("2024-05-01T10:03"))));
+
+        assertThat(watermark.committable(records)).containsExactly(
+                "2024-05-01T10:00", "2024-05-01T10:01", "2024-05-01T10:01", "2024-05-01T10:02", "2024-05-01T10:03");
+    }
+
+    @Test
+    @DisplayName("Deve confirmar só o que não deixa registro pendente para trás em leituras fora de ordem")
+    void shouldNotPassPendingRecordsWhenUnordered() {
+        Watermark watermark = new Watermark("id", null, "since");
+        List<Map<String, Object>> records = List.of(record("id", 5), record("id", 2), record("id", 9),
+                record("id", 7), record("other", 1));
+
+        Object[] committable = watermark.committable(records);
+
+        assertThat(committable).containsExactly(null, null, 5, 5, 9, 9);
+        assertThat(committable[records.size()]).isEqualTo(watermark.advance(records));
+    }
+
+    private static Map<String, Object> record(String field, Object value) {
+        return Map.of(field, value);
+    }
+}
@@ -0,0 +1,142 @@
+package com.totvs.integration.connector.cdc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LogicalDecoderTest {
+
+    @Test
+    @DisplayName("Deve decodificar o pgoutput em registros de insert/update/delete só após o commit")
+    void shouldDecodePgOutputTransactions() throws IOException {
+        LogicalDecoder decoder = LogicalDecoder.forPlugin("pgoutput", new ObjectMapper());
+        ChangeCollector collector = new ChangeCollector();
+
+        assertThat(decoder.decode(message(out -> out.writeByte('B')), collector)).isFalse();
+        decoder.decode(message(out -> {
+            out.writeByte('R');
+            out.writeInt(16384);
+            string(out, "public");
+            string(out, "pedidos");
+            out.writeByte('d');
+            out.writeShort(3);
+            column(out, "id", 23);
+            column(out, "valor", 1700);
+            column(out, "status", 25);
+        }), collector);
+        collector.position("0/16B3748");
+        decoder.decode(message(out -> {
+            out.writeByte('I');
+            out.writeInt(16384);
+            out.writeByte('N');
+            tuple(out, "1", "10.50", "NOVO");
+        }), collector);
+        decoder.decode(message(out -> {
+            out.writeByte('U');
+            out.writeInt(16384);
+            out.writeByte('O');
+            tuple(out, "1", "10.50", "NOVO");
+            out.writeByte('N');
+            tuple(out, "1", "10.50", null);
+        }), collector);
+        decoder.decode(message(out -> {
+            out.writeByte('D');
+            out.writeInt(16384);
+            out.writeByte('K');
+            tuple(out, "1", null, null);
+        }), collector);
+
+        assertThat(collector.committed()).isEmpty();
+        assertThat(collector.inTransaction()).isTrue();
+        assertThat(decoder.decode(message(out -> out.writeByte('C')), collector)).isTrue();
+
+        assertThat(collector.committed()).hasSize(3);
+        Map<String, Object> insert = collector.committed().get(0);
+        assertThat(insert).containsEntry("_op", "INSERT").containsEntry("_table", "public.pedidos")
+                .containsEntry("_lsn", "0/16B3748").containsEntry("id", 1)
+                .containsEntry("valor", new BigDecimal("10.50")).containsEntry("status", "NOVO");
+        Map<String, Object> update = collector.committed().get(1);
+        assertThat(update).containsEntry("_op", "UPDATE").containsEntry("status", null);
+        assertThat(update.get("_before")).isEqualTo(Map.of("id", 1, "valor", new BigDecimal("10.50"), "status", "NOVO"));
+        assertThat(collector.committed().get(2)).containsEntry("_op", "DELETE").containsEntry("id", 1);
+        assertThat(collector.transactions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve decodificar o wal2json (format-version 2) e descartar transação sem commit")
+    void shouldDecodeWal2Json() {
+        LogicalDecoder decoder = LogicalDecoder.forPlugin("wal2json", new ObjectMapper());
+        ChangeCollector collector = new ChangeCollector();
+
+        decoder.decode(json("{\"action\":\"B\"}"), collector);
+        decoder.decode(json("{\"action\":\"I\",\"schema\":\"public\",\"table\":\"clientes\",\"columns\":["
+                + "{\"name\":\"id\",\"type\":\"integer\",\"value\":7},{\"name\":\"nome\",\"type\":\"text\",\"value\":\"Ana\"}]}"), collector);
+        decoder.decode(json("{\"action\":\"U\",\"schema\":\"public\",\"table\":\"clientes\",\"columns\":["
+                + "{\"name\":\"id\",\"type\":\"integer\",\"value\":7},{\"name\":\"nome\",\"type\":\"text\",\"value\":\"Ana Maria\"}],"
+                + "\"identity\":[{\"name\":\"id\",\"type\":\"integer\",\"value\":7}]}"), collector);
+        assertThat(decoder.decode(json("{\"action\":\"C\"}"), collector)).isTrue();
+
+        decoder.decode(json("{\"action\":\"B\"}"), collector);
+        decoder.decode(json("{\"action\":\"D\",\"schema\":\"public\",\"table\":\"clientes\",\"identity\":["
+                + "{\"name\":\"id\",\"type\":\"integer\",\"value\":7}]}"), collector);
+
+        assertThat(collector.committed()).hasSize(2);
+        assertThat(collector.committed().get(0)).containsEntry("_op", "INSERT").containsEntry("_table", "public.clientes")
+                .containsEntry("id", 7).containsEntry("nome", "Ana");
+        assertThat(collector.committed().get(1)).containsEntry("_op", "UPDATE").containsEntry("nome", "Ana Maria")
+                .containsEntry("_before", Map.of("id", 7));
+        assertThat(collector.inTransaction()).isTrue();
+    }
+
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static ByteBuffer message(Writer writer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writer.write(out);
+        out.flush();
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private static ByteBuffer json(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void string(DataOutputStream out, String value) throws IOException {
+        out.write(value.getBytes(StandardCharsets.UTF_8));
+        out.writeByte(0);
+    }
+
+    private static void column(DataOutputStream out, String name, int type) throws IOException {
+        out.writeByte(0);
+        string(out, name);
+        out.writeInt(type);
+        out.writeInt(-1);
+    }
+
+    private static void tuple(DataOutputStream out, String... values) throws IOException {
+        out.writeShort(values.length);
+        for (String value : values) {
+            if (value == null) {
+                out.writeByte('n');
+            } else {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeByte('t');
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+}
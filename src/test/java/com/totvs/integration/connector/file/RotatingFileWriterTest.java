@@ -0,0 +1,148 @@
+package com.totvs.integration.connector.file;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.luben.zstd.ZstdInputStream;
+import com.totvs.integration.metering.DataVolumeCounter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RotatingFileWriterTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Deve rotacionar CSV gzip por tamanho e publicar só arquivos completos, com cabeçalho em cada parte")
+    void shouldRotateGzipCsvAndPublishCompleteFiles() throws IOException {
+        DataVolumeCounter volume = DataVolumeCounter.unlimited("t1");
+        RotatingFileWriter writer = new RotatingFileWriter(directory.resolve("saida/pedidos.csv"), RotatingFileWriter.Format.CSV,
+                new RotatingFileWriter.Options(StandardCharsets.UTF_8, ';', true, RotatingFileWriter.Compression.GZIP,
+                        0, 200, 0, 64), objectMapper, volume);
+
+        for (int batch = 0; batch < 5; batch++) {
+            List<Map<String, Object>> records = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                Map<String, Object> record = new LinkedHashMap<>();
+                record.put("id", batch * 20 + i);
+                record.put("obs", i == 0 ? "a;b \"c\"" : "item " + i);
+                record.put("_op", "I");
+                records.add(record);
+            }
+            assertThat(writer.write(records)).isEqualTo(20);
+            assertThat(listing(directory.resolve("saida"))).anyMatch(name -> name.endsWith(".inprogress"));
+        }
+        writer.close();
+
+        List<String> files = listing(directory.resolve("saida"));
+        assertThat(files).hasSizeGreaterThan(1).allMatch(name -> name.matches("pedidos-\\d{8}T\\d{6}-\\d{4}\\.csv\\.gz"));
+        List<String> lines = new ArrayList<>();
+        for (Path file : writer.getFiles()) {
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+                List<String> content = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+                assertThat(content.get(0)).isEqualTo("id;obs");
+                lines.addAll(content.subList(1, content.size()));
+            }
+        }
+        assertThat(lines).hasSize(100);
+        assertThat(lines.get(0)).isEqualTo("0;\"a;b \"\"c\"\"\"");
+        assertThat(volume.getBytesWritten()).isEqualTo(writer.getFiles().stream().mapToLong(file -> file.toFile().length()).sum());
+    }
+
+    @Test
+    @DisplayName("Deve desfazer o lote NDJSON zstd que falhou e publicar os lotes anteriores no close")
+    void shouldRollBackFailedBatchAndPublishOnClose() throws IOException {
+        Path target = directory.resolve("eventos.json");
+        RotatingFileWriter writer = new RotatingFileWriter(target, RotatingFileWriter.Format.NDJSON,
+                new RotatingFileWriter.Options(StandardCharsets.UTF_8, ',', true, RotatingFileWriter.Compression.ZSTD,
+                        0, 0, 0, 0), objectMapper, DataVolumeCounter.unlimited("t1"));
+
+        writer.write(List.of(Map.of("id", 1), Map.of("tags", List.of("x"))));
+        assertThatThrownBy(() -> writer.write(List.of(Map.of("id", 3), Map.of("id", new Object()))))
+                .isInstanceOf(IOException.class);
+        writer.write(List.of(Map.of("id", 4)));
+        assertThat(Files.exists(directory.resolve("eventos.json.zst"))).isFalse();
+        writer.close();
+
+        assertThat(listing(directory)).containsExactly("eventos.json.zst");
+        try (InputStream in = new ZstdInputStream(Files.newInputStream(directory.resolve("eventos.json.zst")))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8).lines())
+                    .containsExactly("{\"id\":1}", "{\"tags\":[\"x\"]}", "{\"id\":4}");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve retomar do checkpoint na mesma parte, descartando o lote gravado depois dele")
+    void shouldResumeFromCheckpointInSamePart() throws IOException {
+        Path target = directory.resolve("saida/pedidos.csv");
+        RotatingFileWriter.Options options = new RotatingFileWriter.Options(StandardCharsets.UTF_8, ';', true,
+                RotatingFileWriter.Compression.GZIP, 0, 200, 0, 64);
+        RotatingFileWriter crashed = new RotatingFileWriter(target, RotatingFileWriter.Format.CSV, options, objectMapper,
+                DataVolumeCounter.unlimited("t1"));
+        String checkpoint = null;
+        for (int batch = 0; batch < 4; batch++) {
+            crashed.write(batch(batch));
+            if (batch < 3) {
+                checkpoint = crashed.checkpoint();
+            }
+        }
+        List<Path> publishedBeforeCrash = crashed.getFiles();
+
+        RotatingFileWriter resumed = new RotatingFileWriter(target, RotatingFileWriter.Format.CSV, options, objectMapper,
+                DataVolumeCounter.unlimited("t1"));
+        resumed.resume(checkpoint);
+        for (int batch = 3; batch < 5; batch++) {
+            resumed.write(batch(batch));
+        }
+        resumed.close();
+
+        List<Path> files = new ArrayList<>(publishedBeforeCrash);
+        resumed.getFiles().stream().filter(file -> !files.contains(file)).forEach(files::add);
+        assertThat(listing(directory.resolve("saida"))).noneMatch(name -> name.endsWith(".inprogress"))
+                .hasSize(files.size());
+        List<String> ids = new ArrayList<>();
+        for (Path file : files.stream().sorted().toList()) {
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+                List<String> content = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+                assertThat(content.get(0)).isEqualTo("id;obs");
+                content.subList(1, content.size()).forEach(line -> ids.add(line.substring(0, line.indexOf(';'))));
+            }
+        }
+        assertThat(ids).hasSize(100).doesNotHaveDuplicates();
+        assertThat(ids.get(0)).isEqualTo("0");
+        assertThat(ids.get(99)).isEqualTo("99");
+    }
+
+    private static List<Map<String, Object>> batch(int batch) {
+        List<Map<String, Object>> records = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("id", batch * 20 + i);
+            record.put("obs", "item " + i);
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static List<String> listing(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+}
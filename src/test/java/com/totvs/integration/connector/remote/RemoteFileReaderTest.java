@@ -0,0 +1,167 @@
+package com.totvs.integration.connector.remote;
+
+import com.totvs.integration.connector.FileConnector;
+import com.totvs.integration.format.RecordReader;
+import com.totvs.integration.metering.DataVolumeCounter;
+import com.totvs.integration.metering.ExecutionResourceUsage;
+import org.apache.sshd.common.file.virtualfs.VirtualFileSystemFactory;
+import org.apache.sshd.server.SshServer;
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
+import org.apache.sshd.sftp.server.SftpSubsystemFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RemoteFileReaderTest {
+
+    @TempDir
+    Path root;
+
+    private SshServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = SshServer.setUpDefaultServer();
+        server.setHost("127.0.0.1");
+        server.setPort(0);
+        server.setKeyPairProvider(new SimpleGeneratorHostKeyProvider());
+        server.setPasswordAuthenticator((username, password, session) -> "integra".equals(username) && "segredo".equals(password));
+        server.setSubsystemFactories(List.of(new SftpSubsystemFactory()));
+        server.setFileSystemFactory(new VirtualFileSystemFactory(root));
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        server.stop(true);
+    }
+
+    @Test
+    @DisplayName("Deve baixar em paralelo os arquivos do diretório em ordem de nome, reaproveitando sessões e medindo os downloads")
+    void shouldStreamDirectoryInParallelOverPooledSessions() throws IOException {
+        Path directory = Files.createDirectories(root.resolve("entrada"));
+        long totalBytes = 0;
+        for (int file = 1; file <= 8; file++) {
+            StringBuilder csv = new StringBuilder("arquivo;linha\n");
+            for (int line = 1; line <= 1200; line++) {
+                csv.append(file).append(';').append(line).append('\n');
+            }
+            totalBytes += Files.size(Files.writeString(directory.resolve(String.format("notas-%02d.csv", file)), csv));
+        }
+        Files.writeString(directory.resolve("leia-me.txt"), "ignorar");
+
+        Map<String, Object> config = config();
+        config.put("remotePath", "/entrada");
+        config.put("filePattern", "*.csv");
+        config.put("delimiter", ";");
+        config.put("parallelDownloads", 3);
+        DataVolumeCounter volume = DataVolumeCounter.unlimited("t1");
+        ExecutionResourceUsage resources = new ExecutionResourceUsage();
+        FileConnector connector = new FileConnector("FILE_CSV");
+
+        List<String> keys = new ArrayList<>();
+        int connections;
+        try (RecordReader reader = connector.openReader(config,
+                Map.of(DataVolumeCounter.PARAMETER, volume, ExecutionResourceUsage.PARAMETER, resources))) {
+            Map<String, Object> record;
+            while ((record = reader.next()) != null) {
+                keys.add(record.get("arquivo") + "/" + record.get("linha"));
+            }
+            connections = ((RemoteFileReader) reader).getConnections();
+        }
+
+        assertThat(keys).hasSize(9600);
+        assertThat(keys.get(0)).isEqualTo("1/1");
+        assertThat(keys.get(1200)).isEqualTo("2/1");
+        assertThat(keys.get(9599)).isEqualTo("8/1200");
+        assertThat(connections).isBetween(1, 3);
+        assertThat(volume.getBytesRead()).isEqualTo(totalBytes);
+        assertThat(resources.getAllocatedBytes()).isGreaterThan(0L);
+
+        assertThat(connector.testConnection(config)).isTrue();
+        config.put("ftpPassword", "errada");
+        assertThat(connector.testConnection(config)).isFalse();
+        config.put("ftpPassword", "segredo");
+        config.put("hostKeyFingerprint", "SHA256:outraChave");
+        assertThat(connector.testConnection(config)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve retomar o download a partir do último byte recebido quando a conexão cai")
+    void shouldResumeDownloadFromLastByte() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            content.append("<item>").append(i).append("</item>\n");
+        }
+        Files.writeString(root.resolve("lote.xml"), content);
+        RemoteEndpoint endpoint = RemoteEndpoint.from(config());
+
+        try (RemoteSessionPool pool = new RemoteSessionPool(endpoint)) {
+            List<Long> offsets = new ArrayList<>();
+            RemoteFileSystem[] session = {null};
+            ResumableInputStream in = new ResumableInputStream("/lote.xml", (offset, reconnect) -> {
+                offsets.add(offset);
+                if (reconnect) {
+                    pool.discard(session[0]);
+                }
+                session[0] = reconnect || session[0] == null ? pool.borrow() : session[0];
+                InputStream stream = session[0].open("/lote.xml", offset);
+                return offsets.size() <= 2 ? failingAfter(stream, 30_000) : stream;
+            }, 3);
+
+            String downloaded;
+            try (in) {
+                downloaded = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+
+            assertThat(downloaded).isEqualTo(content.toString());
+            assertThat(offsets).containsExactly(0L, 30_000L, 60_000L);
+            assertThat(in.getResumes()).isEqualTo(2);
+            assertThat(pool.getConnections()).isEqualTo(3);
+        }
+    }
+
+    private Map<String, Object> config() {
+        Map<String, Object> config = new HashMap<>();
+        config.put("protocol", "sftp");
+        config.put("ftpHost", "127.0.0.1");
+        config.put("ftpPort", server.getPort());
+        config.put("ftpUsername", "integra");
+        config.put("ftpPassword", "segredo");
+        return config;
+    }
+
+    /**
+     * Simula a queda da conexão depois de {@code limit} bytes.
+     */
+    private static InputStream failingAfter(InputStream in, int limit) {
+        return new FilterInputStream(in) {
+            private int delivered;
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) throws IOException {
+                if (delivered >= limit) {
+                    throw new IOException("Connection reset");
+                }
+                int read = super.read(bytes, offset, Math.min(length, limit - delivered));
+                delivered += Math.max(0, read);
+                return read;
+            }
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package com.totvs.integration.format;
+
+import com.totvs.integration.metering.ExecutionResourceUsage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MappedCsvReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Deve ler em paralelo o mesmo que o leitor sequencial, com aspas atravessando blocos")
+    void shouldMatchSequentialReaderAcrossChunkBoundaries() throws Exception {
+        StringBuilder csv = new StringBuilder("﻿id,nome,obs\r\n");
+        for (int i = 0; i < 200; i++) {
+            switch (i % 4) {
+                case 0 -> csv.append(i).append(",Cliente ").append(i).append(",simples\r\n");
+                case 1 -> csv.append(i).append(",\"Silva, João\",\"linha 1\nlinha 2\n\"\"citação\"\"\"\n");
+                case 2 -> csv.append(i).append(",Ação,\n\n");
+                default -> csv.append(i).append(",\"\",\"fim, \"\"x\"\"\"\r\n");
+            }
+        }
+        String content = csv.toString();
+        Path file = Files.writeString(directory.resolve("clientes.csv"), content, StandardCharsets.UTF_8);
+
+        List<Map<String, Object>> expected = new ArrayList<>();
+        try (CsvRecordReader reader = new CsvRecordReader(new StringReader(content.substring(1)), ',')) {
+            Map<String, Object> record;
+            while ((record = reader.next()) != null) {
+                expected.add(record);
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int chunkBytes : new int[] {7, 13, 64, 1000, 1 << 20}) {
+                List<Integer> batchSizes = new ArrayList<>();
+                List<Map<String, Object>> records = new ArrayList<>();
+                long total = new MappedCsvReader(file, StandardCharsets.UTF_8, ',', true, chunkBytes, pool)
+                        .read(batch -> {
+                            batchSizes.add(batch.size());
+                            records.addAll(batch);
+                        });
+
+                assertThat(total).isEqualTo(200);
+                assertThat(records).as("blocos de %d bytes", chunkBytes).isEqualTo(expected);
+                if (chunkBytes < 100) {
+                    assertThat(batchSizes.size()).isGreaterThan(1);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(expected.get(1)).containsEntry("nome", "Silva, João").containsEntry("obs", "linha 1\nlinha 2\n\"citação\"");
+    }
+
+    @Test
+    @DisplayName("Deve apontar a linha do arquivo com colunas a mais mesmo em blocos posteriores")
+    void shouldReportFileLineOfMalformedRow() throws Exception {
+        StringBuilder csv = new StringBuilder("a;b\n");
+        for (int i = 0; i < 50; i++) {
+            csv.append(i == 30 ? "\"x\ny\";1;2\n" : i + ";" + i + "\n");
+        }
+        Path file = Files.writeString(directory.resolve("erro.csv"), csv.toString());
+
+        assertThatThrownBy(() -> new MappedCsvReader(file, StandardCharsets.UTF_8, ';', true, 16, null).read(batch -> { }))
+                .isInstanceOf(RecordFormatException.class)
+                .extracting(e -> ((RecordFormatException) e).getLine())
+                .isEqualTo(32L);
+    }
+
+    @Test
+    @DisplayName("Deve entregar registro a registro e somar na execução a alocação das tarefas do pool")
+    void shouldStreamRecordsAndMeasurePoolTasks() throws Exception {
+        StringBuilder csv = new StringBuilder("id;valor\n");
+        for (int i = 0; i < 5000; i++) {
+            csv.append(i).append(';').append(i * 10).append('\n');
+        }
+        Path file = Files.writeString(directory.resolve("valores.csv"), csv.toString());
+        ExecutionResourceUsage resources = new ExecutionResourceUsage();
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        List<Object> ids = new ArrayList<>();
+        try (RecordReader reader = new MappedCsvReader(file, StandardCharsets.UTF_8, ';', true, 4096, pool, resources).open()) {
+            Map<String, Object> record;
+            while ((record = reader.next()) != null) {
+                ids.add(record.get("id"));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(ids).hasSize(5000);
+        assertThat(ids.get(0)).isEqualTo("0");
+        assertThat(ids.get(4999)).isEqualTo("4999");
+        assertThat(resources.getAllocatedBytes()).isGreaterThan(0L);
+    }
+}
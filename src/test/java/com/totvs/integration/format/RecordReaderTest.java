@@ -0,0 +1,129 @@
+package com.totvs.integration.format;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RecordReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Deve ler CSV com aspas, delimitador e quebra de linha dentro do campo")
+    void shouldReadQuotedCsv() throws IOException {
+        String csv = "id,nome,obs\r\n"
+                + "1,\"Silva, Ana\",\"linha 1\nlinha 2\"\r\n"
+                + "\n"
+                + "2,\"diz \"\"oi\"\"\",\r\n"
+                + "3,Rui";
+
+        List<Map<String, Object>> records = readAll(RecordFormat.CSV, csv);
+
+        assertThat(records).hasSize(3);
+        assertThat(records.get(0)).containsEntry("nome", "Silva, Ana").containsEntry("obs", "linha 1\nlinha 2");
+        assertThat(records.get(1)).containsEntry("nome", "diz \"oi\"").containsEntry("obs", "");
+        assertThat(records.get(2)).containsEntry("id", "3").containsEntry("obs", null);
+    }
+
+    @Test
+    @DisplayName("Deve ler NDJSON e apontar a linha do registro inválido")
+    void shouldReadNdjsonAndReportInvalidLine() {
+        String ndjson = "{\"id\":1,\"itens\":[1,2]}\n{\"id\":2}\n\n{\"id\":3,}\n";
+
+        List<Map<String, Object>> records = new ArrayList<>();
+        assertThatThrownBy(() -> {
+            try (RecordReader reader = open(RecordFormat.NDJSON, ndjson)) {
+                Map<String, Object> record;
+                while ((record = reader.next()) != null) {
+                    records.add(record);
+                }
+            }
+        }).isInstanceOf(RecordFormatException.class)
+                .satisfies(e -> assertThat(((RecordFormatException) e).getLine()).isEqualTo(4));
+
+        assertThat(records).extracting(record -> record.get("id")).containsExactly(1, 2);
+        assertThat(RecordFormat.fromContentType("application/x-ndjson; charset=utf-8")).isEqualTo(RecordFormat.NDJSON);
+        assertThat(RecordFormat.fromContentType("text/plain")).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve ler JSON em stream pelo caminho dos registros, array na raiz ou objetos concatenados")
+    void shouldStreamJsonRecordsByPath() throws IOException {
+        String nested = "{\"meta\":{\"pagina\":1,\"items\":[9]},\"data\":{\"total\":3,\"items\":"
+                + "[{\"id\":1,\"tags\":[\"a\"]},{\"id\":2},7]},\"depois\":true}";
+
+        assertThat(readAll(new JsonRecordReader(stream(nested), objectMapper, "data.items")))
+                .containsExactly(Map.of("id", 1, "tags", List.of("a")), Map.of("id", 2), Map.of("value", 7));
+        assertThat(readAll(new JsonRecordReader(stream("[{\"id\":1},{\"id\":2}]"), objectMapper, null)))
+                .extracting(record -> record.get("id")).containsExactly(1, 2);
+        assertThat(readAll(new JsonRecordReader(stream("{\"id\":1}\n{\"id\":2}\n"), objectMapper, "")))
+                .extracting(record -> record.get("id")).containsExactly(1, 2);
+        assertThatThrownBy(() -> readAll(new JsonRecordReader(stream(nested), objectMapper, "data.linhas")))
+                .isInstanceOf(RecordFormatException.class)
+                .hasMessageContaining("linhas");
+    }
+
+    @Test
+    @DisplayName("Deve ler cada NFe do lote XML como registro, com atributos, repetições e DTD bloqueado")
+    void shouldStreamXmlRecordsByElementPath() throws IOException {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<lote xmlns=\"http://www.portalfiscal.inf.br/nfe\">\n"
+                + "  <nfeProc versao=\"4.00\"><NFe><infNFe Id=\"NFe351\"><ide><nNF>1</nNF></ide>"
+                + "<det nItem=\"1\"><prod><xProd>Café</xProd></prod></det><det nItem=\"2\"><prod><xProd>Açúcar</xProd></prod></det>"
+                + "<infAdic><![CDATA[a < b]]></infAdic></infNFe></NFe></nfeProc>\n"
+                + "  <nfeProc versao=\"4.00\"><NFe><infNFe Id=\"NFe352\"><ide><nNF>2</nNF></ide><det nItem=\"1\"/></infNFe></NFe></nfeProc>\n"
+                + "  <NFe><infNFe Id=\"fora\"/></NFe>\n"
+                + "</lote>";
+
+        List<Map<String, Object>> notas = readAll(new XmlRecordReader(stream(xml), "nfeProc/NFe"));
+
+        assertThat(notas).hasSize(2);
+        Map<?, ?> infNFe = (Map<?, ?>) notas.get(0).get("infNFe");
+        assertThat(infNFe.get("@Id")).isEqualTo("NFe351");
+        assertThat(infNFe.get("ide")).isEqualTo(Map.of("nNF", "1"));
+        assertThat(infNFe.get("det")).isEqualTo(List.of(
+                Map.of("@nItem", "1", "prod", Map.of("xProd", "Café")),
+                Map.of("@nItem", "2", "prod", Map.of("xProd", "Açúcar"))));
+        assertThat(infNFe.get("infAdic")).isEqualTo("a < b");
+        assertThat(readAll(new XmlRecordReader(stream(xml), "NFe"))).hasSize(3);
+        assertThat(readAll(new XmlRecordReader(stream(xml), null))).extracting(nota -> nota.get("@versao"))
+                .containsExactly("4.00", "4.00", null);
+
+        String dtd = "<?xml version=\"1.0\"?><!DOCTYPE x [<!ENTITY e SYSTEM \"file:///etc/passwd\">]><x><y>&e;</y></x>";
+        assertThatThrownBy(() -> readAll(new XmlRecordReader(stream(dtd), "y")))
+                .isInstanceOf(RecordFormatException.class);
+    }
+
+    private List<Map<String, Object>> readAll(RecordFormat format, String content) throws IOException {
+        return readAll(open(format, content));
+    }
+
+    private static List<Map<String, Object>> readAll(RecordReader opened) throws IOException {
+        List<Map<String, Object>> records = new ArrayList<>();
+        try (RecordReader reader = opened) {
+            Map<String, Object> record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    private RecordReader open(RecordFormat format, String content) throws IOException {
+        return format.open(stream(content), objectMapper, ',');
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
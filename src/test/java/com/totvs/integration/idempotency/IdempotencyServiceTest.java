@@ -0,0 +1,132 @@
+package com.totvs.integration.idempotency;
+
+import com.totvs.integration.entity.Integration;
+import com.totvs.integration.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Roda dentro da transação do teste; as chaves são gravadas em transações próprias, então a
+ * limpeza também é feita fora dela. O H2 fica em modo PostgreSQL, no lugar do banco embutido
+ * padrão do {@code @DataJpaTest}, por causa do {@code ON CONFLICT DO NOTHING}.
+ */
+@DataJpaTest
+@Import({IdempotencyService.class, JacksonAutoConfiguration.class})
+@TestPropertySource(properties = {
+    "spring.test.database.replace=none",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.url=jdbc:h2:mem:idempotencytestdb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=2000",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "app.idempotency.expected-keys=1000"
+})
+@DisplayName("Idempotency Service Tests - H2 Database")
+class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyKeyRepository keyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        TransactionTemplate separate = new TransactionTemplate(transactionManager);
+        separate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        separate.executeWithoutResult(status -> keyRepository.deleteAll());
+    }
+
+    @Test
+    @DisplayName("Deve descartar registros repetidos na execução e já gravados em execuções anteriores")
+    void shouldDropRedeliveredRecords() {
+        Integration integration = integration("int-1", Map.of("enabled", true));
+        Map<String, Object> a = Map.of("id", 1, "valor", 10);
+        Map<String, Object> b = Map.of("id", 2, "valor", 20);
+        Map<String, Object> c = Map.of("id", 3, "valor", 30);
+
+        IdempotencyWindow first = idempotencyService.open(integration);
+        IdempotencyWindow.Batch batch = first.filter(List.of(a, b, a));
+        assertThat(batch.records()).containsExactly(a, b);
+        assertThat(first.getDuplicates()).isEqualTo(1);
+        first.delivered(batch);
+
+        IdempotencyWindow retry = idempotencyService.open(integration);
+        IdempotencyWindow.Batch again = retry.filter(List.of(Map.of("valor", 20, "id", 2), c));
+        assertThat(again.records()).containsExactly(c);
+        assertThat(retry.getDuplicates()).isEqualTo(1);
+        assertThat(again.key()).isNotEqualTo(batch.key());
+        assertThat(idempotencyService.open(integration("int-2", Map.of("enabled", true))).filter(List.of(a)).records())
+                .containsExactly(a);
+    }
+
+    @Test
+    @DisplayName("Deve usar keyFields como chave e regravar lotes cuja gravação não foi confirmada")
+    void shouldUseKeyFieldsAndRetryUnconfirmedBatches() {
+        Integration integration = integration("int-3", Map.of("enabled", true, "keyFields", List.of("pedido", "versao")));
+
+        IdempotencyWindow first = idempotencyService.open(integration);
+        IdempotencyWindow.Batch written = first.filter(List.of(Map.of("pedido", 7, "versao", 1, "status", "NOVO")));
+        first.delivered(written);
+        IdempotencyWindow.Batch failed = first.filter(List.of(Map.of("pedido", 8, "versao", 1, "status", "NOVO")));
+        assertThat(failed.records()).hasSize(1);
+
+        IdempotencyWindow retry = idempotencyService.open(integration);
+        IdempotencyWindow.Batch batch = retry.filter(List.of(
+                Map.of("pedido", 7, "versao", 1, "status", "ALTERADO"),
+                Map.of("pedido", 7, "versao", 2, "status", "ALTERADO"),
+                Map.of("pedido", 8, "versao", 1, "status", "NOVO")));
+
+        assertThat(batch.records()).extracting(record -> record.get("versao") + "/" + record.get("pedido"))
+                .containsExactly("2/7", "1/8");
+        assertThat(keyRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve gravar as chaves fora da transação de quem executa e ignorar as já gravadas por outra execução")
+    void shouldInsertKeysInOwnTransactionIgnoringConflicts() throws Exception {
+        Integration integration = integration("int-4", Map.of("enabled", true, "keyFields", List.of("pedido")));
+        IdempotencyWindow first = idempotencyService.open(integration);
+        IdempotencyWindow concurrent = idempotencyService.open(integration);
+        IdempotencyWindow.Batch batch = first.filter(List.of(Map.of("pedido", 1), Map.of("pedido", 2)));
+        IdempotencyWindow.Batch overlapping = concurrent.filter(List.of(Map.of("pedido", 2), Map.of("pedido", 3)));
+
+        first.delivered(batch);
+        concurrent.delivered(overlapping);
+
+        long committed = CompletableFuture.supplyAsync(() -> keyRepository.count()).get(10, TimeUnit.SECONDS);
+        assertThat(committed).isEqualTo(3);
+        assertThat(idempotencyService.open(integration).filter(List.of(Map.of("pedido", 3), Map.of("pedido", 4))).records())
+                .containsExactly(Map.of("pedido", 4));
+    }
+
+    private static Integration integration(String id, Map<String, Object> idempotency) {
+        return Integration.builder()
+                .id(id)
+                .tenantId("tenant-a")
+                .name(id)
+                .configuration(Map.of(IdempotencyService.CONFIGURATION_KEY, idempotency))
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.totvs.integration.ingest;
+
+import com.totvs.integration.exception.ConnectorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IngestBufferTest {
+
+    @Test
+    @DisplayName("Deve bloquear o produtor enquanto o consumidor lento não libera espaço")
+    void shouldHoldProducerWhileConsumerIsSlow() throws Exception {
+        IngestBuffer buffer = new IngestBuffer(2, Duration.ofSeconds(5));
+        AtomicInteger produced = new AtomicInteger();
+
+        CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+            try {
+                for (int i = 0; i < 10; i++) {
+                    buffer.put(chunk(i));
+                    produced.incrementAndGet();
+                }
+                buffer.complete();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        Thread.sleep(200);
+        assertThat(produced.get()).isEqualTo(2);
+
+        int consumed = 0;
+        IngestBuffer.Chunk chunk;
+        while ((chunk = buffer.next()) != null) {
+            assertThat(chunk.records().get(0)).containsEntry("id", consumed);
+            consumed++;
+            Thread.sleep(10);
+        }
+
+        producer.get(5, TimeUnit.SECONDS);
+        assertThat(consumed).isEqualTo(10);
+        assertThat(buffer.getProducerWaitMs()).isGreaterThanOrEqualTo(150);
+    }
+
+    @Test
+    @DisplayName("Deve liberar o produtor quando a escrita falha e repassar falhas de leitura ao consumidor")
+    void shouldPropagateFailuresBothWays() throws Exception {
+        IngestBuffer aborted = new IngestBuffer(1, Duration.ofSeconds(5));
+        aborted.put(chunk(0));
+        CompletableFuture<Boolean> blocked = CompletableFuture.supplyAsync(() -> {
+            try {
+                return aborted.put(chunk(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return true;
+            }
+        });
+        Thread.sleep(100);
+        assertThat(blocked).isNotDone();
+        aborted.abort();
+        assertThat(blocked.get(2, TimeUnit.SECONDS)).isFalse();
+
+        IngestBuffer failed = new IngestBuffer(4, Duration.ofSeconds(5));
+        failed.put(chunk(0));
+        failed.fail(new ConnectorException("JSON inválido"));
+        assertThatThrownBy(failed::next).isInstanceOf(ConnectorException.class).hasMessage("JSON inválido");
+    }
+
+    private static IngestBuffer.Chunk chunk(int id) {
+        return new IngestBuffer.Chunk(List.of(Map.of("id", id)), 10);
+    }
+}
@@ -0,0 +1,229 @@
+package com.totvs.integration.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.totvs.integration.connector.ConnectorFactory;
+import com.totvs.integration.connector.CountingConnector;
+import com.totvs.integration.entity.ConnectorConfig;
+import com.totvs.integration.entity.ExecutionLog;
+import com.totvs.integration.entity.Integration;
+import com.totvs.integration.repository.IntegrationRepository;
+import com.totvs.integration.service.IntegrationExecutorService;
+import com.totvs.integration.support.InMemoryRedisTemplate;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Teste de carga ponta a ponta: N integrações {@code GENERATOR -> COUNTING} executadas
+ * em paralelo pelo {@link IntegrationExecutorService}, com H2 e Redis em memória.
+ * <p>
+ * Desligado por padrão; execute com
+ * {@code mvn test -Dtest=IntegrationThroughputLoadTest -Dloadtest=true} e ajuste com
+ * {@code -Dloadtest.integrations}, {@code .executions}, {@code .concurrency}, {@code .records},
+ * {@code .width}, {@code .skew}, {@code .latency-ms}, {@code .runs}. O relatório de cada
+ * rodada vai para a saída padrão e para {@code target/load-test/}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database=h2",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "spring.cache.type=simple",
+        "app.connectors.synthetic.enabled=true",
+        "logging.level.com.totvs.integration=WARN"
+})
+class IntegrationThroughputLoadTest {
+
+    private static final String TENANT = "load-test";
+
+    private final int integrations = Integer.getInteger("loadtest.integrations", 8);
+    private final int executions = Integer.getInteger("loadtest.executions", 5);
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 4);
+    private final int records = Integer.getInteger("loadtest.records", 10_000);
+    private final int width = Integer.getInteger("loadtest.width", 10);
+    private final double skew = Double.parseDouble(System.getProperty("loadtest.skew", "0.0"));
+    private final int latencyMs = Integer.getInteger("loadtest.latency-ms", 0);
+    private final int runs = Integer.getInteger("loadtest.runs", 3);
+
+    @Autowired
+    private IntegrationExecutorService executorService;
+
+    @Autowired
+    private IntegrationRepository integrationRepository;
+
+    @Autowired
+    private ConnectorFactory connectorFactory;
+
+    @TestConfiguration
+    static class RedisStandIn {
+
+        @Bean
+        @Primary
+        RedisTemplate<String, Object> inMemoryRedisTemplate() {
+            return new InMemoryRedisTemplate();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve medir vazão, latência e alocação de integrações concorrentes")
+    void shouldReportThroughputPerRun() throws Exception {
+        List<Integration> targets = createIntegrations();
+        List<Map<String, Object>> reports = new ArrayList<>();
+
+        runOnce(targets, "warmup");
+        for (int run = 1; run <= runs; run++) {
+            reports.add(runOnce(targets, "run-" + run));
+        }
+
+        Path dir = Path.of("target", "load-test");
+        Files.createDirectories(dir);
+        Path file = dir.resolve("report-" + System.currentTimeMillis() + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), Map.of(
+                "parameters", parameters(),
+                "runs", reports));
+        System.out.println("Relatório gravado em " + file.toAbsolutePath());
+    }
+
+    private Map<String, Object> runOnce(List<Integration> targets, String label) throws Exception {
+        CountingConnector sink = connectorFactory.getCountingConnector();
+        sink.reset(label);
+        targets.forEach(integration -> integration.getTargetConnector().getConfiguration().put("counter", label));
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Histogram latencies = new Histogram(TimeUnit.MINUTES.toMicros(10), 3);
+        LongAdder allocatedBytes = new LongAdder();
+        AtomicInteger failures = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            for (int round = 0; round < executions; round++) {
+                for (Integration integration : targets) {
+                    futures.add(pool.submit(() -> {
+                        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+                        long begin = System.nanoTime();
+                        ExecutionLog log = executorService.executeIntegrationAsync(integration).join();
+                        long elapsed = System.nanoTime() - begin;
+                        allocatedBytes.add(threads.getCurrentThreadAllocatedBytes() - allocatedBefore);
+                        synchronized (latencies) {
+                            latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsed), latencies.getHighestTrackableValue()));
+                        }
+                        if (log.getStatus() != ExecutionLog.ExecutionStatus.SUCCESS) {
+                            failures.incrementAndGet();
+                        }
+                    }));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long totalExecutions = (long) executions * targets.size();
+        long recordsWritten = sink.getRecords(label);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("executions", totalExecutions);
+        report.put("failures", failures.get());
+        report.put("records", recordsWritten);
+        report.put("elapsedSeconds", round(elapsedSeconds));
+        report.put("recordsPerSecond", round(recordsWritten / elapsedSeconds));
+        report.put("executionsPerSecond", round(totalExecutions / elapsedSeconds));
+        report.put("latencyP50Ms", latencies.getValueAtPercentile(50) / 1000.0);
+        report.put("latencyP95Ms", latencies.getValueAtPercentile(95) / 1000.0);
+        report.put("latencyP99Ms", latencies.getValueAtPercentile(99) / 1000.0);
+        report.put("latencyMaxMs", latencies.getMaxValue() / 1000.0);
+        report.put("allocationMBPerSecond", round(allocatedBytes.sum() / elapsedSeconds / (1024 * 1024)));
+        report.put("allocatedBytesPerRecord", recordsWritten > 0 ? allocatedBytes.sum() / recordsWritten : 0);
+
+        System.out.println("[load-test] " + report);
+
+        assertThat(failures.get()).as("execuções com falha").isZero();
+        assertThat(recordsWritten).as("registros recebidos pelo COUNTING").isEqualTo(totalExecutions * records);
+        return report;
+    }
+
+    private List<Integration> createIntegrations() {
+        List<Integration> created = new ArrayList<>();
+        for (int i = 0; i < integrations; i++) {
+            Map<String, Object> sourceConfig = new HashMap<>();
+            sourceConfig.put("recordCount", records);
+            sourceConfig.put("width", width);
+            sourceConfig.put("skew", skew);
+            sourceConfig.put("latencyMs", latencyMs);
+            sourceConfig.put("seed", i);
+
+            Map<String, Object> targetConfig = new HashMap<>();
+            targetConfig.put("latencyMs", latencyMs);
+
+            created.add(integrationRepository.save(Integration.builder()
+                    .tenantId(TENANT)
+                    .name("load-test-" + i)
+                    .sourceConnector(connector("GENERATOR", sourceConfig))
+                    .targetConnector(connector("COUNTING", targetConfig))
+                    .status(Integration.IntegrationStatus.ACTIVE)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build()));
+        }
+        return created;
+    }
+
+    private static ConnectorConfig connector(String type, Map<String, Object> configuration) {
+        ConnectorConfig connector = new ConnectorConfig();
+        connector.setName(type.toLowerCase());
+        connector.setType(type);
+        connector.setTenantId(TENANT);
+        connector.setConfiguration(configuration);
+        return connector;
+    }
+
+    private Map<String, Object> parameters() {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("integrations", integrations);
+        parameters.put("executionsPerIntegration", executions);
+        parameters.put("concurrency", concurrency);
+        parameters.put("recordsPerExecution", records);
+        parameters.put("width", width);
+        parameters.put("skew", skew);
+        parameters.put("latencyMs", latencyMs);
+        return parameters;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
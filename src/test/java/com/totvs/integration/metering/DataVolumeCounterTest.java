@@ -0,0 +1,75 @@
+package com.totvs.integration.metering;
+
+import com.totvs.integration.exception.QuotaExceededException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DataVolumeCounterTest {
+
+    @Test
+    @DisplayName("Deve contar bytes lidos e gravados através dos streams")
+    void shouldCountBytesThroughWrappedStreams() throws Exception {
+        DataVolumeCounter volume = DataVolumeCounter.unlimited("tenant-a");
+
+        try (InputStream in = volume.wrap(new ByteArrayInputStream(new byte[1500]))) {
+            in.read(new byte[1000]);
+            in.read();
+            in.readAllBytes();
+        }
+        try (OutputStream out = volume.wrap(new ByteArrayOutputStream())) {
+            out.write(new byte[300]);
+            out.write(7);
+        }
+
+        assertThat(volume.getBytesRead()).isEqualTo(1500L);
+        assertThat(volume.getBytesWritten()).isEqualTo(301L);
+        assertThat(volume.getTotalBytes()).isEqualTo(1801L);
+    }
+
+    @Test
+    @DisplayName("Deve interromper a transferência ao exceder a cota")
+    void shouldStopWhenBudgetIsExceeded() {
+        DataVolumeCounter volume = new DataVolumeCounter("tenant-a", 1000, -1, 0);
+
+        volume.addBytesRead(800);
+
+        assertThatThrownBy(() -> volume.wrap(new ByteArrayOutputStream()).write(new byte[300]))
+                .isInstanceOf(QuotaExceededException.class);
+    }
+
+    @Test
+    @DisplayName("Deve usar contador ilimitado quando não informado nos parâmetros")
+    void shouldFallBackToUnlimitedCounter() {
+        DataVolumeCounter volume = new DataVolumeCounter("tenant-a", 10, -1, 0);
+
+        assertThat(DataVolumeCounter.from(Map.of(DataVolumeCounter.PARAMETER, volume))).isSameAs(volume);
+        assertThatCode(() -> DataVolumeCounter.from(Map.of()).addBytesRead(Long.MAX_VALUE / 2))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Deve dividir o saldo da cota entre execuções simultâneas do mesmo tenant")
+    void shouldShareRemainingQuotaBetweenConcurrentExecutions() {
+        TenantUsageMeter meter = new TenantUsageMeter();
+        TenantUsageCounters tenant = meter.countersFor("tenant-a");
+        DataVolumeCounter first = new DataVolumeCounter("tenant-a", 1000, -1, 0, tenant, 400);
+        DataVolumeCounter second = new DataVolumeCounter("tenant-a", 1000, -1, 0, tenant, 400);
+
+        first.addBytesRead(350);
+        assertThat(meter.inFlightBytes("tenant-a")).isEqualTo(350L);
+        assertThatThrownBy(() -> second.addBytesRead(300)).isInstanceOf(QuotaExceededException.class);
+
+        first.settle();
+        first.settle();
+        assertThat(meter.inFlightBytes("tenant-a")).isEqualTo(300L);
+        assertThat(meter.pending("tenant-a").bytesTransferred()).isEqualTo(350L);
+    }
+}
@@ -0,0 +1,57 @@
+package com.totvs.integration.metering;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ExecutionResourceUsageTest {
+
+    private static final int CHUNK = 1 << 20;
+
+    @Test
+    @DisplayName("Deve somar CPU e alocação de todas as threads da execução")
+    void shouldAggregateAcrossWorkerThreads() throws Exception {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported());
+
+        ExecutionResourceUsage usage = new ExecutionResourceUsage();
+        List<byte[]> retained = new ArrayList<>();
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try (ExecutionResourceUsage.Scope ignored = usage.enter()) {
+            retained.add(new byte[CHUNK]);
+            List<Future<byte[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                futures.add(pool.submit(usage.wrap(() -> new byte[CHUNK])));
+            }
+            for (Future<byte[]> future : futures) {
+                retained.add(future.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(retained).hasSize(3);
+        assertThat(usage.getAllocatedBytes()).isGreaterThanOrEqualTo(3L * CHUNK);
+        assertThat(usage.getCpuTimeNanos()).isGreaterThanOrEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("Deve recuperar a instância compartilhada dos parâmetros do conector")
+    void shouldResolveFromParameters() {
+        ExecutionResourceUsage usage = new ExecutionResourceUsage();
+
+        assertThat(ExecutionResourceUsage.from(Map.of(ExecutionResourceUsage.PARAMETER, usage))).isSameAs(usage);
+        assertThat(ExecutionResourceUsage.from(null)).isNotNull().isNotSameAs(usage);
+    }
+}
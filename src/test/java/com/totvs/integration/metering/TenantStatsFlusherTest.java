@@ -0,0 +1,136 @@
+package com.totvs.integration.metering;
+
+import com.totvs.integration.entity.TenantStats;
+import com.totvs.integration.repository.TenantStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantStatsFlusherTest {
+
+    @Mock
+    private TenantStatsRepository tenantStatsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TenantUsageMeter usageMeter;
+    private TenantStatsFlusher flusher;
+
+    @BeforeEach
+    void setUp() {
+        usageMeter = new TenantUsageMeter();
+        flusher = new TenantStatsFlusher(usageMeter, tenantStatsRepository, new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    @DisplayName("Deve agregar eventos em memória e gravar um único upsert por tenant")
+    @SuppressWarnings("unchecked")
+    void shouldAggregateAndFlushOncePerTenant() {
+        when(tenantStatsRepository.findByTenantIdIn(anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(emptyStats("tenant-a")));
+
+        usageMeter.recordExecution("tenant-a", true, 100);
+        usageMeter.recordExecution("tenant-a", false, 300);
+        usageMeter.recordApiCall("tenant-a");
+        usageMeter.recordBytesTransferred("tenant-a", 2048);
+        usageMeter.recordResources("tenant-a", 120, 1 << 20);
+        usageMeter.recordConnectorUsage("tenant-a", "rest_api");
+        usageMeter.recordConnectorUsage("tenant-a", "REST_API");
+
+        flusher.flush();
+
+        ArgumentCaptor<List<TenantStats>> saved = ArgumentCaptor.forClass(List.class);
+        verify(tenantStatsRepository).saveAll(saved.capture());
+        TenantStats stats = saved.getValue().get(0);
+
+        assertThat(stats.getTenantId()).isEqualTo("tenant-a");
+        assertThat(stats.getTotalExecutions()).isEqualTo(2L);
+        assertThat(stats.getSuccessfulExecutions()).isEqualTo(1L);
+        assertThat(stats.getFailedExecutions()).isEqualTo(1L);
+        assertThat(stats.getSuccessRate()).isEqualTo(50.0);
+        assertThat(stats.getAverageExecutionTimeMs()).isEqualTo(200.0);
+        assertThat(stats.getCurrentMonthApiCalls()).isEqualTo(1L);
+        assertThat(stats.getCurrentMonthDataTransferred()).isEqualTo(2048L);
+        assertThat(stats.getTotalCpuTimeMs()).isEqualTo(120L);
+        assertThat(stats.getTotalAllocatedBytes()).isEqualTo(1L << 20);
+        assertThat(stats.getConnectorUsage()).containsEntry("REST_API", 2L);
+        verify(tenantStatsRepository).insertIfAbsent(anyString(), eq("tenant-a"));
+
+        flusher.flush();
+
+        verifyNoMoreInteractions(tenantStatsRepository);
+        assertThat(usageMeter.pending("tenant-a").isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve manter deltas pendentes quando o flush falhar")
+    void shouldKeepPendingDeltasWhenFlushFails() {
+        when(tenantStatsRepository.findByTenantIdIn(anyCollection()))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(List.of(emptyStats("tenant-a")));
+
+        usageMeter.recordExecution("tenant-a", true, 50);
+        flusher.flush();
+
+        assertThat(usageMeter.pending("tenant-a").executions()).isEqualTo(1L);
+
+        usageMeter.recordExecution("tenant-a", true, 50);
+        flusher.flush();
+
+        assertThat(usageMeter.pending("tenant-a").executions()).isZero();
+        verify(tenantStatsRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve somar deltas a estatísticas existentes e reiniciar contadores no novo mês")
+    void shouldResetMonthlyCountersOnMonthRollover() {
+        TenantStats stats = new TenantStats();
+        stats.setTenantId("tenant-a");
+        stats.setTotalExecutions(10L);
+        stats.setSuccessfulExecutions(10L);
+        stats.setCurrentMonthExecutions(10L);
+        stats.setCurrentMonthDataTransferred(5000L);
+        stats.setAverageExecutionTimeMs(100.0);
+        stats.setTotalCpuTimeMs(400L);
+        stats.setCurrentMonthCpuTimeMs(400L);
+        stats.setMonthlyUsageByDay(new HashMap<>(Map.of("2026-09-30", 10L)));
+        stats.setUpdatedAt(LocalDateTime.of(2026, 9, 30, 23, 59));
+
+        TenantUsageDelta delta = new TenantUsageDelta("tenant-a", 10, 5, 5, 3000, 0, 100, 250, 4096, Map.of(), 0);
+        TenantStatsFlusher.apply(stats, delta, LocalDateTime.of(2026, 10, 1, 0, 1));
+
+        assertThat(stats.getTotalExecutions()).isEqualTo(20L);
+        assertThat(stats.getCurrentMonthExecutions()).isEqualTo(10L);
+        assertThat(stats.getCurrentMonthDataTransferred()).isEqualTo(100L);
+        assertThat(stats.getSuccessRate()).isEqualTo(75.0);
+        assertThat(stats.getTotalCpuTimeMs()).isEqualTo(650L);
+        assertThat(stats.getCurrentMonthCpuTimeMs()).isEqualTo(250L);
+        assertThat(stats.getCurrentMonthAllocatedBytes()).isEqualTo(4096L);
+        assertThat(stats.getAverageExecutionTimeMs()).isEqualTo(200.0);
+        assertThat(stats.getMonthlyUsageByDay()).containsOnly(entry("2026-10-01", 10L));
+    }
+
+    private static TenantStats emptyStats(String tenantId) {
+        TenantStats stats = new TenantStats();
+        stats.setTenantId(tenantId);
+        return stats;
+    }
+}
@@ -0,0 +1,79 @@
+package com.totvs.integration.metrics;
+
+import com.totvs.integration.dto.connector.ConnectorMetricsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ConnectorMetricsCollectorTest {
+
+    private static final long SLOT_MS = 60_000;
+
+    private AtomicLong now;
+    private ConnectorMetricsCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(10 * SLOT_MS);
+        collector = new ConnectorMetricsCollector(5, SLOT_MS, now::get);
+    }
+
+    @Test
+    @DisplayName("Deve calcular percentis e taxa de sucesso por tenant e tipo de conector")
+    void shouldReportPercentilesPerTenantAndType() {
+        for (int i = 1; i <= 100; i++) {
+            collector.record("tenant-a", "rest_api", TimeUnit.MILLISECONDS.toNanos(i), i <= 90);
+        }
+        collector.record("tenant-a", "DATABASE_POSTGRESQL", TimeUnit.MILLISECONDS.toNanos(5), true);
+        collector.record("tenant-b", "REST_API", TimeUnit.MILLISECONDS.toNanos(500), true);
+
+        List<ConnectorMetricsDto> metrics = collector.getMetrics("tenant-a", "REST_API");
+
+        assertThat(metrics).hasSize(1);
+        ConnectorMetricsDto rest = metrics.get(0);
+        assertThat(rest.getTotalConnections()).isEqualTo(100L);
+        assertThat(rest.getFailedConnections()).isEqualTo(10L);
+        assertThat(rest.getSuccessRate()).isEqualTo(90.0);
+        assertThat(rest.getP50ResponseTimeMs()).isCloseTo(50.0, within(1.0));
+        assertThat(rest.getP95ResponseTimeMs()).isCloseTo(95.0, within(1.0));
+        assertThat(rest.getP99ResponseTimeMs()).isCloseTo(99.0, within(1.0));
+        assertThat(collector.getMetrics("tenant-a", null)).extracting(ConnectorMetricsDto::getConnectorType)
+                .containsExactly("DATABASE_POSTGRESQL", "REST_API");
+    }
+
+    @Test
+    @DisplayName("Deve descartar latências que saíram da janela deslizante")
+    void shouldExpireSlotsOutsideWindow() {
+        collector.record("tenant-a", "REST_API", TimeUnit.MILLISECONDS.toNanos(900), true);
+        collector.drain();
+
+        now.addAndGet(3 * SLOT_MS);
+        collector.record("tenant-a", "REST_API", TimeUnit.MILLISECONDS.toNanos(10), true);
+
+        assertThat(collector.getMetrics("tenant-a", "REST_API").get(0).getTotalConnections()).isEqualTo(2L);
+
+        now.addAndGet(2 * SLOT_MS);
+        ConnectorMetricsDto metrics = collector.getMetrics("tenant-a", "REST_API").get(0);
+
+        assertThat(metrics.getTotalConnections()).isEqualTo(1L);
+        assertThat(metrics.getMaxResponseTimeMs()).isCloseTo(10.0, within(0.1));
+    }
+
+    @Test
+    @DisplayName("Deve remover janelas ociosas")
+    void shouldEvictIdleWindows() {
+        collector.record("tenant-a", "REST_API", TimeUnit.MILLISECONDS.toNanos(10), true);
+
+        now.addAndGet(6 * SLOT_MS);
+        collector.drain();
+
+        assertThat(collector.windowCount()).isZero();
+        assertThat(collector.getMetrics("tenant-a", null)).isEmpty();
+    }
+}
@@ -0,0 +1,70 @@
+package com.totvs.integration.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IntegrationMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private IntegrationMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new IntegrationMetrics(registry, 2, 2);
+    }
+
+    @Test
+    @DisplayName("Deve registrar duração, registros e lote por etapa e conector")
+    void shouldRecordStageMeters() {
+        metrics.recordStage(IntegrationMetrics.STAGE_READ, "rest_api", TimeUnit.MILLISECONDS.toNanos(40), 250);
+        metrics.recordStage(IntegrationMetrics.STAGE_READ, "REST_API", TimeUnit.MILLISECONDS.toNanos(60), 150);
+
+        assertThat(registry.get("integration.stage.duration").tags("stage", "read", "connector", "REST_API").timer().count())
+                .isEqualTo(2);
+        assertThat(registry.get("integration.records").tags("stage", "read").counter().count()).isEqualTo(400.0);
+        assertThat(registry.get("integration.batch.size").tags("connector", "REST_API").summary().max()).isEqualTo(250.0);
+    }
+
+    @Test
+    @DisplayName("Deve limitar a cardinalidade das tags de tenant")
+    void shouldCollapseTenantsBeyondLimit() {
+        metrics.rateLimitRejected("tenant-a");
+        metrics.rateLimitRejected("tenant-b");
+        metrics.rateLimitRejected("tenant-c");
+        metrics.rateLimitRejected("tenant-d");
+
+        assertThat(registry.find("integration.ratelimit.rejections").counters()).hasSize(3);
+        assertThat(registry.get("integration.ratelimit.rejections").tag("tenant", BoundedTagValues.OTHER).counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Deve acompanhar fila e execuções ativas por tenant")
+    void shouldTrackQueueAndActiveExecutions() {
+        metrics.executionQueued();
+        metrics.executionQueued();
+        metrics.executionDequeued();
+        metrics.executionStarted("tenant-a");
+
+        assertThat(registry.get("integration.executions.queued").gauge().value()).isEqualTo(1.0);
+        metrics.executionQueued();
+        metrics.executionRejected();
+        assertThat(registry.get("integration.executions.queued").gauge().value()).isEqualTo(1.0);
+        assertThat(registry.get("integration.executions.rejected").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("integration.executions.active").tag("tenant", "tenant-a").gauge().value()).isEqualTo(1.0);
+
+        metrics.executionFinished("tenant-a", "REST_API", "DATABASE_POSTGRESQL", "success",
+                TimeUnit.SECONDS.toNanos(2), 1000);
+
+        assertThat(registry.get("integration.executions.active").tag("tenant", "tenant-a").gauge().value()).isZero();
+        assertThat(registry.get("integration.execution.duration").tags("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get("integration.execution.throughput").summary().mean()).isEqualTo(500.0);
+    }
+}
@@ -0,0 +1,77 @@
+package com.totvs.integration.profiling;
+
+import com.totvs.integration.connector.ConnectorFactory;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ContinuousRecordingTest {
+
+    @TempDir
+    Path directory;
+
+    private ContinuousRecording recording;
+
+    @AfterEach
+    void tearDown() {
+        if (recording != null) {
+            recording.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gravar chamadas de conector e decisões no ring buffer e permitir dump")
+    void shouldDumpHubEventsFromRingBuffer() throws Exception {
+        recording = new ContinuousRecording("default", Duration.ofMinutes(5), DataSize.ofMegabytes(16),
+                Duration.ZERO, directory.toString(), 2);
+        recording.start();
+
+        List<Map<String, Object>> batch = List.of(Map.of("id", 1), Map.of("id", 2), Map.of("id", 3));
+        new ConnectorFactory().getConnector("NULL").writeData(Map.of(), batch, Map.of());
+        RateLimitDecisionEvent.start("tenant-a", 10).finish(false, 11, false);
+
+        Path file = Path.of((String) recording.dump().get("file"));
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        assertThat(events).filteredOn(e -> e.getEventType().getName().equals(ConnectorCallEvent.NAME))
+                .anySatisfy(e -> {
+                    assertThat(e.getString("connectorType")).isEqualTo("NULL");
+                    assertThat(e.getString("operation")).isEqualTo("write");
+                    assertThat(e.getLong("rows")).isEqualTo(3L);
+                });
+        assertThat(events).filteredOn(e -> e.getEventType().getName().equals(RateLimitDecisionEvent.NAME))
+                .anySatisfy(e -> assertThat(e.getBoolean("allowed")).isFalse());
+        assertThat(recording.status()).containsEntry("state", "RUNNING");
+    }
+
+    @Test
+    @DisplayName("Deve recusar o dump pelo actuator sem o token de administrador")
+    void shouldRequireAdminTokenToDump() throws Exception {
+        recording = new ContinuousRecording("default", Duration.ofMinutes(5), DataSize.ofMegabytes(16),
+                Duration.ZERO, directory.toString(), 2);
+        recording.start();
+        ExecutionProfiler profiler = new ExecutionProfiler(true, "secret", directory.toString(), "default",
+                Duration.ofMinutes(1), 1, 5);
+        ContinuousRecordingEndpoint endpoint = new ContinuousRecordingEndpoint(new StaticListableBeanFactory(
+                Map.of("recording", recording)).getBeanProvider(ContinuousRecording.class), profiler);
+
+        assertThat(endpoint.dump(null).getStatus()).isEqualTo(403);
+        assertThat(endpoint.dump("errado").getStatus()).isEqualTo(403);
+        WebEndpointResponse<Map<String, Object>> dumped = endpoint.dump("secret");
+        assertThat(dumped.getStatus()).isEqualTo(200);
+        assertThat(Path.of((String) dumped.getBody().get("file"))).exists();
+    }
+}
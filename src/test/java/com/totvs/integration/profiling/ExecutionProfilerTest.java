@@ -0,0 +1,80 @@
+package com.totvs.integration.profiling;
+
+import com.totvs.integration.exception.AccessDeniedException;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ExecutionProfilerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Deve gravar eventos de etapa e lote da execução em arquivo JFR")
+    void shouldRecordPipelineEventsToFile() throws Exception {
+        ExecutionProfiler profiler = profiler(2);
+
+        ExecutionProfiler.Session session = profiler.start("exec-1", "tenant-a");
+        PipelineStageEvent stage = PipelineStageEvent.start("exec-1", "int-1", "tenant-a", "read", "GENERATOR");
+        PipelineBatchEvent batch = PipelineBatchEvent.start("exec-1", "read", "GENERATOR", 0);
+        batch.finish(100, 2048);
+        stage.finish(100, 2048);
+        Map<String, Object> info = session.stop();
+
+        assertThat(info).containsEntry("status", "recorded");
+        Path file = Path.of((String) info.get("file"));
+        assertThat(file).startsWith(directory.resolve("tenant-a")).exists();
+        assertThat(file).isEqualTo(profiler.recordingFile("tenant-a", "exec-1"));
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events).filteredOn(e -> e.getEventType().getName().equals(PipelineStageEvent.NAME))
+                .singleElement()
+                .satisfies(e -> {
+                    assertThat(e.getString("executionId")).isEqualTo("exec-1");
+                    assertThat(e.getLong("records")).isEqualTo(100L);
+                });
+        assertThat(events).anyMatch(e -> e.getEventType().getName().equals(PipelineBatchEvent.NAME));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar gravação quando o limite de gravações simultâneas for atingido")
+    void shouldSkipWhenNoSlotAvailable() {
+        ExecutionProfiler profiler = profiler(1);
+
+        ExecutionProfiler.Session first = profiler.start("exec-1", "tenant-a");
+        ExecutionProfiler.Session second = profiler.start("exec-2", "tenant-a");
+
+        assertThat(second.stop()).containsEntry("status", "busy");
+        assertThat(first.stop()).containsEntry("status", "recorded");
+        assertThat(profiler.start("exec-3", "tenant-a").stop()).containsEntry("status", "recorded");
+    }
+
+    @Test
+    @DisplayName("Deve exigir token de administrador configurado")
+    void shouldRequireAdminToken() {
+        ExecutionProfiler profiler = profiler(1);
+
+        assertThatCode(() -> profiler.checkAdmin("secret")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> profiler.checkAdmin("wrong")).isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> profiler.checkAdmin(null)).isInstanceOf(AccessDeniedException.class);
+
+        ExecutionProfiler unconfigured = new ExecutionProfiler(true, "", directory.toString(), "default",
+                Duration.ofMinutes(1), 1, 5);
+        assertThatThrownBy(() -> unconfigured.checkAdmin("")).isInstanceOf(AccessDeniedException.class);
+    }
+
+    private ExecutionProfiler profiler(int maxFiles) {
+        return new ExecutionProfiler(true, "secret", directory.toString(), "default", Duration.ofMinutes(1), 1, maxFiles);
+    }
+}
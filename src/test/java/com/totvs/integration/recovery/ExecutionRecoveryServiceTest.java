@@ -0,0 +1,176 @@
+package com.totvs.integration.recovery;
+
+import com.totvs.integration.entity.ExecutionLog;
+import com.totvs.integration.entity.Integration;
+import com.totvs.integration.metrics.IntegrationMetrics;
+import com.totvs.integration.repository.ExecutionLogRepository;
+import com.totvs.integration.repository.IntegrationRepository;
+import com.totvs.integration.service.IntegrationExecutorService;
+import com.totvs.integration.service.IntegrationStatisticsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@Import({ExecutionCheckpoints.class, ExecutionRecoveryService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.datasource.url=jdbc:h2:mem:recoverytestdb;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=2000",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "app.executions.node-id=node-b",
+    "app.executions.recovery.stale-after-ms=60000"
+})
+@DisplayName("Execution Recovery Service Tests - H2 Database")
+class ExecutionRecoveryServiceTest {
+
+    @Autowired
+    private ExecutionRecoveryService recoveryService;
+
+    @Autowired
+    private ExecutionCheckpoints checkpoints;
+
+    @Autowired
+    private ExecutionLogRepository executionLogRepository;
+
+    @Autowired
+    private IntegrationRepository integrationRepository;
+
+    @MockBean
+    private IntegrationExecutorService executorService;
+
+    @MockBean
+    private IntegrationStatisticsService statistics;
+
+    @MockBean
+    private IntegrationMetrics metrics;
+
+    @Test
+    @DisplayName("Deve retomar a execução órfã com posição da origem e encerrar as que não podem ser retomadas")
+    void shouldResumeCheckpointedOrphanAndFailTheRest() {
+        Integration integration = integrationRepository.save(Integration.builder().tenantId("tenant-a").name("carga").build());
+        LocalDateTime longAgo = LocalDateTime.now().minusMinutes(10);
+        ExecutionLog positioned = running(integration, "node-a", longAgo, 3_000L);
+        positioned.setCheckpointSource("{\"snapshot\":\"/dados/pedidos.csv:1024:1700000000000\"}");
+        ExecutionLog checkpointed = executionLogRepository.save(positioned);
+        ExecutionLog unordered = executionLogRepository.save(running(integration, "node-a", longAgo, 2_000L));
+        ExecutionLog inbound = executionLogRepository.save(running(integration, "node-a", longAgo, null));
+        ExecutionLog alive = executionLogRepository.save(running(integration, "node-c", LocalDateTime.now(), 10L));
+        when(executorService.resumeExecution(any(Integration.class), any(ExecutionLog.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(1)));
+
+        recoveryService.sweep();
+
+        verify(executorService, timeout(2_000)).resumeExecution(any(Integration.class),
+                argThat(log -> log.getExecutionId().equals(checkpointed.getExecutionId()) && log.getCheckpointOffset() == 3_000L));
+        verify(executorService, never()).resumeExecution(any(Integration.class),
+                argThat(log -> !log.getExecutionId().equals(checkpointed.getExecutionId())));
+        assertThat(executionLogRepository.findById(checkpointed.getId()).orElseThrow().getNodeId()).isEqualTo("node-b");
+
+        ExecutionLog failed = executionLogRepository.findById(inbound.getId()).orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(ExecutionLog.ExecutionStatus.FAILED);
+        assertThat(failed.getErrorMessage()).contains("node-a");
+        verify(statistics).executionFailed(any(Integration.class), eq(failed.getErrorMessage()));
+
+        ExecutionLog notResumable = executionLogRepository.findById(unordered.getId()).orElseThrow();
+        assertThat(notResumable.getStatus()).isEqualTo(ExecutionLog.ExecutionStatus.FAILED);
+        assertThat(notResumable.getErrorMessage()).contains("2000 registros gravados", "posição estável");
+
+        ExecutionLog untouched = executionLogRepository.findById(alive.getId()).orElseThrow();
+        assertThat(untouched.getStatus()).isEqualTo(ExecutionLog.ExecutionStatus.RUNNING);
+        assertThat(untouched.getNodeId()).isEqualTo("node-c");
+    }
+
+    @Test
+    @DisplayName("Deve gravar a posição da origem no checkpoint e interromper a cópia local quando outro nó assume a execução")
+    void shouldFenceCheckpointsAfterTakeover() {
+        Integration integration = integrationRepository.save(Integration.builder().tenantId("tenant-a").name("carga").build());
+        ExecutionLog local = executionLogRepository.save(running(integration, "node-b", LocalDateTime.now(), 0L));
+
+        checkpoints.save(local, 5_000, 0, 5_000);
+        assertThat(executionLogRepository.findById(local.getId()).orElseThrow().getCheckpointOffset()).isEqualTo(5_000L);
+
+        checkpoints.save(local, 7_500, 1, 7_500, SourcePosition.ofWatermark("updated_at", 1_700_000_000_123L), null);
+        SourcePosition position = ExecutionCheckpoints.sourcePosition(executionLogRepository.findById(local.getId()).orElseThrow());
+        assertThat(position.field()).isEqualTo("updated_at");
+        assertThat(position.watermark()).isEqualTo(1_700_000_000_123L);
+        assertThat(position.snapshot()).isNull();
+
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(executionLogRepository.claim(local.getExecutionId(), "node-c", now.plusSeconds(1), now)).isEqualTo(1);
+
+        assertThatThrownBy(() -> checkpoints.save(local, 10_000, 1, 10_000))
+                .isInstanceOf(ExecutionTakenOverException.class);
+        ExecutionLog stored = executionLogRepository.findById(local.getId()).orElseThrow();
+        assertThat(stored.getCheckpointOffset()).isEqualTo(7_500L);
+        assertThat(stored.getNodeId()).isEqualTo("node-c");
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("Deve gravar log, checkpoint e heartbeat em transação própria quando chamado dentro de outra transação")
+    void shouldCommitProgressOutsideCallerTransaction() throws Exception {
+        Integration integration = committedIntegration();
+        ExecutionLog local = checkpoints.saveLog(running(integration, "node-b", LocalDateTime.now(), null));
+        checkpoints.register(local.getExecutionId());
+        try {
+            checkpoints.save(local, 5_000, 0, 5_000);
+            checkpoints.heartbeat();
+
+            ExecutionLog seenByOtherNode = CompletableFuture.supplyAsync(() ->
+                    executionLogRepository.findById(local.getId()).orElseThrow()).get(10, TimeUnit.SECONDS);
+            assertThat(seenByOtherNode.getCheckpointOffset()).isEqualTo(5_000L);
+            LocalDateTime now = LocalDateTime.now();
+            assertThat(CompletableFuture.supplyAsync(() ->
+                    executionLogRepository.claim(local.getExecutionId(), "node-c", now.plusSeconds(1), now))
+                    .get(10, TimeUnit.SECONDS)).isEqualTo(1);
+        } finally {
+            checkpoints.unregister(local.getExecutionId());
+            CompletableFuture.runAsync(() -> {
+                executionLogRepository.deleteById(local.getId());
+                integrationRepository.deleteById(integration.getId());
+            }).get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Integração gravada fora da transação do teste, visível para as outras threads.
+     */
+    private Integration committedIntegration() throws Exception {
+        return CompletableFuture.supplyAsync(() -> integrationRepository.save(
+                Integration.builder().tenantId("tenant-a").name("carga").build())).get(10, TimeUnit.SECONDS);
+    }
+
+    private static ExecutionLog running(Integration integration, String nodeId, LocalDateTime heartbeat, Long offset) {
+        return ExecutionLog.builder()
+                .tenantId(integration.getTenantId())
+                .integrationId(integration.getId())
+                .integrationName(integration.getName())
+                .status(ExecutionLog.ExecutionStatus.RUNNING)
+                .startTime(heartbeat.minusMinutes(30))
+                .executionId(UUID.randomUUID().toString())
+                .nodeId(nodeId)
+                .heartbeatAt(heartbeat)
+                .checkpointOffset(offset)
+                .recordsSuccess(offset != null ? offset.intValue() : null)
+                .build();
+    }
+}
@@ -0,0 +1,143 @@
+package com.totvs.integration.repository;
+
+import com.totvs.integration.entity.ConnectorConfig;
+import com.totvs.integration.entity.DataTransformation;
+import com.totvs.integration.entity.Integration;
+import com.totvs.integration.service.IntegrationServiceHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Import(IntegrationServiceHelper.class)
+@TestPropertySource(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.datasource.url=jdbc:h2:mem:integrationtestdb;DB_CLOSE_DELAY=-1",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@DisplayName("Integration Repository Tests - H2 Database")
+class IntegrationRepositoryTest {
+
+    @Autowired
+    private IntegrationRepository integrationRepository;
+
+    @Autowired
+    private IntegrationServiceHelper integrationServiceHelper;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        integrationRepository.saveAll(List.of(
+                integration("tenant-a", "Pedidos ERP", Integration.IntegrationStatus.ACTIVE, List.of("erp", "vendas")),
+                integration("tenant-a", "Clientes CRM", Integration.IntegrationStatus.DRAFT, List.of("crm")),
+                integration("tenant-a", "Estoque", Integration.IntegrationStatus.ACTIVE, List.of("erp")),
+                integration("tenant-b", "Pedidos ERP", Integration.IntegrationStatus.ACTIVE, List.of("erp"))));
+    }
+
+    @Test
+    @DisplayName("Deve listar resumos do tenant com contadores e tags")
+    void shouldListSummariesForTenant() {
+        Page<IntegrationSummary> page = integrationRepository.findSummariesByTenantId("tenant-a",
+                PageRequest.of(0, 2, Sort.by("name")));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(IntegrationSummary::getName).containsExactly("Clientes CRM", "Estoque");
+        IntegrationSummary first = page.getContent().get(0);
+        assertThat(first.getTags()).containsExactly("crm");
+        assertThat(first.getExecutionCount()).isEqualTo(7);
+        assertThat(first.getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Deve filtrar resumos por status e por nome")
+    void shouldFilterSummariesByStatusAndName() {
+        assertThat(integrationRepository.findSummariesByTenantIdAndStatus("tenant-a",
+                Integration.IntegrationStatus.ACTIVE, PageRequest.of(0, 10)).getTotalElements()).isEqualTo(2);
+        assertThat(integrationRepository.findSummariesByTenantIdAndNameContaining("tenant-a", "pedidos",
+                PageRequest.of(0, 10)).getContent()).extracting(IntegrationSummary::getTenantId).containsExactly("tenant-a");
+    }
+
+    @Test
+    @DisplayName("Deve filtrar resumos por tags preservando a paginação")
+    void shouldFilterSummariesByTags() {
+        Page<IntegrationSummary> page = integrationServiceHelper.findSummariesByTenantIdAndTags("tenant-a",
+                List.of("erp"), PageRequest.of(0, 10));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(IntegrationSummary::getName)
+                .containsExactlyInAnyOrder("Pedidos ERP", "Estoque");
+    }
+
+    @Test
+    @DisplayName("Deve incrementar contadores de execução com UPDATE atômico")
+    void shouldIncrementExecutionCountersAtomically() {
+        Integration target = integrationRepository.findSummariesByTenantIdAndNameContaining("tenant-b", "pedidos",
+                PageRequest.of(0, 1)).getContent().stream()
+                .map(summary -> integrationRepository.findById(summary.getId()).orElseThrow())
+                .findFirst().orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(integrationRepository.markExecutionStarted(target.getId(), now)).isEqualTo(1);
+        integrationRepository.recordExecutionFailure(target.getId(), "timeout", now);
+        integrationRepository.markExecutionStarted(target.getId(), now);
+        integrationRepository.recordExecutionSuccess(target.getId(), now);
+        entityManager.clear();
+
+        Integration updated = integrationRepository.findById(target.getId()).orElseThrow();
+        assertThat(updated.getExecutionCount()).isEqualTo(9);
+        assertThat(updated.getErrorCount()).isEqualTo(3);
+        assertThat(updated.getSuccessCount()).isEqualTo(6);
+        assertThat(updated.getLastError()).isNull();
+        assertThat(updated.getStatus()).isEqualTo(Integration.IntegrationStatus.ACTIVE);
+        assertThat(updated.getSourceConnector().getConfiguration()).containsEntry("baseUrl", "https://example.com");
+
+        assertThat(integrationRepository.recordExecutionNotStarted(target.getId(), "fila cheia", now)).isEqualTo(1);
+        entityManager.clear();
+
+        Integration rejected = integrationRepository.findById(target.getId()).orElseThrow();
+        assertThat(rejected.getExecutionCount()).isEqualTo(10);
+        assertThat(rejected.getErrorCount()).isEqualTo(4);
+        assertThat(rejected.getSuccessCount()).isEqualTo(6);
+        assertThat(rejected.getLastError()).isEqualTo("fila cheia");
+        assertThat(rejected.getStatus()).isEqualTo(Integration.IntegrationStatus.ERROR);
+    }
+
+    private static Integration integration(String tenantId, String name, Integration.IntegrationStatus status, List<String> tags) {
+        ConnectorConfig source = new ConnectorConfig();
+        source.setName("source");
+        source.setType("REST_API");
+        source.setConfiguration(new HashMap<>(Map.of("baseUrl", "https://example.com")));
+
+        DataTransformation transformation = new DataTransformation();
+
+        return Integration.builder()
+                .tenantId(tenantId)
+                .name(name)
+                .status(status)
+                .sourceConnector(source)
+                .transformation(transformation)
+                .configuration(new HashMap<>(Map.of("large", "x".repeat(1000))))
+                .tags(new java.util.ArrayList<>(tags))
+                .executionCount(7)
+                .successCount(5)
+                .errorCount(2)
+                .build();
+    }
+}
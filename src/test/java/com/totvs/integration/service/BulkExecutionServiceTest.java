@@ -0,0 +1,164 @@
+package com.totvs.integration.service;
+
+import com.totvs.integration.dto.request.BulkExecuteRequest;
+import com.totvs.integration.dto.response.BulkExecutionResponse;
+import com.totvs.integration.entity.ConnectorConfig;
+import com.totvs.integration.entity.ExecutionLog;
+import com.totvs.integration.entity.Integration;
+import com.totvs.integration.exception.BulkExecutionNotFoundException;
+import com.totvs.integration.metering.DataQuotaService;
+import com.totvs.integration.metrics.IntegrationMetrics;
+import com.totvs.integration.repository.IntegrationRepository;
+import com.totvs.integration.security.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkExecutionServiceTest {
+
+    @Mock
+    private IntegrationRepository integrationRepository;
+
+    @Mock
+    private IntegrationExecutorService executorService;
+
+    @Mock
+    private DataQuotaService dataQuotaService;
+
+    @Mock
+    private IntegrationMetrics metrics;
+
+    @InjectMocks
+    private BulkExecutionService bulkExecutionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bulkExecutionService, "environment", new MockEnvironment()
+                .withProperty("app.integrations.bulk-execution.target-limits.DATABASE", "1"));
+        ReflectionTestUtils.setField(bulkExecutionService, "maxParallelism", 3);
+        ReflectionTestUtils.setField(bulkExecutionService, "defaultTargetLimit", 2);
+        ReflectionTestUtils.setField(bulkExecutionService, "retention", Duration.ofHours(1));
+        ReflectionTestUtils.setField(bulkExecutionService, "targetPollMs", 5L);
+        bulkExecutionService.start();
+        TenantContext.setCurrentTenant(TenantContext.builder().tenantId("tenant-a").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkExecutionService.stop();
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("Deve executar integrações da tag respeitando paralelismo e limite por destino")
+    void shouldRespectParallelismAndTargetLimits() throws Exception {
+        when(integrationRepository.findExecutionCandidates("tenant-a", Integration.IntegrationStatus.ACTIVE, null))
+                .thenReturn(List.of(
+                        integration("erp-1", "DATABASE", "fechamento"),
+                        integration("erp-2", "DATABASE", "fechamento"),
+                        integration("erp-3", "DATABASE", "fechamento"),
+                        integration("api-1", "REST_API", "fechamento"),
+                        integration("api-2", "REST_API", "fechamento"),
+                        integration("api-3", "REST_API", "fechamento"),
+                        integration("outro", "REST_API", "diario")));
+
+        Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> peak = new ConcurrentHashMap<>();
+        AtomicInteger total = new AtomicInteger();
+        AtomicInteger totalPeak = new AtomicInteger();
+        when(executorService.executeIntegrationAsync(any(Integration.class))).thenAnswer(invocation -> {
+            Integration integration = invocation.getArgument(0);
+            String target = integration.getTargetConnector().getType();
+            int current = inFlight.computeIfAbsent(target, key -> new AtomicInteger()).incrementAndGet();
+            peak.computeIfAbsent(target, key -> new AtomicInteger()).accumulateAndGet(current, Math::max);
+            totalPeak.accumulateAndGet(total.incrementAndGet(), Math::max);
+            Thread.sleep(30);
+            inFlight.get(target).decrementAndGet();
+            total.decrementAndGet();
+            boolean success = !integration.getId().equals("api-2");
+            return CompletableFuture.completedFuture(ExecutionLog.builder()
+                    .executionId(UUID.randomUUID().toString())
+                    .status(success ? ExecutionLog.ExecutionStatus.SUCCESS : ExecutionLog.ExecutionStatus.FAILED)
+                    .errorMessage(success ? null : "timeout")
+                    .build());
+        });
+
+        BulkExecutionResponse started = bulkExecutionService.execute(
+                BulkExecuteRequest.builder().tags(List.of("fechamento")).build());
+
+        assertThat(started.getTotal()).isEqualTo(6);
+        assertThat(started.getMaxParallelism()).isEqualTo(3);
+
+        BulkExecutionResponse finished = awaitCompletion(started.getBatchId());
+        assertThat(finished.getSucceeded()).isEqualTo(5);
+        assertThat(finished.getFailed()).isEqualTo(1);
+        assertThat(finished.getProgress()).isEqualTo(1.0);
+        assertThat(finished.getItems()).filteredOn(item -> item.getIntegrationId().equals("api-2"))
+                .singleElement().satisfies(item -> {
+                    assertThat(item.getStatus()).isEqualTo("FAILED");
+                    assertThat(item.getErrorMessage()).isEqualTo("timeout");
+                });
+        assertThat(peak.get("DATABASE").get()).isEqualTo(1);
+        assertThat(peak.get("REST_API").get()).isLessThanOrEqualTo(2);
+        assertThat(totalPeak.get()).isLessThanOrEqualTo(3);
+        verify(executorService, times(6)).executeIntegrationAsync(any(Integration.class));
+    }
+
+    @Test
+    @DisplayName("Deve esconder o lote de outros tenants")
+    void shouldHideBatchFromOtherTenants() throws Exception {
+        when(integrationRepository.findExecutionCandidates("tenant-a", Integration.IntegrationStatus.ACTIVE, "pedidos"))
+                .thenReturn(List.of());
+
+        BulkExecutionResponse started = bulkExecutionService.execute(BulkExecuteRequest.builder().name("pedidos").build());
+        assertThat(started.getStatus()).isEqualTo("COMPLETED");
+
+        TenantContext.setCurrentTenant(TenantContext.builder().tenantId("tenant-b").build());
+        assertThatThrownBy(() -> bulkExecutionService.getProgress(started.getBatchId()))
+                .isInstanceOf(BulkExecutionNotFoundException.class);
+    }
+
+    private BulkExecutionResponse awaitCompletion(String batchId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        BulkExecutionResponse progress = bulkExecutionService.getProgress(batchId);
+        while (!"COMPLETED".equals(progress.getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            progress = bulkExecutionService.getProgress(batchId);
+        }
+        return progress;
+    }
+
+    private static Integration integration(String id, String targetType, String tag) {
+        ConnectorConfig target = new ConnectorConfig();
+        target.setName("target");
+        target.setType(targetType);
+        return Integration.builder()
+                .id(id)
+                .tenantId("tenant-a")
+                .name(id)
+                .status(Integration.IntegrationStatus.ACTIVE)
+                .targetConnector(target)
+                .tags(List.of(tag))
+                .build();
+    }
+}
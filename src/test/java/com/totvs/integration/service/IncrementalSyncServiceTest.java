@@ -0,0 +1,167 @@
+package com.totvs.integration.service;
+
+import com.totvs.integration.cache.IntegrationPageKeyGenerator;
+import com.totvs.integration.connector.DatabaseConnector;
+import com.totvs.integration.connector.Watermark;
+import com.totvs.integration.entity.Integration;
+import com.totvs.integration.repository.IntegrationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Roda dentro da transação do teste, como a execução disparada pela API roda dentro da
+ * transação da requisição; as integrações são gravadas e relidas em transações próprias.
+ */
+@DataJpaTest
+@Import(IncrementalSyncService.class)
+@TestPropertySource(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.datasource.url=jdbc:h2:mem:incrementaltestdb;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=2000",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@DisplayName("Incremental Sync Service Tests - H2 Database")
+class IncrementalSyncServiceTest {
+
+    private static final String SOURCE_URL = "jdbc:h2:mem:incrementalsource;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private IncrementalSyncService incrementalSyncService;
+
+    @Autowired
+    private IntegrationRepository integrationRepository;
+
+    @MockBean
+    private IntegrationPageKeyGenerator integrationPageKeyGenerator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private CacheManager cacheManager;
+
+    private TransactionTemplate separate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        separate = new TransactionTemplate(transactionManager);
+        separate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try (Connection connection = DriverManager.getConnection(SOURCE_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS pedidos");
+            statement.execute("CREATE TABLE pedidos (id INT PRIMARY KEY, valor DECIMAL(10,2), updated_at TIMESTAMP)");
+            statement.execute("INSERT INTO pedidos VALUES (1, 10.00, TIMESTAMP '2024-05-01 10:00:00'), "
+                    + "(2, 20.00, TIMESTAMP '2024-05-01 11:30:00'), (3, 30.00, TIMESTAMP '2024-05-01 09:15:00')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        separate.executeWithoutResult(status -> integrationRepository.deleteAll());
+    }
+
+    @Test
+    @DisplayName("Deve ler só o delta do banco a partir da marca d'água persistida")
+    void shouldReadOnlyDeltaAfterCommittedWatermark() throws Exception {
+        Integration integration = save(integration(Map.of("enabled", true, "field", "updated_at")));
+        DatabaseConnector connector = new DatabaseConnector();
+        Map<String, Object> source = Map.of("jdbcUrl", SOURCE_URL, "username", "sa", "password", "", "table", "pedidos");
+
+        Watermark first = incrementalSyncService.resolve(integration);
+        List<Map<String, Object>> initial = connector.readData(source, Map.of(Watermark.PARAMETER, first));
+        assertThat(initial).extracting(record -> record.get("ID")).containsExactly(3, 1, 2);
+
+        Object highest = first.advance(initial);
+        assertThat(highest).isEqualTo("2024-05-01T11:30");
+        assertThat(incrementalSyncService.commit(integration.getId(), highest)).isTrue();
+
+        try (Connection connection = DriverManager.getConnection(SOURCE_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("UPDATE pedidos SET valor = 15.00, updated_at = TIMESTAMP '2024-05-01 12:00:00' WHERE id = 1");
+            statement.execute("INSERT INTO pedidos VALUES (4, 40.00, TIMESTAMP '2024-05-01 12:05:00')");
+        }
+
+        Watermark second = incrementalSyncService.resolve(reload(integration));
+        assertThat(second.value()).isEqualTo("2024-05-01T11:30");
+        List<Map<String, Object>> delta = connector.readData(source, Map.of(Watermark.PARAMETER, second));
+        assertThat(delta).extracting(record -> record.get("ID")).containsExactly(1, 4);
+    }
+
+    @Test
+    @DisplayName("Deve preservar a configuração e nunca retroceder a marca d'água")
+    void shouldKeepConfigurationAndNeverMoveBackwards() {
+        Map<String, Object> incremental = Map.of("enabled", true, "field", "id", "param", "after", "watermark", 100);
+        Integration integration = save(integration(incremental));
+
+        assertThat(incrementalSyncService.commit(integration.getId(), 90)).isFalse();
+        assertThat(incrementalSyncService.commit(integration.getId(), 150)).isTrue();
+
+        Integration reloaded = reload(integration);
+        assertThat(reloaded.getConfiguration()).containsEntry("webhook", Map.of("enabled", true));
+        Watermark watermark = incrementalSyncService.resolve(reloaded);
+        assertThat(watermark.value()).isEqualTo(150);
+        assertThat(watermark.queryParam()).isEqualTo("after");
+        assertThat(watermark.advance(List.of(Map.of("id", 149L), Map.of("id", 151L)))).isEqualTo(151L);
+    }
+
+    @Test
+    @DisplayName("Deve gravar a marca em transação própria, sem reaproveitar a instância gerenciada nem segurar o lock")
+    void shouldCommitInOwnTransactionIgnoringManagedInstance() throws Exception {
+        Integration integration = save(integration(Map.of("enabled", true, "field", "id", "watermark", 100)));
+        Cache details = mock(Cache.class);
+        when(cacheManager.getCache("integrations")).thenReturn(details);
+
+        Integration managed = integrationRepository.findById(integration.getId()).orElseThrow();
+        assertThat(incrementalSyncService.commit(integration.getId(), 150)).isTrue();
+        assertThat(CompletableFuture.supplyAsync(() -> incrementalSyncService.commit(integration.getId(), 200))
+                .get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(incrementalSyncService.commit(integration.getId(), 180)).isFalse();
+
+        assertThat(incrementalSyncService.resolve(reload(integration)).value()).isEqualTo(200);
+        assertThat(incrementalSyncService.resolve(managed).value()).isEqualTo(100);
+        verify(details, times(2)).evict(integration.getId() + "_tenant-a");
+    }
+
+    private Integration save(Integration integration) {
+        return separate.execute(status -> integrationRepository.save(integration));
+    }
+
+    private Integration reload(Integration integration) {
+        return separate.execute(status -> integrationRepository.findById(integration.getId()).orElseThrow());
+    }
+
+    private static Integration integration(Map<String, Object> incremental) {
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put(IncrementalSyncService.CONFIGURATION_KEY, incremental);
+        configuration.put("webhook", Map.of("enabled", true));
+        return Integration.builder()
+                .tenantId("tenant-a")
+                .name("pedidos")
+                .configuration(configuration)
+                .build();
+    }
+}
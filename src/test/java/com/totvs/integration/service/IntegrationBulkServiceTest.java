@@ -0,0 +1,173 @@
+package com.totvs.integration.service;
+
+import com.totvs.integration.cache.IntegrationPageKeyGenerator;
+import com.totvs.integration.dto.request.BulkUpdateIntegrationRequest;
+import com.totvs.integration.dto.request.CreateIntegrationRequest;
+import com.totvs.integration.dto.request.UpdateIntegrationRequest;
+import com.totvs.integration.dto.response.BulkOperationResponse;
+import com.totvs.integration.dto.response.BulkOperationResponse.Outcome;
+import com.totvs.integration.entity.ConnectorConfig;
+import com.totvs.integration.entity.Integration;
+import com.totvs.integration.repository.IntegrationRepository;
+import com.totvs.integration.security.TenantContext;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@Import({IntegrationBulkService.class, IntegrationServiceHelper.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@TestPropertySource(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.datasource.url=jdbc:h2:mem:bulktestdb;DB_CLOSE_DELAY=-1",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "app.integrations.bulk.batch-size=10"
+})
+@DisplayName("Integration Bulk Service Tests - H2 Database")
+class IntegrationBulkServiceTest {
+
+    @Autowired
+    private IntegrationBulkService integrationBulkService;
+
+    @Autowired
+    private IntegrationRepository integrationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private IntegrationPageKeyGenerator integrationPageKeyGenerator;
+
+    @MockBean
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setCurrentTenant(TenantContext.builder().tenantId("tenant-a").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Deve criar em lote com inserts agrupados, reportar itens inválidos e invalidar o cache após o commit")
+    void shouldCreateInJdbcBatches() {
+        List<CreateIntegrationRequest> items = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            items.add(createRequest("Filial " + i));
+        }
+        items.set(3, createRequest(""));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BulkOperationResponse result = integrationBulkService.createIntegrations(items);
+
+        assertThat(result.getTotal()).isEqualTo(25);
+        assertThat(result.getSucceeded()).isEqualTo(24);
+        assertThat(result.getResults().get(3).getOutcome()).isEqualTo(Outcome.INVALID);
+        assertThat(result.getResults().get(3).getError()).contains("name");
+        assertThat(result.getResults().get(0).getId()).isNotBlank();
+        assertThat(integrationRepository.countByTenantId("tenant-a")).isEqualTo(24);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(24);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(24);
+        verify(integrationPageKeyGenerator).invalidateTenant("tenant-a");
+        integrationRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve atualizar, mudar status e remover em lote apenas integrações do tenant, sem invalidar o cache antes do commit")
+    void shouldUpdateChangeStatusAndDeleteWithinTenant() {
+        Integration first = integrationRepository.save(integration("tenant-a", "Pedidos"));
+        Integration second = integrationRepository.save(integration("tenant-a", "Clientes"));
+        Integration foreign = integrationRepository.save(integration("tenant-b", "Pedidos"));
+
+        BulkOperationResponse updated = integrationBulkService.updateIntegrations(List.of(
+                new BulkUpdateIntegrationRequest.Item(first.getId(), UpdateIntegrationRequest.builder().name("Pedidos v2").build()),
+                new BulkUpdateIntegrationRequest.Item(foreign.getId(), UpdateIntegrationRequest.builder().name("Invasão").build()),
+                new BulkUpdateIntegrationRequest.Item(null, UpdateIntegrationRequest.builder().build())));
+
+        assertThat(updated.getResults()).extracting(BulkOperationResponse.ItemResult::getOutcome)
+                .containsExactly(Outcome.UPDATED, Outcome.NOT_FOUND, Outcome.INVALID);
+        assertThat(integrationRepository.findById(first.getId())).get()
+                .extracting(Integration::getName).isEqualTo("Pedidos v2");
+        assertThat(integrationRepository.findById(foreign.getId())).get()
+                .extracting(Integration::getName).isEqualTo("Pedidos");
+
+        BulkOperationResponse activated = integrationBulkService.changeStatus(
+                List.of(first.getId(), second.getId(), foreign.getId()), "active");
+
+        assertThat(activated.getSucceeded()).isEqualTo(2);
+        assertThat(integrationRepository.findById(second.getId())).get().satisfies(integration -> {
+            assertThat(integration.getStatus()).isEqualTo(Integration.IntegrationStatus.ACTIVE);
+            assertThat(integration.getLastError()).isNull();
+        });
+        assertThat(integrationRepository.findById(foreign.getId())).get()
+                .extracting(Integration::getStatus).isEqualTo(Integration.IntegrationStatus.ERROR);
+
+        BulkOperationResponse deleted = integrationBulkService.deleteIntegrations(
+                List.of(first.getId(), foreign.getId()));
+
+        assertThat(deleted.getResults()).extracting(BulkOperationResponse.ItemResult::getOutcome)
+                .containsExactly(Outcome.DELETED, Outcome.NOT_FOUND);
+        assertThat(integrationRepository.existsById(first.getId())).isFalse();
+        assertThat(integrationRepository.existsById(foreign.getId())).isTrue();
+        verify(integrationPageKeyGenerator, never()).invalidateTenant(anyString());
+        verify(cacheManager, never()).getCache(anyString());
+    }
+
+    private static CreateIntegrationRequest createRequest(String name) {
+        return CreateIntegrationRequest.builder()
+                .name(name)
+                .sourceConnector(connector("source", "REST_API"))
+                .targetConnector(connector("target", "DATABASE"))
+                .tags(List.of("filial"))
+                .build();
+    }
+
+    private static Integration integration(String tenantId, String name) {
+        return Integration.builder()
+                .tenantId(tenantId)
+                .name(name)
+                .status(Integration.IntegrationStatus.ERROR)
+                .lastError("timeout")
+                .sourceConnector(connector("source", "REST_API"))
+                .build();
+    }
+
+    private static ConnectorConfig connector(String name, String type) {
+        ConnectorConfig connector = new ConnectorConfig();
+        connector.setName(name);
+        connector.setType(type);
+        connector.setConfiguration(new HashMap<>(Map.of("baseUrl", "https://example.com")));
+        return connector;
+    }
+}
@@ -0,0 +1,70 @@
+package com.totvs.integration.service;
+
+import com.totvs.integration.cache.IntegrationPageKeyGenerator;
+import com.totvs.integration.entity.Integration;
+import com.totvs.integration.repository.IntegrationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Roda dentro da transação do teste, como a execução disparada pela API roda dentro da
+ * transação da requisição.
+ */
+@DataJpaTest
+@Import(IntegrationStatisticsService.class)
+@TestPropertySource(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.datasource.url=jdbc:h2:mem:statisticstestdb;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=2000",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@DisplayName("Integration Statistics Service Tests - H2 Database")
+class IntegrationStatisticsServiceTest {
+
+    @Autowired
+    private IntegrationStatisticsService statistics;
+
+    @Autowired
+    private IntegrationRepository integrationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private IntegrationPageKeyGenerator integrationPageKeyGenerator;
+
+    @MockBean
+    private CacheManager cacheManager;
+
+    @Test
+    @DisplayName("Deve gravar os contadores em transação própria sem segurar o lock da integração")
+    void shouldCommitCountersWithoutHoldingIntegrationLock() throws Exception {
+        TransactionTemplate separate = new TransactionTemplate(transactionManager);
+        separate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Integration integration = separate.execute(status ->
+                integrationRepository.save(Integration.builder().tenantId("tenant-a").name("carga").build()));
+
+        statistics.executionStarted(integration);
+        CompletableFuture.runAsync(() -> statistics.executionSucceeded(integration)).get(10, TimeUnit.SECONDS);
+
+        Integration committed = separate.execute(status -> integrationRepository.findById(integration.getId()).orElseThrow());
+        assertThat(committed.getExecutionCount()).isEqualTo(1);
+        assertThat(committed.getSuccessCount()).isEqualTo(1);
+
+        separate.executeWithoutResult(status -> integrationRepository.deleteById(integration.getId()));
+    }
+}
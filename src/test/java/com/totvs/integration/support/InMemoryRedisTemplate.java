@@ -0,0 +1,65 @@
+package com.totvs.integration.support;
+
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Substituto em memória do Redis para benchmarks e testes de carga: atende apenas as
+ * operações de contador usadas pelo hub ({@code increment}, {@code get}, {@code expire}),
+ * sem rede, para medir o custo do código do hub isoladamente.
+ */
+public class InMemoryRedisTemplate extends RedisTemplate<String, Object> {
+
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Object> values = new ConcurrentHashMap<>();
+    private final ValueOperations<String, Object> valueOperations = valueOperations();
+
+    @Override
+    public void afterPropertiesSet() {
+        // sem conexão: nada a inicializar
+    }
+
+    @Override
+    public ValueOperations<String, Object> opsForValue() {
+        return valueOperations;
+    }
+
+    @Override
+    public Boolean expire(String key, long timeout, TimeUnit unit) {
+        return counters.containsKey(key) || values.containsKey(key);
+    }
+
+    @Override
+    public Boolean delete(String key) {
+        return counters.remove(key) != null | values.remove(key) != null;
+    }
+
+    public void clear() {
+        counters.clear();
+        values.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ValueOperations<String, Object> valueOperations() {
+        return (ValueOperations<String, Object>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {ValueOperations.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "increment" -> counters.computeIfAbsent((String) args[0], k -> new AtomicLong())
+                            .addAndGet(args.length > 1 ? ((Number) args[1]).longValue() : 1L);
+                    case "get" -> {
+                        AtomicLong counter = counters.get((String) args[0]);
+                        yield counter != null ? counter.get() : values.get((String) args[0]);
+                    }
+                    case "set" -> {
+                        values.put((String) args[0], args[1]);
+                        yield null;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
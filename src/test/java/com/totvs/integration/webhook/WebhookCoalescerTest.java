@@ -0,0 +1,128 @@
+package com.totvs.integration.webhook;
+
+import com.totvs.integration.exception.WebhookBacklogFullException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+class WebhookCoalescerTest {
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService runner;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        runner = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+        runner.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve coalescer uma rajada de 1.000 eventos em uma única execução")
+    void shouldCoalesceBurstIntoSingleRun() throws Exception {
+        List<WebhookCoalescer.Batch> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        WebhookCoalescer coalescer = coalescer(Duration.ofMillis(300), 5_000, batch -> {
+            batches.add(batch);
+            done.countDown();
+        });
+
+        for (int i = 0; i < 1_000; i++) {
+            coalescer.submit("int-1", List.of());
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(400);
+        assertThat(batches).singleElement().satisfies(batch -> {
+            assertThat(batch.events()).isEqualTo(1_000);
+            assertThat(batch.records()).isEmpty();
+        });
+        assertThat(coalescer.pendingWindows()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve fechar micro-lotes pelo número de registros sem execuções simultâneas da mesma integração")
+    void shouldSplitMicroBatchesWithoutOverlap() throws Exception {
+        List<Integer> sizes = new CopyOnWriteArrayList<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlap = new AtomicInteger();
+        AtomicInteger recordsSeen = new AtomicInteger();
+        WebhookCoalescer coalescer = coalescer(Duration.ofMillis(50), 100, batch -> {
+            if (running.incrementAndGet() > 1) {
+                overlap.incrementAndGet();
+            }
+            sizes.add(batch.records().size());
+            sleep(20);
+            recordsSeen.addAndGet(batch.records().size());
+            running.decrementAndGet();
+        });
+
+        for (int i = 0; i < 450; i++) {
+            coalescer.submit("int-1", List.of(Map.of("id", i)));
+        }
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (recordsSeen.get() < 450 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(recordsSeen.get()).isEqualTo(450);
+        assertThat(overlap.get()).isZero();
+        assertThat(sizes.get(0)).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Deve recusar eventos quando o acúmulo de registros atinge o limite")
+    void shouldRejectWhenBacklogIsFull() {
+        CountDownLatch release = new CountDownLatch(1);
+        WebhookCoalescer coalescer = new WebhookCoalescer(Duration.ofSeconds(10), 10, 20, scheduler, runner,
+                batch -> awaitQuietly(release));
+
+        for (int i = 0; i < 30; i++) {
+            coalescer.submit("int-1", List.of(Map.of("id", i)));
+        }
+
+        assertThatThrownBy(() -> coalescer.submit("int-1", List.of(Map.of("id", 30), Map.of("id", 31))))
+                .isInstanceOf(WebhookBacklogFullException.class);
+        release.countDown();
+    }
+
+    private WebhookCoalescer coalescer(Duration window, int maxBatchRecords, Consumer<WebhookCoalescer.Batch> handler) {
+        return new WebhookCoalescer(window, maxBatchRecords, 10_000, scheduler, runner, handler);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}